@@ -0,0 +1,74 @@
+package com.example.carebridge.util;
+
+import com.example.carebridge.service.InMemoryRefreshTokenStore;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증된 요청 한 건의 JWT 처리 비용 벤치마크
+ *
+ * - legacyPerRequest: 이전 방식. isTokenValid + getPhoneNumber 가 각각 파서를 만들고 서명을 검증
+ * - prebuiltParserOnce: 미리 만든 파서로 한 번만 검증 (캐시 미스 경로)
+ * - cachedVerify: JwtUtil.verify 로 claims 를 한 번 받아 사용 (캐시 적중 경로)
+ *
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthBenchmark {
+
+    private JwtKeyRing keyRing;
+    private JwtUtil jwtUtil;
+    private JwtParser prebuiltParser;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[32];
+        for (int i = 0; i < secret.length; i++) {
+            secret[i] = (byte) i;
+        }
+        keyRing = new JwtKeyRing("bench:" + Base64.getEncoder().encodeToString(secret), "bench");
+        jwtUtil = new JwtUtil(keyRing, new InMemoryRefreshTokenStore(), new SimpleMeterRegistry(), 10_000);
+        prebuiltParser = Jwts.parserBuilder().setSigningKey(keyRing.signingKey()).build();
+        accessToken = jwtUtil.generatePatientTokens("01012345678", 1).accessToken;
+    }
+
+    @Benchmark
+    public void legacyPerRequest(Blackhole blackhole) {
+        boolean valid;
+        try {
+            Jwts.parserBuilder().setSigningKey(keyRing.signingKey()).build().parseClaimsJws(accessToken);
+            valid = true;
+        } catch (Exception e) {
+            valid = false;
+        }
+        blackhole.consume(valid);
+        blackhole.consume(Jwts.parserBuilder().setSigningKey(keyRing.signingKey()).build()
+                .parseClaimsJws(accessToken).getBody().getSubject());
+    }
+
+    @Benchmark
+    public String prebuiltParserOnce() {
+        return prebuiltParser.parseClaimsJws(accessToken).getBody().getSubject();
+    }
+
+    @Benchmark
+    public String cachedVerify() {
+        return jwtUtil.verify(accessToken).map(Claims::getSubject).orElse(null);
+    }
+}
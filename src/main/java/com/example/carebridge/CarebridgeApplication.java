@@ -1,10 +1,13 @@
 package com.example.carebridge;
 
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication(exclude={SecurityAutoConfiguration.class})
+@EnableScheduling
+@SpringBootApplication(exclude={SecurityAutoConfiguration.class, ManagementWebSecurityAutoConfiguration.class})
 public class CarebridgeApplication {
     public static void main(String[] args) {
         SpringApplication.run(CarebridgeApplication.class, args);
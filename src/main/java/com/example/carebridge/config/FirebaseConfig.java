@@ -4,6 +4,7 @@ import com.google.auth.oauth2.GoogleCredentials;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 import org.slf4j.Logger;
@@ -11,6 +12,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Firebase Cloud Messaging(FCM) 서비스 설정을 위한 설정 클래스
@@ -57,4 +60,20 @@ public class FirebaseConfig {
             throw new RuntimeException("Firebase 초기화 실패", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * FCM 배치 전송을 순서대로 내보내는 전용 스레드
+     * 동시 전송 허가를 기다리는 동안 요청 스레드가 막히지 않도록 분리합니다.
+     * 실제 네트워크 I/O 는 Firebase SDK 의 비동기 호출에서 처리됩니다.
+     *
+     * @return 단일 스레드 실행기
+     */
+    @Bean(name = "fcmDispatchExecutor", destroyMethod = "shutdown")
+    public ExecutorService fcmDispatchExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fcm-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.carebridge.config;
+
+import com.example.carebridge.util.AuthPrincipal;
+import com.example.carebridge.util.JwtUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JWT 인증 필터
+ * Authorization: Bearer 헤더의 Access Token 을 검증하여 요청에 인증된 사용자(AuthPrincipal)를 연결합니다.
+ * 세션을 만들지 않으므로 어느 서버 인스턴스로 요청이 가도 같은 결과가 나옵니다. (sticky session 불필요)
+ *
+ * 동작 방식:
+ * - 유효한 토큰이면 request.getUserPrincipal() 과 요청 속성 AuthPrincipal.REQUEST_ATTRIBUTE 로 사용자를 조회할 수 있습니다.
+ * - auth.jwt.required=true(기본값)이면 공개 경로(auth.jwt.public-paths)를 제외한 /api/** 요청에 유효한 토큰이 없을 때 401 을 반환합니다.
+ * - auth.jwt.required=false 이면 토큰이 없거나 유효하지 않아도 인증되지 않은 요청으로 그대로 처리합니다. (로컬 개발용)
+ */
+@Slf4j
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+    private final boolean required;
+    private final List<String> publicPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   @Value("${auth.jwt.required:true}") boolean required,
+                                   @Value("${auth.jwt.public-paths:}") List<String> publicPaths) {
+        this.jwtUtil = jwtUtil;
+        this.required = required;
+        this.publicPaths = publicPaths.stream().map(String::trim).filter(path -> !path.isEmpty()).toList();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Optional<AuthPrincipal> principal = resolveToken(request.getHeader(HttpHeaders.AUTHORIZATION))
+                .flatMap(jwtUtil::authenticate);
+
+        if (principal.isPresent()) {
+            request.setAttribute(AuthPrincipal.REQUEST_ATTRIBUTE, principal.get());
+            filterChain.doFilter(new AuthenticatedRequest(request, principal.get()), response);
+            return;
+        }
+        if (required && requiresAuthentication(request)) {
+            log.debug("인증되지 않은 요청 거부 - {} {}", request.getMethod(), request.getRequestURI());
+            response.sendError(HttpStatus.UNAUTHORIZED.value(), "유효한 인증 토큰이 필요합니다.");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Authorization 헤더 값에서 토큰을 꺼냅니다. ("Bearer " 가 없으면 값 전체를 토큰으로 봅니다)
+     *
+     * @param header Authorization 헤더 값
+     * @return 토큰 (헤더가 비어 있으면 empty)
+     */
+    static Optional<String> resolveToken(String header) {
+        if (header == null || header.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.of(header.startsWith(BEARER_PREFIX) ? header.substring(BEARER_PREFIX.length()).trim() : header.trim());
+    }
+
+    private boolean requiresAuthentication(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!pathMatcher.match("/api/**", path) || "OPTIONS".equals(request.getMethod())) {
+            return false;
+        }
+        return publicPaths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    /**
+     * getUserPrincipal 이 인증된 사용자를 반환하도록 감싼 요청
+     */
+    private static class AuthenticatedRequest extends HttpServletRequestWrapper {
+        private final AuthPrincipal principal;
+
+        AuthenticatedRequest(HttpServletRequest request, AuthPrincipal principal) {
+            super(request);
+            this.principal = principal;
+        }
+
+        @Override
+        public Principal getUserPrincipal() {
+            return principal;
+        }
+
+        @Override
+        public String getRemoteUser() {
+            return principal.getName();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.carebridge.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class PasswordConfig {
+
+    /**
+     * 의료진 비밀번호 해시 (BCrypt)
+     * 강도(auth.password.bcrypt-strength)를 1 올리면 해시 계산 시간이 약 2배가 됩니다.
+     * 강도를 올리면 기존 해시는 다음 로그인 때 새 강도로 다시 저장됩니다.
+     *
+     * @return BCrypt 인코더
+     */
+    @Bean
+    public BCryptPasswordEncoder passwordEncoder(@Value("${auth.password.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * 비밀번호 해시 계산 전용 스레드 풀
+     * 해시 계산은 CPU 를 많이 쓰므로 요청 스레드(Tomcat)가 아닌 이 풀에서만 실행합니다.
+     * 교대 시간처럼 로그인이 몰려도 동시에 계산하는 수는 스레드 수로, 대기 수는 대기열 크기로 제한되며
+     * 대기열이 가득 차면 RejectedExecutionException 으로 바로 거절합니다.
+     *
+     * @return 크기가 고정된 스레드 풀
+     */
+    @Bean(name = "passwordHashExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashExecutor(
+            @Value("${auth.password.hash-threads:2}") int threads,
+            @Value("${auth.password.queue-capacity:64}") int queueCapacity
+    ) {
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 의료진 로그인/비밀번호 재설정의 DB 작업 전용 스레드 풀
+     * 해시 검증이 끝난 뒤의 계정 조회, 토큰 저장, 비밀번호 UPDATE 는 JDBC 로 막히므로
+     * 해시 풀이나 공용 ForkJoinPool 이 아닌 이 풀에서 실행합니다. (크기는 DB 커넥션 풀보다 작게)
+     * 대기열이 가득 차면 해시 풀과 같이 RejectedExecutionException 으로 거절되어 503 으로 응답합니다.
+     *
+     * @return 크기가 고정된 스레드 풀
+     */
+    @Bean(name = "staffAccountDbExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor staffAccountDbExecutor(
+            @Value("${auth.password.db-threads:4}") int threads,
+            @Value("${auth.password.db-queue-capacity:128}") int queueCapacity
+    ) {
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "staff-account-db-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
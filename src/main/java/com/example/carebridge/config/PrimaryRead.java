@@ -0,0 +1,21 @@
+package com.example.carebridge.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 복제본이 아닌 원본에서 읽고 2차 캐시/쿼리 캐시를 사용하는 리포지토리 조회
+ * 쿼리 캐시를 쓰는 조회에 붙여, 복제 지연 중의 이전 값이 캐시에 들어가지 않으면서도 캐시를 계속 쓰게 합니다.
+ *
+ * 복제본 라우팅(datasource.replica.enabled=true)이 켜져 있을 때 PrimaryReadInterceptor 가 처리하며,
+ * 호출 위치에 따른 동작과 트레이드오프는 ReplicaDataSourceConfig 에 정리되어 있습니다.
+ * 라우팅이 꺼져 있으면 원본 하나만 있으므로 아무 일도 하지 않습니다.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PrimaryRead {
+}
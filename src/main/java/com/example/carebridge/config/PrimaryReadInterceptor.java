@@ -0,0 +1,89 @@
+package com.example.carebridge.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * {@link PrimaryRead} 조회를 원본으로 보내는 리포지토리 인터셉터
+ * 리포지토리 프록시의 가장 바깥(트랜잭션 인터셉터보다 먼저)에서 실행되어, 조회가 시작하는 트랜잭션에 원본 읽기 힌트를 남깁니다.
+ * 힌트가 있는 트랜잭션은 읽기 전용이어도 ReplicaRoutingDataSource 가 원본 커넥션을 주고,
+ * ReadOnlyCacheModeJpaDialect 가 캐시를 끄지 않습니다.
+ *
+ * 호출 위치별 동작:
+ * - 트랜잭션 밖: 리포지토리 기본 읽기 전용 트랜잭션을 그대로 쓰고 힌트만 남깁니다. (쓰기 가능 트랜잭션을 열지 않음)
+ * - 쓰기 가능 트랜잭션 안: 이미 원본에서 캐시를 쓰므로 그대로 실행합니다.
+ * - 읽기 전용 트랜잭션 안: 바깥 트랜잭션은 복제본 커넥션을 이미 받았을 수 있으므로,
+ *   잠시 보류하고 힌트를 단 별도 읽기 전용 트랜잭션(REQUIRES_NEW)에서 조회합니다.
+ *   캐시에 있으면 커넥션을 받지 않으며(LazyConnectionDataSourceProxy), 반환된 엔티티는 바깥 영속성 컨텍스트에 속하지 않습니다.
+ */
+public class PrimaryReadInterceptor implements MethodInterceptor {
+
+    private static final ThreadLocal<Boolean> PRIMARY_READ = new ThreadLocal<>();
+
+    private final ObjectProvider<PlatformTransactionManager> transactionManager;
+    private volatile TransactionTemplate separateReadOnly;
+
+    public PrimaryReadInterceptor(ObjectProvider<PlatformTransactionManager> transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * 현재 스레드가 {@link PrimaryRead} 조회를 실행 중인지 확인합니다.
+     *
+     * @return 원본에서 읽어야 하면 true
+     */
+    public static boolean isActive() {
+        return Boolean.TRUE.equals(PRIMARY_READ.get());
+    }
+
+    @Override
+    public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+        if (isActive() || !AnnotatedElementUtils.hasAnnotation(invocation.getMethod(), PrimaryRead.class)) {
+            return invocation.proceed();
+        }
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        if (inTransaction && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return invocation.proceed();
+        }
+
+        PRIMARY_READ.set(Boolean.TRUE);
+        try {
+            if (!inTransaction) {
+                return invocation.proceed();
+            }
+            return separateReadOnly().execute(status -> proceed(invocation));
+        } finally {
+            PRIMARY_READ.remove();
+        }
+    }
+
+    private TransactionTemplate separateReadOnly() {
+        TransactionTemplate template = separateReadOnly;
+        if (template == null) {
+            template = new TransactionTemplate(transactionManager.getObject());
+            template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            template.setReadOnly(true);
+            separateReadOnly = template;
+        }
+        return template;
+    }
+
+    private static Object proceed(MethodInvocation invocation) {
+        try {
+            return invocation.proceed();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.carebridge.config;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * 읽기 전용 트랜잭션에서는 2차 캐시/쿼리 캐시를 거치지 않도록 하는 JPA Dialect
+ * 읽기 전용 트랜잭션은 복제본에서 읽으므로, 복제 지연 중 읽은 이전 값이 무효화 이후 시각으로 캐시에 들어가면
+ * 캐시 만료 시간(ttl-seconds)까지 그 값이 보이게 됩니다.
+ *
+ * CacheMode.GET 은 쓰지 않습니다.
+ * Hibernate 6.5 는 GET 모드에서도 쿼리 캐시에 없던 결과를 저장하므로, 읽기 전용 트랜잭션은 CacheMode.IGNORE 로 실행하고
+ * 트랜잭션이 끝나면 원래 값으로 되돌립니다. (open-in-view 로 같은 세션에서 이어지는 쓰기 트랜잭션은 평소처럼 캐시를 사용합니다)
+ * 쿼리는 생성될 때 세션 속성(jakarta.persistence.cache.*)을 가져갈 수 있으므로 CacheMode 와 함께 속성도 바꿉니다.
+ * {@link PrimaryRead} 조회가 시작한 읽기 전용 트랜잭션은 원본에서 읽으므로 캐시를 그대로 사용합니다.
+ */
+public class ReadOnlyCacheModeJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly() || PrimaryReadInterceptor.isActive()) {
+            return transactionData;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        Map<String, Object> properties = session.getProperties();
+        ReadOnlyTransactionData readOnly = new ReadOnlyTransactionData(transactionData, session,
+                properties.get(AvailableSettings.JAKARTA_SHARED_CACHE_RETRIEVE_MODE),
+                properties.get(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE),
+                session.getCacheMode());
+        session.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+        session.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        session.setCacheMode(CacheMode.IGNORE);
+        return readOnly;
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReadOnlyTransactionData readOnly) {
+            readOnly.restore();
+            super.cleanupTransaction(readOnly.delegate());
+            return;
+        }
+        super.cleanupTransaction(transactionData);
+    }
+
+    /**
+     * 읽기 전용 트랜잭션이 끝날 때 되돌릴 값
+     */
+    private record ReadOnlyTransactionData(Object delegate, Session session, Object previousRetrieveMode,
+                                           Object previousStoreMode, CacheMode previousCacheMode) {
+
+        void restore() {
+            if (previousRetrieveMode != null) {
+                session.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_RETRIEVE_MODE, previousRetrieveMode);
+            }
+            if (previousStoreMode != null) {
+                session.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, previousStoreMode);
+            }
+            session.setCacheMode(previousCacheMode);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.carebridge.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * 읽기 전용 복제본(replica) 라우팅 설정
+ * "@Transactional(readOnly = true)" 트랜잭션은 복제본 풀로, 나머지(쓰기, 트랜잭션 밖의 조회)는 원본(primary) 풀로 보냅니다.
+ *
+ * 동작 방식:
+ * - LazyConnectionDataSourceProxy 가 실제 커넥션을 첫 SQL 실행 시점까지 미루고,
+ *   그때 현재 트랜잭션의 읽기 전용 여부를 보고 원본/복제본 중 하나에서 커넥션을 가져옵니다. (ReplicaRoutingDataSource)
+ * - 복제 지연이 datasource.replica.max-lag-seconds 를 넘거나 복제본에 연결할 수 없으면 읽기도 원본으로 보냅니다. (ReplicaLagMonitor)
+ * - 커넥션 풀은 primary / replica 라는 이름으로 만들어지므로 hikaricp.* 메트릭을 pool 태그로 나누어 볼 수 있습니다.
+ * - Hibernate 가 트랜잭션이 끝날 때마다 커넥션을 반납하도록 하여, 요청 하나에서 읽기 후 쓰기를 해도
+ *   (open-in-view) 쓰기가 앞서 받은 복제본 커넥션으로 가지 않도록 합니다.
+ *
+ * 2차 캐시/쿼리 캐시와의 관계:
+ * - 복제본으로 가는 읽기 전용 트랜잭션은 캐시를 거치지 않습니다. (ReadOnlyCacheModeJpaDialect, CacheMode.IGNORE)
+ *   복제본에서 읽은 이전 값이 무효화 이후 시각으로 캐시에 들어가 영역 만료 시간(기본 600초) 동안 보이는 것을 막기 위함입니다.
+ * - 대신 쿼리 캐시를 쓰는 리포지토리 조회에는 @PrimaryRead 를 붙여, 트랜잭션 전파와 관계없이 원본에서 읽고 캐시를 사용합니다.
+ *   (PrimaryReadInterceptor: 트랜잭션 밖이면 읽기 전용 트랜잭션에 힌트만 남기고,
+ *   읽기 전용 트랜잭션 안이면 별도 읽기 전용 트랜잭션에서 조회)
+ * - 트레이드오프: 캐시에 없을 때의 조회 부하는 복제본이 아닌 원본이 받고,
+ *   읽기 전용 트랜잭션 안의 @PrimaryRead 조회는 바깥 트랜잭션을 잠시 보류하므로 반환된 엔티티가 바깥 영속성 컨텍스트에 속하지 않습니다.
+ *
+ * 주의사항:
+ * - 복제본은 지연 허용치만큼 늦을 수 있으므로, 방금 쓴 값을 바로 읽어야 하는 조회는 readOnly 트랜잭션으로 분리하지 않습니다.
+ * - DB 스냅샷을 읽은 뒤 커밋 이벤트로 증감하는 메모리 집계(병동 대시보드, 콜벨 보드)의 적재도
+ *   복제본 지연이 영구적인 오차가 되므로 readOnly 로 실행하지 않습니다.
+ * - datasource.replica.enabled=true 일 때만 적용되며, 꺼져 있으면 Spring Boot 기본 DataSource 하나만 사용합니다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    private static final long REPLICA_CONNECTION_TIMEOUT_MS = 1000;
+    private static final long REPLICA_VALIDATION_TIMEOUT_MS = 500;
+
+    /**
+     * 쓰기와 트랜잭션 밖의 조회를 처리하는 원본 커넥션 풀 (spring.datasource.*, spring.datasource.hikari.*)
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * 읽기 전용 트랜잭션을 처리하는 복제본 커넥션 풀 (datasource.replica.*, datasource.replica.hikari.*)
+     * 복제본이 응답하지 않으면 원본으로 대체하면 되므로 커넥션/검증 대기 시간을 Hikari 기본값(30초/5초)보다 짧게 둡니다.
+     * (datasource.replica.hikari.connection-timeout, validation-timeout 으로 변경 가능)
+     */
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replica.password:${spring.datasource.password:}}") String password
+    ) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        dataSource.setConnectionTimeout(REPLICA_CONNECTION_TIMEOUT_MS);
+        dataSource.setValidationTimeout(REPLICA_VALIDATION_TIMEOUT_MS);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${datasource.replica.lag-column:Seconds_Behind_Source}") String lagColumn,
+            @Value("${datasource.replica.max-lag-seconds:5}") long maxLagSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        return new ReplicaLagMonitor(replicaDataSource, lagQuery, lagColumn, maxLagSeconds, meterRegistry);
+    }
+
+    /**
+     * JPA 와 JdbcTemplate 이 사용하는 DataSource
+     * 읽기 전용 트랜잭션이면 복제본(지연이 크면 원본), 아니면 원본 커넥션을 돌려줍니다.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry) {
+        log.info("읽기 전용 트랜잭션 복제본 라우팅 사용");
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, meterRegistry));
+    }
+
+    /**
+     * 트랜잭션이 끝나면 커넥션을 반납하여 다음 트랜잭션이 읽기 전용 여부에 맞는 풀에서 커넥션을 받도록 합니다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    /**
+     * 리포지토리 프록시에 @PrimaryRead 인터셉터를 가장 바깥 순서로 추가합니다. (트랜잭션 시작 전에 원본 읽기 힌트를 남기기 위함)
+     */
+    @Bean
+    public static BeanPostProcessor primaryReadRepositoryPostProcessor(
+            ObjectProvider<PlatformTransactionManager> transactionManager) {
+        PrimaryReadInterceptor interceptor = new PrimaryReadInterceptor(transactionManager);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactory) {
+                    repositoryFactory.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(0, interceptor)));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * 읽기 전용 트랜잭션이 2차 캐시/쿼리 캐시를 채우지 않도록 EntityManagerFactory 의 JpaDialect 를 바꿉니다.
+     * (초기화 전에 지정해야 JpaVendorAdapter 의 기본 Dialect 대신 사용되고, JpaTransactionManager 도 이 값을 가져갑니다)
+     */
+    @Bean
+    public static BeanPostProcessor readOnlyCacheModeJpaDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new ReadOnlyCacheModeJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+}
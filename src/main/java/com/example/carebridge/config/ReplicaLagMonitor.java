@@ -0,0 +1,113 @@
+package com.example.carebridge.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 복제본 지연 감시
+ * datasource.replica.lag-check-interval-ms 마다 복제본에서 복제 상태를 조회하여 읽기를 보내도 되는지 판단합니다.
+ *
+ * 판단 기준:
+ * - 지연(lag-column 값)이 max-lag-seconds 이하이면 사용합니다.
+ * - 조회 결과가 없으면(SHOW REPLICA STATUS 가 빈 결과) 복제가 설정되지 않았거나 해제된 것이므로 사용하지 않습니다.
+ * - 지연 값이 NULL(복제 중단)이거나 조회에 실패하면 다음 검사까지 사용하지 않습니다.
+ *
+ * 검사는 @Scheduled 스케줄러 스레드에서 실행되므로, 복제본에 연결할 수 없을 때 오래 막히지 않도록
+ * 복제본 풀의 connectionTimeout/validationTimeout(ReplicaDataSourceConfig)과 쿼리 제한 시간을 짧게 둡니다.
+ *
+ * 메트릭: datasource.replica.lag.seconds, datasource.replica.available
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final int QUERY_TIMEOUT_SECONDS = 1;
+
+    private final DataSource replicaDataSource;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final long maxLagSeconds;
+
+    private volatile boolean available;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, String lagColumn,
+                             long maxLagSeconds, MeterRegistry meterRegistry) {
+        this.replicaDataSource = replicaDataSource;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        this.maxLagSeconds = maxLagSeconds;
+
+        Gauge.builder("datasource.replica.lag.seconds", this, monitor -> monitor.lagSeconds)
+                .description("복제본 복제 지연(초), 알 수 없으면 NaN")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.available", this, monitor -> monitor.available ? 1 : 0)
+                .description("복제본으로 읽기를 보내는지 여부")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 복제본의 복제 지연을 조회하여 사용 여부를 갱신합니다.
+     */
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = createStatement(connection);
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                update(Double.NaN, false, "복제 상태 없음");
+                return;
+            }
+            Object lag = resultSet.getObject(lagColumn);
+            if (lag == null) {
+                update(Double.NaN, false, "복제 중단");
+                return;
+            }
+            double seconds = ((Number) lag).doubleValue();
+            update(seconds, seconds <= maxLagSeconds, "지연 " + seconds + "초");
+        } catch (Exception e) {
+            markUnavailable(e);
+        }
+    }
+
+    private static Statement createStatement(Connection connection) throws SQLException {
+        Statement statement = connection.createStatement();
+        statement.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+        return statement;
+    }
+
+    /**
+     * 복제본에 연결할 수 없을 때 다음 검사까지 읽기를 원본으로 보냅니다.
+     *
+     * @param cause 연결 실패 원인
+     */
+    public void markUnavailable(Exception cause) {
+        update(Double.NaN, false, "연결 실패: " + cause.getMessage());
+    }
+
+    /**
+     * @return 복제본으로 읽기를 보내도 되면 true
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    private void update(double seconds, boolean nowAvailable, String reason) {
+        lagSeconds = seconds;
+        if (available != nowAvailable) {
+            if (nowAvailable) {
+                log.info("복제본 읽기 재개 - {}", reason);
+            } else {
+                log.warn("복제본 읽기 중지, 원본으로 전환 - {} (허용: {}초)", reason, maxLagSeconds);
+            }
+        }
+        available = nowAvailable;
+    }
+}
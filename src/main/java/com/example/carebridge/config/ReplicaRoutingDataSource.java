@@ -0,0 +1,85 @@
+package com.example.carebridge.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 원본/복제본 라우팅 DataSource
+ * 현재 트랜잭션이 읽기 전용이면 복제본 커넥션을, 그 밖에는(@PrimaryRead 조회 포함) 원본 커넥션을 돌려줍니다.
+ * 복제본 지연이 크거나 연결에 실패하면 읽기 전용 트랜잭션도 원본 커넥션을 받습니다.
+ *
+ * 트랜잭션의 읽기 전용 여부는 트랜잭션 시작이 끝난 뒤에 정해지므로,
+ * 반드시 LazyConnectionDataSourceProxy 로 감싸 첫 SQL 실행 시점에 커넥션을 가져오도록 해야 합니다.
+ *
+ * 메트릭: datasource.read-only.connections{target=replica|primary}
+ */
+public class ReplicaRoutingDataSource extends DelegatingDataSource {
+
+    private final DataSource replicaDataSource;
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final Counter replicaConnections;
+    private final Counter fallbackConnections;
+
+    public ReplicaRoutingDataSource(DataSource primaryDataSource, DataSource replicaDataSource,
+                                    ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        super(primaryDataSource);
+        this.replicaDataSource = replicaDataSource;
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.replicaConnections = connectionCounter(meterRegistry, "replica");
+        this.fallbackConnections = connectionCounter(meterRegistry, "primary");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!routesToReplica()) {
+            return super.getConnection();
+        }
+        if (replicaLagMonitor.isAvailable()) {
+            try {
+                Connection connection = replicaDataSource.getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                replicaLagMonitor.markUnavailable(e);
+            }
+        }
+        fallbackConnections.increment();
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!routesToReplica()) {
+            return super.getConnection(username, password);
+        }
+        if (replicaLagMonitor.isAvailable()) {
+            try {
+                Connection connection = replicaDataSource.getConnection(username, password);
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                replicaLagMonitor.markUnavailable(e);
+            }
+        }
+        fallbackConnections.increment();
+        return super.getConnection(username, password);
+    }
+
+    // 읽기 전용 트랜잭션이어도 @PrimaryRead 조회면 원본에서 읽음
+    private static boolean routesToReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !PrimaryReadInterceptor.isActive();
+    }
+
+    private static Counter connectionCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.read-only.connections")
+                .description("읽기 전용 트랜잭션이 사용한 커넥션 수")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.carebridge.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class SchedulingConfig {
+
+    /**
+     * @Scheduled 작업과 NotificationCoalescer 의 병합 창 종료가 함께 쓰는 스케줄러
+     * 기본 스케줄러는 스레드 하나를 10개가 넘는 주기 작업이 나눠 쓰므로, 알림 점유나 복제 지연 확인처럼
+     * 오래 걸리는 작업 하나가 병합 창 종료(채팅 알림 전송)까지 밀어내지 않도록 여러 스레드로 실행합니다.
+     * 이름을 taskScheduler 로 두어 @Scheduled 가 STOMP 브로커용 스케줄러 대신 이 스케줄러를 사용합니다.
+     *
+     * @return 스레드 풀 스케줄러
+     */
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${scheduling.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, poolSize));
+        scheduler.setThreadNamePrefix("scheduling-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        return scheduler;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.carebridge.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate 2차 캐시 / 쿼리 캐시 설정 (JCache + Caffeine)
+ * 읽기가 대부분인 참조 엔티티(병원, 병원 정보, 의료진, 매크로, 채팅방)와 자주 쓰는 조회 쿼리 결과를
+ * 애플리케이션 메모리에 보관하여 같은 데이터를 매 요청 MySQL 에서 다시 읽지 않도록 합니다.
+ *
+ * 캐시 영역(region):
+ * - 엔티티마다 영역을 따로 두고, 영역별 최대 항목 수와 만료 시간을
+ *   jpa.second-level-cache.{영역}.max-size / ttl-seconds 로 지정합니다.
+ * - 동시성 전략은 엔티티의 @Cache 에 명시합니다.
+ * - 설정하지 않은 영역이 생기면 시작 시 실패합니다. (missing_cache_strategy=fail)
+ *
+ * 쿼리 캐시:
+ * - 리포지토리 메서드에 @QueryHints(HINT_CACHEABLE) 을 붙인 조회만 결과를 QUERY_RESULTS 영역에 보관하고,
+ *   결과 엔티티는 각 엔티티 영역에서 꺼내므로 반복 조회 시 DB 를 조회하지 않습니다.
+ *   관련 테이블이 바뀌면 UPDATE_TIMESTAMPS 로 이전 결과를 무효화합니다.
+ * - 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 복제본에서 읽으므로 캐시를 읽지도 채우지도 않습니다.
+ *   (ReadOnlyCacheModeJpaDialect) 서비스의 읽기 전용 트랜잭션 안에서 부른 캐시 조회도 그대로 DB 로 갑니다.
+ * - 그래서 캐시 조회 메서드에는 @PrimaryRead 를 붙입니다. 이 조회는 항상 원본에서 읽고 캐시를 사용하며,
+ *   읽기 전용 트랜잭션 안에서 호출하면 별도 트랜잭션으로 실행됩니다. (PrimaryReadInterceptor)
+ *
+ * 주의사항:
+ * - 서버마다 별도의 로컬 캐시이므로, 다른 서버나 DB 에서 직접 바꾼 값은 만료 시간(ttl-seconds)까지 보일 수 있습니다.
+ * - jpa.second-level-cache.enabled=false 로 끌 수 있습니다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "jpa.second-level-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    public static final String HOSPITAL = "hospital";
+    public static final String HOSPITAL_INFORMATION = "hospital-information";
+    public static final String MEDICAL_STAFF = "medical-staff";
+    public static final String MACRO = "macro";
+    public static final String CHAT_ROOM = "chat-room";
+
+    /**
+     * Hibernate 기본 쿼리 결과 영역
+     */
+    public static final String QUERY_RESULTS = "default-query-results-region";
+
+    /**
+     * 테이블별 마지막 변경 시각 영역 (쿼리 결과가 최신인지 판단하는 데 쓰이므로 만료시키지 않음)
+     */
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    private static final String PROPERTY_PREFIX = "jpa.second-level-cache.";
+
+    /**
+     * 영역별 기본값 (최대 항목 수, 만료 시간)
+     */
+    private static final Map<String, RegionDefaults> REGIONS = new LinkedHashMap<>();
+
+    static {
+        REGIONS.put(HOSPITAL, new RegionDefaults(1_000, Duration.ofHours(1)));
+        REGIONS.put(HOSPITAL_INFORMATION, new RegionDefaults(10_000, Duration.ofMinutes(30)));
+        REGIONS.put(MEDICAL_STAFF, new RegionDefaults(10_000, Duration.ofMinutes(10)));
+        REGIONS.put(MACRO, new RegionDefaults(20_000, Duration.ofMinutes(10)));
+        REGIONS.put(CHAT_ROOM, new RegionDefaults(50_000, Duration.ofMinutes(30)));
+        REGIONS.put(QUERY_RESULTS, new RegionDefaults(10_000, Duration.ofMinutes(10)));
+    }
+
+    /**
+     * 2차 캐시 영역을 미리 만든 JCache CacheManager
+     *
+     * @param environment 영역별 설정을 읽을 환경
+     * @return Caffeine 기반 JCache CacheManager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        REGIONS.forEach((region, defaults) -> {
+            long maxSize = environment.getProperty(PROPERTY_PREFIX + region + ".max-size", Long.class, defaults.maxSize());
+            long ttlSeconds = environment.getProperty(PROPERTY_PREFIX + region + ".ttl-seconds", Long.class,
+                    defaults.ttl().toSeconds());
+            createRegion(cacheManager, region, OptionalLong.of(maxSize), OptionalLong.of(Duration.ofSeconds(ttlSeconds).toNanos()));
+            log.info("2차 캐시 영역 생성 - 영역: {}, 최대: {}개, 만료: {}초", region, maxSize, ttlSeconds);
+        });
+        createRegion(cacheManager, UPDATE_TIMESTAMPS, OptionalLong.empty(), OptionalLong.empty());
+        return cacheManager;
+    }
+
+    /**
+     * Hibernate 가 위 CacheManager 로 2차 캐시와 쿼리 캐시를 사용하도록 설정합니다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.use_query_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String region, OptionalLong maxSize, OptionalLong ttlNanos) {
+        if (cacheManager.getCache(region) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maxSize);
+        configuration.setExpireAfterWrite(ttlNanos);
+        configuration.setStoreByValue(false);
+        cacheManager.createCache(region, configuration);
+    }
+
+    private record RegionDefaults(long maxSize, Duration ttl) {
+    }
+}
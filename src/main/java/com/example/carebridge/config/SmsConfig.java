@@ -2,17 +2,105 @@ package com.example.carebridge.config;
 
 import net.nurigo.sdk.NurigoApp;
 import net.nurigo.sdk.message.service.DefaultMessageService;
+import net.nurigo.sdk.message.service.MessageHttpService;
+import okhttp3.OkHttpClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import retrofit2.Retrofit;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 public class SmsConfig {
+    /**
+     * SMS 발송 API 클라이언트
+     * SDK 는 OkHttp 기본값(연결/읽기 10초, 전체 호출 무제한)으로 HTTP 클라이언트를 만들고 설정 방법을 제공하지 않으므로,
+     * 만든 뒤 내부 Retrofit 서비스를 타임아웃을 지정한 클라이언트로 다시 만들어 바꿔 끼웁니다.
+     * 전체 호출 시간(sms.send-timeout-ms)을 넘기면 호출이 취소되어 발송 스레드가 바로 반환됩니다.
+     * SDK 내부 구조가 바뀌어 교체할 수 없으면 애플리케이션 시작을 실패시킵니다.
+     */
     @Bean
     public DefaultMessageService smsMessageService(
             @Value("${message.api-key}") String apiKey,
-            @Value("${message.api-secret}") String apiSecret
+            @Value("${message.api-secret}") String apiSecret,
+            @Value("${sms.http.connect-timeout-ms:2000}") long connectTimeoutMillis,
+            @Value("${sms.http.read-timeout-ms:3000}") long readTimeoutMillis,
+            @Value("${sms.send-timeout-ms:5000}") long callTimeoutMillis
+    ) {
+        DefaultMessageService messageService = NurigoApp.INSTANCE.initialize(apiKey, apiSecret, "https://api.coolsms.co.kr");
+        try {
+            Field serviceField = messageHttpServiceField();
+            Retrofit retrofit = retrofitOf(serviceField.get(messageService));
+            OkHttpClient client = ((OkHttpClient) retrofit.callFactory()).newBuilder()
+                    .connectTimeout(connectTimeoutMillis, TimeUnit.MILLISECONDS)
+                    .readTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS)
+                    .writeTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS)
+                    .callTimeout(callTimeoutMillis, TimeUnit.MILLISECONDS)
+                    .build();
+            serviceField.set(messageService, retrofit.newBuilder().client(client).build()
+                    .create(MessageHttpService.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalStateException("SMS SDK 의 HTTP 타임아웃을 설정할 수 없습니다.", e);
+        }
+        return messageService;
+    }
+
+    /**
+     * SDK 가 사용하는 HTTP 클라이언트를 반환합니다.
+     *
+     * @param messageService SMS 발송 API 클라이언트
+     * @return 요청에 쓰이는 OkHttp 클라이언트
+     */
+    static OkHttpClient httpClientOf(DefaultMessageService messageService) throws ReflectiveOperationException {
+        return (OkHttpClient) retrofitOf(messageHttpServiceField().get(messageService)).callFactory();
+    }
+
+    private static Field messageHttpServiceField() throws NoSuchFieldException {
+        Field field = DefaultMessageService.class.getDeclaredField("messageHttpService");
+        field.setAccessible(true);
+        return field;
+    }
+
+    /**
+     * Retrofit.create 가 만든 프록시에서 Retrofit 인스턴스를 찾습니다.
+     */
+    private static Retrofit retrofitOf(Object service) throws ReflectiveOperationException {
+        Object handler = Proxy.getInvocationHandler(service);
+        for (Field field : handler.getClass().getDeclaredFields()) {
+            if (field.getType() == Retrofit.class) {
+                field.setAccessible(true);
+                return (Retrofit) field.get(handler);
+            }
+        }
+        throw new NoSuchFieldException("Retrofit");
+    }
+
+    /**
+     * SMS 발송 전용 스레드 풀
+     * 발송 API 호출이 요청 스레드를 막지 않도록 분리하고, 대기열 크기를 제한하여
+     * 발송 업체가 느려져도 대기 작업이 끝없이 쌓이지 않도록 합니다. (가득 차면 RejectedExecutionException)
+     *
+     * @return 크기가 고정된 스레드 풀
+     */
+    @Bean(name = "smsDispatchExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor smsDispatchExecutor(
+            @Value("${sms.dispatch.threads:2}") int threads,
+            @Value("${sms.dispatch.queue-capacity:100}") int queueCapacity
     ) {
-        return NurigoApp.INSTANCE.initialize(apiKey, apiSecret, "https://api.coolsms.co.kr");
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sms-dispatch-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
     }
 }
@@ -0,0 +1,61 @@
+package com.example.carebridge.config;
+
+import com.example.carebridge.util.AuthPrincipal;
+import com.example.carebridge.util.JwtUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * STOMP CONNECT 인증 인터셉터
+ * CONNECT 프레임의 Authorization 헤더(Bearer Access Token)를 검증하여 WebSocket 세션에 AuthPrincipal 을 연결합니다.
+ * 연결된 사용자에게는 convertAndSendToUser(AuthPrincipal.patientFor(id), ...) 로 세션 위치와 관계없이 메시지를 보낼 수 있으며,
+ * 클라이언트는 /user/queue/... 경로를 구독합니다. (구독 권한은 StompSubscribeInterceptor 에서 확인)
+ *
+ * auth.jwt.required=true(기본값)이면 유효한 토큰이 없는 CONNECT 를 거부하고, false 이면 인증 없이 연결을 허용합니다.
+ * (인증 없이 연결한 세션은 어떤 경로도 구독할 수 없습니다)
+ */
+@Slf4j
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private final JwtUtil jwtUtil;
+    private final boolean required;
+
+    public StompAuthChannelInterceptor(JwtUtil jwtUtil,
+                                       @Value("${auth.jwt.required:true}") boolean required) {
+        this.jwtUtil = jwtUtil;
+        this.required = required;
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+
+        Optional<AuthPrincipal> principal = JwtAuthenticationFilter
+                .resolveToken(accessor.getFirstNativeHeader(HttpHeaders.AUTHORIZATION))
+                .flatMap(jwtUtil::authenticate);
+        if (principal.isPresent()) {
+            accessor.setUser(principal.get());
+            log.debug("STOMP 연결 인증 - 사용자: {}, 세션: {}", principal.get().getName(), accessor.getSessionId());
+        } else if (required) {
+            log.debug("인증되지 않은 STOMP 연결 거부 - 세션: {}", accessor.getSessionId());
+            throw new MessagingException("유효한 인증 토큰이 필요합니다.");
+        }
+        return message;
+    }
+}
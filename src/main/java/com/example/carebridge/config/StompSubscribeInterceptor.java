@@ -0,0 +1,116 @@
+package com.example.carebridge.config;
+
+import com.example.carebridge.entity.ChatRoom;
+import com.example.carebridge.entity.MedicalStaff;
+import com.example.carebridge.repository.ChatRoomRepository;
+import com.example.carebridge.repository.MedicalStaffRepository;
+import com.example.carebridge.util.AuthPrincipal;
+import com.example.carebridge.util.UserDestinations;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * STOMP SUBSCRIBE 권한 인터셉터
+ * 구독 경로를 CONNECT 때 연결된 사용자(AuthPrincipal)와 비교하여, 허용된 사용자 경로(UserDestinations)만 구독하게 합니다.
+ *
+ * 허용 규칙:
+ * - 환자: /user/queue/chat/room/{자신의 채팅방 ID}, /user/queue/schedule/reminder
+ * - 의료진: /user/queue/chat/staff/{id}, /user/queue/call-bell/board/{id}, /user/queue/call-bell/escalation/{id}
+ *   (id 는 같은 병원의 의료진 ID), /user/queue/ward/{자신의 병원 ID}/{분과}
+ * - 그 외 경로(브로커 경로 직접 구독 포함)와 인증되지 않은 세션의 구독은 거부합니다.
+ */
+@Slf4j
+@Component
+public class StompSubscribeInterceptor implements ChannelInterceptor {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final MedicalStaffRepository medicalStaffRepository;
+
+    public StompSubscribeInterceptor(ChatRoomRepository chatRoomRepository,
+                                     MedicalStaffRepository medicalStaffRepository) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.medicalStaffRepository = medicalStaffRepository;
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.SUBSCRIBE) {
+            return message;
+        }
+        String destination = accessor.getDestination();
+        if (!(accessor.getUser() instanceof AuthPrincipal principal) || !isAllowed(principal, destination)) {
+            log.warn("허용되지 않은 STOMP 구독 거부 - 사용자: {}, 경로: {}, 세션: {}",
+                    accessor.getUser() != null ? accessor.getUser().getName() : null, destination, accessor.getSessionId());
+            throw new MessagingException("구독할 수 없는 경로입니다: " + destination);
+        }
+        return message;
+    }
+
+    /**
+     * 사용자가 경로를 구독할 수 있는지 확인합니다.
+     *
+     * @param principal 인증된 사용자
+     * @param destination SUBSCRIBE 경로
+     * @return 허용되면 true
+     */
+    boolean isAllowed(AuthPrincipal principal, String destination) {
+        if (destination == null || !destination.startsWith(UserDestinations.USER_PREFIX + "/")) {
+            return false;
+        }
+        String path = destination.substring(UserDestinations.USER_PREFIX.length());
+        if (principal.role() == AuthPrincipal.Role.PATIENT) {
+            if (UserDestinations.SCHEDULE_REMINDER.equals(path)) {
+                return true;
+            }
+            String chatRoomId = suffix(path, UserDestinations.CHAT_ROOM);
+            return chatRoomId != null && chatRoomRepository.findByChatRoomId(chatRoomId)
+                    .map(ChatRoom::getPatientId)
+                    .filter(patientId -> patientId.equals(principal.patientId()))
+                    .isPresent();
+        }
+
+        String ward = suffix(path, UserDestinations.WARD);
+        if (ward != null) {
+            int slash = ward.indexOf('/');
+            return slash > 0 && slash < ward.length() - 1
+                    && ward.substring(0, slash).equals(String.valueOf(principal.hospitalId()));
+        }
+        for (String prefix : new String[]{UserDestinations.STAFF_CHAT, UserDestinations.CALL_BELL_BOARD,
+                UserDestinations.CALL_BELL_ESCALATION}) {
+            String staffId = suffix(path, prefix);
+            if (staffId != null) {
+                return isStaffOfHospital(staffId, principal.hospitalId());
+            }
+        }
+        return false;
+    }
+
+    private boolean isStaffOfHospital(String staffId, Integer hospitalId) {
+        try {
+            return medicalStaffRepository.findByMedicalStaffId(Integer.valueOf(staffId))
+                    .map(MedicalStaff::getHospitalId)
+                    .filter(staffHospitalId -> Objects.equals(staffHospitalId, hospitalId))
+                    .isPresent();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static String suffix(String path, String prefix) {
+        if (!path.startsWith(prefix) || path.length() == prefix.length()) {
+            return null;
+        }
+        return path.substring(prefix.length());
+    }
+}
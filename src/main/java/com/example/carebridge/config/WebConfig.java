@@ -75,7 +75,11 @@ public class WebConfig implements WebMvcConfigurer {
                         "Content-Type"       // 요청 본문 타입
                 )
                 .exposedHeaders(            // 클라이언트에 노출할 응답 헤더
-                        "Custom-Header"      // 테스트용 커스텀 헤더
+                        "Custom-Header",     // 테스트용 커스텀 헤더
+                        "Authorization",     // 의료진 로그인 시 발급한 Access Token
+                        "Refresh-Token",     // 의료진 로그인 시 발급한 Refresh Token
+                        "Otp-Request-Id",    // 인증번호 발송 요청 ID
+                        "Retry-After"        // 인증번호 발송 한도 초과 시 재시도 대기 시간 (초)
                 )
                 .allowCredentials(true)     // 인증 정보 포함 허용
                 .maxAge(3600);              // 프리플라이트 요청 캐시 시간 (초)
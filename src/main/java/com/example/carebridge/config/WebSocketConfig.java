@@ -1,7 +1,9 @@
 package com.example.carebridge.config;
 
+import com.example.carebridge.util.UserDestinations;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -21,18 +23,32 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
  * 2. 허용 도메인 제한
  * 3. SSL/TLS 보안 연결 적용
  * 4. 세션 관리 및 인증 강화
+ *
+ * [인증]
+ * - CONNECT 프레임의 Authorization 헤더(JWT)를 StompAuthChannelInterceptor 가 검증하여 사용자(Principal)를 연결합니다.
+ * - 모든 메시지는 convertAndSendToUser 로 보내고, 클라이언트는 /user/queue/... (UserDestinations) 를 구독합니다.
+ * - SUBSCRIBE 프레임은 StompSubscribeInterceptor 가 경로와 사용자를 비교하여 허용된 경로만 통과시킵니다.
  */
 @Configuration
 @EnableWebSocketMessageBroker  // WebSocket 메시지 브로커 활성화
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final StompSubscribeInterceptor stompSubscribeInterceptor;
+
+    public WebSocketConfig(StompAuthChannelInterceptor stompAuthChannelInterceptor,
+                           StompSubscribeInterceptor stompSubscribeInterceptor) {
+        this.stompAuthChannelInterceptor = stompAuthChannelInterceptor;
+        this.stompSubscribeInterceptor = stompSubscribeInterceptor;
+    }
+
     /**
      * 메시지 브로커 설정 메서드
      * 메시지 라우팅과 브로커 동작 방식을 정의합니다.
      * 
      * [현재 개발 환경 설정]
      * - 심플 브로커: 인메모리 방식으로 가벼운 테스트에 적합
-     * - 구독 prefix: /sub
+     * - 구독 prefix: /user/queue (사용자 경로만 사용)
      * - 발행 prefix: /pub
      * 
      * [배포 시 변경 필요 사항]
@@ -51,8 +67,9 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
      */
     @Override
     public void configureMessageBroker(@NonNull MessageBrokerRegistry config) {
-        // 구독 경로 설정 (/sub/chat/room/1 형태로 구독)
-        config.enableSimpleBroker("/sub");
+        // 구독 경로 설정 (클라이언트는 /user/queue/chat/room/1 형태로 구독하고, 세션별 /queue/... 경로로 전달됨)
+        config.enableSimpleBroker("/queue");
+        config.setUserDestinationPrefix(UserDestinations.USER_PREFIX);
         
         // 메시지 발행 경로 설정 (/pub/chat/message 형태로 발행)
         config.setApplicationDestinationPrefixes("/pub");
@@ -92,4 +109,15 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/ws-stomp")        // WebSocket 엔드포인트 설정
                 .setAllowedOriginPatterns("*");  // 개발환경용 모든 도메인 허용
     }
+
+    /**
+     * 클라이언트 → 서버 채널 설정 메서드
+     * CONNECT 시 JWT 를 검증하여 세션에 사용자를 연결하고, SUBSCRIBE 시 구독 권한을 확인하는 인터셉터를 등록합니다.
+     *
+     * @param registration 클라이언트 인바운드 채널 설정
+     */
+    @Override
+    public void configureClientInboundChannel(@NonNull ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor, stompSubscribeInterceptor);
+    }
 }
\ No newline at end of file
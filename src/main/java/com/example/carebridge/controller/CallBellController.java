@@ -1,6 +1,9 @@
 package com.example.carebridge.controller;
 
 import com.example.carebridge.dto.RequestDto;
+import com.example.carebridge.dto.ResponseTimeStatsDto;
+import com.example.carebridge.exception.RequestConflictException;
+import com.example.carebridge.service.CallBellAnalytics;
 import com.example.carebridge.service.CallBellService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -28,12 +31,14 @@ import java.util.List;
 public class CallBellController {
 
     private final CallBellService callBellService;
+    private final CallBellAnalytics callBellAnalytics;
 
     /**
      * 요청 상태를 업데이트합니다.
      *
      * @param requestId 요청 ID
      * @param status   새로운 상태 값
+     * @param expectedStatus 화면에 표시된 현재 상태 (없으면 400)
      * @return 처리 결과와 HTTP 상태 코드
      */
     @Operation(summary = "요청 상태 업데이트", description = "환자의 호출 요청 상태를 업데이트합니다.")
@@ -41,6 +46,7 @@ public class CallBellController {
         @ApiResponse(responseCode = "200", description = "상태 업데이트 성공"),
         @ApiResponse(responseCode = "400", description = "잘못된 요청 데이터"),
         @ApiResponse(responseCode = "404", description = "요청을 찾을 수 없음"),
+        @ApiResponse(responseCode = "409", description = "다른 사용자가 먼저 변경했거나 허용되지 않는 상태 전이"),
         @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     @PutMapping("/request/status/{request_id}")
@@ -49,7 +55,10 @@ public class CallBellController {
             @Parameter(description = "요청 ID", required = true)
             @PathVariable("request_id") int requestId,
             @Parameter(description = "새로운 상태", required = true, example = "PENDING/COMPLETED/IN_PROGRESS/SCHEDULED")
-            @RequestParam("status") String status) {
+            @RequestParam("status") String status,
+            @Parameter(description = "화면에 표시된 현재 상태 (이 상태일 때만 변경, 새 상태와 같으면 재시도로 처리)",
+                    required = true, example = "PENDING")
+            @RequestParam(value = "expectedStatus", required = true) String expectedStatus) {
         try {
             log.debug("요청 상태 업데이트 시도 - 요청 ID: {}, 새로운 상태: {}", requestId, status);
 
@@ -58,11 +67,18 @@ public class CallBellController {
                 log.error("잘못된 상태값: {}", status);
                 return new ResponseEntity<>("유효하지 않은 상태값입니다.", HttpStatus.BAD_REQUEST);
             }
+            if (!isValidStatus(expectedStatus)) {
+                log.error("잘못된 기대 상태값: {}", expectedStatus);
+                return new ResponseEntity<>("유효하지 않은 기대 상태값입니다.", HttpStatus.BAD_REQUEST);
+            }
 
-            callBellService.updateRequestStatus(requestId, status);
+            callBellService.updateRequestStatus(requestId, status, expectedStatus);
             log.info("요청 상태 업데이트 성공 - 요청 ID: {}, 상태: {}", requestId, status);
             return new ResponseEntity<>("요청 상태가 성공적으로 업데이트되었습니다.", HttpStatus.OK);
 
+        } catch (RequestConflictException e) {
+            log.warn("요청 상태 변경 충돌 - 요청 ID: {}, 사유: {}", requestId, e.getMessage());
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
         } catch (IllegalArgumentException e) {
             log.error("요청을 찾을 수 없음 - 요청 ID: {}", requestId, e);
             return new ResponseEntity<>("해당 요청을 찾을 수 없습니다.", HttpStatus.NOT_FOUND);
@@ -72,13 +88,76 @@ public class CallBellController {
         }
     }
 
+    /**
+     * 특정 의료진의 실시간 콜벨 보드를 조회합니다.
+     *
+     * @param medicalStaffId 의료진 ID
+     * @return 미완료 요청 목록과 HTTP 상태 코드
+     */
+    @Operation(summary = "의료진별 콜벨 보드 조회",
+            description = "특정 의료진의 미완료 요청을 긴급도와 대기 시간 순으로 조회합니다. " +
+                    "이후 변경분은 /user/queue/call-bell/board/{staff_id} 구독으로 ADD/UPDATE/REMOVE 형태로 전달됩니다.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "보드 조회 성공"),
+        @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @GetMapping("/board/{staff_id}")
+    @ResponseBody
+    public ResponseEntity<List<RequestDto>> getBoard(
+            @Parameter(description = "의료진 ID", required = true)
+            @PathVariable("staff_id") int medicalStaffId) {
+        try {
+            return new ResponseEntity<>(callBellService.getOpenRequests(medicalStaffId), HttpStatus.OK);
+        } catch (Exception e) {
+            log.error("콜벨 보드 조회 중 오류 발생: {}", e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * 콜벨 응답 시간 백분위수를 조회합니다.
+     *
+     * @param dimension 집계 기준 (staff/department/hour)
+     * @param key 집계 키 (없으면 기준 내 전체)
+     * @return 백분위수 목록과 HTTP 상태 코드
+     */
+    @Operation(summary = "콜벨 응답 시간 분석",
+            description = "의료진/분과/요청 시각(시)별 대기 시간(요청~수락)과 처리 시간(요청~완료)의 " +
+                    "p50/p90/p99 를 밀리초 단위로 조회합니다. 서버 시작 이후의 요청만 집계됩니다.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "조회 성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 집계 기준"),
+        @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @GetMapping("/analytics/{dimension}")
+    @ResponseBody
+    public ResponseEntity<List<ResponseTimeStatsDto>> getResponseTimeStats(
+            @Parameter(description = "집계 기준", required = true, example = "staff/department/hour")
+            @PathVariable("dimension") String dimension,
+            @Parameter(description = "집계 키 (의료진 ID, 분과 이름, 0~23)")
+            @RequestParam(value = "key", required = false) String key) {
+        try {
+            CallBellAnalytics.Dimension parsed = CallBellAnalytics.Dimension.valueOf(dimension.toUpperCase());
+            List<ResponseTimeStatsDto> stats = key == null
+                    ? callBellAnalytics.getStats(parsed)
+                    : List.of(callBellAnalytics.getStats(parsed, key));
+            return new ResponseEntity<>(stats, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.error("잘못된 집계 기준: {}", dimension);
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.error("콜벨 응답 시간 조회 중 오류 발생: {}", e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * 특정 의료진의 모든 요청을 조회합니다.
      *
      * @param medicalStaffId 의료진 ID
      * @return 요청 목록과 HTTP 상태 코드
      */
-    @Operation(summary = "의료진별 요청 목록 조회", description = "특정 의료진에게 할당된 모든 요청을 조회합니다.")
+    @Operation(summary = "의료진별 요청 목록 조회", description = "특정 의료진에게 할당된 모든 요청(완료 포함) 이력을 조회합니다.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "요청 목록 조회 성공"),
         @ApiResponse(responseCode = "204", description = "요청이 없음"),
@@ -183,6 +262,7 @@ public class CallBellController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "수락 시간 업데이트 성공"),
         @ApiResponse(responseCode = "404", description = "요청을 찾을 수 없음"),
+        @ApiResponse(responseCode = "409", description = "이미 다른 의료진이 수락한 요청"),
         @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     @PatchMapping("/request/{request_id}")
@@ -197,6 +277,9 @@ public class CallBellController {
             callBellService.updateRequestAcceptTime(requestId, acceptTime);
             log.info("요청 수락 시간 업데이트 성공 - 요청 ID: {}, 수락 시간: {}", requestId, acceptTime);
             return new ResponseEntity<>("요청 수락 시간이 성공적으로 업데이트되었습니다.", HttpStatus.OK);
+        } catch (RequestConflictException e) {
+            log.warn("요청 수락 충돌 - 요청 ID: {}, 사유: {}", requestId, e.getMessage());
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
         } catch (IllegalArgumentException e) {
             log.error("요청을 찾을 수 없음 - 요청 ID: {}", requestId, e);
             return new ResponseEntity<>("해당 요청을 찾을 수 없습니다.", HttpStatus.NOT_FOUND);
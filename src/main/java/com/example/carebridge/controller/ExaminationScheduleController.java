@@ -13,6 +13,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -98,7 +99,7 @@ public class ExaminationScheduleController {
         }
     }
 
-    @Operation(summary = "오늘의 일정 조회")
+    @Operation(summary = "오늘의 일정 조회", description = "병원 시간대 기준 오늘의 검사 일정을 조회합니다.")
     @GetMapping("/today/{patient_id}")
     public ResponseEntity<List<ExaminationScheduleDto>> getTodaySchedules(
             @Parameter(description = "환자 ID", required = true)
@@ -116,6 +117,81 @@ public class ExaminationScheduleController {
         }
     }
 
+    @Operation(summary = "이번 주 일정 조회", description = "병원 시간대 기준 이번 주(월요일 ~ 일요일)의 검사 일정을 조회합니다.")
+    @GetMapping("/week/{patient_id}")
+    public ResponseEntity<List<ExaminationScheduleDto>> getThisWeekSchedules(
+            @Parameter(description = "환자 ID", required = true)
+            @PathVariable("patient_id") Integer patientId) {
+        try {
+            List<ExaminationScheduleDto> schedules = scheduleService.getThisWeekSchedules(patientId);
+            log.debug("이번 주 검사 일정 조회 성공 - {} 건", schedules.size());
+            return new ResponseEntity<>(schedules, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.error("잘못된 환자 ID: {}", patientId, e);
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.error("검사 일정 조회 중 오류 발생 - 환자 ID: {}", patientId, e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Operation(summary = "환자별 기간 일정 조회",
+            description = "from(포함) ~ to(제외) 기간의 검사 일정을 조회합니다. 시각은 ISO-8601 형식(예: 2024-05-01T00:00:00+09:00)입니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "검사 일정 조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 (환자 ID 또는 기간 오류)"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @GetMapping("/patient/{patient_id}/range")
+    public ResponseEntity<List<ExaminationScheduleDto>> getSchedulesBetween(
+            @Parameter(description = "환자 ID", required = true)
+            @PathVariable("patient_id") Integer patientId,
+            @Parameter(description = "시작 시각 (포함)", required = true)
+            @RequestParam("from") Instant from,
+            @Parameter(description = "종료 시각 (제외)", required = true)
+            @RequestParam("to") Instant to) {
+        try {
+            List<ExaminationScheduleDto> schedules = scheduleService.getSchedulesBetween(patientId, from, to);
+            log.debug("환자 ID {}의 기간 검사 일정 조회 성공 - {} 건", patientId, schedules.size());
+            return new ResponseEntity<>(schedules, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.error("잘못된 기간 조회 요청 - 환자 ID: {}, 기간: {} ~ {}", patientId, from, to, e);
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.error("검사 일정 조회 중 오류 발생 - 환자 ID: {}", patientId, e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Operation(summary = "의료진별 기간 일정 조회",
+            description = "from(포함) ~ to(제외) 기간의 의료진 검사 일정을 조회합니다. 시각은 ISO-8601 형식입니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "검사 일정 조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 (의료진 ID 또는 기간 오류)"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @GetMapping("/medical-staff/{medical_staff_id}/range")
+    public ResponseEntity<List<ExaminationScheduleDto>> getMedicalStaffSchedulesBetween(
+            @Parameter(description = "의료진 ID", required = true)
+            @PathVariable("medical_staff_id") Integer medicalStaffId,
+            @Parameter(description = "시작 시각 (포함)", required = true)
+            @RequestParam("from") Instant from,
+            @Parameter(description = "종료 시각 (제외)", required = true)
+            @RequestParam("to") Instant to) {
+        try {
+            List<ExaminationScheduleDto> schedules =
+                    scheduleService.getMedicalStaffSchedulesBetween(medicalStaffId, from, to);
+            log.debug("의료진 ID {}의 기간 검사 일정 조회 성공 - {} 건", medicalStaffId, schedules.size());
+            return new ResponseEntity<>(schedules, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.error("잘못된 기간 조회 요청 - 의료진 ID: {}, 기간: {} ~ {}", medicalStaffId, from, to, e);
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.error("검사 일정 조회 중 오류 발생 - 의료진 ID: {}", medicalStaffId, e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @Operation(summary = "스케줄 생성")
     @PostMapping()
     public ResponseEntity<ExaminationSchedule> createSchedule(
@@ -1,6 +1,8 @@
 package com.example.carebridge.controller;
 
+import com.example.carebridge.dto.WardDashboardDto;
 import com.example.carebridge.service.HospitalService;
+import com.example.carebridge.service.WardDashboardService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -17,14 +19,17 @@ import org.springframework.web.bind.annotation.*;
 public class HospitalController {
 
     private final HospitalService hospitalService;
+    private final WardDashboardService wardDashboardService;
 
     /**
      * 병원 서비스를 주입받는 생성자입니다.
      * 
      * @param hospitalService 병원 관련 비즈니스 로직을 처리하는 서비스
+     * @param wardDashboardService 병동 실시간 현황 서비스
      */
-    public HospitalController(HospitalService hospitalService) {
+    public HospitalController(HospitalService hospitalService, WardDashboardService wardDashboardService) {
         this.hospitalService = hospitalService;
+        this.wardDashboardService = wardDashboardService;
     }
 
     /**
@@ -60,4 +65,29 @@ public class HospitalController {
                 .body("서버 오류가 발생했습니다: " + e.getMessage());
         }
     }
+
+    /**
+     * 병동(병원·분과)의 실시간 현황을 조회합니다.
+     *
+     * @param hospital_id 병원 ID
+     * @param department 분과 이름
+     * @return 병동 현황과 HTTP 상태 코드
+     */
+    @Operation(summary = "병동 실시간 현황 조회",
+            description = "미완료 콜벨 요청 수, 읽지 않은 환자 메시지 수, 오늘 평균 대기 시간, 오늘 검사 환자 수를 조회합니다. " +
+                    "이후 변경은 /user/queue/ward/{hospital_id}/{department} 구독으로 주기적으로 전달됩니다.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "병동 현황 조회 성공"),
+        @ApiResponse(responseCode = "500", description = "서버 내부 오류")
+    })
+    @GetMapping("/{hospital_id}/ward/{department}")
+    @ResponseBody
+    public ResponseEntity<WardDashboardDto> getWardDashboard(@PathVariable Integer hospital_id,
+                                                             @PathVariable String department) {
+        try {
+            return ResponseEntity.ok(wardDashboardService.getDashboard(hospital_id, department));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 }
@@ -7,7 +7,10 @@ import com.example.carebridge.dto.RequestDto;
 import com.example.carebridge.entity.Message;
 import com.example.carebridge.entity.Request;
 import com.example.carebridge.service.CallBellService;
+import com.example.carebridge.service.MessageReplayService;
 import com.example.carebridge.service.MessageService;
+import com.example.carebridge.service.UserQueueMessenger;
+import com.example.carebridge.util.UserDestinations;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -16,7 +19,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.web.bind.annotation.*;
 
 import javax.management.Notification;
@@ -29,12 +31,12 @@ import java.util.Map;
 public class MessageController {
     private static final Logger logger = LoggerFactory.getLogger(MessageController.class);
     private final MessageService messageService;
-    private final SimpMessageSendingOperations messagingTemplate;
+    private final UserQueueMessenger userQueueMessenger;
     private final CallBellService callBellService;
 
-    public MessageController(MessageService messageService, SimpMessageSendingOperations messagingTemplate, CallBellService callBellService) {
+    public MessageController(MessageService messageService, UserQueueMessenger userQueueMessenger, CallBellService callBellService) {
         this.messageService = messageService;
-        this.messagingTemplate = messagingTemplate;
+        this.userQueueMessenger = userQueueMessenger;
         this.callBellService = callBellService;
     }
 
@@ -54,22 +56,25 @@ public class MessageController {
 
             // 환자의 메세지를 의료진에게 전송합니다.
             if(savedMessage.getIsPatient())
-                messagingTemplate.convertAndSend("/sub/user/chat/" + message.getMedicalStaffId(), savedMessage);
+                sendToStaff(savedMessage.getMedicalStaffId(), savedMessage);
             // 의료진의 메세지를 환자에게 전송합니다.
             else
-                messagingTemplate.convertAndSend("/sub/chat/room/" + message.getChatRoomId(), savedMessage);
+                sendToPatient(savedMessage, savedMessage);
+
+            // 수신자에게 푸시 알림을 보냅니다. (연속 메시지는 병합되어 한 번만 전송)
+            messageService.notifyRecipient(savedMessage);
 
             // 환자가 보낸 정보성 질문이라면 gpt를 통한 답변을 구독자들에게 전송합니다.
             if (savedMessage.getCategory().equals("정보성 질문") && message.getIsPatient()){
                 Message chatGptMessage = messageService.chatGptMessage(message);
-                messagingTemplate.convertAndSend("/sub/chat/room/" + message.getChatRoomId(), chatGptMessage); // 자동 답변 환자에게 전송
+                sendToPatient(savedMessage, chatGptMessage); // 자동 답변 환자에게 전송
 
-                messagingTemplate.convertAndSend("/sub/user/chat/" + message.getMedicalStaffId(), chatGptMessage); // 환자에게 보낸 자동 답변 의료진한테도 전송
+                sendToStaff(savedMessage.getMedicalStaffId(), chatGptMessage); // 환자에게 보낸 자동 답변 의료진한테도 전송
             }
             // 환자가 보낸 의료진 도움요청이라면 Request를 생성합니다. 생성한 Request를 의료진에게 전송합니다.
             else if (savedMessage.getCategory().equals("의료진 도움요청") && message.getIsPatient()) {
                 Request req = callBellService.createRequestByMessage(savedMessage);
-                messagingTemplate.convertAndSend("/sub/user/chat/" + message.getMedicalStaffId(), req);
+                sendToStaff(savedMessage.getMedicalStaffId(), req);
                 logger.info("Request : "+req.getRequestContent());
             }
         } catch (IllegalArgumentException e) {
@@ -80,44 +85,26 @@ public class MessageController {
 
     }
 
-//    //테스트용
-//    @PostMapping
-//    public ResponseEntity<Message> sendMessage(@RequestBody ChatMessageDto message) {
-//        try {
-//            // 수신된 메시지를 로그에 기록합니다.
-//            logger.info("Received message: {}", message);
-//
-//            // 메시지를 데이터베이스에 저장합니다.
-//            Message savedMessage = messageService.saveMessage(message);
-//
-//            // 환자의 메세지를 의료진에게 전송합니다.
-//            if(savedMessage.getIsPatient())
-//                messagingTemplate.convertAndSend("/sub/user/chat/" + message.getMedicalStaffId(), savedMessage);
-//                // 의료진의 메세지를 환자에게 전송합니다.
-//            else
-//                messagingTemplate.convertAndSend("/sub/chat/room/" + message.getChatRoomId(), savedMessage);
-//
-//            // 환자가 보낸 정보성 질문이라면 gpt를 통한 답변을 구독자들에게 전송합니다.
-//            if (savedMessage.getCategory().equals("정보성 질문") && message.getIsPatient()){
-//                Message chatGptMessage = messageService.chatGptMessage(message);
-//                messagingTemplate.convertAndSend("/sub/chat/room/" + message.getChatRoomId(), chatGptMessage);
-//                logger.info(chatGptMessage.getMessageContent());
-//                logger.info(message.getChatRoomId());
-//            }
-//            // 환자가 보낸 의료진 도움요청이라면 Request를 생성합니다. 생성한 Request를 의료진에게 전송합니다.
-//            else if (savedMessage.getCategory().equals("의료진 도움요청") && message.getIsPatient()) {
-//                Request req = callBellService.createRequestByMessage(savedMessage);
-//                messagingTemplate.convertAndSend("/sub/user/chat/" + message.getMedicalStaffId(), req);
-//                logger.info(req.getRequestContent());
-//            }
-//            return ResponseEntity.status(HttpStatus.CREATED).body(savedMessage);
-//        } catch (IllegalArgumentException e) {
-//            logger.error("잘못된 메시지 데이터: {}", e.getMessage(), e);
-//        } catch (Exception e) {
-//            logger.error("메시지 처리 중 오류 발생: {}", e.getMessage(), e);
-//        }
-//        return null;
-//    }
+    /**
+     * 채팅방 환자에게 사용자 경로(/user/queue/chat/room/{chatRoomId})로 전송합니다.
+     *
+     * @param roomMessage 채팅방과 환자를 정하는 메시지
+     * @param payload 전송할 값
+     */
+    private void sendToPatient(Message roomMessage, Object payload) {
+        userQueueMessenger.sendToPatient(roomMessage.getPatientId(),
+                UserDestinations.CHAT_ROOM + roomMessage.getChatRoomId(), payload);
+    }
+
+    /**
+     * 의료진 채팅 화면을 구독 중인 계정에게 사용자 경로(/user/queue/chat/staff/{medicalStaffId})로 전송합니다.
+     *
+     * @param medicalStaffId 의료진 ID
+     * @param payload 전송할 값
+     */
+    private void sendToStaff(Integer medicalStaffId, Object payload) {
+        userQueueMessenger.sendToSubscribers(UserDestinations.STAFF_CHAT + medicalStaffId, payload);
+    }
 
     /**
      * 모든 환자의 메시지 목록을 반환합니다.
@@ -160,6 +147,30 @@ public class MessageController {
         }
     }
 
+    /**
+     * 채팅방에서 특정 순번 이후의 메시지 목록을 반환합니다.
+     * 재연결 시 전체 이력을 다시 받지 않고 놓친 구간만 조회하기 위해 사용합니다.
+     * 최대 건수에서 잘렸으면 X-Replay-Truncated: true 헤더를 붙이므로, 마지막 메시지의 순번으로 다시 조회합니다.
+     *
+     * @param roomId 채팅방 ID
+     * @param afterSeq 마지막으로 수신한 메시지 순번
+     * @return 메시지 목록과 HTTP 상태 코드
+     */
+    @GetMapping("/room/{roomId}")
+    @ResponseBody
+    public ResponseEntity<List<Message>> getMessagesAfterSeq(@PathVariable String roomId,
+                                                             @RequestParam(defaultValue = "0") long afterSeq) {
+        try {
+            MessageReplayService.ReplayResult result = messageService.getMessagesAfterSeq(roomId, afterSeq);
+            return ResponseEntity.ok()
+                    .header("X-Replay-Truncated", String.valueOf(result.truncated()))
+                    .body(result.messages());
+        } catch (Exception e) {
+            logger.error("Error fetching messages for roomId: {} after seq: {}", roomId, afterSeq, e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * 특정 텍스트를 포함하는 메시지 목록을 반환합니다.
      *
@@ -247,9 +258,9 @@ public class MessageController {
             Message message = messageService.getMessageById(messageId);
 
             if(message.getIsPatient())
-                messagingTemplate.convertAndSend("/sub/chat/room/" + message.getChatRoomId(), notificationDto);
+                sendToPatient(message, notificationDto);
             else
-                messagingTemplate.convertAndSend("/sub/user/chat/" + message.getMedicalStaffId(), notificationDto);
+                sendToStaff(message.getMedicalStaffId(), notificationDto);
 
             // HTTP 상태 코드 200(OK)을 반환합니다.
             return new ResponseEntity<>(HttpStatus.OK);
@@ -1,8 +1,10 @@
 package com.example.carebridge.controller;
 
+import com.example.carebridge.dto.NotificationQueueStatsDto;
 import com.example.carebridge.dto.NotificationRequestDto;
 import com.example.carebridge.dto.NotificationTokenDto;
-import com.example.carebridge.service.FcmService;
+import com.example.carebridge.entity.DeviceToken;
+import com.example.carebridge.service.NotificationQueueService;
 import com.example.carebridge.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,14 +15,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
-import java.util.concurrent.ExecutionException;
 
 @Slf4j
 @RestController
@@ -29,22 +32,25 @@ import java.util.concurrent.ExecutionException;
 public class NotificationApiController {
 
     private final NotificationService notificationService;
-    private final FcmService fcmService;
+    private final NotificationQueueService notificationQueueService;
 
-    public NotificationApiController(NotificationService notificationService, FcmService fcmService) {
+    public NotificationApiController(NotificationService notificationService,
+                                     NotificationQueueService notificationQueueService) {
         this.notificationService = notificationService;
-        this.fcmService = fcmService;
+        this.notificationQueueService = notificationQueueService;
     }
 
     @Operation(
         summary = "FCM 토큰 등록",
-        description = "사용자의 FCM 토큰을 서버에 등록합니다.\n\n" +
+        description = "사용자 또는 의료진 디바이스의 FCM 토큰을 서버에 등록합니다.\n\n" +
             "### 사용 시나리오\n" +
             "- 사용자가 앱에 처음 로그인할 때\n" +
             "- 디바이스 토큰이 갱신되었을 때\n\n" +
             "### 주의사항\n" +
             "- 토큰은 디바이스와 앱 설치마다 고유하며, 재설치 시 변경될 수 있습니다.\n" +
-            "- 기존에 등록된 토큰이 있다면 새로운 토큰으로 업데이트됩니다."
+            "- 한 계정이 여러 디바이스(스테이션 PC, 휴대폰 등)를 등록할 수 있으며, 모든 디바이스로 알림이 전송됩니다.\n" +
+            "- 의료진 디바이스는 userId 대신 medicalStaffId 를 지정합니다.\n" +
+            "- 같은 토큰을 다시 등록하면 마지막 사용 시각이 갱신되며, 오래 갱신되지 않은 디바이스는 자동으로 만료됩니다."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -88,7 +94,8 @@ public class NotificationApiController {
                 value = """
                 {
                     "userId": 123,
-                    "token": "firebase_fcm_token_example..."
+                    "token": "firebase_fcm_token_example...",
+                    "platform": "WEB"
                 }
                 """
             )
@@ -96,7 +103,13 @@ public class NotificationApiController {
         @RequestBody NotificationTokenDto notificationTokenDto
     ) {
         try {
-            notificationService.register(notificationTokenDto.getUserId(), notificationTokenDto.getToken());
+            if (notificationTokenDto.getMedicalStaffId() != null) {
+                notificationService.registerDevice(DeviceToken.OwnerType.STAFF, notificationTokenDto.getMedicalStaffId(),
+                        notificationTokenDto.getToken(), notificationTokenDto.getPlatform());
+            } else {
+                notificationService.registerDevice(DeviceToken.OwnerType.USER, notificationTokenDto.getUserId(),
+                        notificationTokenDto.getToken(), notificationTokenDto.getPlatform());
+            }
             return ResponseEntity.ok().build();
         } catch (IllegalArgumentException e) {
             log.error("토큰 등록 실패: {}", e.getMessage());
@@ -115,6 +128,7 @@ public class NotificationApiController {
             "- 알림 수신을 비활성화할 때\n" +
             "- 앱을 제거할 때\n\n" +
             "### 주의사항\n" +
+            "- token 을 지정하면 해당 디바이스만, 생략하면 사용자의 모든 디바이스 토큰이 삭제됩니다.\n" +
             "- 토큰이 삭제되면 해당 디바이스로 더 이상 알림을 받을 수 없습니다.\n" +
             "- 재로그인 시 새로운 토큰을 등록해야 합니다."
     )
@@ -168,7 +182,14 @@ public class NotificationApiController {
         @RequestBody NotificationTokenDto notificationTokenDto
     ) {
         try {
-            notificationService.deleteToken(notificationTokenDto.getUserId());
+            if (notificationTokenDto.getMedicalStaffId() != null) {
+                notificationService.deleteDevice(DeviceToken.OwnerType.STAFF, notificationTokenDto.getMedicalStaffId(),
+                        notificationTokenDto.getToken());
+            } else if (notificationTokenDto.getToken() != null) {
+                notificationService.deleteToken(notificationTokenDto.getUserId(), notificationTokenDto.getToken());
+            } else {
+                notificationService.deleteToken(notificationTokenDto.getUserId());
+            }
             return ResponseEntity.ok().build();
         } catch (IllegalArgumentException e) {
             log.error("토큰 삭제 실패: {}", e.getMessage());
@@ -187,19 +208,20 @@ public class NotificationApiController {
             "- 긴급 알림 전송\n" +
             "- 공지사항 전파\n\n" +
             "### 주의사항\n" +
-            "- 한 번에 최대 500개의 알림까지 전송 가능\n" +
+            "- 요청은 전송 큐에 저장된 뒤 바로 202 와 알림 ID 목록이 반환되고, 실제 전송은 큐 작업자가 수행함\n" +
+            "- 일시적 오류는 지수 백오프로 재시도되며, 만료된 토큰은 삭제되고 해당 알림은 전송 포기(dead)로 기록됨\n" +
             "- 알림 제목과 내용은 각각 최대 1000자까지 지원\n" +
             "- 수신자의 FCM 토큰이 유효해야 전송 가능\n" +
             "- 네트워크 상태에 따라 전송 지연이 발생할 수 있음"
     )
     @ApiResponses(value = {
         @ApiResponse(
-            responseCode = "200",
-            description = "알림 전송 성공",
+            responseCode = "202",
+            description = "알림 전송 큐 등록 성공 (요청 순서대로 알림 ID 반환)",
             content = @Content(
                 mediaType = "application/json",
                 examples = @ExampleObject(
-                    value = "{\"message\": \"알림이 성공적으로 전송되었습니다.\"}"
+                    value = "[101, 102]"
                 )
             )
         ),
@@ -225,7 +247,7 @@ public class NotificationApiController {
         )
     })
     @PostMapping("/send")
-    public ResponseEntity<Void> send(
+    public ResponseEntity<List<Long>> send(
         @Parameter(
             description = "FCM 알림 전송 요청 목록",
             required = true,
@@ -244,16 +266,45 @@ public class NotificationApiController {
         @RequestBody List<NotificationRequestDto> notificationRequestDtoList
     ) {
         try {
-            fcmService.send(notificationRequestDtoList);
-            return ResponseEntity.ok().build();
-        } catch (InterruptedException | ExecutionException e) {
-            log.error("알림 전송 실패: {}", e.getMessage());
-            return ResponseEntity.internalServerError().build();
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(notificationQueueService.enqueueTokens(notificationRequestDtoList));
         } catch (IllegalArgumentException e) {
             log.error("잘못된 알림 요청: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
         } catch (Exception e) {
-            log.error("알림 전송 중 서버 오류 발생: {}", e.getMessage());
+            log.error("알림 전송 큐 등록 중 서버 오류 발생: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @Operation(
+        summary = "알림 전송 큐 상태 조회",
+        description = "영속 알림 전송 큐의 상태별 알림 수와 누적 재시도/토큰 정리 횟수를 조회합니다.\n\n" +
+            "### 항목\n" +
+            "- pending: 전송 대기 중인 알림 수 (재시도 대기 포함)\n" +
+            "- sending: 현재 전송 중인 알림 수\n" +
+            "- dead: 최대 시도 횟수 초과 또는 영구 오류로 전송을 포기한 알림 수\n" +
+            "- retried / prunedTokens: 서버 시작 이후 재시도 예약 횟수 / 삭제된 만료 토큰 수"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "조회 성공",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = "{\"pending\": 3, \"sending\": 0, \"dead\": 1, \"retried\": 5, \"prunedTokens\": 1}"
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @GetMapping("/queue/stats")
+    public ResponseEntity<NotificationQueueStatsDto> getQueueStats() {
+        try {
+            return ResponseEntity.ok(notificationQueueService.getStats());
+        } catch (Exception e) {
+            log.error("알림 큐 상태 조회 중 서버 오류 발생: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
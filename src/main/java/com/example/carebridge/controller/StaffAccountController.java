@@ -2,96 +2,149 @@ package com.example.carebridge.controller;
 
 
 import com.example.carebridge.dto.StaffAccountDto;
+import com.example.carebridge.dto.StaffPasswordResetDto;
 import com.example.carebridge.entity.MedicalStaff;
 import com.example.carebridge.entity.StaffAccount;
 import com.example.carebridge.service.StaffAccountService;
+import com.example.carebridge.util.AuthPrincipal;
+import com.example.carebridge.util.JwtUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
-import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/staff")
 public class StaffAccountController {
 
     private final StaffAccountService staffAccountService;
-    public StaffAccountController(StaffAccountService staffAccountService) {
+    private final JwtUtil jwtUtil;
+    private final Executor dbExecutor;
+    public StaffAccountController(StaffAccountService staffAccountService, JwtUtil jwtUtil,
+                                  @Qualifier("staffAccountDbExecutor") Executor dbExecutor) {
         this.staffAccountService = staffAccountService;
+        this.jwtUtil = jwtUtil;
+        this.dbExecutor = dbExecutor;
     }
 
     /**
      * Medical Staff login
+     * 세션 대신 JWT 를 발급하여 Authorization(Access Token), Refresh-Token 응답 헤더로 전달합니다.
+     * 비밀번호 검증 대기열이 가득 차면 503 과 Retry-After 헤더로 응답합니다.
      * @param staffAccountDto
      * @return
      */
-    @Operation(summary = "의료진 로그인")
+    @Operation(summary = "의료진 로그인", description = "로그인 성공 시 Authorization, Refresh-Token 응답 헤더로 JWT 를 발급합니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "로그인 성공 (병원 ID 반환)"),
             @ApiResponse(responseCode = "401", description = "인증 실패 (잘못된 ID 또는 비밀번호)"),
             @ApiResponse(responseCode = "400", description = "잘못된 요청 데이터"),
+            @ApiResponse(responseCode = "503", description = "로그인 요청이 몰려 비밀번호 검증 대기열이 가득 참"),
             @ApiResponse(responseCode = "500", description = "서버 내부 오류")
     })
     @PostMapping("/login")
-    public ResponseEntity<Integer> login(@RequestBody StaffAccountDto staffAccountDto, HttpSession session) {
+    public CompletableFuture<ResponseEntity<Integer>> login(@RequestBody StaffAccountDto staffAccountDto) {
         try {
-            Boolean verify = staffAccountService.verifyStaffAccount(staffAccountDto);
-            if (verify) {
-                session.setAttribute("userId", staffAccountDto.getUserId());
-                StaffAccount staffAccount = staffAccountService.findStaffAccountByUserId(staffAccountDto.getUserId());
-                Integer hospitalId = staffAccount.getHospitalId();
-                return ResponseEntity.ok(hospitalId);
-            } else {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
-            }
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+            // 비밀번호 검증은 전용 스레드 풀에서 실행되고, 요청 스레드는 결과를 기다리지 않고 반환됨
+            return staffAccountService.verifyStaffAccount(staffAccountDto)
+                    // 계정 조회와 토큰 발급(DB 저장)은 해시 풀이 아닌 DB 작업 풀에서 실행
+                    .thenApplyAsync(verify -> {
+                        if (!verify) {
+                            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).<Integer>body(null);
+                        }
+                        StaffAccount staffAccount = staffAccountService.findStaffAccountByUserId(staffAccountDto.getUserId());
+                        Integer hospitalId = staffAccount.getHospitalId();
+                        JwtUtil.TokenPair token = jwtUtil.generateStaffTokens(staffAccount.getUserId(), hospitalId);
+                        return ResponseEntity.ok()
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token.accessToken)
+                                .header("Refresh-Token", token.refreshToken)
+                                .body(hospitalId);
+                    }, dbExecutor)
+                    .exceptionally(StaffAccountController::loginFailure);
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+            return CompletableFuture.completedFuture(loginFailure(e));
+        }
+    }
+
+    private static ResponseEntity<Integer> loginFailure(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof IllegalArgumentException) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
         }
+        if (cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(null);
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
     }
 
     /**
      * Staff logout
-     * @param session
-     * @return
+     * 인증된 의료진의 Refresh Token 을 폐기합니다.
+     * @param principal JWT 인증 필터가 연결한 사용자 (토큰이 없으면 null)
+     * @return 의료진 토큰이 아니면 401
      */
     @Operation(summary = "의료진 로그아웃")
     @PostMapping("/logout")
-    public ResponseEntity<String> logout(HttpSession session) {
-        session.invalidate();
+    public ResponseEntity<String> logout(Principal principal) {
+        if (!(principal instanceof AuthPrincipal staff) || staff.role() != AuthPrincipal.Role.STAFF) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or missing access token.");
+        }
+        jwtUtil.invalidateRefreshToken(staff);
         return ResponseEntity.ok("Logout successful!");
     }
 
-    @Operation(summary = "비밀번호 찾기", description = "의료진 ID를 기준으로 비밀번호를 찾습니다.")
+    /**
+     * 비밀번호는 해시로만 저장되어 조회할 수 없으므로 항상 410 GONE 으로 응답합니다. (비밀번호 재설정 이용)
+     * 이전 버전 앱이 호출하는 동안만 남겨 두는 엔드포인트입니다.
+     */
+    @Deprecated
+    @Operation(summary = "비밀번호 찾기 (지원 종료)", deprecated = true,
+            description = "비밀번호는 해시로 저장되어 조회할 수 없습니다. (410 GONE, 비밀번호 재설정 이용)")
     @GetMapping("/find-password")
     public ResponseEntity<String> findPassword(@RequestParam String Id){
-        try {
-            return ResponseEntity.ok(staffAccountService.findPassword(Id));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to find password: " + e.getMessage());
-        }
+        return ResponseEntity.status(HttpStatus.GONE)
+                .body("비밀번호는 암호화되어 저장되므로 조회할 수 없습니다. 비밀번호 재설정을 이용해주세요.");
     }
 
-    @Operation(summary = "비밀번호 재설정", description = "의료진 ID와 기존 비밀번호를 비교하여 새로운 비밀번호로 재설정합니다.")
+    @Operation(summary = "비밀번호 재설정", description = "의료진 ID와 기존 비밀번호를 비교하여 요청 본문의 새로운 비밀번호로 재설정합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "재설정 성공"),
+            @ApiResponse(responseCode = "400", description = "계정 없음, 기존 비밀번호 불일치, 새 비밀번호 없음 또는 같은 비밀번호"),
+            @ApiResponse(responseCode = "503", description = "요청이 몰려 비밀번호 해시 대기열이 가득 참"),
+            @ApiResponse(responseCode = "500", description = "서버 내부 오류")
+    })
     @PutMapping("/reset-password")
-    public ResponseEntity<String> resetPassword(
-            @RequestBody StaffAccountDto staffAccountDto,
-            @RequestParam String newPassword){
+    public CompletableFuture<ResponseEntity<String>> resetPassword(@RequestBody StaffPasswordResetDto resetDto){
         try{
-            staffAccountService.resetPassword(staffAccountDto, newPassword);
-            return ResponseEntity.ok("password reset successful! new Password : " + newPassword);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+            return staffAccountService.resetPassword(resetDto)
+                    .thenApply(ignored -> ResponseEntity.ok("password reset successful!"))
+                    .exceptionally(StaffAccountController::resetFailure);
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to reset password: " + e.getMessage());
+            return CompletableFuture.completedFuture(resetFailure(e));
+        }
+    }
+
+    private static ResponseEntity<String> resetFailure(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof IllegalArgumentException) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(cause.getMessage());
+        }
+        if (cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Password reset is busy. Please try again later.");
         }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to reset password: " + cause.getMessage());
     }
 }
@@ -6,16 +6,17 @@ import com.example.carebridge.dto.UserLoginDto;
 import com.example.carebridge.dto.VerifyAccountDto;
 import com.example.carebridge.entity.Patient;
 import com.example.carebridge.entity.UserAccount;
+import com.example.carebridge.exception.RateLimitExceededException;
 import com.example.carebridge.service.OAuthService;
 import com.example.carebridge.service.PatientService;
 import com.example.carebridge.service.UserAccountService;
+import com.example.carebridge.util.AuthPrincipal;
 import com.example.carebridge.util.JwtUtil;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DuplicateKeyException;
@@ -26,9 +27,13 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @RestController
@@ -70,6 +75,7 @@ public class UserAccountController {
 
     /**
      * phone 으로 인증문자(otp 포함) 전송
+     * 발송은 비동기로 처리되며, 응답의 Otp-Request-Id 헤더로 발송 요청 ID 를 반환합니다.
      * @param phoneNumber
      * @param isSignup
      * @return
@@ -80,13 +86,25 @@ public class UserAccountController {
             @ApiResponse(responseCode = "400", description = "잘못된 요청 데이터"),
             @ApiResponse(responseCode = "404", description = "해당 전화번호를 찾을 수 없음"),
             @ApiResponse(responseCode = "401", description = "OTP 전송 불가 (유효하지 않은 상태)"),
+            @ApiResponse(responseCode = "429", description = "전화번호 또는 IP 의 OTP 전송 한도 초과"),
+            @ApiResponse(responseCode = "503", description = "SMS 발송 대기열이 가득 참"),
             @ApiResponse(responseCode = "500", description = "서버 오류로 인해 OTP 전송 실패")
     })
     @PostMapping("/send-otp/{phoneNumber}")
-    public ResponseEntity<String> sendOtp(@PathVariable String phoneNumber, @RequestParam boolean isSignup) {
+    public ResponseEntity<String> sendOtp(@PathVariable String phoneNumber, @RequestParam boolean isSignup,
+                                          HttpServletRequest request) {
         try {
-            userAccountService.sendOtp(phoneNumber, isSignup); // OTP 전송 로직 호출
-            return ResponseEntity.ok("OTP sent successfully to " + phoneNumber);
+            // 로드밸런서 뒤에서는 server.forward-headers-strategy 로 신뢰하는 프록시의 X-Forwarded-For 가 반영된 IP
+            String requestId = userAccountService.sendOtp(phoneNumber, isSignup, request.getRemoteAddr()); // OTP 전송 로직 호출
+            return ResponseEntity.ok()
+                    .header("Otp-Request-Id", requestId)
+                    .body("OTP sent successfully to " + phoneNumber);
+        } catch (RateLimitExceededException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("OTP sending is busy. Please try again later.");
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         } catch (NoSuchElementException e){
@@ -160,7 +178,6 @@ public class UserAccountController {
     /**
      * User Login
      * @param verifyAccountDto
-     * @param session
      * @return
      */
     @Operation(summary = "계정 인증", description = "OTP 인증을 수행하고, 성공 시 JWT를 발급합니다.")
@@ -172,7 +189,7 @@ public class UserAccountController {
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     @PostMapping("/login")
-    public ResponseEntity<UserLoginDto> login(@RequestBody VerifyAccountDto verifyAccountDto, HttpSession session) {
+    public ResponseEntity<UserLoginDto> login(@RequestBody VerifyAccountDto verifyAccountDto) {
         try {
             boolean isVerified = userAccountService.verifyOtp(verifyAccountDto);
             boolean isValid = userAccountService.isValidUserAccount(verifyAccountDto.getPhone());
@@ -184,11 +201,7 @@ public class UserAccountController {
 
             if (isVerified && isValid) {
                 //jwt 발급
-                JwtUtil.TokenPair token = jwtUtil.generateTokens(verifyAccountDto.getPhone());
-                // 세션에 사용자 전화번호 저장 (자동 로그인 기능을 위한 세션 활용)
-//            session.setAttribute("userPhone", verifyAccountDto.getPhone());
-//            log.info("세션 생성됨: " + session.getId());
-//            log.info("세션 확인용" + session.getAttribute("userPhone"));
+                JwtUtil.TokenPair token = jwtUtil.generatePatientTokens(verifyAccountDto.getPhone(), patientId);
                 UserLoginDto userLoginDto = new UserLoginDto();
                 userLoginDto.setUserId(userId);
                 userLoginDto.setAccessToken(token.accessToken);
@@ -213,20 +226,21 @@ public class UserAccountController {
 
     /**
      * User logout
-     * @param phoneNumber
-     * @return
+     * 인증된 환자의 Refresh Token 을 폐기합니다. (폐기 대상은 요청 값이 아닌 Access Token 의 subject)
+     * @param principal JWT 인증 필터가 연결한 사용자 (토큰이 없으면 null)
+     * @return 환자 토큰이 아니면 401
      */
-    @Operation(summary = "사용자 logout", description = "사용자를 로그아웃하고 Refresh Token을 무효화합니다.")
+    @Operation(summary = "사용자 logout", description = "로그인한 사용자를 로그아웃하고 Refresh Token을 무효화합니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "로그아웃 성공(Refresh Token 무효화)"),
-            @ApiResponse(responseCode = "400", description = "잘못된 요청")
+            @ApiResponse(responseCode = "401", description = "환자 Access Token 이 없거나 유효하지 않음")
     })
     @PostMapping("/logout")
-//    public ResponseEntity<String> logout(HttpSession session) {
-    public ResponseEntity<String> logout(String phoneNumber) {
-//        log.info("세션 삭제됨: " + session.getId());
-//        session.invalidate();
-        jwtUtil.invalidateRefreshToken(phoneNumber);
+    public ResponseEntity<String> logout(Principal principal) {
+        if (!(principal instanceof AuthPrincipal patient) || patient.role() != AuthPrincipal.Role.PATIENT) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or missing access token.");
+        }
+        jwtUtil.invalidateRefreshToken(patient);
         return ResponseEntity.ok("Logout successful!");
     }
 
@@ -270,6 +284,7 @@ public class UserAccountController {
      * 카카오 로그인 매핑 (url로 사용 X)
      * 인가 code가 있어야 사용 가능 함.
      * 기본은 /social-login/kakao 를 통해 받는 login 페이지를 통해 접속
+     * 세션 대신 JWT 를 발급하여, 서버 로그에 남지 않도록 리다이렉트 주소의 fragment(#) 로 토큰과 카카오 토큰(로그아웃용)을 전달합니다.
      * @return
      */
     @Operation(summary = "카카오 로그인", description = "카카오 OAuth를 통해 로그인하고 사용자 정보를 반환합니다.")
@@ -281,7 +296,7 @@ public class UserAccountController {
             @ApiResponse(responseCode = "500", description = "서버 오류로 인해 로그인 실패")
     })
     @GetMapping("/social-login/kakao/token")
-    public ResponseEntity<?> kakaoLogin(HttpServletRequest request, HttpSession session) throws Exception {
+    public ResponseEntity<?> kakaoLogin(HttpServletRequest request) throws Exception {
         try {
             String code = request.getParameter("code");
             if (code == null) {
@@ -294,19 +309,19 @@ public class UserAccountController {
             String accessToken = oAuthService.getKakaoToken(code);
             // 2. 사용자 정보 조회
             KakaoDto kakaoDto = oAuthService.getUserInfoWithToken(accessToken);
-            // 3. 서비스 사용자 정보 매핑 및 세션 저장
+            // 3. 서비스 사용자 정보 매핑 및 JWT 발급
             UserAccountDto kakaoUserAccount = oAuthService.ifNeedKakaoInfo(kakaoDto);
             if (kakaoUserAccount != null) {
-                session.setAttribute("loginUser", kakaoUserAccount);
-                session.setMaxInactiveInterval(60 * 60); // 60분 유지
-                session.setAttribute("kakaoToken", accessToken);
-
                 String email = kakaoDto.getEmail();
                 Patient patient = patientService.getPatientByEmail(email);
                 Integer patientId = patient.getPatientId();
+                JwtUtil.TokenPair token = jwtUtil.generatePatientTokens(patient.getPhoneNumber(), patientId);
 
             HttpHeaders headers = new HttpHeaders();
-            headers.setLocation(URI.create("http://localhost:5173/redirection?patientId=" + patientId));
+            headers.setLocation(URI.create("http://localhost:5173/redirection?patientId=" + patientId
+                    + "#accessToken=" + token.accessToken
+                    + "&refreshToken=" + token.refreshToken
+                    + "&kakaoToken=" + URLEncoder.encode(accessToken, StandardCharsets.UTF_8)));
             return new ResponseEntity<>(headers, HttpStatus.FOUND);
 //                return ResponseEntity.ok(patientId);
             } else {
@@ -324,15 +339,16 @@ public class UserAccountController {
 
     /**
      * 카카오 로그아웃
+     * 카카오 로그인 시 전달한 카카오 토큰을 Kakao-Token 헤더로 받아 연결을 끊습니다.
+     * @param kakaoToken 카카오 Access Token
      * @return
      */
     @GetMapping("/social-login/kakao/logout")
-    public ResponseEntity<String> kakaoLogout(HttpSession session) throws JsonProcessingException {
-        String accessToken = (String) session.getAttribute("kakaoToken");
-        if (accessToken != null) {
-            oAuthService.kakaoDisconnect(accessToken);
+    public ResponseEntity<String> kakaoLogout(@RequestHeader(value = "Kakao-Token", required = false) String kakaoToken)
+            throws JsonProcessingException {
+        if (kakaoToken != null && !kakaoToken.isBlank()) {
+            oAuthService.kakaoDisconnect(kakaoToken);
         }
-        session.invalidate(); // 세션 완전 종료
         return ResponseEntity.ok("Logout successful");
     }
 
@@ -0,0 +1,41 @@
+package com.example.carebridge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 콜벨 보드의 변경분을 STOMP 로 전달하기 위한 DTO 클래스
+ * 클라이언트는 최초 1회 보드 전체를 조회한 뒤 이 변경분만 적용합니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CallBellBoardDeltaDto {
+
+    /**
+     * 변경 유형
+     */
+    private Operation op;
+
+    /**
+     * 변경 후 보드에서의 위치 (0부터 시작, REMOVE 인 경우 -1)
+     */
+    private int position;
+
+    /**
+     * 변경된 요청 정보
+     */
+    private RequestDto request;
+
+    /**
+     * 보드 변경 유형을 나타내는 열거형
+     */
+    public enum Operation {
+        ADD,
+        UPDATE,
+        REMOVE
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.carebridge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 미수락 콜벨 요청의 에스컬레이션 알림을 STOMP 로 전달하기 위한 DTO 클래스
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EscalationNoticeDto {
+    /**
+     * 요청 ID
+     */
+    private Integer requestId;
+
+    /**
+     * 요청한 환자 ID
+     */
+    private Integer patientId;
+
+    /**
+     * 원래 담당 의료진 ID
+     */
+    private Integer assignedStaffId;
+
+    /**
+     * 에스컬레이션 단계 (1: 담당 의료진 재알림, 2: 분과 의료진, 3: 책임 간호사)
+     */
+    private int level;
+
+    /**
+     * 요청 이후 대기한 시간(초)
+     */
+    private long waitingSeconds;
+
+    /**
+     * 요청 내용
+     */
+    private String requestContent;
+}
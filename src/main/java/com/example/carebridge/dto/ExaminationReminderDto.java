@@ -0,0 +1,51 @@
+package com.example.carebridge.dto;
+
+import com.example.carebridge.entity.ExaminationSchedule;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 다가오는 검사 일정 알림을 STOMP 로 전달하기 위한 DTO 클래스
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExaminationReminderDto {
+    /**
+     * 검사 일정 ID
+     */
+    private Integer scheduleId;
+
+    /**
+     * 환자 ID
+     */
+    private Integer patientId;
+
+    /**
+     * 담당 의료진 ID
+     */
+    private Integer medicalStaffId;
+
+    /**
+     * 검사 예정 일시 (ISO-8601, 병원 시간대)
+     */
+    private String scheduleDate;
+
+    /**
+     * 검사 예정 시각까지 남은 시간(분)
+     */
+    private int minutesBefore;
+
+    /**
+     * 진료 종류
+     */
+    private ExaminationSchedule.Category category;
+
+    /**
+     * 진료 세부사항
+     */
+    private String details;
+}
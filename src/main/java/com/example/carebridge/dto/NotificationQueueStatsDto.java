@@ -0,0 +1,40 @@
+package com.example.carebridge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 푸시 알림 전송 큐의 현재 상태를 전달하기 위한 DTO 클래스
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationQueueStatsDto {
+    /**
+     * 전송 대기 중인 알림 수 (재시도 대기 포함)
+     */
+    private long pending;
+
+    /**
+     * 현재 전송 중인 알림 수
+     */
+    private long sending;
+
+    /**
+     * 전송을 포기한 알림 수
+     */
+    private long dead;
+
+    /**
+     * 서버 시작 이후 재시도 예약된 횟수
+     */
+    private long retried;
+
+    /**
+     * 서버 시작 이후 정리된 만료 토큰 수
+     */
+    private long prunedTokens;
+}
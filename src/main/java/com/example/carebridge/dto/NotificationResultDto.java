@@ -0,0 +1,50 @@
+package com.example.carebridge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 토큰별 푸시 알림 전송 결과를 전달하기 위한 DTO 클래스
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationResultDto {
+    /**
+     * 전송 대상 FCM 토큰
+     */
+    private String token;
+
+    /**
+     * 전송 성공 여부
+     */
+    private boolean success;
+
+    /**
+     * 성공 시 FCM 이 발급한 메시지 ID
+     */
+    private String messageId;
+
+    /**
+     * 실패 시 FCM 오류 코드 (예: UNREGISTERED, INVALID_ARGUMENT, UNAVAILABLE)
+     */
+    private String errorCode;
+
+    /**
+     * 전송 실패 결과를 생성합니다.
+     *
+     * @param token 대상 토큰
+     * @param errorCode 오류 코드
+     * @return 실패 결과
+     */
+    public static NotificationResultDto failure(String token, String errorCode) {
+        return NotificationResultDto.builder()
+                .token(token)
+                .success(false)
+                .errorCode(errorCode)
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.carebridge.dto;
 
+import com.example.carebridge.entity.DeviceToken;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
@@ -24,4 +25,16 @@ public class NotificationTokenDto {
      * 토큰을 등록할 사용자의 고유 식별자입니다.
      */
     private Integer userId;
+
+    /**
+     * 의료진 ID
+     * 의료진 디바이스의 토큰을 등록할 때 userId 대신 사용합니다.
+     */
+    private Integer medicalStaffId;
+
+    /**
+     * 디바이스 플랫폼 (WEB, ANDROID, IOS)
+     * 생략 시 WEB 으로 등록됩니다.
+     */
+    private DeviceToken.Platform platform;
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.example.carebridge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 콜벨 응답 시간 분포(백분위수)를 전달하기 위한 DTO 클래스
+ * 시간 단위는 모두 밀리초입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResponseTimeStatsDto {
+    /**
+     * 집계 기준 (STAFF, DEPARTMENT, HOUR)
+     */
+    private String dimension;
+
+    /**
+     * 집계 키 (의료진 ID, 분과 이름, 요청 시각의 시(0~23))
+     */
+    private String key;
+
+    /**
+     * 수락까지 걸린 시간이 기록된 요청 수
+     */
+    private long waitCount;
+
+    /**
+     * 요청부터 수락까지 걸린 시간 - 50번째 백분위수
+     */
+    private long waitP50;
+
+    /**
+     * 요청부터 수락까지 걸린 시간 - 90번째 백분위수
+     */
+    private long waitP90;
+
+    /**
+     * 요청부터 수락까지 걸린 시간 - 99번째 백분위수
+     */
+    private long waitP99;
+
+    /**
+     * 완료까지 걸린 시간이 기록된 요청 수
+     */
+    private long resolutionCount;
+
+    /**
+     * 요청부터 완료까지 걸린 시간 - 50번째 백분위수
+     */
+    private long resolutionP50;
+
+    /**
+     * 요청부터 완료까지 걸린 시간 - 90번째 백분위수
+     */
+    private long resolutionP90;
+
+    /**
+     * 요청부터 완료까지 걸린 시간 - 99번째 백분위수
+     */
+    private long resolutionP99;
+}
@@ -0,0 +1,16 @@
+package com.example.carebridge.dto;
+
+import lombok.Data;
+
+/**
+ * 의료진 비밀번호 재설정 요청
+ * 새 비밀번호는 접근 로그에 남지 않도록 쿼리 문자열이 아닌 요청 본문으로 받습니다.
+ */
+@Data
+public class StaffPasswordResetDto {
+    private String userId;
+
+    private String password;
+
+    private String newPassword;
+}
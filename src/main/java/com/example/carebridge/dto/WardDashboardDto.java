@@ -0,0 +1,55 @@
+package com.example.carebridge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 병동(병원·분과) 단위 실시간 현황을 전달하기 위한 DTO 클래스
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WardDashboardDto {
+    /**
+     * 병원 ID
+     */
+    private Integer hospitalId;
+
+    /**
+     * 분과 이름
+     */
+    private String department;
+
+    /**
+     * 미완료(PENDING/IN_PROGRESS/SCHEDULED) 콜벨 요청 수
+     */
+    private long openRequests;
+
+    /**
+     * 의료진이 읽지 않은 환자 메시지 수
+     */
+    private long unreadMessages;
+
+    /**
+     * 오늘 수락된 요청의 평균 대기 시간(초)
+     */
+    private long averageWaitSeconds;
+
+    /**
+     * 평균 대기 시간 계산에 사용된 요청 수
+     */
+    private long acceptedToday;
+
+    /**
+     * 오늘 검사 일정이 있는 환자 수
+     */
+    private long patientsWithExamToday;
+
+    /**
+     * 집계 시각
+     */
+    private String updatedAt;
+}
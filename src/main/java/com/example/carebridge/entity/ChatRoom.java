@@ -1,5 +1,8 @@
 package com.example.carebridge.entity;
 
+import com.example.carebridge.config.SecondLevelCacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,14 +12,18 @@ import lombok.Setter;
 
 /**
  * STOMP 프로토콜을 사용한 채팅방 채널 정보를 저장하는 엔티티
+ * 환자당 채팅방은 하나입니다. (uk_chat_room_patient)
+ * 이미 중복 채팅방이 있는 DB 는 인덱스가 만들어지지 않으므로 먼저 db/cleanup/chat_room_patient_dedupe.sql 로 정리합니다.
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = SecondLevelCacheConfig.CHAT_ROOM) // 생성 후 거의 바뀌지 않아 잠금 없이 변경 시 무효화만 함
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "Chat_Room")
+@Table(name = "Chat_Room",
+        indexes = @Index(name = "uk_chat_room_patient", columnList = "patient_id", unique = true)) // 환자당 채팅방은 하나
 public class ChatRoom {
 
     /**
@@ -0,0 +1,105 @@
+package com.example.carebridge.entity;
+
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 푸시 알림을 받을 디바이스의 FCM 토큰을 관리하는 엔티티 클래스
+ * 한 사용자(또는 의료진)가 여러 디바이스에서 동시에 알림을 받을 수 있도록 토큰을 디바이스별로 저장합니다.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "Device_Token",
+        uniqueConstraints = @UniqueConstraint(name = "uk_device_token_token", columnNames = "token"),
+        indexes = {
+                @Index(name = "idx_device_token_owner", columnList = "owner_type, owner_id"),
+                @Index(name = "idx_device_token_last_seen", columnList = "last_seen_at")
+        })
+public class DeviceToken {
+
+    /**
+     * 디바이스 토큰의 고유 식별자
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "device_token_id")
+    private Long id;
+
+    /**
+     * 토큰 소유자 유형 (사용자 계정 / 의료진)
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "owner_type", nullable = false, length = 10)
+    private OwnerType ownerType;
+
+    /**
+     * 토큰 소유자 ID (UserAccount.id 또는 MedicalStaff.medicalStaffId)
+     */
+    @Column(name = "owner_id", nullable = false)
+    private Integer ownerId;
+
+    /**
+     * FCM 토큰 값
+     * 디바이스와 앱 설치마다 고유합니다.
+     */
+    @Column(name = "token", nullable = false, length = 512)
+    private String token;
+
+    /**
+     * 디바이스 플랫폼
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "platform", nullable = false, length = 10)
+    private Platform platform;
+
+    /**
+     * 디바이스가 마지막으로 토큰을 등록(갱신)한 시각
+     * 일정 기간 갱신되지 않은 디바이스는 만료 처리됩니다.
+     */
+    @Column(name = "last_seen_at", nullable = false)
+    private LocalDateTime lastSeenAt;
+
+    /**
+     * 토큰 최초 등록 시각
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 토큰 소유자 유형을 나타내는 열거형
+     */
+    public enum OwnerType {
+        USER,
+        STAFF
+    }
+
+    /**
+     * 디바이스 플랫폼을 나타내는 열거형
+     */
+    public enum Platform {
+        WEB,
+        ANDROID,
+        IOS
+    }
+
+    /**
+     * 디바이스 토큰 생성을 위한 빌더 패턴 생성자
+     */
+    @Builder
+    public DeviceToken(OwnerType ownerType, Integer ownerId, String token, Platform platform) {
+        LocalDateTime now = LocalDateTime.now();
+        this.ownerType = ownerType;
+        this.ownerId = ownerId;
+        this.token = token;
+        this.platform = platform;
+        this.lastSeenAt = now;
+        this.createdAt = now;
+    }
+}
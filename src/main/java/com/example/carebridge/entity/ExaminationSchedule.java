@@ -17,7 +17,12 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "Examination_Schedule")
+@Table(name = "Examination_Schedule",
+        indexes = {
+                @Index(name = "idx_exam_schedule_patient_date", columnList = "patient_id, schedule_date"),
+                @Index(name = "idx_exam_schedule_staff_date", columnList = "medical_staff_id, schedule_date"),
+                @Index(name = "idx_exam_schedule_date", columnList = "schedule_date")
+        })
 public class ExaminationSchedule {
 
     /**
@@ -16,7 +16,8 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "Guardian") // MySQL의 Guardian 테이블과 매핑
+@Table(name = "Guardian", // MySQL의 Guardian 테이블과 매핑
+        indexes = @Index(name = "idx_guardian_patient_name", columnList = "patient_id, name"))
 public class Guardian {
 
     @Id
@@ -1,5 +1,8 @@
 package com.example.carebridge.entity;
 
+import com.example.carebridge.config.SecondLevelCacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
@@ -13,6 +16,7 @@ import java.util.List;
  * 병원 정보를 관리하는 엔티티 클래스
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = SecondLevelCacheConfig.HOSPITAL) // 애플리케이션에서 수정하지 않는 참조 데이터
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
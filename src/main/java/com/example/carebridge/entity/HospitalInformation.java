@@ -1,5 +1,8 @@
 package com.example.carebridge.entity;
 
+import com.example.carebridge.config.SecondLevelCacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
@@ -11,12 +14,14 @@ import lombok.AllArgsConstructor;
  * 병원 상세 정보를 관리하는 엔티티 클래스
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.HOSPITAL_INFORMATION) // 관리 화면에서 수정되므로 수정 중에는 캐시를 잠금
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "Hospital_Information")
+@Table(name = "Hospital_Information",
+        indexes = @Index(name = "idx_hospital_information_hospital_title", columnList = "hospital_id, title"))
 public class HospitalInformation {
 
     @Id
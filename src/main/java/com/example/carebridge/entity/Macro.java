@@ -1,5 +1,8 @@
 package com.example.carebridge.entity;
 
+import com.example.carebridge.config.SecondLevelCacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
@@ -7,10 +10,12 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.MACRO) // 의료진이 수정하므로 수정 중에는 캐시를 잠금
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "Macro")
+@Table(name = "Macro",
+        indexes = @Index(name = "idx_macro_staff_name", columnList = "medical_staff_id, macro_name"))
 public class Macro {
 
     @Id
@@ -14,7 +14,8 @@ import lombok.Setter;
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "Medical_Record")
+@Table(name = "Medical_Record",
+        indexes = @Index(name = "idx_medical_record_patient", columnList = "patient_id"))
 public class MedicalRecord {
 
     /**
@@ -1,20 +1,29 @@
 package com.example.carebridge.entity;
 
+import com.example.carebridge.config.SecondLevelCacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * 의료진 정보를 관리하는 엔티티 클래스
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.MEDICAL_STAFF) // 인사말/매크로 설정이 수정되므로 수정 중에는 캐시를 잠금
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "Medical_Staff")
+@Table(name = "Medical_Staff",
+        indexes = {
+                @Index(name = "idx_medical_staff_hospital_department", columnList = "hospital_id, department"),
+                @Index(name = "idx_medical_staff_department", columnList = "department")
+        })
 public class MedicalStaff {
 
     /**
@@ -54,6 +63,14 @@ public class MedicalStaff {
     @Column(name = "phrase_tail", length = 500)
     private String phraseTail;
 
+    /**
+     * 책임 간호사 여부
+     * 미수락 콜벨 요청의 마지막 에스컬레이션 대상이 됩니다.
+     */
+    @ColumnDefault("false")
+    @Column(name = "charge_nurse", nullable = false)
+    private boolean chargeNurse;
+
     /**
      * 의료진 정보 생성을 위한 빌더 패턴 생성자
      */
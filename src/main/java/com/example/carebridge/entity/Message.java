@@ -9,7 +9,13 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @Setter
-@Table(name = "Message") // MySQL의 Message 테이블과 매핑
+@Table(name = "Message", // MySQL의 Message 테이블과 매핑
+        indexes = {
+                @Index(name = "idx_message_room_seq", columnList = "chatroom_id, room_seq"),
+                @Index(name = "idx_message_patient_timestamp", columnList = "patient_id, message_timestamp"),
+                @Index(name = "idx_message_staff_timestamp", columnList = "medical_staff_id, message_timestamp"),
+                @Index(name = "idx_message_unread", columnList = "readstatus, isPatient, medical_staff_id")
+        })
 public class Message {
 
     @Id
@@ -34,6 +40,9 @@ public class Message {
     @Column(name = "chatroom_id", nullable = false) // 채팅방 ID 컬럼과 매핑
     private String chatRoomId; // 채팅방 ID
 
+    @Column(name = "room_seq") // 채팅방 내 메시지 순번 컬럼과 매핑
+    private Long roomSeq; // 채팅방별 단조 증가 순번 (재연결 시 누락 구간 재전송에 사용)
+
     @Column(name = "sender_id", nullable = false) // 발신자 ID 컬럼과 매핑
     private Integer senderId; // 발신자 ID
 
@@ -0,0 +1,52 @@
+package com.example.carebridge.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 발송한 SMS 인증번호를 저장하는 엔티티 클래스 (otp.store=database 일 때 사용)
+ * 인증번호 원문은 저장하지 않고 해시만 저장하며, 전화번호당 가장 최근 인증번호 하나만 유지합니다.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "Otp_Code",
+        indexes = @Index(name = "idx_otp_code_expires", columnList = "expires_at"))
+public class OtpCode {
+
+    /**
+     * 인증번호를 받은 전화번호
+     */
+    @Id
+    @Column(name = "phone_number", length = 20)
+    private String phoneNumber;
+
+    /**
+     * 인증번호 해시 (16진수 SHA-256)
+     */
+    @Column(name = "code_hash", nullable = false, length = 64)
+    private String codeHash;
+
+    /**
+     * 만료 시각
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * 검증 시도 횟수
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    public OtpCode(String phoneNumber, String codeHash, LocalDateTime expiresAt) {
+        this.phoneNumber = phoneNumber;
+        this.codeHash = codeHash;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -10,7 +10,12 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @Setter
-@Table(name = "Patient") // MySQL 의 Patient 테이블과 매핑
+@Table(name = "Patient", // MySQL 의 Patient 테이블과 매핑
+        indexes = {
+                @Index(name = "idx_patient_hospital_department_name", columnList = "hospital_id, department, name"),
+                @Index(name = "idx_patient_user", columnList = "user_id"),
+                @Index(name = "idx_patient_email", columnList = "email")
+        })
 public class Patient {
 
     @Id
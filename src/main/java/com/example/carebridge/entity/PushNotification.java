@@ -0,0 +1,141 @@
+package com.example.carebridge.entity;
+
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 전송 대기 중인 푸시 알림을 영속적으로 보관하는 엔티티 클래스
+ * 전송 실패 시 재시도 일정과 실패 사유를 함께 기록합니다.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "Push_Notification",
+        indexes = @Index(name = "idx_push_status_next_attempt", columnList = "status, next_attempt_at"))
+public class PushNotification {
+
+    /**
+     * 알림의 고유 식별자
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "push_notification_id")
+    private Long id;
+
+    /**
+     * 수신자 유형 (사용자 계정 / 의료진, 토큰 지정 알림이면 null)
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "recipient_type", length = 10)
+    private DeviceToken.OwnerType recipientType;
+
+    /**
+     * 수신자 ID (토큰 지정 알림이면 null)
+     * 전송 시점에 이 수신자의 모든 디바이스 토큰으로 멀티캐스트합니다.
+     */
+    @Column(name = "recipient_id")
+    private Integer recipientId;
+
+    /**
+     * 전송 대상 디바이스 토큰
+     * 지정되면 수신자의 디바이스 대신 이 토큰 하나로만 전송합니다. (알림 전송 API 로 토큰을 직접 지정한 경우)
+     */
+    @Column(name = "token", length = 512)
+    private String token;
+
+    /**
+     * 알림 제목
+     */
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    /**
+     * 알림 본문
+     */
+    @Column(name = "body", nullable = false, length = 1000)
+    private String body;
+
+    /**
+     * 전송 상태
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status;
+
+    /**
+     * 지금까지 전송을 시도한 횟수
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * 다음 전송 시도 시각
+     * SENDING 상태에서는 전송 점유 만료 시각으로 사용됩니다.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * 마지막 실패 사유 (FCM 오류 코드, 디바이스가 없으면 NO_DEVICE)
+     */
+    @Column(name = "last_error")
+    private String lastError;
+
+    /**
+     * 알림 생성 시각
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 전송 완료 또는 최종 실패 시각
+     */
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    /**
+     * 알림 전송 상태를 나타내는 열거형
+     */
+    public enum Status {
+        PENDING("전송 대기"),
+        SENDING("전송 중"),
+        SENT("전송 완료"),
+        DEAD("전송 포기");
+
+        private final String description;
+
+        Status(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    /**
+     * 알림 생성을 위한 빌더 패턴 생성자
+     * 생성 즉시 전송 대기 상태가 됩니다.
+     * 수신자(recipientType, recipientId) 또는 토큰(token) 중 하나를 지정합니다.
+     */
+    @Builder
+    public PushNotification(DeviceToken.OwnerType recipientType, Integer recipientId, String token,
+                            String title, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        this.recipientType = recipientType;
+        this.recipientId = recipientId;
+        this.token = token;
+        this.title = title;
+        this.body = body;
+        this.status = Status.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = now;
+        this.createdAt = now;
+    }
+}
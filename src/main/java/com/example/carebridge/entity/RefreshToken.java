@@ -0,0 +1,55 @@
+package com.example.carebridge.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 발급한 Refresh Token 을 저장하는 엔티티 클래스
+ * 서버 재시작이나 여러 인스턴스에서도 같은 세션을 유지할 수 있도록 토큰을 DB 에 보관합니다.
+ * 토큰 원문은 저장하지 않고 SHA-256 해시만 저장하며, 사용자(전화번호)당 하나의 토큰만 유효합니다.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "Refresh_Token",
+        indexes = @Index(name = "idx_refresh_token_expires", columnList = "expires_at"))
+public class RefreshToken {
+
+    /**
+     * 토큰 소유자 (JWT subject, 전화번호)
+     */
+    @Id
+    @Column(name = "subject", length = 64)
+    private String subject;
+
+    /**
+     * Refresh Token 의 SHA-256 해시 (16진수)
+     */
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    /**
+     * 토큰 만료 시각
+     * 만료된 토큰은 주기 작업이 삭제합니다.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * 토큰 발급(갱신) 시각
+     */
+    @Column(name = "issued_at", nullable = false)
+    private LocalDateTime issuedAt;
+
+    public RefreshToken(String subject, String tokenHash, LocalDateTime expiresAt, LocalDateTime issuedAt) {
+        this.subject = subject;
+        this.tokenHash = tokenHash;
+        this.expiresAt = expiresAt;
+        this.issuedAt = issuedAt;
+    }
+}
@@ -5,8 +5,11 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * 의료진에 대한 환자의 요청 정보를 관리하는 엔티티 클래스
@@ -15,7 +18,13 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "Request")
+@Table(name = "Request",
+        indexes = {
+                @Index(name = "idx_request_staff_time", columnList = "medical_staff_id, request_time"),
+                @Index(name = "idx_request_patient_time", columnList = "patient_id, request_time"),
+                @Index(name = "idx_request_status_staff", columnList = "status, medical_staff_id"),
+                @Index(name = "idx_request_accept_time", columnList = "accept_time")
+        })
 public class Request {
 
     /**
@@ -71,6 +80,24 @@ public class Request {
     @Column(name = "status", nullable = false)
     private RequestStatus status;
 
+    /**
+     * 미수락 요청의 에스컬레이션 단계
+     * 0: 없음, 1: 담당 의료진 재알림, 2: 분과 의료진 알림, 3: 책임 간호사 알림
+     * 서버 재시작 시 이 값과 요청 시간으로 다음 에스컬레이션 시각을 다시 계산합니다.
+     */
+    @ColumnDefault("0")
+    @Column(name = "escalation_level", nullable = false)
+    private int escalationLevel;
+
+    /**
+     * 낙관적 잠금 버전
+     * 엔티티 단위 저장 시 다른 트랜잭션의 변경을 덮어쓰지 않도록 합니다.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @Enumerated(EnumType.STRING)  // Enum을 문자열로 저장
     @Column(nullable = false)
     private MessageType type;
@@ -93,6 +120,23 @@ public class Request {
         public String getDescription() {
             return description;
         }
+
+        /**
+         * 이 상태에서 바로 넘어갈 수 있는 상태 목록
+         * 완료된 요청은 다른 상태로 바뀌지 않으며, 같은 상태로의 변경은 허용하지 않습니다.
+         */
+        public Set<RequestStatus> nextStatuses() {
+            return switch (this) {
+                case PENDING -> EnumSet.of(IN_PROGRESS, SCHEDULED, COMPLETED);
+                case SCHEDULED -> EnumSet.of(PENDING, IN_PROGRESS, COMPLETED);
+                case IN_PROGRESS -> EnumSet.of(PENDING, COMPLETED);
+                case COMPLETED -> EnumSet.noneOf(RequestStatus.class);
+            };
+        }
+
+        public boolean canTransitionTo(RequestStatus next) {
+            return nextStatuses().contains(next);
+        }
     }
 
     public enum MessageType {
@@ -10,7 +10,11 @@ import java.time.LocalDateTime;
 @Setter
 @Getter
 @Entity
-@Table(name = "User_Account")
+@Table(name = "User_Account",
+        indexes = {
+                @Index(name = "idx_user_account_phone", columnList = "phone_number"),
+                @Index(name = "idx_user_account_email", columnList = "email")
+        })
 public class UserAccount {
 
     @Id
@@ -37,14 +41,8 @@ public class UserAccount {
     @Column(name = "email")
     private String email;
 
-    @Column(name = "otp")
-    private String otp; // 임시 저장
-
-    @Column(name = "otp_expiry")
-    private LocalDateTime otpExpiry; // OTP 만료 시간
-
     @Column(name = "fcm_token")
-    private String fcmToken; // FCM 토큰
+    private String fcmToken; // 기존 단일 FCM 토큰 (Device_Token 테이블로 이전 후 비워짐)
 
     public enum Gender {
         Male, Female
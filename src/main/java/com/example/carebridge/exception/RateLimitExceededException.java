@@ -0,0 +1,21 @@
+package com.example.carebridge.exception;
+
+/**
+ * 같은 전화번호나 IP 에서 허용된 횟수보다 많이 요청했을 때 발생하는 예외
+ * 컨트롤러는 429 TOO_MANY_REQUESTS 와 Retry-After 헤더로 응답합니다.
+ */
+public class RateLimitExceededException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @return 다시 요청할 수 있을 때까지 남은 시간 (초)
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
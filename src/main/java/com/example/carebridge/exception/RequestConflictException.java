@@ -0,0 +1,15 @@
+package com.example.carebridge.exception;
+
+/**
+ * 콜벨 요청을 다른 사용자가 먼저 변경하여 요청한 변경을 적용할 수 없을 때 발생하는 예외
+ * 컨트롤러는 409 CONFLICT 로 응답합니다.
+ */
+public class RequestConflictException extends RuntimeException {
+    public RequestConflictException(String message) {
+        super(message);
+    }
+
+    public RequestConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.carebridge.repository;
 
+import com.example.carebridge.config.PrimaryRead;
 import com.example.carebridge.entity.ChatRoom;
 import org.springframework.lang.NonNull;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -25,6 +29,8 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, String> {
      * @param patientId 환자의 ID
      * @return 환자의 채팅방
      */
+    @PrimaryRead
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM ChatRoom c WHERE c.patientId = :patientId")
     Optional<ChatRoom> findByPatientId(@Param("patientId") Integer patientId);
 
@@ -33,6 +39,8 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, String> {
      * @param chatRoomId 채팅방의 ID
      * @return 채팅방
      */
+    @PrimaryRead
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM ChatRoom c WHERE c.chatRoomId = :chatRoomId")
     Optional<ChatRoom> findByChatRoomId(@Param("chatRoomId") String chatRoomId);
 }
\ No newline at end of file
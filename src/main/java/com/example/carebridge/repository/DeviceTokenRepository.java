@@ -0,0 +1,46 @@
+package com.example.carebridge.repository;
+
+import com.example.carebridge.entity.DeviceToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 디바이스 토큰 관리를 위한 레포지토리 인터페이스
+ * 소유자별 디바이스 토큰 조회와 만료된 디바이스 조회 기능을 제공합니다.
+ */
+@Repository
+public interface DeviceTokenRepository extends JpaRepository<DeviceToken, Long> {
+
+    /**
+     * 토큰 값으로 디바이스를 조회합니다.
+     *
+     * @param token FCM 토큰
+     * @return 디바이스 정보를 담은 Optional 객체
+     */
+    Optional<DeviceToken> findByToken(String token);
+
+    /**
+     * 소유자의 모든 디바이스를 조회합니다.
+     *
+     * @param ownerType 소유자 유형
+     * @param ownerId 소유자 ID
+     * @return 디바이스 목록
+     */
+    @Query("SELECT d FROM DeviceToken d WHERE d.ownerType = :ownerType AND d.ownerId = :ownerId")
+    List<DeviceToken> findByOwner(@Param("ownerType") DeviceToken.OwnerType ownerType,
+                                  @Param("ownerId") Integer ownerId);
+
+    /**
+     * 마지막 갱신 시각이 기준 시각 이전인 디바이스를 조회합니다.
+     *
+     * @param before 기준 시각
+     * @return 만료 대상 디바이스 목록
+     */
+    List<DeviceToken> findByLastSeenAtBefore(LocalDateTime before);
+}
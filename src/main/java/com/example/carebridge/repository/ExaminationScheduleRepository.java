@@ -6,6 +6,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Query;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -31,9 +32,47 @@ public interface ExaminationScheduleRepository extends JpaRepository<Examination
     @Query("SELECT e FROM ExaminationSchedule e WHERE e.medicalStaffId = :medicalStaffId ORDER BY e.scheduleDate ASC")
     List<ExaminationSchedule> findByMedicalStaffId(@Param("medicalStaffId") Integer medicalStaffId);
 
-    @Query("SELECT e FROM ExaminationSchedule e WHERE DATE(e.scheduleDate) = CURRENT_DATE AND e.patientId = :patientId ORDER BY e.scheduleDate ASC")
-    List<ExaminationSchedule> findTodaySchedulesByPatientId(@Param("patientId") Integer patientId);
+    /**
+     * 기간 안의 환자 검사 일정을 조회합니다.
+     * 컬럼을 함수로 감싸지 않은 범위 조건이라 (patient_id, schedule_date) 인덱스로 검색됩니다.
+     *
+     * @param patientId 환자 ID
+     * @param start 시작 시각 (포함)
+     * @param end 종료 시각 (제외)
+     * @return 검사 일정 목록 (일정 시각 순)
+     */
+    @Query("SELECT e FROM ExaminationSchedule e WHERE e.patientId = :patientId " +
+            "AND e.scheduleDate >= :start AND e.scheduleDate < :end ORDER BY e.scheduleDate ASC")
+    List<ExaminationSchedule> findByPatientIdAndScheduleDateRange(@Param("patientId") Integer patientId,
+                                                                  @Param("start") LocalDateTime start,
+                                                                  @Param("end") LocalDateTime end);
+
+    /**
+     * 기간 안의 의료진 검사 일정을 조회합니다.
+     * (medical_staff_id, schedule_date) 인덱스로 검색됩니다.
+     *
+     * @param medicalStaffId 의료진 ID
+     * @param start 시작 시각 (포함)
+     * @param end 종료 시각 (제외)
+     * @return 검사 일정 목록 (일정 시각 순)
+     */
+    @Query("SELECT e FROM ExaminationSchedule e WHERE e.medicalStaffId = :medicalStaffId " +
+            "AND e.scheduleDate >= :start AND e.scheduleDate < :end ORDER BY e.scheduleDate ASC")
+    List<ExaminationSchedule> findByMedicalStaffIdAndScheduleDateRange(@Param("medicalStaffId") Integer medicalStaffId,
+                                                                       @Param("start") LocalDateTime start,
+                                                                       @Param("end") LocalDateTime end);
 
     @Query("SELECT e FROM ExaminationSchedule e WHERE e.id = :id")
     ExaminationSchedule findById(@Param("id") int id);
-}
\ No newline at end of file
+
+    /**
+     * 기간 안의 검사 일정을 조회합니다.
+     *
+     * @param start 시작 시각 (포함)
+     * @param end 종료 시각 (제외)
+     * @return 검사 일정 목록
+     */
+    @Query("SELECT e FROM ExaminationSchedule e WHERE e.scheduleDate >= :start AND e.scheduleDate < :end")
+    List<ExaminationSchedule> findByScheduleDateRange(@Param("start") LocalDateTime start,
+                                                      @Param("end") LocalDateTime end);
+}
@@ -1,8 +1,12 @@
 package com.example.carebridge.repository;
 
+import com.example.carebridge.config.PrimaryRead;
 import com.example.carebridge.entity.HospitalInformation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -22,6 +26,8 @@ public interface HospitalInformationRepository extends JpaRepository<HospitalInf
      * @param hospitalId 조회할 병원 ID
      * @return 해당 병원의 모든 정보 목록
      */
+    @PrimaryRead
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT hi FROM HospitalInformation hi WHERE hi.hospital.hospitalId = :hospitalId ORDER BY hi.title")
     List<HospitalInformation> findAllByHospitalId(@Param("hospitalId") Integer hospitalId);
     
@@ -1,8 +1,12 @@
 package com.example.carebridge.repository;
 
+import com.example.carebridge.config.PrimaryRead;
 import com.example.carebridge.entity.Hospital;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -23,6 +27,8 @@ public interface HospitalRepository extends JpaRepository<Hospital, Long> {
      * @return 병원 정보를 담은 Optional 객체
      * @throws IllegalArgumentException 유효하지 않은 hospitalId가 입력된 경우
      */
+    @PrimaryRead
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT h FROM Hospital h WHERE h.hospitalId = :hospitalId")
     Optional<Hospital> findByHospitalId(@Param("hospitalId") Integer hospitalId);
 }
@@ -1,8 +1,12 @@
 package com.example.carebridge.repository;
 
+import com.example.carebridge.config.PrimaryRead;
 import com.example.carebridge.entity.Macro;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -23,6 +27,8 @@ public interface MacroRepository extends JpaRepository<Macro, Integer> {
      * @param medicalStaffId 의료진 ID
      * @return 정렬된 매크로 목록
      */
+    @PrimaryRead
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT m FROM Macro m WHERE m.medicalStaffId = :medicalStaffId ORDER BY m.macroName")
     List<Macro> findAllByMedicalStaffId(@Param("medicalStaffId") Integer medicalStaffId);
 
@@ -1,8 +1,12 @@
 package com.example.carebridge.repository;
 
+import com.example.carebridge.config.PrimaryRead;
 import com.example.carebridge.entity.MedicalStaff;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -18,13 +22,25 @@ public interface MedicalStaffRepository extends JpaRepository<MedicalStaff, Inte
 
     /**
      * 부서 이름으로 의료진을 조회합니다.
-     * 각 부서에는 한 명의 의료진만 존재합니다.
+     * 같은 이름의 부서가 여러 병원에 있을 수 있으므로 가능하면 findAllByHospitalIdAndDepartment 를 사용합니다.
      *
      * @param department 부서 이름
-     * @return 해당 부서의 의료진 정보를 담은 Optional 객체
+     * @return 해당 부서의 의료진 목록 (의료진 ID 순)
      */
-    @Query("SELECT ms FROM MedicalStaff ms WHERE ms.department = :department")
-    Optional<MedicalStaff> findByDepartment(@Param("department") String department);
+    @Query("SELECT ms FROM MedicalStaff ms WHERE ms.department = :department ORDER BY ms.medicalStaffId")
+    List<MedicalStaff> findByDepartment(@Param("department") String department);
+
+    /**
+     * 병원 ID와 부서 이름으로 의료진 전체를 조회합니다.
+     * 콜벨 배정 시 같은 병원·분과의 모든 의료진을 후보로 삼기 위해 사용합니다.
+     *
+     * @param hospitalId 병원 ID
+     * @param department 부서 이름
+     * @return 해당 병원·부서의 의료진 목록 (의료진 ID 순)
+     */
+    @Query("SELECT ms FROM MedicalStaff ms WHERE ms.hospitalId = :hospitalId AND ms.department = :department ORDER BY ms.medicalStaffId")
+    List<MedicalStaff> findAllByHospitalIdAndDepartment(@Param("hospitalId") Integer hospitalId,
+                                                       @Param("department") String department);
 
     /**
      * 의료진 ID로 의료진을 조회합니다.
@@ -33,6 +49,8 @@ public interface MedicalStaffRepository extends JpaRepository<MedicalStaff, Inte
      * @param medicalStaffId 의료진 ID
      * @return 의료진 정보를 담은 Optional 객체
      */
+    @PrimaryRead
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT ms FROM MedicalStaff ms WHERE ms.medicalStaffId = :medicalStaffId")
     Optional<MedicalStaff> findByMedicalStaffId(@Param("medicalStaffId") Integer medicalStaffId);
 
@@ -41,6 +59,21 @@ public interface MedicalStaffRepository extends JpaRepository<MedicalStaff, Inte
      * @param hospitalId 병원 ID
      * @return 해당하는 병원의 모든 의료진 List
      */
+    @PrimaryRead
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT ms FROM MedicalStaff ms WHERE ms.hospitalId = :hospitalId")
     List<MedicalStaff> findByHospitalId(@Param("hospitalId") Integer hospitalId);
-}
\ No newline at end of file
+
+    /**
+     * 병원의 책임 간호사를 조회합니다.
+     * 같은 분과의 책임 간호사가 앞에 오도록 정렬합니다.
+     *
+     * @param hospitalId 병원 ID
+     * @param department 우선할 부서 이름
+     * @return 책임 간호사 목록
+     */
+    @Query("SELECT ms FROM MedicalStaff ms WHERE ms.hospitalId = :hospitalId AND ms.chargeNurse = true " +
+            "ORDER BY CASE WHEN ms.department = :department THEN 0 ELSE 1 END, ms.medicalStaffId")
+    List<MedicalStaff> findChargeNurses(@Param("hospitalId") Integer hospitalId,
+                                        @Param("department") String department);
+}
@@ -1,6 +1,7 @@
 package com.example.carebridge.repository;
 
 import com.example.carebridge.entity.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -55,4 +56,37 @@ public interface MessageRepository extends JpaRepository<Message, Integer> {
      */
     @Query("SELECT m FROM Message m WHERE m.medicalStaffId = :medicalStaffId ORDER BY m.timestamp DESC")
     List<Message> findByMedicalStaffId(@Param("medicalStaffId") Integer medicalStaffId);
-}
\ No newline at end of file
+
+    /**
+     * 채팅방의 마지막 메시지 순번을 조회합니다.
+     * 서버 재시작 후 채팅방 순번 카운터를 이어서 발급하기 위해 사용합니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     * @return 마지막 순번을 담은 Optional 객체 (순번이 부여된 메시지가 없으면 빈 값)
+     */
+    @Query("SELECT MAX(m.roomSeq) FROM Message m WHERE m.chatRoomId = :chatRoomId")
+    Optional<Long> findMaxRoomSeqByChatRoomId(@Param("chatRoomId") String chatRoomId);
+
+    /**
+     * 채팅방에서 특정 순번 이후의 메시지를 순번 순으로 조회합니다.
+     * 재연결한 클라이언트가 놓친 구간만 가져오기 위해 사용합니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     * @param afterSeq 클라이언트가 마지막으로 수신한 순번
+     * @param pageable 조회 개수 제한
+     * @return 순번 오름차순으로 정렬된 메시지 목록
+     */
+    @Query("SELECT m FROM Message m WHERE m.chatRoomId = :chatRoomId AND m.roomSeq > :afterSeq ORDER BY m.roomSeq ASC")
+    List<Message> findByChatRoomIdAfterSeq(@Param("chatRoomId") String chatRoomId,
+                                           @Param("afterSeq") Long afterSeq,
+                                           Pageable pageable);
+
+    /**
+     * 환자가 보낸 읽지 않은 메시지 수를 의료진별로 집계합니다.
+     * 병동 대시보드를 서버 시작 시(및 매일 자정) 한 번 채울 때만 사용합니다.
+     *
+     * @return [의료진 ID, 메시지 수] 목록
+     */
+    @Query("SELECT m.medicalStaffId, COUNT(m) FROM Message m WHERE m.readStatus = false AND m.isPatient = true GROUP BY m.medicalStaffId")
+    List<Object[]> countUnreadPatientMessagesByMedicalStaffId();
+}
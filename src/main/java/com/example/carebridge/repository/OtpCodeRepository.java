@@ -0,0 +1,61 @@
+package com.example.carebridge.repository;
+
+import com.example.carebridge.entity.OtpCode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * SMS 인증번호 저장소 레포지토리 인터페이스
+ */
+@Repository
+public interface OtpCodeRepository extends JpaRepository<OtpCode, String> {
+
+    /**
+     * 만료되지 않았고 최대 시도 횟수에 도달하지 않은 인증번호가 입력한 해시와 같으면 시도 횟수를 1 올립니다.
+     * 비교와 시도 횟수 증가가 한 문장에서 일어나므로, 그 사이에 인증번호가 재발송되어도 이전 번호로 검증되지 않습니다.
+     *
+     * @param phoneNumber 전화번호
+     * @param codeHash 입력한 인증번호의 해시
+     * @param maxAttempts 최대 시도 횟수
+     * @param now 현재 시각
+     * @return 변경된 행 수 (1 이면 일치)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OtpCode o SET o.attempts = o.attempts + 1 " +
+            "WHERE o.phoneNumber = :phoneNumber AND o.codeHash = :codeHash " +
+            "AND o.attempts < :maxAttempts AND o.expiresAt > :now")
+    int incrementAttemptsIfMatches(@Param("phoneNumber") String phoneNumber,
+                                   @Param("codeHash") String codeHash,
+                                   @Param("maxAttempts") int maxAttempts,
+                                   @Param("now") LocalDateTime now);
+
+    /**
+     * 만료되지 않았고 최대 시도 횟수에 도달하지 않은 인증번호의 시도 횟수를 1 올립니다. (불일치 시도 기록)
+     *
+     * @param phoneNumber 전화번호
+     * @param maxAttempts 최대 시도 횟수
+     * @param now 현재 시각
+     * @return 변경된 행 수 (0 이면 시도 횟수 초과 또는 만료)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OtpCode o SET o.attempts = o.attempts + 1 " +
+            "WHERE o.phoneNumber = :phoneNumber AND o.attempts < :maxAttempts AND o.expiresAt > :now")
+    int incrementAttempts(@Param("phoneNumber") String phoneNumber,
+                          @Param("maxAttempts") int maxAttempts,
+                          @Param("now") LocalDateTime now);
+
+    /**
+     * 만료된 인증번호를 삭제합니다. (expires_at 인덱스 범위 삭제)
+     *
+     * @param now 기준 시각
+     * @return 삭제된 행 수
+     */
+    @Modifying
+    @Query("DELETE FROM OtpCode o WHERE o.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
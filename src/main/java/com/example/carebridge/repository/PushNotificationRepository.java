@@ -0,0 +1,92 @@
+package com.example.carebridge.repository;
+
+import com.example.carebridge.entity.PushNotification;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 푸시 알림 전송 큐를 위한 레포지토리 인터페이스
+ * 전송 대상 알림의 점유, 상태별 집계, 만료된 점유 회수 기능을 제공합니다.
+ */
+@Repository
+public interface PushNotificationRepository extends JpaRepository<PushNotification, Long> {
+
+    /**
+     * 전송 시각이 도래한 대기 알림을 오래된 순으로 조회하고 행 잠금을 획득합니다.
+     *
+     * @param status 조회할 상태 (PENDING)
+     * @param now 기준 시각
+     * @param pageable 조회 개수 제한
+     * @return 전송 대상 알림 목록
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM PushNotification p WHERE p.status = :status AND p.nextAttemptAt <= :now ORDER BY p.nextAttemptAt ASC")
+    List<PushNotification> findDueForUpdate(@Param("status") PushNotification.Status status,
+                                            @Param("now") LocalDateTime now,
+                                            Pageable pageable);
+
+    /**
+     * 특정 상태의 알림 수를 조회합니다.
+     *
+     * @param status 알림 상태
+     * @return 알림 수
+     */
+    long countByStatus(PushNotification.Status status);
+
+    /**
+     * 최대 시도 횟수에 도달한 채 점유가 만료된 전송 중 알림을 포기 상태로 변경합니다.
+     * 결과를 반영하지 못한 채 점유 만료가 반복되는 알림이 끝없이 재전송되지 않도록 releaseExpiredLeases 보다 먼저 호출합니다.
+     *
+     * @param sending 점유 상태 (SENDING)
+     * @param dead 포기 상태 (DEAD)
+     * @param maxAttempts 최대 시도 횟수 (점유할 때 시도 횟수가 증가)
+     * @param error 기록할 오류 코드
+     * @param now 기준 시각
+     * @return 포기 처리된 알림 수
+     */
+    @Modifying
+    @Query("UPDATE PushNotification p SET p.status = :dead, p.lastError = :error, p.completedAt = :now "
+            + "WHERE p.status = :sending AND p.nextAttemptAt < :now AND p.attempts >= :maxAttempts")
+    int abandonExpiredLeases(@Param("sending") PushNotification.Status sending,
+                             @Param("dead") PushNotification.Status dead,
+                             @Param("maxAttempts") int maxAttempts,
+                             @Param("error") String error,
+                             @Param("now") LocalDateTime now);
+
+    /**
+     * 점유 만료 시각이 지난 전송 중 알림을 다시 대기 상태로 되돌립니다.
+     * 전송 도중 서버가 종료된 경우 알림이 유실되지 않도록 하기 위해 사용합니다.
+     *
+     * @param sending 점유 상태 (SENDING)
+     * @param pending 되돌릴 상태 (PENDING)
+     * @param now 기준 시각
+     * @return 회수된 알림 수
+     */
+    @Modifying
+    @Query("UPDATE PushNotification p SET p.status = :pending WHERE p.status = :sending AND p.nextAttemptAt < :now")
+    int releaseExpiredLeases(@Param("sending") PushNotification.Status sending,
+                             @Param("pending") PushNotification.Status pending,
+                             @Param("now") LocalDateTime now);
+
+    /**
+     * 보관 기간이 지난 완료/포기 알림을 삭제합니다.
+     *
+     * @param statuses 삭제할 상태 목록 (SENT, DEAD)
+     * @param before 기준 시각
+     * @return 삭제된 알림 수
+     */
+    @Modifying
+    @Query("DELETE FROM PushNotification p WHERE p.status IN :statuses AND p.completedAt < :before")
+    int deleteCompletedBefore(@Param("statuses") Collection<PushNotification.Status> statuses,
+                              @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,58 @@
+package com.example.carebridge.repository;
+
+import com.example.carebridge.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh Token 저장소 레포지토리 인터페이스
+ * 토큰 교체(compare-and-set), 폐기, 만료 토큰 삭제 기능을 제공합니다.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    /**
+     * 저장된 토큰이 기대한 해시이고 만료되지 않았을 때만 새 토큰으로 교체합니다.
+     * 같은 Refresh Token 으로 동시에 재발급을 요청해도 한 요청만 성공합니다.
+     *
+     * @param subject 토큰 소유자
+     * @param expectedHash 제시된 토큰의 해시
+     * @param newHash 새 토큰의 해시
+     * @param expiresAt 새 토큰의 만료 시각
+     * @param now 현재 시각
+     * @return 교체된 행 수 (0 이면 토큰 불일치 또는 만료)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.tokenHash = :newHash, t.expiresAt = :expiresAt, t.issuedAt = :now " +
+            "WHERE t.subject = :subject AND t.tokenHash = :expectedHash AND t.expiresAt > :now")
+    int rotate(@Param("subject") String subject,
+               @Param("expectedHash") String expectedHash,
+               @Param("newHash") String newHash,
+               @Param("expiresAt") LocalDateTime expiresAt,
+               @Param("now") LocalDateTime now);
+
+    /**
+     * 소유자의 토큰을 삭제합니다.
+     *
+     * @param subject 토큰 소유자
+     * @return 삭제된 행 수
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.subject = :subject")
+    int deleteBySubject(@Param("subject") String subject);
+
+    /**
+     * 만료된 토큰을 삭제합니다. (expires_at 인덱스 범위 삭제)
+     *
+     * @param now 기준 시각
+     * @return 삭제된 행 수
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -2,10 +2,13 @@ package com.example.carebridge.repository;
 
 import com.example.carebridge.entity.Request;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -46,11 +49,73 @@ public interface RequestRepository extends JpaRepository<Request, Integer> {
     @Query("SELECT r FROM Request r WHERE r.patientId = :patientId ORDER BY r.requestTime DESC")
     List<Request> findByPatientIdOrderByRequestTime(@Param("patientId") Integer patientId);
 
+    /**
+     * 지정한 상태의 요청 목록을 조회합니다.
+     * 서버 시작 시 미완료 요청으로 콜벨 보드를 채우기 위해 사용합니다.
+     *
+     * @param statuses 조회할 요청 상태 목록
+     * @return 요청 목록
+     */
+    @Query("SELECT r FROM Request r WHERE r.status IN :statuses")
+    List<Request> findByStatusIn(@Param("statuses") Collection<Request.RequestStatus> statuses);
+
+    /**
+     * 현재 상태가 기대한 상태일 때만 요청 상태를 바꿉니다. (compare-and-set)
+     * 조건 확인과 변경이 한 문장으로 처리되므로 동시에 같은 요청을 수락해도 한 쪽만 성공합니다.
+     *
+     * @param requestId 요청 ID
+     * @param expected 기대하는 현재 상태
+     * @param next 변경할 상태
+     * @return 변경된 행 수 (0 이면 다른 사용자가 먼저 변경함)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Request r SET r.status = :next, r.version = r.version + 1 " +
+            "WHERE r.requestId = :requestId AND r.status = :expected")
+    int compareAndSetStatus(@Param("requestId") Integer requestId,
+                            @Param("expected") Request.RequestStatus expected,
+                            @Param("next") Request.RequestStatus next);
+
+    /**
+     * 수락 시간이 비어 있을 때만 수락 시간을 기록합니다.
+     *
+     * @param requestId 요청 ID
+     * @param acceptTime 수락 시간
+     * @return 변경된 행 수 (0 이면 이미 수락 시간이 기록됨)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Request r SET r.acceptTime = :acceptTime, r.version = r.version + 1 " +
+            "WHERE r.requestId = :requestId AND r.acceptTime IS NULL")
+    int setAcceptTimeIfAbsent(@Param("requestId") Integer requestId,
+                              @Param("acceptTime") LocalDateTime acceptTime);
+
     /**
      * 요청 ID로 요청 정보를 삭제합니다.
      *
      * @param requestId 요청 ID
      */
+    @Modifying
     @Query("DELETE FROM Request r WHERE r.requestId = :requestId")
     void deleteByRequestId(@Param("requestId") Integer requestId);
-}
\ No newline at end of file
+
+    /**
+     * 지정한 상태의 요청 수를 의료진별로 집계합니다.
+     * 병동 대시보드를 서버 시작 시(및 매일 자정) 한 번 채울 때만 사용합니다.
+     *
+     * @param statuses 집계할 요청 상태 목록
+     * @return [의료진 ID, 요청 수] 목록
+     */
+    @Query("SELECT r.medicalStaffId, COUNT(r) FROM Request r WHERE r.status IN :statuses GROUP BY r.medicalStaffId")
+    List<Object[]> countByMedicalStaffIdAndStatusIn(@Param("statuses") Collection<Request.RequestStatus> statuses);
+
+    /**
+     * 수락 시간이 기간 안인 요청의 의료진 ID, 요청 시간, 수락 시간을 조회합니다.
+     * 서버 재시작 후 병동 대시보드의 오늘 평균 대기 시간을 다시 채우기 위해 사용합니다.
+     *
+     * @param from 시작 시각 (포함)
+     * @param to 종료 시각 (제외)
+     * @return [의료진 ID, 요청 시간, 수락 시간] 목록
+     */
+    @Query("SELECT r.medicalStaffId, r.requestTime, r.acceptTime FROM Request r " +
+            "WHERE r.acceptTime >= :from AND r.acceptTime < :to")
+    List<Object[]> findAcceptTimesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -2,11 +2,32 @@ package com.example.carebridge.repository;
 
 import com.example.carebridge.entity.StaffAccount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface StaffAccountRepository extends JpaRepository<StaffAccount, Long> {
     Optional<StaffAccount> getStaffAccountByUserId(String userId);
+
+    /**
+     * 저장된 비밀번호가 기대한 값일 때만 새 값으로 바꿉니다. (로그인 시 해시 전환용 compare-and-set)
+     * 그 사이 비밀번호가 재설정되었으면 바꾸지 않습니다.
+     *
+     * @param userId 로그인 아이디
+     * @param expectedPassword 검증에 사용한 기존 저장 값
+     * @param newPassword 새로 저장할 해시
+     * @return 변경된 행 수 (0 이면 그 사이 비밀번호가 바뀜)
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE StaffAccount s SET s.password = :newPassword " +
+            "WHERE s.userId = :userId AND s.password = :expectedPassword")
+    int replacePassword(@Param("userId") String userId,
+                        @Param("expectedPassword") String expectedPassword,
+                        @Param("newPassword") String newPassword);
 }
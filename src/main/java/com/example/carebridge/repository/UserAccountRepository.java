@@ -4,10 +4,16 @@ import com.example.carebridge.entity.UserAccount;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserAccountRepository extends JpaRepository<UserAccount, Integer> {
     Optional<UserAccount> findByPhoneNumber(String phoneNumber);
     Optional<UserAccount> findByEmail(String email);
+
+    /**
+     * 기존 FCM 토큰이 남아 있는 계정을 기본 키 순서로 나누어 조회합니다. (fcm_token 인덱스 없이 기본 키 범위로 읽음)
+     */
+    List<UserAccount> findTop500ByIdGreaterThanAndFcmTokenIsNotNullOrderByIdAsc(Integer id);
 }
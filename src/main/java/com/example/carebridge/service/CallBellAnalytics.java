@@ -0,0 +1,225 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.ResponseTimeStatsDto;
+import com.example.carebridge.entity.MedicalStaff;
+import com.example.carebridge.entity.Request;
+import com.example.carebridge.repository.MedicalStaffRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 콜벨 응답 시간 분석 서비스
+ * 요청 변경 이벤트만으로 응답 시간 분포를 누적하여, Request 테이블을 조회하지 않고 백분위수를 제공합니다.
+ *
+ * 측정 항목:
+ * - 대기 시간(wait): 요청 시각부터 수락 시각이 처음 기록될 때까지
+ * - 처리 시간(resolution): 요청 시각부터 상태가 COMPLETED 로 바뀔 때까지
+ *
+ * 집계 기준:
+ * - 의료진별, 분과별, 요청 시각의 시(0~23)별
+ *
+ * 주의사항:
+ * - 분포는 서버 시작 이후의 이벤트로만 채워지며 재시작 시 초기화됩니다.
+ * - Micrometer 타이머(callbell.response.wait / resolution)는 분과 태그로만 노출하여 태그 수를 제한합니다.
+ */
+@Slf4j
+@Service
+public class CallBellAnalytics {
+
+    /**
+     * 집계 기준
+     */
+    public enum Dimension {
+        STAFF,
+        DEPARTMENT,
+        HOUR
+    }
+
+    /**
+     * 유효 자릿수 2 → 백분위수 오차 1% 이내
+     */
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private static final String UNKNOWN_DEPARTMENT = "UNKNOWN";
+
+    private final MedicalStaffRepository medicalStaffRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Dimension, ConcurrentHashMap<String, Distribution>> distributions = new EnumMap<>(Dimension.class);
+
+    /**
+     * 측정 항목별 분과 → Micrometer 타이머 (기록할 때마다 레지스트리를 조회하지 않도록 한 번만 만들어 보관)
+     */
+    private final Map<Metric, ConcurrentHashMap<String, Timer>> timers = new EnumMap<>(Metric.class);
+    private final ConcurrentHashMap<Integer, String> staffDepartments = new ConcurrentHashMap<>();
+
+    public CallBellAnalytics(MedicalStaffRepository medicalStaffRepository, MeterRegistry meterRegistry) {
+        this.medicalStaffRepository = medicalStaffRepository;
+        this.meterRegistry = meterRegistry;
+        for (Dimension dimension : Dimension.values()) {
+            distributions.put(dimension, new ConcurrentHashMap<>());
+        }
+        for (Metric metric : Metric.values()) {
+            timers.put(metric, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * 커밋된 요청 변경에서 대기 시간과 처리 시간을 기록합니다.
+     *
+     * @param event 요청 변경 이벤트
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestChanged(RequestChangedEvent event) {
+        if (event.getType() != RequestChangedEvent.Type.UPDATED || event.getRequestTime() == null) {
+            return;
+        }
+        try {
+            if (event.getPreviousAcceptTime() == null && event.getAcceptTime() != null) {
+                record(event, Metric.WAIT, Duration.between(event.getRequestTime(), event.getAcceptTime()));
+            }
+            if (event.getStatus() == Request.RequestStatus.COMPLETED
+                    && event.getPreviousStatus() != Request.RequestStatus.COMPLETED) {
+                record(event, Metric.RESOLUTION, Duration.between(event.getRequestTime(), event.getOccurredAt()));
+            }
+        } catch (Exception e) {
+            log.error("콜벨 응답 시간 기록 실패 - 요청 ID: {}, 오류: {}", event.getRequestId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 집계 기준별 전체 분포를 조회합니다.
+     *
+     * @param dimension 집계 기준
+     * @return 키 순으로 정렬된 백분위수 목록
+     */
+    public List<ResponseTimeStatsDto> getStats(Dimension dimension) {
+        List<ResponseTimeStatsDto> result = new ArrayList<>();
+        distributions.get(dimension).forEach((key, distribution) -> result.add(distribution.toDto(dimension, key)));
+        result.sort(Comparator.comparing(ResponseTimeStatsDto::getKey, KEY_ORDER));
+        return result;
+    }
+
+    /**
+     * 특정 키의 분포를 조회합니다.
+     *
+     * @param dimension 집계 기준
+     * @param key 집계 키
+     * @return 백분위수 (기록이 없으면 모든 값이 0)
+     */
+    public ResponseTimeStatsDto getStats(Dimension dimension, String key) {
+        Distribution distribution = distributions.get(dimension).get(key);
+        return distribution == null ? new Distribution().toDto(dimension, key) : distribution.toDto(dimension, key);
+    }
+
+    private void record(RequestChangedEvent event, Metric metric, Duration elapsed) {
+        if (elapsed.isNegative()) {
+            log.warn("콜벨 응답 시간이 음수입니다 - 요청 ID: {}, 항목: {}", event.getRequestId(), metric);
+            return;
+        }
+        long millis = elapsed.toMillis();
+        String department = departmentOf(event.getMedicalStaffId());
+
+        distributionOf(Dimension.STAFF, String.valueOf(event.getMedicalStaffId())).record(metric, millis);
+        distributionOf(Dimension.DEPARTMENT, department).record(metric, millis);
+        distributionOf(Dimension.HOUR, String.valueOf(event.getRequestTime().getHour())).record(metric, millis);
+
+        timerOf(metric, department).record(elapsed);
+    }
+
+    private Timer timerOf(Metric metric, String department) {
+        return timers.get(metric).computeIfAbsent(department, d -> Timer.builder(metric.meterName)
+                .description(metric.description)
+                .tag("department", d)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry));
+    }
+
+    private Distribution distributionOf(Dimension dimension, String key) {
+        return distributions.get(dimension).computeIfAbsent(key, k -> new Distribution());
+    }
+
+    /**
+     * 의료진의 분과는 바뀌는 일이 드물어 처음 한 번만 조회하여 보관합니다.
+     */
+    private String departmentOf(Integer medicalStaffId) {
+        if (medicalStaffId == null) {
+            return UNKNOWN_DEPARTMENT;
+        }
+        return staffDepartments.computeIfAbsent(medicalStaffId, id -> medicalStaffRepository.findByMedicalStaffId(id)
+                .map(MedicalStaff::getDepartment)
+                .orElse(UNKNOWN_DEPARTMENT));
+    }
+
+    /**
+     * 숫자 키(의료진 ID, 시)는 숫자 순으로, 그 외는 문자열 순으로 정렬합니다.
+     */
+    private static final Comparator<String> KEY_ORDER = (a, b) -> {
+        boolean numericA = a.chars().allMatch(Character::isDigit);
+        boolean numericB = b.chars().allMatch(Character::isDigit);
+        if (numericA && numericB) {
+            return Long.compare(Long.parseLong(a), Long.parseLong(b));
+        }
+        return a.compareTo(b);
+    };
+
+    /**
+     * 측정 항목
+     */
+    private enum Metric {
+        WAIT("callbell.response.wait", "콜벨 요청부터 수락까지 걸린 시간"),
+        RESOLUTION("callbell.response.resolution", "콜벨 요청부터 완료까지 걸린 시간");
+
+        private final String meterName;
+        private final String description;
+
+        Metric(String meterName, String description) {
+            this.meterName = meterName;
+            this.description = description;
+        }
+    }
+
+    /**
+     * 한 집계 키의 대기/처리 시간 분포
+     * ConcurrentHistogram 은 기록 시 잠금이 없고 범위를 넘는 값이 들어오면 자동으로 늘어납니다.
+     */
+    private static class Distribution {
+        private final Histogram wait = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final Histogram resolution = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+        void record(Metric metric, long millis) {
+            (metric == Metric.WAIT ? wait : resolution).recordValue(millis);
+        }
+
+        ResponseTimeStatsDto toDto(Dimension dimension, String key) {
+            Histogram waitCopy = wait.copy();
+            Histogram resolutionCopy = resolution.copy();
+            return ResponseTimeStatsDto.builder()
+                    .dimension(dimension.name())
+                    .key(key)
+                    .waitCount(waitCopy.getTotalCount())
+                    .waitP50(waitCopy.getValueAtPercentile(50))
+                    .waitP90(waitCopy.getValueAtPercentile(90))
+                    .waitP99(waitCopy.getValueAtPercentile(99))
+                    .resolutionCount(resolutionCopy.getTotalCount())
+                    .resolutionP50(resolutionCopy.getValueAtPercentile(50))
+                    .resolutionP90(resolutionCopy.getValueAtPercentile(90))
+                    .resolutionP99(resolutionCopy.getValueAtPercentile(99))
+                    .build();
+        }
+    }
+}
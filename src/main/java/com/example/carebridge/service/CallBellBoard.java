@@ -0,0 +1,205 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.CallBellBoardDeltaDto;
+import com.example.carebridge.dto.RequestDto;
+import com.example.carebridge.entity.Request;
+import com.example.carebridge.mapper.RequestMapper;
+import com.example.carebridge.repository.RequestRepository;
+import com.example.carebridge.util.UserDestinations;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 실시간 콜벨 보드
+ * 의료진별로 처리되지 않은 요청만 메모리에 우선순위 순으로 보관하고,
+ * 변경분(ADD/UPDATE/REMOVE)을 /user/queue/call-bell/board/{medicalStaffId} 구독자에게 전송합니다.
+ *
+ * 정렬 기준:
+ * 1. 긴급도 - 수락 전(PENDING) > 진행 중(IN_PROGRESS) > 예약됨(SCHEDULED)
+ * 2. 대기 시간 - 먼저 들어온 요청이 앞
+ *
+ * 주의사항:
+ * - 보드는 서버 시작 시 DB 의 미완료 요청으로 한 번 채워지고, 이후에는 RequestChangedEvent 로만 갱신됩니다.
+ * - 완료된 요청 이력은 CallBellService.getAllRequests 로 DB 에서 조회합니다.
+ */
+@Slf4j
+@Service
+public class CallBellBoard {
+
+    /**
+     * 보드에 표시되는 미완료 상태
+     */
+    static final Set<Request.RequestStatus> OPEN_STATUSES = EnumSet.of(
+            Request.RequestStatus.PENDING, Request.RequestStatus.IN_PROGRESS, Request.RequestStatus.SCHEDULED);
+
+    private final RequestRepository requestRepository;
+    private final RequestMapper requestMapper;
+    private final UserQueueMessenger userQueueMessenger;
+
+    private final ConcurrentHashMap<Integer, StaffBoard> boards = new ConcurrentHashMap<>();
+
+    public CallBellBoard(RequestRepository requestRepository,
+                         RequestMapper requestMapper,
+                         UserQueueMessenger userQueueMessenger) {
+        this.requestRepository = requestRepository;
+        this.requestMapper = requestMapper;
+        this.userQueueMessenger = userQueueMessenger;
+    }
+
+    /**
+     * 서버 시작 시 DB 의 미완료 요청으로 보드를 채웁니다.
+     * 적재 도중 도착한 이벤트가 더 최신이므로 이미 보드에 있는 요청은 덮어쓰지 않습니다.
+     * 적재 이후에는 커밋 이벤트로만 갱신하므로, 복제본 지연이 오차로 남지 않도록 readOnly 없이 원본에서 읽습니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void warmUp() {
+        List<Request> open = requestRepository.findByStatusIn(OPEN_STATUSES);
+        for (Request request : open) {
+            boardOf(request.getMedicalStaffId())
+                    .putIfAbsent(new BoardEntry(requestMapper.toDto(request), request.getStatus(), request.getRequestTime()));
+        }
+        log.info("콜벨 보드 초기화 완료 - 미완료 요청: {}건, 의료진: {}명", open.size(), boards.size());
+    }
+
+    /**
+     * 요청 변경 이벤트를 보드에 반영하고 변경분을 전송합니다.
+     * 트랜잭션이 커밋된 뒤에만 반영되므로 롤백된 변경은 보드에 나타나지 않습니다.
+     *
+     * @param event 요청 변경 이벤트
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestChanged(RequestChangedEvent event) {
+        StaffBoard board = boardOf(event.getMedicalStaffId());
+        // 같은 의료진의 변경분이 적용 순서대로 전송되도록 보드 잠금 안에서 전송합니다.
+        synchronized (board) {
+            CallBellBoardDeltaDto delta;
+            if (event.getType() == RequestChangedEvent.Type.DELETED || !OPEN_STATUSES.contains(event.getStatus())) {
+                delta = board.remove(event.getRequestId());
+            } else {
+                delta = board.upsert(new BoardEntry(event.getRequest(), event.getStatus(), event.getRequestTime()));
+            }
+            if (delta != null) {
+                userQueueMessenger.sendToSubscribers(UserDestinations.CALL_BELL_BOARD + event.getMedicalStaffId(), delta);
+            }
+        }
+    }
+
+    /**
+     * 의료진의 현재 보드를 우선순위 순으로 반환합니다.
+     *
+     * @param medicalStaffId 의료진 ID
+     * @return 미완료 요청 목록
+     */
+    public List<RequestDto> getBoard(Integer medicalStaffId) {
+        StaffBoard board = boards.get(medicalStaffId);
+        return board == null ? List.of() : board.snapshot();
+    }
+
+    /**
+     * 의료진의 미완료 요청 수를 반환합니다.
+     *
+     * @param medicalStaffId 의료진 ID
+     * @return 미완료 요청 수
+     */
+    public int openCount(Integer medicalStaffId) {
+        StaffBoard board = boards.get(medicalStaffId);
+        return board == null ? 0 : board.size();
+    }
+
+    private StaffBoard boardOf(Integer medicalStaffId) {
+        return boards.computeIfAbsent(medicalStaffId, id -> new StaffBoard());
+    }
+
+    /**
+     * 긴급도 순위 (작을수록 앞)
+     */
+    private static int urgencyRank(Request.RequestStatus status) {
+        return switch (status) {
+            case PENDING -> 0;
+            case IN_PROGRESS -> 1;
+            default -> 2;
+        };
+    }
+
+    /**
+     * 보드에 올라간 요청 한 건
+     */
+    private record BoardEntry(RequestDto request, Request.RequestStatus status, LocalDateTime requestTime) {
+        static final Comparator<BoardEntry> ORDER = Comparator
+                .comparingInt((BoardEntry e) -> urgencyRank(e.status()))
+                .thenComparing(BoardEntry::requestTime, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(e -> e.request().getRequestId());
+
+        Integer requestId() {
+            return request.getRequestId();
+        }
+    }
+
+    /**
+     * 의료진 한 명의 보드
+     * 정렬 집합과 ID 색인을 함께 유지하여 갱신/삭제를 O(log n) 으로 처리합니다.
+     */
+    private static class StaffBoard {
+        private final TreeSet<BoardEntry> ordered = new TreeSet<>(BoardEntry.ORDER);
+        private final Map<Integer, BoardEntry> byId = new HashMap<>();
+
+        synchronized void putIfAbsent(BoardEntry entry) {
+            if (!byId.containsKey(entry.requestId())) {
+                byId.put(entry.requestId(), entry);
+                ordered.add(entry);
+            }
+        }
+
+        synchronized CallBellBoardDeltaDto upsert(BoardEntry entry) {
+            BoardEntry previous = byId.put(entry.requestId(), entry);
+            if (previous != null) {
+                ordered.remove(previous);
+            }
+            ordered.add(entry);
+            return CallBellBoardDeltaDto.builder()
+                    .op(previous == null ? CallBellBoardDeltaDto.Operation.ADD : CallBellBoardDeltaDto.Operation.UPDATE)
+                    .position(ordered.headSet(entry).size())
+                    .request(entry.request())
+                    .build();
+        }
+
+        synchronized CallBellBoardDeltaDto remove(Integer requestId) {
+            BoardEntry previous = byId.remove(requestId);
+            if (previous == null) {
+                return null;
+            }
+            ordered.remove(previous);
+            return CallBellBoardDeltaDto.builder()
+                    .op(CallBellBoardDeltaDto.Operation.REMOVE)
+                    .position(-1)
+                    .request(previous.request())
+                    .build();
+        }
+
+        synchronized List<RequestDto> snapshot() {
+            List<RequestDto> result = new ArrayList<>(ordered.size());
+            ordered.forEach(entry -> result.add(entry.request()));
+            return result;
+        }
+
+        synchronized int size() {
+            return byId.size();
+        }
+    }
+}
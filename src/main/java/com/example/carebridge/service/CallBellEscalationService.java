@@ -0,0 +1,305 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.EscalationNoticeDto;
+import com.example.carebridge.entity.DeviceToken;
+import com.example.carebridge.entity.MedicalStaff;
+import com.example.carebridge.entity.Request;
+import com.example.carebridge.repository.MedicalStaffRepository;
+import com.example.carebridge.repository.RequestRepository;
+import com.example.carebridge.util.DeadlineQueue;
+import com.example.carebridge.util.UserDestinations;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * 미수락 콜벨 요청 에스컬레이션 서비스
+ * PENDING 상태로 오래 남아 있는 요청을 단계적으로 더 넓은 대상에게 알립니다.
+ *
+ * 단계 (요청 시각 기준 경과 시간):
+ * 1. callbell.escalation.renotify-after-seconds - 담당 의료진에게 다시 알림
+ * 2. callbell.escalation.staff-after-seconds - 같은 병원·분과의 다른 의료진에게 알림
+ * 3. callbell.escalation.charge-nurse-after-seconds - 책임 간호사에게 알림
+ *
+ * 동작 방식:
+ * - 요청마다 예약 작업을 만들지 않고 DeadlineQueue 에 다음 마감 시각만 넣어 두며,
+ *   하나의 주기 작업(sweep)이 만료된 요청만 꺼내 처리합니다.
+ * - 도달한 단계는 Request.escalationLevel 에 저장되므로, 서버 재시작 시 미수락 요청의
+ *   요청 시각과 단계로 다음 마감 시각을 다시 계산하여 이어서 진행합니다.
+ * - 다음 마감 시각은 요청 시각 기준 시각과 "지금 + 단계 간격" 중 늦은 쪽입니다. 재시작 직후나
+ *   다시 PENDING 으로 돌아온 요청처럼 기준 시각이 이미 지난 경우에도 한 번에 여러 단계를 건너뛰지 않고
+ *   단계 간격마다 한 단계씩만 올라갑니다.
+ * - 재시작 시 callbell.escalation.rebuild-max-age-seconds 보다 오래된 요청은 다시 예약하지 않습니다.
+ * - 알림은 STOMP(/user/queue/call-bell/escalation/{medicalStaffId} 구독자)와 FCM 으로 함께 전송합니다.
+ */
+@Slf4j
+@Service
+public class CallBellEscalationService {
+
+    /**
+     * 마지막 에스컬레이션 단계 (책임 간호사)
+     */
+    static final int MAX_LEVEL = 3;
+
+    /**
+     * 처리 중 오류가 난 요청을 다시 시도하기까지의 대기 시간
+     */
+    private static final long RETRY_DELAY_MILLIS = 10_000;
+
+    private final RequestRepository requestRepository;
+    private final MedicalStaffRepository medicalStaffRepository;
+    private final UserQueueMessenger userQueueMessenger;
+    private final NotificationCoalescer notificationCoalescer;
+    private final TransactionTemplate transactionTemplate;
+    private final int sweepBatchSize;
+    private final Duration rebuildMaxAge;
+
+    /**
+     * 단계별 마감 시각 (요청 시각 기준 경과 시간), 인덱스는 현재 단계
+     */
+    private final Duration[] thresholds;
+
+    /**
+     * 이전 단계에서 다음 단계까지의 최소 간격, 인덱스는 현재 단계
+     */
+    private final Duration[] intervals;
+
+    private final DeadlineQueue<Integer> deadlines = new DeadlineQueue<>();
+    private final Counter[] escalationCounters = new Counter[MAX_LEVEL + 1];
+
+    public CallBellEscalationService(RequestRepository requestRepository,
+                                     MedicalStaffRepository medicalStaffRepository,
+                                     UserQueueMessenger userQueueMessenger,
+                                     NotificationCoalescer notificationCoalescer,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${callbell.escalation.renotify-after-seconds:120}") long renotifyAfterSeconds,
+                                     @Value("${callbell.escalation.staff-after-seconds:300}") long staffAfterSeconds,
+                                     @Value("${callbell.escalation.charge-nurse-after-seconds:600}") long chargeNurseAfterSeconds,
+                                     @Value("${callbell.escalation.sweep-batch-size:500}") int sweepBatchSize,
+                                     @Value("${callbell.escalation.rebuild-max-age-seconds:3600}") long rebuildMaxAgeSeconds) {
+        if (!(renotifyAfterSeconds < staffAfterSeconds && staffAfterSeconds < chargeNurseAfterSeconds)) {
+            throw new IllegalArgumentException("에스컬레이션 기준 시간은 재알림 < 분과 알림 < 책임 간호사 알림 순이어야 합니다.");
+        }
+        this.requestRepository = requestRepository;
+        this.medicalStaffRepository = medicalStaffRepository;
+        this.userQueueMessenger = userQueueMessenger;
+        this.notificationCoalescer = notificationCoalescer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sweepBatchSize = sweepBatchSize;
+        this.rebuildMaxAge = Duration.ofSeconds(rebuildMaxAgeSeconds);
+        this.thresholds = new Duration[] {
+                Duration.ofSeconds(renotifyAfterSeconds),
+                Duration.ofSeconds(staffAfterSeconds),
+                Duration.ofSeconds(chargeNurseAfterSeconds)
+        };
+        this.intervals = new Duration[] {
+                thresholds[0],
+                thresholds[1].minus(thresholds[0]),
+                thresholds[2].minus(thresholds[1])
+        };
+
+        for (int level = 1; level <= MAX_LEVEL; level++) {
+            escalationCounters[level] = Counter.builder("callbell.escalations")
+                    .description("단계별 콜벨 에스컬레이션 횟수")
+                    .tag("level", String.valueOf(level))
+                    .register(meterRegistry);
+        }
+        Gauge.builder("callbell.escalation.scheduled", deadlines, DeadlineQueue::size)
+                .description("에스컬레이션 대기 중인 미수락 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 서버 시작 시 미수락 요청의 다음 에스컬레이션 시각을 다시 예약합니다.
+     * 중단된 동안 지난 마감 시각은 지금부터 단계 간격 뒤로 미루고,
+     * rebuild-max-age-seconds 보다 오래된 요청은 호출이 끝난 것으로 보고 예약하지 않습니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Request> pending = transactionTemplate.execute(status ->
+                requestRepository.findByStatusIn(EnumSet.of(Request.RequestStatus.PENDING)));
+        long now = System.currentTimeMillis();
+        long oldestMillis = now - rebuildMaxAge.toMillis();
+        int scheduled = 0;
+        int stale = 0;
+        for (Request request : pending) {
+            if (request.getRequestTime() != null && toEpochMillis(request.getRequestTime()) < oldestMillis) {
+                stale++;
+                continue;
+            }
+            if (scheduleNext(request.getRequestId(), request.getRequestTime(), request.getEscalationLevel(), now)) {
+                scheduled++;
+            }
+        }
+        log.info("콜벨 에스컬레이션 복구 완료 - 미수락 요청: {}건, 예약: {}건, 기한 초과로 제외: {}건",
+                pending.size(), scheduled, stale);
+    }
+
+    /**
+     * 요청 생성/상태 변경에 맞춰 에스컬레이션을 예약하거나 취소합니다.
+     *
+     * @param event 요청 변경 이벤트
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestChanged(RequestChangedEvent event) {
+        if (event.getType() == RequestChangedEvent.Type.DELETED
+                || event.getStatus() != Request.RequestStatus.PENDING) {
+            deadlines.cancel(event.getRequestId());
+            return;
+        }
+        if (!deadlines.contains(event.getRequestId())) {
+            // 다시 PENDING 으로 돌아온 요청은 저장된 단계를 처리 시점에 다시 읽으며,
+            // 요청 시각 기준 마감이 이미 지났더라도 지금부터 첫 단계 간격 뒤에 다음 단계로 올립니다.
+            scheduleNext(event.getRequestId(), event.getRequestTime(), 0, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 마감 시각이 지난 요청을 꺼내 한 단계씩 에스컬레이션합니다.
+     */
+    @Scheduled(fixedDelayString = "${callbell.escalation.sweep-interval-ms:1000}")
+    public void sweep() {
+        List<Integer> due = deadlines.pollDue(System.currentTimeMillis(), sweepBatchSize);
+        for (Integer requestId : due) {
+            try {
+                escalate(requestId);
+            } catch (Exception e) {
+                log.error("콜벨 에스컬레이션 실패 - 요청 ID: {}, 오류: {}", requestId, e.getMessage(), e);
+                deadlines.schedule(requestId, System.currentTimeMillis() + RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * 에스컬레이션 대기 중인 요청 수를 반환합니다.
+     *
+     * @return 예약된 요청 수
+     */
+    public int scheduledCount() {
+        return deadlines.size();
+    }
+
+    private void escalate(Integer requestId) {
+        Escalation escalation = transactionTemplate.execute(status -> {
+            Request request = requestRepository.findByRequestId(requestId).orElse(null);
+            if (request == null || request.getStatus() != Request.RequestStatus.PENDING
+                    || request.getEscalationLevel() >= MAX_LEVEL) {
+                return null;
+            }
+            int level = request.getEscalationLevel() + 1;
+            request.setEscalationLevel(level);
+            requestRepository.save(request);
+            return new Escalation(request.getRequestId(), request.getPatientId(), request.getMedicalStaffId(),
+                    request.getRequestContent(), request.getRequestTime(), level, targetsOf(request, level));
+        });
+        if (escalation == null) {
+            return;
+        }
+
+        escalationCounters[escalation.level()].increment();
+        notifyTargets(escalation);
+        scheduleNext(escalation.requestId(), escalation.requestTime(), escalation.level(), System.currentTimeMillis());
+        log.info("콜벨 에스컬레이션 - 요청 ID: {}, 단계: {}, 대상: {}",
+                escalation.requestId(), escalation.level(), escalation.targetStaffIds());
+    }
+
+    /**
+     * 단계별 알림 대상 의료진 ID 를 구합니다.
+     */
+    private List<Integer> targetsOf(Request request, int level) {
+        if (level == 1) {
+            return List.of(request.getMedicalStaffId());
+        }
+        MedicalStaff assigned = medicalStaffRepository.findByMedicalStaffId(request.getMedicalStaffId()).orElse(null);
+        if (assigned == null) {
+            log.warn("담당 의료진을 찾을 수 없어 에스컬레이션 대상이 없습니다 - 요청 ID: {}", request.getRequestId());
+            return List.of();
+        }
+        List<MedicalStaff> candidates = level == 2
+                ? medicalStaffRepository.findAllByHospitalIdAndDepartment(assigned.getHospitalId(), assigned.getDepartment())
+                : medicalStaffRepository.findChargeNurses(assigned.getHospitalId(), assigned.getDepartment());
+        List<Integer> targets = new ArrayList<>();
+        for (MedicalStaff staff : candidates) {
+            if (level == 3 || !staff.getMedicalStaffId().equals(assigned.getMedicalStaffId())) {
+                targets.add(staff.getMedicalStaffId());
+            }
+        }
+        if (targets.isEmpty()) {
+            log.warn("에스컬레이션 대상 의료진이 없습니다 - 요청 ID: {}, 단계: {}", request.getRequestId(), level);
+        }
+        return targets;
+    }
+
+    private void notifyTargets(Escalation escalation) {
+        long waitingSeconds = Duration.between(escalation.requestTime(), LocalDateTime.now()).getSeconds();
+        EscalationNoticeDto notice = EscalationNoticeDto.builder()
+                .requestId(escalation.requestId())
+                .patientId(escalation.patientId())
+                .assignedStaffId(escalation.assignedStaffId())
+                .level(escalation.level())
+                .waitingSeconds(waitingSeconds)
+                .requestContent(escalation.requestContent())
+                .build();
+        String title = switch (escalation.level()) {
+            case 1 -> "콜벨 요청이 아직 수락되지 않았습니다";
+            case 2 -> "분과 콜벨 지원 요청";
+            default -> "책임 간호사 콜벨 에스컬레이션";
+        };
+        String body = (waitingSeconds / 60) + "분째 대기 중: " + escalation.requestContent();
+
+        for (Integer staffId : escalation.targetStaffIds()) {
+            try {
+                userQueueMessenger.sendToSubscribers(UserDestinations.CALL_BELL_ESCALATION + staffId, notice);
+                notificationCoalescer.notifyImmediately(DeviceToken.OwnerType.STAFF, staffId, title, body);
+            } catch (Exception e) {
+                log.error("에스컬레이션 알림 전송 실패 - 요청 ID: {}, 의료진 ID: {}, 오류: {}",
+                        escalation.requestId(), staffId, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 현재 단계 다음의 마감 시각을 예약합니다.
+     * 마감 시각은 요청 시각 + 단계 기준 시간과 기준 시점 + 단계 간격 중 늦은 쪽입니다.
+     *
+     * @param fromMillis 단계 간격을 셀 기준 시점 (epoch 밀리초)
+     * @return 예약했으면 true, 마지막 단계라 더 예약할 것이 없으면 false
+     */
+    private boolean scheduleNext(Integer requestId, LocalDateTime requestTime, int currentLevel, long fromMillis) {
+        if (currentLevel >= MAX_LEVEL || requestTime == null) {
+            return false;
+        }
+        long deadline = Math.max(toEpochMillis(requestTime.plus(thresholds[currentLevel])),
+                fromMillis + intervals[currentLevel].toMillis());
+        deadlines.schedule(requestId, deadline);
+        return true;
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 한 번의 에스컬레이션 결과 (트랜잭션 밖에서 알림을 보내기 위해 필요한 값만 담습니다)
+     */
+    private record Escalation(Integer requestId, Integer patientId, Integer assignedStaffId, String requestContent,
+                              LocalDateTime requestTime, int level, List<Integer> targetStaffIds) {
+    }
+}
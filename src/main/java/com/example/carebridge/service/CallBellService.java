@@ -4,13 +4,18 @@ import com.example.carebridge.dto.ChatRoomDto;
 import com.example.carebridge.dto.RequestDto;
 import com.example.carebridge.entity.ChatRoom;
 import com.example.carebridge.entity.Message;
+import com.example.carebridge.entity.Patient;
 import com.example.carebridge.entity.Request;
+import com.example.carebridge.exception.RequestConflictException;
 import com.example.carebridge.mapper.ChatRoomMapper;
 import com.example.carebridge.mapper.RequestMapper;
 import com.example.carebridge.repository.ChatRoomRepository;
+import com.example.carebridge.repository.PatientRepository;
 import com.example.carebridge.repository.RequestRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,7 +37,11 @@ public class CallBellService {
     private final RequestRepository requestRepository;
     private final ChatRoomMapper chatRoomMapper;
     private final RequestMapper requestMapper;
-    private final MedicalStaffService medicalStaffService;
+    private final StaffRouter staffRouter;
+    private final PatientRepository patientRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CallBellBoard callBellBoard;
+    private final ChatRoomDirectory chatRoomDirectory;
 
     @Autowired
     public CallBellService(
@@ -40,12 +49,20 @@ public class CallBellService {
             RequestRepository requestRepository,
             ChatRoomMapper chatRoomMapper,
             RequestMapper requestMapper,
-            MedicalStaffService medicalStaffService) {
+            StaffRouter staffRouter,
+            PatientRepository patientRepository,
+            ApplicationEventPublisher eventPublisher,
+            CallBellBoard callBellBoard,
+            ChatRoomDirectory chatRoomDirectory) {
         this.chatRoomRepository = chatRoomRepository;
         this.requestRepository = requestRepository;
         this.chatRoomMapper = chatRoomMapper;
         this.requestMapper = requestMapper;
-        this.medicalStaffService = medicalStaffService;
+        this.staffRouter = staffRouter;
+        this.patientRepository = patientRepository;
+        this.eventPublisher = eventPublisher;
+        this.callBellBoard = callBellBoard;
+        this.chatRoomDirectory = chatRoomDirectory;
     }
 
     /**
@@ -61,6 +78,7 @@ public class CallBellService {
         request.setMedicalStaffId(message.getMedicalStaffId());
         request.setType(Request.MessageType.REQUEST);
         request = requestRepository.save(request);
+        publish(RequestChangedEvent.Type.CREATED, request, null, null);
         return request;
     }
 
@@ -83,24 +101,31 @@ public class CallBellService {
 
     /**
      * 새로운 채팅방을 생성합니다.
+     * 담당 의료진은 환자 병원·분과의 의료진 중 배정 전략(StaffRouter)으로 고릅니다.
+     * 환자당 채팅방은 하나이므로, 배정 전략이 매번 다른 의료진을 고르더라도 이미 채팅방이 있으면 생성하지 않습니다.
+     * 같은 환자의 생성 요청이 동시에 들어와 둘 다 확인을 통과하면 늦게 저장한 쪽이 유니크 인덱스(uk_chat_room_patient)에
+     * 막히므로, 이때 먼저 만들어진 채팅방을 다시 조회하여 이미 있는 경우와 같게 처리합니다.
+     * 저장 실패를 이 메서드 안에서 처리하도록 트랜잭션으로 묶지 않고, 저장은 리포지토리 트랜잭션에서 바로 반영합니다.
      *
      * @param patientId 환자의 ID
      * @param department 의료진 소속 분과
      * @return 생성된 채팅방 DTO
-     * @throws IllegalArgumentException 잘못된 환자 ID 또는 부서 정보인 경우
+     * @throws IllegalArgumentException 잘못된 환자 ID 또는 부서 정보이거나, 환자의 채팅방이 이미 있는 경우
      */
-    @Transactional
     public ChatRoomDto createChatRoom(Integer patientId, String department) {
         log.debug("새로운 채팅방 생성 시도 - 환자 ID: {}, 부서: {}", patientId, department);
         try {
-            Integer medicalStaffId = medicalStaffService.findAllByDepartment(department).getMedicalStaffId();
+            // 기존 채팅방 존재 여부 확인 (의료진 배정 전에 환자 기준으로 확인)
+            chatRoomRepository.findByPatientId(patientId).ifPresent(existing -> {
+                log.error("이미 채팅방이 있는 환자입니다 - 환자 ID: {}, 방 ID: {}", patientId, existing.getChatRoomId());
+                throw new IllegalArgumentException("해당 환자의 채팅방이 이미 존재합니다.");
+            });
+
+            Integer hospitalId = patientRepository.findByPatientId(patientId)
+                    .map(Patient::getHospitalId)
+                    .orElse(null);
+            Integer medicalStaffId = staffRouter.route(hospitalId, department).getMedicalStaffId();
             String roomId = medicalStaffId.toString() + "_" + patientId.toString();
-                
-            // 기존 채팅방 존재 여부 확인
-            if (chatRoomRepository.findByChatRoomId(roomId).isPresent()) {
-                log.error("이미 존재하는 채팅방입니다 - 방 ID: {}", roomId);
-                throw new IllegalArgumentException("해당 채팅방이 이미 존재합니다.");
-            }
 
             ChatRoomDto chatRoomDto = new ChatRoomDto();
             chatRoomDto.setRoomId(roomId);
@@ -108,7 +133,14 @@ public class CallBellService {
             chatRoomDto.setMedicalStaffId(medicalStaffId);
 
             ChatRoom chatRoom = chatRoomMapper.toEntity(chatRoomDto);
-            chatRoomRepository.save(chatRoom);
+            try {
+                chatRoomRepository.saveAndFlush(chatRoom);
+            } catch (DataIntegrityViolationException e) {
+                ChatRoom existing = chatRoomRepository.findByPatientId(patientId).orElseThrow(() -> e);
+                log.warn("동시에 생성된 채팅방이 있어 생성하지 않음 - 환자 ID: {}, 방 ID: {}", patientId, existing.getChatRoomId());
+                throw new IllegalArgumentException("해당 환자의 채팅방이 이미 존재합니다.");
+            }
+            chatRoomDirectory.register(chatRoom);
             
             log.info("채팅방 생성 완료 - 방 ID: {}", roomId);
             return chatRoomDto;
@@ -119,30 +151,78 @@ public class CallBellService {
     }
 
     /**
-     * 요청 상태를 업데이트합니다.
+     * 요청 상태를 compare-and-set 으로 변경합니다.
+     * 상태 전이 규칙(RequestStatus.nextStatuses)을 확인한 뒤
+     * "현재 상태가 기대 상태일 때만 변경" 하는 UPDATE 한 문장으로 반영하므로,
+     * 두 의료진이 동시에 같은 요청을 수락하면 한 명만 성공하고 나머지는 충돌 예외를 받습니다.
+     * 기대 상태와 새 상태가 같으면 재시도로 보고, 요청이 이미 그 상태이면 아무것도 바꾸지 않고 성공합니다.
      *
      * @param requestId 요청 ID
      * @param status 새로운 상태
-     * @throws IllegalArgumentException 요청 ID가 존재하지 않거나 잘못된 상태값인 경우
+     * @param expectedStatus 클라이언트가 알고 있는 현재 상태 (필수)
+     * @throws IllegalArgumentException 요청 ID가 존재하지 않거나, 상태값이 없거나 잘못된 경우
+     * @throws RequestConflictException 다른 사용자가 먼저 상태를 바꿨거나 허용되지 않는 상태 전이인 경우
      */
     @Transactional
-    public void updateRequestStatus(Integer requestId, String status) {
-        log.debug("요청 상태 업데이트 시도 - 요청 ID: {}, 새로운 상태: {}", requestId, status);
+    public void updateRequestStatus(Integer requestId, String status, String expectedStatus) {
+        log.debug("요청 상태 업데이트 시도 - 요청 ID: {}, 새로운 상태: {}, 기대 상태: {}", requestId, status, expectedStatus);
+        if (status == null || expectedStatus == null) {
+            throw new IllegalArgumentException("새 상태와 기대 상태는 필수입니다.");
+        }
+        Request.RequestStatus next;
+        Request.RequestStatus expected;
         try {
-            Request request = requestRepository.findByRequestId(requestId)
-                    .orElseThrow(() -> new IllegalArgumentException("해당 요청을 찾을 수 없습니다."));
-            
-            request.setStatus(Request.RequestStatus.valueOf(status.toUpperCase()));
-            requestRepository.save(request);
-            log.info("요청 상태 업데이트 완료 - 요청 ID: {}, 상태: {}", requestId, status);
+            next = Request.RequestStatus.valueOf(status.toUpperCase());
+            expected = Request.RequestStatus.valueOf(expectedStatus.toUpperCase());
         } catch (IllegalArgumentException e) {
-            log.error("요청 상태 업데이트 실패 - 요청 ID: {}, 상태: {}, 오류: {}", requestId, status, e.getMessage());
+            log.error("요청 상태 업데이트 실패 - 요청 ID: {}, 상태: {}, 기대 상태: {}", requestId, status, expectedStatus);
             throw new IllegalArgumentException("잘못된 상태값입니다: " + e.getMessage());
         }
+
+        if (expected == next) {
+            Request current = requestRepository.findByRequestId(requestId)
+                    .orElseThrow(() -> new IllegalArgumentException("해당 요청을 찾을 수 없습니다."));
+            if (current.getStatus() != next) {
+                log.warn("요청 상태 변경 충돌 - 요청 ID: {}, 기대 상태: {}, 현재 상태: {}", requestId, expected, current.getStatus());
+                throw new RequestConflictException("다른 사용자가 먼저 요청 상태를 '"
+                        + current.getStatus().getDescription() + "'(으)로 변경했습니다.");
+            }
+            log.info("요청 상태가 이미 {} 입니다 - 요청 ID: {}", next, requestId);
+            return;
+        }
+        if (!expected.canTransitionTo(next)) {
+            log.warn("허용되지 않는 상태 전이 - 요청 ID: {}, {} -> {}", requestId, expected, next);
+            throw new RequestConflictException("'" + expected.getDescription() + "' 상태의 요청은 '"
+                    + next.getDescription() + "' 상태로 변경할 수 없습니다.");
+        }
+        if (requestRepository.compareAndSetStatus(requestId, expected, next) == 0) {
+            Request latest = requestRepository.findByRequestId(requestId)
+                    .orElseThrow(() -> new IllegalArgumentException("해당 요청을 찾을 수 없습니다."));
+            log.warn("요청 상태 변경 충돌 - 요청 ID: {}, 기대 상태: {}, 현재 상태: {}", requestId, expected, latest.getStatus());
+            throw new RequestConflictException("다른 사용자가 먼저 요청 상태를 '"
+                    + latest.getStatus().getDescription() + "'(으)로 변경했습니다.");
+        }
+
+        Request updated = requestRepository.findByRequestId(requestId)
+                .orElseThrow(() -> new IllegalArgumentException("해당 요청을 찾을 수 없습니다."));
+        publish(RequestChangedEvent.Type.UPDATED, updated, expected, updated.getAcceptTime());
+        log.info("요청 상태 업데이트 완료 - 요청 ID: {}, 상태: {} -> {}", requestId, expected, next);
+    }
+
+    /**
+     * 특정 의료진의 미완료 요청을 우선순위 순으로 조회합니다.
+     * DB 를 조회하지 않고 메모리의 콜벨 보드에서 반환합니다.
+     *
+     * @param medicalStaffId 의료진 ID
+     * @return 미완료 요청 DTO 리스트 (긴급도, 대기 시간 순)
+     */
+    public List<RequestDto> getOpenRequests(Integer medicalStaffId) {
+        return callBellBoard.getBoard(medicalStaffId);
     }
 
     /**
      * 특정 의료진의 모든 요청을 조회합니다.
+     * 완료된 요청을 포함한 이력 조회용이며, 실시간 화면은 getOpenRequests 를 사용합니다.
      *
      * @param medicalStaffId 의료진 ID
      * @return 요청 DTO 리스트
@@ -197,10 +277,10 @@ public class CallBellService {
     public void deleteRequest(Integer requestId) {
         log.debug("요청 ID {}의 삭제 시도", requestId);
         try {
-            if (!requestRepository.existsById(requestId)) {
-                throw new IllegalArgumentException("해당 요청이 존재하지 않습니다.");
-            }
-            requestRepository.deleteByRequestId(requestId);
+            Request request = requestRepository.findByRequestId(requestId)
+                    .orElseThrow(() -> new IllegalArgumentException("해당 요청이 존재하지 않습니다."));
+            requestRepository.delete(request);
+            publish(RequestChangedEvent.Type.DELETED, request, request.getStatus(), request.getAcceptTime());
             log.info("요청 ID {} 삭제 완료", requestId);
         } catch (Exception e) {
             log.error("요청 삭제 실패 - 요청 ID: {}, 오류: {}", requestId, e.getMessage());
@@ -209,29 +289,42 @@ public class CallBellService {
     }
 
     /**
-     * 요청 수락 시간을 업데이트합니다.
+     * 요청 수락 시간을 기록합니다.
+     * 수락 시간이 비어 있을 때만 기록하므로 먼저 수락한 의료진의 시간이 유지됩니다.
      *
      * @param requestId 요청 ID
      * @param acceptTime 수락 시간
+     * @throws IllegalArgumentException 요청 ID가 존재하지 않는 경우
+     * @throws RequestConflictException 이미 수락 시간이 기록된 경우
      */
     @Transactional
     public void updateRequestAcceptTime(Integer requestId, String acceptTime) {
         log.debug("요청 수락 시간 업데이트 시도 - 요청 ID: {}, 수락 시간: {}", requestId, acceptTime);
-        try {
-            Request request = requestRepository.findByRequestId(requestId)
-                    .orElseThrow(() -> new IllegalArgumentException("해당 요청을 찾을 수 없습니다."));
-
-            LocalDateTime Time = LocalDateTime.ofInstant(
-                    Instant.parse(acceptTime),
-                    ZoneId.systemDefault()
-            );
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.parse(acceptTime), ZoneId.systemDefault());
 
-            request.setAcceptTime(Time);
-            requestRepository.save(request);
-            log.info("요청 수락 시간 업데이트 완료 - 요청 ID: {}, 수락 시간: {}", requestId, acceptTime);
-        } catch (IllegalArgumentException e) {
-            log.error("요청 수락 시간 업데이트 실패 - 요청 ID: {}, 수락 시간: {}, 오류: {}", requestId, acceptTime, e.getMessage());
-            throw new IllegalArgumentException("요청 수락 시간 업데이트에 실패했습니다: " + e.getMessage());
+        if (requestRepository.setAcceptTimeIfAbsent(requestId, time) == 0) {
+            Request current = requestRepository.findByRequestId(requestId).orElseThrow(() -> {
+                log.error("요청 수락 시간 업데이트 실패 - 요청 ID: {}, 수락 시간: {}, 오류: 요청 없음", requestId, acceptTime);
+                return new IllegalArgumentException("요청 수락 시간 업데이트에 실패했습니다: 해당 요청을 찾을 수 없습니다.");
+            });
+            log.warn("요청 수락 충돌 - 요청 ID: {}, 기존 수락 시간: {}", requestId, current.getAcceptTime());
+            throw new RequestConflictException("이미 다른 의료진이 수락한 요청입니다.");
         }
+
+        Request updated = requestRepository.findByRequestId(requestId)
+                .orElseThrow(() -> new IllegalArgumentException("해당 요청을 찾을 수 없습니다."));
+        publish(RequestChangedEvent.Type.UPDATED, updated, updated.getStatus(), null);
+        log.info("요청 수락 시간 업데이트 완료 - 요청 ID: {}, 수락 시간: {}", requestId, acceptTime);
+    }
+
+    /**
+     * 요청 변경 이벤트를 발행합니다.
+     * 수신 측(콜벨 보드 등)은 트랜잭션 커밋 이후에 처리합니다.
+     */
+    private void publish(RequestChangedEvent.Type type, Request request,
+                         Request.RequestStatus previousStatus, LocalDateTime previousAcceptTime) {
+        eventPublisher.publishEvent(new RequestChangedEvent(
+                type, requestMapper.toDto(request), request.getStatus(), previousStatus,
+                request.getRequestTime(), request.getAcceptTime(), previousAcceptTime));
     }
-}
\ No newline at end of file
+}
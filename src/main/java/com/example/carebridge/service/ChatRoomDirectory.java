@@ -0,0 +1,237 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.entity.ChatRoom;
+import com.example.carebridge.entity.Hospital;
+import com.example.carebridge.repository.ChatRoomRepository;
+import com.example.carebridge.repository.HospitalRepository;
+import com.example.carebridge.repository.PatientRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 채팅방·병원 디렉터리 캐시
+ * 메시지마다 반복되는 채팅방(방 ID → 환자/의료진), 병원 이름, 알림 수신자(환자 이름/사용자 ID) 조회를 메모리에서 처리합니다.
+ *
+ * 동작 방식:
+ * - 처음 조회할 때 DB 에서 읽어 보관하고(read-through), 만료되기 전까지는 DB 를 조회하지 않습니다.
+ * - 채팅방은 생성 트랜잭션이 커밋되면 바로 등록되므로 첫 메시지부터 캐시에서 찾습니다.
+ * - 존재하지 않는 방/병원은 보관하지 않으므로 나중에 생성되어도 바로 조회됩니다.
+ * - 캐시마다 chat.directory.max-size 개까지 보관하고, 항목은 chat.directory.ttl-seconds 후 만료됩니다.
+ *   다른 서버나 정리 스크립트(db/cleanup)가 바꾼 값도 만료 시간이 지나면 다시 읽습니다.
+ *
+ * 주의사항:
+ * - 채팅방, 병원, 환자 정보를 변경/삭제하는 코드는 evictRoom / evictHospital / evictPatient 를 호출해야 합니다.
+ *   트랜잭션 안에서 호출하면 바로 한 번, 커밋 후 한 번 더 지웁니다.
+ * - 적중률은 chat.directory.lookups{cache, result} 메트릭으로 확인합니다.
+ */
+@Slf4j
+@Service
+public class ChatRoomDirectory {
+
+    /**
+     * 채팅방의 참여자
+     *
+     * @param patientId 환자 ID
+     * @param medicalStaffId 담당 의료진 ID
+     */
+    public record RoomParties(Integer patientId, Integer medicalStaffId) {
+    }
+
+    /**
+     * 알림에 필요한 환자 정보
+     *
+     * @param name 환자 이름
+     * @param userId 환자의 사용자 계정 ID (없으면 null)
+     */
+    public record PatientSummary(String name, Integer userId) {
+    }
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final HospitalRepository hospitalRepository;
+    private final PatientRepository patientRepository;
+
+    private final Cache<String, RoomParties> rooms;
+    private final Cache<Integer, String> hospitalNames;
+    private final Cache<Integer, PatientSummary> patients;
+
+    private final Counter roomHits;
+    private final Counter roomMisses;
+    private final Counter hospitalHits;
+    private final Counter hospitalMisses;
+    private final Counter patientHits;
+    private final Counter patientMisses;
+
+    public ChatRoomDirectory(ChatRoomRepository chatRoomRepository,
+                             HospitalRepository hospitalRepository,
+                             PatientRepository patientRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${chat.directory.max-size:50000}") long maxSize,
+                             @Value("${chat.directory.ttl-seconds:1800}") long ttlSeconds) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.hospitalRepository = hospitalRepository;
+        this.patientRepository = patientRepository;
+
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.rooms = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+        this.hospitalNames = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+        this.patients = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+
+        this.roomHits = lookupCounter(meterRegistry, "room", "hit");
+        this.roomMisses = lookupCounter(meterRegistry, "room", "miss");
+        this.hospitalHits = lookupCounter(meterRegistry, "hospital", "hit");
+        this.hospitalMisses = lookupCounter(meterRegistry, "hospital", "miss");
+        this.patientHits = lookupCounter(meterRegistry, "patient", "hit");
+        this.patientMisses = lookupCounter(meterRegistry, "patient", "miss");
+        Gauge.builder("chat.directory.size", rooms, Cache::estimatedSize)
+                .tag("cache", "room")
+                .register(meterRegistry);
+        Gauge.builder("chat.directory.size", hospitalNames, Cache::estimatedSize)
+                .tag("cache", "hospital")
+                .register(meterRegistry);
+        Gauge.builder("chat.directory.size", patients, Cache::estimatedSize)
+                .tag("cache", "patient")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 채팅방 참여자를 조회합니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     * @return 채팅방 참여자 (채팅방이 없으면 empty)
+     */
+    public Optional<RoomParties> findRoom(String chatRoomId) {
+        RoomParties cached = rooms.getIfPresent(chatRoomId);
+        if (cached != null) {
+            roomHits.increment();
+            return Optional.of(cached);
+        }
+        roomMisses.increment();
+        Optional<RoomParties> loaded = chatRoomRepository.findByChatRoomId(chatRoomId).map(ChatRoomDirectory::partiesOf);
+        loaded.ifPresent(parties -> rooms.put(chatRoomId, parties));
+        return loaded;
+    }
+
+    /**
+     * 병원 이름을 조회합니다.
+     *
+     * @param hospitalId 병원 ID
+     * @return 병원 이름 (병원이 없으면 empty)
+     */
+    public Optional<String> findHospitalName(Integer hospitalId) {
+        if (hospitalId == null) {
+            return Optional.empty();
+        }
+        String cached = hospitalNames.getIfPresent(hospitalId);
+        if (cached != null) {
+            hospitalHits.increment();
+            return Optional.of(cached);
+        }
+        hospitalMisses.increment();
+        Optional<String> loaded = hospitalRepository.findByHospitalId(hospitalId).map(Hospital::getName);
+        loaded.ifPresent(name -> hospitalNames.put(hospitalId, name));
+        return loaded;
+    }
+
+    /**
+     * 알림 수신자 정보를 위해 환자 이름과 사용자 계정 ID 를 조회합니다.
+     *
+     * @param patientId 환자 ID
+     * @return 환자 정보 (환자가 없으면 empty)
+     */
+    public Optional<PatientSummary> findPatient(Integer patientId) {
+        if (patientId == null) {
+            return Optional.empty();
+        }
+        PatientSummary cached = patients.getIfPresent(patientId);
+        if (cached != null) {
+            patientHits.increment();
+            return Optional.of(cached);
+        }
+        patientMisses.increment();
+        Optional<PatientSummary> loaded = patientRepository.findByPatientId(patientId)
+                .map(patient -> new PatientSummary(patient.getName(), patient.getUserId()));
+        loaded.ifPresent(summary -> patients.put(patientId, summary));
+        return loaded;
+    }
+
+    /**
+     * 새로 생성한 채팅방을 등록합니다.
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에 등록하여 롤백된 채팅방이 캐시에 남지 않도록 합니다.
+     *
+     * @param chatRoom 저장한 채팅방
+     */
+    public void register(ChatRoom chatRoom) {
+        String chatRoomId = chatRoom.getChatRoomId();
+        RoomParties parties = partiesOf(chatRoom);
+        afterCommit(() -> rooms.put(chatRoomId, parties));
+    }
+
+    /**
+     * 채팅방 캐시를 무효화합니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     */
+    public void evictRoom(String chatRoomId) {
+        rooms.invalidate(chatRoomId);
+        afterCommit(() -> rooms.invalidate(chatRoomId));
+    }
+
+    /**
+     * 병원 이름 캐시를 무효화합니다.
+     *
+     * @param hospitalId 병원 ID
+     */
+    public void evictHospital(Integer hospitalId) {
+        hospitalNames.invalidate(hospitalId);
+        afterCommit(() -> hospitalNames.invalidate(hospitalId));
+    }
+
+    /**
+     * 환자 정보 캐시를 무효화합니다.
+     *
+     * @param patientId 환자 ID
+     */
+    public void evictPatient(Integer patientId) {
+        patients.invalidate(patientId);
+        afterCommit(() -> patients.invalidate(patientId));
+    }
+
+    private static RoomParties partiesOf(ChatRoom chatRoom) {
+        return new RoomParties(chatRoom.getPatientId(), chatRoom.getMedicalStaffId());
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String cache, String result) {
+        return Counter.builder("chat.directory.lookups")
+                .description("채팅방/병원 디렉터리 캐시 조회 수")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋 후에, 밖이면 바로 실행합니다.
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.ExaminationReminderDto;
+import com.example.carebridge.entity.DeviceToken;
+import com.example.carebridge.entity.ExaminationSchedule;
+import com.example.carebridge.repository.ExaminationScheduleRepository;
+import com.example.carebridge.util.DeadlineQueue;
+import com.example.carebridge.util.UserDestinations;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 검사 일정 알림 서비스
+ * 환자가 오늘의 일정을 직접 조회하지 않아도 검사 예정 시각 전(examination.reminder.offsets-minutes)에
+ * STOMP(인증된 환자 세션의 /user/queue/schedule/reminder)와 FCM 으로 알림을 보냅니다.
+ *
+ * 동작 방식:
+ * - 일정마다 예약 작업을 만들지 않고, (일정, 예정 시각, 알림 시점) 을 DeadlineQueue 에 넣어 두고
+ *   하나의 주기 작업(sweep)이 알림 시각이 된 항목만 꺼내 처리합니다.
+ * - 앞으로 examination.reminder.window-hours 안에 울릴 알림만 큐에 두며, 서버 시작 시와
+ *   examination.reminder.reload-cron 마다 schedule_date 범위 조회 한 번으로 다음 구간을 채웁니다.
+ * - 일정 등록/수정/삭제는 ExaminationScheduleChangedEvent 로 받아 해당 일정의 알림만 취소/재예약합니다.
+ * - 알림 직전에 꺼낸 일정들을 ID 로 한 번에 다시 조회하여, 그 사이 변경/삭제된 일정은 보내지 않습니다.
+ *   이 조회는 복제본이 아닌 원본에서 읽어, 방금 바뀐 예정 시각을 복제 지연 때문에 변경으로 오인하지 않도록 합니다.
+ * - 전송에 실패한 알림은 검사 예정 시각 전까지 지수 백오프로 다시 큐에 넣습니다. (examination.reminder.retry.*)
+ *   STOMP 와 FCM 을 함께 다시 보내므로 한쪽만 실패했다면 다른 쪽은 두 번 받을 수 있습니다.
+ */
+@Slf4j
+@Service
+public class ExaminationReminderService {
+
+    private final ExaminationScheduleRepository scheduleRepository;
+    private final ChatRoomDirectory chatRoomDirectory;
+    private final UserQueueMessenger userQueueMessenger;
+    private final NotificationCoalescer notificationCoalescer;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate primaryTransactionTemplate;
+    private final ZoneId hospitalZone;
+    private final Duration window;
+    private final int sweepBatchSize;
+    private final int retryMaxAttempts;
+    private final long retryBackoffMillis;
+
+    /**
+     * 검사 예정 시각 몇 분 전에 알릴지 (내림차순)
+     */
+    private final int[] offsetsMinutes;
+
+    private final DeadlineQueue<ReminderKey> reminders = new DeadlineQueue<>();
+
+    /**
+     * 전송에 실패하여 다시 예약된 알림의 실패 횟수
+     */
+    private final ConcurrentHashMap<ReminderKey, Integer> failedAttempts = new ConcurrentHashMap<>();
+
+    private final Counter sentCounter;
+    private final Counter staleCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public ExaminationReminderService(ExaminationScheduleRepository scheduleRepository,
+                                      ChatRoomDirectory chatRoomDirectory,
+                                      UserQueueMessenger userQueueMessenger,
+                                      NotificationCoalescer notificationCoalescer,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${hospital.time-zone:Asia/Seoul}") String hospitalTimeZone,
+                                      @Value("${examination.reminder.offsets-minutes:1440,60,10}") int[] offsetsMinutes,
+                                      @Value("${examination.reminder.window-hours:24}") long windowHours,
+                                      @Value("${examination.reminder.sweep-batch-size:1000}") int sweepBatchSize,
+                                      @Value("${examination.reminder.retry.max-attempts:3}") int retryMaxAttempts,
+                                      @Value("${examination.reminder.retry.backoff-ms:5000}") long retryBackoffMillis) {
+        if (offsetsMinutes.length == 0 || Arrays.stream(offsetsMinutes).anyMatch(offset -> offset <= 0)) {
+            throw new IllegalArgumentException("검사 알림 시점은 1분 이상이어야 합니다.");
+        }
+        this.scheduleRepository = scheduleRepository;
+        this.chatRoomDirectory = chatRoomDirectory;
+        this.userQueueMessenger = userQueueMessenger;
+        this.notificationCoalescer = notificationCoalescer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.primaryTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.hospitalZone = ZoneId.of(hospitalTimeZone);
+        this.window = Duration.ofHours(windowHours);
+        this.sweepBatchSize = sweepBatchSize;
+        this.retryMaxAttempts = retryMaxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.offsetsMinutes = Arrays.stream(offsetsMinutes).boxed()
+                .sorted((a, b) -> b - a).mapToInt(Integer::intValue).toArray();
+
+        this.sentCounter = Counter.builder("examination.reminder.sent")
+                .description("전송한 검사 일정 알림 수")
+                .register(meterRegistry);
+        this.staleCounter = Counter.builder("examination.reminder.stale")
+                .description("알림 시각에 일정이 변경/삭제되어 보내지 않은 알림 수")
+                .register(meterRegistry);
+        this.retriedCounter = Counter.builder("examination.reminder.retried")
+                .description("전송 실패 후 다시 예약한 검사 일정 알림 수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("examination.reminder.failed")
+                .description("재시도 횟수를 넘기거나 예정 시각이 지나 포기한 검사 일정 알림 수")
+                .register(meterRegistry);
+        Gauge.builder("examination.reminder.scheduled", reminders, DeadlineQueue::size)
+                .description("대기 중인 검사 일정 알림 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 앞으로 window 안에 울릴 알림을 채웁니다.
+     * 알림 시각이 window 안에 들어오는 일정은 예정 시각이 (지금 ~ 지금 + window + 가장 이른 알림 시점) 이므로
+     * schedule_date 범위 조회 한 번으로 읽습니다. 이미 예약된 알림은 같은 시각으로 덮어쓰므로 중복되지 않습니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${examination.reminder.reload-cron:0 0 * * * *}")
+    public void reload() {
+        LocalDateTime now = LocalDateTime.now(hospitalZone);
+        LocalDateTime horizon = now.plus(window);
+        List<ExaminationSchedule> schedules = transactionTemplate.execute(status ->
+                scheduleRepository.findByScheduleDateRange(now, horizon.plusMinutes(offsetsMinutes[0])));
+
+        int scheduled = 0;
+        for (ExaminationSchedule schedule : schedules) {
+            scheduled += scheduleReminders(schedule.getId(), schedule.getScheduleDate(), now, horizon);
+        }
+        log.info("검사 일정 알림 적재 완료 - 일정: {}건, 새로 예약/갱신한 알림: {}건, 대기 중: {}건",
+                schedules.size(), scheduled, reminders.size());
+    }
+
+    /**
+     * 검사 일정 등록/수정/삭제에 맞춰 해당 일정의 알림만 취소하고 다시 예약합니다.
+     *
+     * @param event 검사 일정 변경 이벤트
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExaminationScheduleChanged(ExaminationScheduleChangedEvent event) {
+        if (event.getBefore() != null) {
+            cancelReminders(event.getScheduleId(), event.getBefore().scheduleDate());
+        }
+        if (event.getAfter() != null) {
+            LocalDateTime now = LocalDateTime.now(hospitalZone);
+            scheduleReminders(event.getScheduleId(), event.getAfter().scheduleDate(), now, now.plus(window));
+        }
+    }
+
+    /**
+     * 알림 시각이 된 항목을 꺼내 전송합니다.
+     * 꺼낸 일정은 ID 로 한 번에 원본에서 다시 조회하여 예정 시각이 바뀌었거나 삭제된 일정은 건너뜁니다.
+     * 전송에 실패하면 retryLater 로 다시 예약합니다.
+     */
+    @Scheduled(fixedDelayString = "${examination.reminder.sweep-interval-ms:1000}")
+    public void sweep() {
+        List<ReminderKey> due = reminders.pollDue(System.currentTimeMillis(), sweepBatchSize);
+        if (due.isEmpty()) {
+            return;
+        }
+        Set<Integer> scheduleIds = due.stream().map(ReminderKey::scheduleId).collect(Collectors.toSet());
+        Map<Integer, ExaminationSchedule> current = primaryTransactionTemplate.execute(status ->
+                scheduleRepository.findAllById(scheduleIds).stream()
+                        .collect(Collectors.toMap(ExaminationSchedule::getId, Function.identity())));
+
+        for (ReminderKey key : due) {
+            ExaminationSchedule schedule = current.get(key.scheduleId());
+            if (schedule == null || !key.scheduleDate().equals(schedule.getScheduleDate())) {
+                failedAttempts.remove(key);
+                staleCounter.increment();
+                continue;
+            }
+            try {
+                send(schedule, key.offsetMinutes());
+                failedAttempts.remove(key);
+                sentCounter.increment();
+            } catch (Exception e) {
+                retryLater(key, e);
+            }
+        }
+    }
+
+    /**
+     * 대기 중인 알림 수를 반환합니다.
+     *
+     * @return 예약된 알림 수
+     */
+    public int scheduledCount() {
+        return reminders.size();
+    }
+
+    private void send(ExaminationSchedule schedule, int offsetMinutes) {
+        ExaminationReminderDto reminder = ExaminationReminderDto.builder()
+                .scheduleId(schedule.getId())
+                .patientId(schedule.getPatientId())
+                .medicalStaffId(schedule.getMedicalStaffId())
+                .scheduleDate(schedule.getScheduleDate().toString())
+                .minutesBefore(offsetMinutes)
+                .category(schedule.getCategory())
+                .details(schedule.getDetails())
+                .build();
+        // 클라이언트는 STOMP CONNECT 에 JWT 를 보내고 /user/queue/schedule/reminder 를 구독
+        userQueueMessenger.sendToPatient(schedule.getPatientId(), UserDestinations.SCHEDULE_REMINDER, reminder);
+
+        String category = schedule.getCategory() != null ? schedule.getCategory().getDescription() : "검사";
+        String title = category + " 일정 알림";
+        String body = describeOffset(offsetMinutes) + " 후 " + category + " 일정이 있습니다."
+                + (schedule.getDetails() != null ? " (" + schedule.getDetails() + ")" : "");
+        chatRoomDirectory.findPatient(schedule.getPatientId())
+                .map(ChatRoomDirectory.PatientSummary::userId)
+                .ifPresent(userId -> notificationCoalescer.notifyImmediately(
+                        DeviceToken.OwnerType.USER, userId, title, body));
+    }
+
+    /**
+     * 알림 시각이 (now, horizon] 에 들어오는 알림 시점만 예약합니다.
+     *
+     * @return 예약한 알림 수
+     */
+    private int scheduleReminders(Integer scheduleId, LocalDateTime scheduleDate,
+                                  LocalDateTime now, LocalDateTime horizon) {
+        if (scheduleId == null || scheduleDate == null) {
+            return 0;
+        }
+        int scheduled = 0;
+        for (int offset : offsetsMinutes) {
+            LocalDateTime fireAt = scheduleDate.minusMinutes(offset);
+            if (fireAt.isAfter(now) && !fireAt.isAfter(horizon)) {
+                reminders.schedule(new ReminderKey(scheduleId, scheduleDate, offset),
+                        fireAt.atZone(hospitalZone).toInstant().toEpochMilli());
+                scheduled++;
+            }
+        }
+        return scheduled;
+    }
+
+    private void cancelReminders(Integer scheduleId, LocalDateTime scheduleDate) {
+        for (int offset : offsetsMinutes) {
+            ReminderKey key = new ReminderKey(scheduleId, scheduleDate, offset);
+            reminders.cancel(key);
+            failedAttempts.remove(key);
+        }
+    }
+
+    /**
+     * 전송에 실패한 알림을 지수 백오프(retry.backoff-ms × 2^(실패 횟수 - 1)) 후로 다시 예약합니다.
+     * 실패 횟수가 retry.max-attempts 를 넘거나 다시 보낼 시각이 검사 예정 시각 이후이면 포기합니다.
+     */
+    private void retryLater(ReminderKey key, Exception cause) {
+        int attempts = failedAttempts.merge(key, 1, Integer::sum);
+        long retryAt = System.currentTimeMillis() + (retryBackoffMillis << Math.min(attempts - 1, 20));
+        long scheduleMillis = key.scheduleDate().atZone(hospitalZone).toInstant().toEpochMilli();
+        if (attempts > retryMaxAttempts || retryAt >= scheduleMillis) {
+            failedAttempts.remove(key);
+            failedCounter.increment();
+            log.error("검사 일정 알림 전송 포기 - 일정 ID: {}, 실패: {}회, 오류: {}",
+                    key.scheduleId(), attempts, cause.getMessage(), cause);
+            return;
+        }
+        reminders.schedule(key, retryAt);
+        retriedCounter.increment();
+        log.warn("검사 일정 알림 전송 실패, 재시도 예약 - 일정 ID: {}, 실패: {}회, 오류: {}",
+                key.scheduleId(), attempts, cause.getMessage());
+    }
+
+    private static String describeOffset(int offsetMinutes) {
+        List<String> parts = new ArrayList<>();
+        if (offsetMinutes >= 1440) {
+            parts.add((offsetMinutes / 1440) + "일");
+        }
+        if (offsetMinutes % 1440 >= 60) {
+            parts.add((offsetMinutes % 1440 / 60) + "시간");
+        }
+        if (offsetMinutes % 60 > 0) {
+            parts.add((offsetMinutes % 60) + "분");
+        }
+        return String.join(" ", parts);
+    }
+
+    /**
+     * 알림 한 건의 식별자
+     * 예정 시각을 함께 두어, 일정이 수정되면 옛 시각의 알림은 다른 키가 되도록 합니다.
+     *
+     * @param scheduleId 검사 일정 ID
+     * @param scheduleDate 알림을 예약할 때의 검사 예정 시각
+     * @param offsetMinutes 예정 시각 몇 분 전 알림인지
+     */
+    private record ReminderKey(Integer scheduleId, LocalDateTime scheduleDate, int offsetMinutes) {
+    }
+}
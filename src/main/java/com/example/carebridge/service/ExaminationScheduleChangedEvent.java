@@ -0,0 +1,48 @@
+package com.example.carebridge.service;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 검사 일정의 등록/수정/삭제를 알리는 애플리케이션 이벤트
+ * ExaminationScheduleService 가 트랜잭션 안에서 발행하고, 수신 측은 커밋 이후에 처리합니다.
+ */
+@Getter
+public class ExaminationScheduleChangedEvent {
+
+    /**
+     * 변경 유형
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    /**
+     * 검사 일정 중 집계에 필요한 값
+     */
+    public record Snapshot(Integer patientId, Integer medicalStaffId, LocalDateTime scheduleDate) {
+    }
+
+    private final Type type;
+    private final Integer scheduleId;
+
+    /**
+     * 변경 직전 일정 (등록인 경우 null)
+     */
+    private final Snapshot before;
+
+    /**
+     * 변경 직후 일정 (삭제인 경우 null)
+     */
+    private final Snapshot after;
+
+    public ExaminationScheduleChangedEvent(Type type, Integer scheduleId, Snapshot before, Snapshot after) {
+        this.type = type;
+        this.scheduleId = scheduleId;
+        this.before = before;
+        this.after = after;
+    }
+}
@@ -5,10 +5,17 @@ import com.example.carebridge.entity.ExaminationSchedule;
 import com.example.carebridge.mapper.ExaminationScheduleMapper;
 import com.example.carebridge.repository.ExaminationScheduleRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,14 +29,20 @@ public class ExaminationScheduleService {
 
     private final ExaminationScheduleRepository scheduleRepository;
     private final ExaminationScheduleMapper scheduleMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ZoneId hospitalZone;
 
     /**
      * ExaminationScheduleRepository와 ExaminationScheduleMapper를 주입받는 생성자
      */
     public ExaminationScheduleService(ExaminationScheduleRepository scheduleRepository,
-                                       ExaminationScheduleMapper scheduleMapper) {
+                                       ExaminationScheduleMapper scheduleMapper,
+                                       ApplicationEventPublisher eventPublisher,
+                                       @Value("${hospital.time-zone:Asia/Seoul}") String hospitalTimeZone) {
         this.scheduleRepository = scheduleRepository;
         this.scheduleMapper = scheduleMapper;
+        this.eventPublisher = eventPublisher;
+        this.hospitalZone = ZoneId.of(hospitalTimeZone);
     }
 
     /**
@@ -80,15 +93,28 @@ public class ExaminationScheduleService {
         }
     }
 
+    /**
+     * 기간 안의 환자 검사 일정을 조회합니다.
+     * 시각(from/to)을 병원 시간대(hospital.time-zone)의 일정 시각으로 바꿔 인덱스 범위 조건으로 조회합니다.
+     *
+     * @param patientId 환자 ID
+     * @param from 시작 시각 (포함)
+     * @param to 종료 시각 (제외)
+     * @return 검사 일정 목록 (일정 시각 순)
+     * @throws IllegalArgumentException 환자 ID 나 기간이 유효하지 않은 경우
+     */
     @Transactional(readOnly = true)
-    public List<ExaminationScheduleDto> getTodaySchedules(Integer patientId) {
+    public List<ExaminationScheduleDto> getSchedulesBetween(Integer patientId, Instant from, Instant to) {
         if (patientId == null) {
             log.error("환자 ID가 null입니다.");
             throw new IllegalArgumentException("환자 ID는 필수입니다.");
         }
+        validateRange(from, to);
         try {
-            List<ExaminationSchedule> schedules = scheduleRepository.findTodaySchedulesByPatientId(patientId);
-            log.debug("검사 일정 조회 성공 - 환자 ID: {}, 일정 수: {}", patientId, schedules.size());
+            List<ExaminationSchedule> schedules = scheduleRepository.findByPatientIdAndScheduleDateRange(
+                    patientId, toHospitalTime(from), toHospitalTime(to));
+            log.debug("기간 검사 일정 조회 성공 - 환자 ID: {}, 기간: {} ~ {}, 일정 수: {}",
+                    patientId, from, to, schedules.size());
 
             return schedules.stream()
                     .map(scheduleMapper::toDto)
@@ -99,6 +125,61 @@ public class ExaminationScheduleService {
         }
     }
 
+    /**
+     * 기간 안의 의료진 검사 일정을 조회합니다.
+     *
+     * @param medicalStaffId 의료진 ID
+     * @param from 시작 시각 (포함)
+     * @param to 종료 시각 (제외)
+     * @return 검사 일정 목록 (일정 시각 순)
+     * @throws IllegalArgumentException 의료진 ID 나 기간이 유효하지 않은 경우
+     */
+    @Transactional(readOnly = true)
+    public List<ExaminationScheduleDto> getMedicalStaffSchedulesBetween(Integer medicalStaffId, Instant from, Instant to) {
+        if (medicalStaffId == null) {
+            log.error("의료진 ID가 null입니다.");
+            throw new IllegalArgumentException("의료진 ID는 필수입니다.");
+        }
+        validateRange(from, to);
+        try {
+            List<ExaminationSchedule> schedules = scheduleRepository.findByMedicalStaffIdAndScheduleDateRange(
+                    medicalStaffId, toHospitalTime(from), toHospitalTime(to));
+            log.debug("기간 검사 일정 조회 성공 - 의료진 ID: {}, 기간: {} ~ {}, 일정 수: {}",
+                    medicalStaffId, from, to, schedules.size());
+
+            return schedules.stream()
+                    .map(scheduleMapper::toDto)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            log.error("검사 일정 조회 중 오류 발생: {}", e.getMessage(), e);
+            throw new RuntimeException("검사 일정 조회에 실패했습니다.", e);
+        }
+    }
+
+    /**
+     * 병원 시간대 기준 오늘(00:00 ~ 다음 날 00:00)의 환자 검사 일정을 조회합니다.
+     *
+     * @param patientId 환자 ID
+     * @return 오늘의 검사 일정 목록
+     */
+    @Transactional(readOnly = true)
+    public List<ExaminationScheduleDto> getTodaySchedules(Integer patientId) {
+        LocalDate today = LocalDate.now(hospitalZone);
+        return getSchedulesBetween(patientId, startOf(today), startOf(today.plusDays(1)));
+    }
+
+    /**
+     * 병원 시간대 기준 이번 주(월요일 00:00 ~ 다음 주 월요일 00:00)의 환자 검사 일정을 조회합니다.
+     *
+     * @param patientId 환자 ID
+     * @return 이번 주의 검사 일정 목록
+     */
+    @Transactional(readOnly = true)
+    public List<ExaminationScheduleDto> getThisWeekSchedules(Integer patientId) {
+        LocalDate monday = LocalDate.now(hospitalZone).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return getSchedulesBetween(patientId, startOf(monday), startOf(monday.plusWeeks(1)));
+    }
+
     @Transactional
     public ExaminationSchedule createSchedule(ExaminationScheduleDto examinationScheduleDto) {
         if (examinationScheduleDto == null) {
@@ -108,7 +189,9 @@ public class ExaminationScheduleService {
         try {
             ExaminationSchedule schedule = scheduleMapper.toEntity(examinationScheduleDto);
             schedule.setCategory(examinationScheduleDto.getCategory());
-            return scheduleRepository.save(schedule);
+            schedule = scheduleRepository.save(schedule);
+            publish(ExaminationScheduleChangedEvent.Type.CREATED, schedule.getId(), null, snapshotOf(schedule));
+            return schedule;
         } catch (Exception e) {
             log.error("스케줄 등록중 오류 발생: {}", e.getMessage(), e);
             throw new RuntimeException("스케줄 등록에 실패했습니다.");
@@ -127,13 +210,16 @@ public class ExaminationScheduleService {
                     return new IllegalArgumentException("존재하지 않는 스케줄입니다.");
                 });
         try {
+            ExaminationScheduleChangedEvent.Snapshot before = snapshotOf(examinationSchedule);
             examinationSchedule.setPatientId(examinationScheduleDto.getPatientId());
             examinationSchedule.setMedicalStaffId(examinationScheduleDto.getMedicalStaffId());
             examinationSchedule.setScheduleDate(LocalDateTime.parse(examinationScheduleDto.getScheduleDate()));
             examinationSchedule.setDetails(examinationScheduleDto.getDetails());
             examinationSchedule.setCategory(examinationScheduleDto.getCategory());
 
-            return scheduleRepository.save(examinationSchedule);
+            ExaminationSchedule saved = scheduleRepository.save(examinationSchedule);
+            publish(ExaminationScheduleChangedEvent.Type.UPDATED, saved.getId(), before, snapshotOf(saved));
+            return saved;
         } catch (Exception e) {
             log.error("스케줄 수정 중 오류 발생: {}", e.getMessage(), e);
             throw new RuntimeException("스케줄 수정에 실패했습니다.");
@@ -153,10 +239,44 @@ public class ExaminationScheduleService {
                 });
         try {
             scheduleRepository.delete(examinationSchedule);
+            publish(ExaminationScheduleChangedEvent.Type.DELETED, scheduleId, snapshotOf(examinationSchedule), null);
             return examinationSchedule;
         } catch (Exception e) {
             log.error("스케줄 삭제 중 오류 발생: {}", e.getMessage(), e);
             throw new RuntimeException("스케줄 삭제에 실패했습니다.");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 검사 일정 변경 이벤트를 발행합니다.
+     * 수신 측(병동 대시보드 등)은 트랜잭션 커밋 이후에 처리합니다.
+     */
+    private void publish(ExaminationScheduleChangedEvent.Type type, Integer scheduleId,
+                         ExaminationScheduleChangedEvent.Snapshot before,
+                         ExaminationScheduleChangedEvent.Snapshot after) {
+        eventPublisher.publishEvent(new ExaminationScheduleChangedEvent(type, scheduleId, before, after));
+    }
+
+    private void validateRange(Instant from, Instant to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            log.error("유효하지 않은 조회 기간입니다 - from: {}, to: {}", from, to);
+            throw new IllegalArgumentException("조회 기간은 from < to 이어야 합니다.");
+        }
+    }
+
+    /**
+     * 검사 일정 시각(schedule_date)은 병원 시간대의 벽시계 시각으로 저장되므로 같은 시간대로 변환합니다.
+     */
+    private LocalDateTime toHospitalTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, hospitalZone);
+    }
+
+    private Instant startOf(LocalDate date) {
+        return date.atStartOfDay(hospitalZone).toInstant();
+    }
+
+    private ExaminationScheduleChangedEvent.Snapshot snapshotOf(ExaminationSchedule schedule) {
+        return new ExaminationScheduleChangedEvent.Snapshot(
+                schedule.getPatientId(), schedule.getMedicalStaffId(), schedule.getScheduleDate());
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.NotificationRequestDto;
+import com.example.carebridge.dto.NotificationResultDto;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * FCM 서버와의 실제 통신을 담당하는 게이트웨이 인터페이스
+ * 배치 분할, 동시성 제어, 메트릭 수집은 FcmService 가 담당하고
+ * 구현체는 한 배치를 한 번의 비동기 호출로 전송하는 역할만 합니다.
+ *
+ * 구현체:
+ * - FirebaseFcmGateway: Firebase Admin SDK 를 통한 실제 전송
+ * - 테스트에서는 src/test 의 FakeFcmGateway 를 사용합니다.
+ */
+public interface FcmGateway {
+
+    /**
+     * 한 배치(최대 500건)의 알림을 비동기로 전송합니다.
+     * 반환되는 Future 는 예외로 완료되지 않으며, 실패는 토큰별 결과의 errorCode 로 전달됩니다.
+     *
+     * @param batch 전송할 알림 요청 목록
+     * @return 요청 순서와 동일한 순서의 토큰별 전송 결과
+     */
+    CompletableFuture<List<NotificationResultDto>> sendEach(List<NotificationRequestDto> batch);
+
+    /**
+     * 같은 알림을 여러 디바이스(최대 500개)에 한 번의 멀티캐스트 호출로 전송합니다.
+     * 반환되는 Future 는 예외로 완료되지 않으며, 실패는 토큰별 결과의 errorCode 로 전달됩니다.
+     *
+     * @param title 알림 제목
+     * @param body 알림 본문
+     * @param tokens 전송 대상 토큰 목록
+     * @return 토큰 순서와 동일한 순서의 토큰별 전송 결과
+     */
+    CompletableFuture<List<NotificationResultDto>> sendMulticast(String title, String body, List<String> tokens);
+}
@@ -1,98 +1,214 @@
 package com.example.carebridge.service;
 
-import com.google.firebase.messaging.FirebaseMessaging;
-import com.google.firebase.messaging.Message;
-import com.google.firebase.messaging.WebpushConfig;
-import com.google.firebase.messaging.WebpushNotification;
 import com.example.carebridge.dto.NotificationRequestDto;
+import com.example.carebridge.dto.NotificationResultDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * Firebase Cloud Messaging(FCM) 서비스
- * 웹 푸시 알림을 전송하기 위한 서비스 클래스입니다.
- * 
+ * 웹 푸시 알림을 배치 단위로 병렬 전송하기 위한 서비스 클래스입니다.
+ *
  * 주요 기능:
- * 1. 단일 사용자에게 알림 전송
- * 2. 다수의 사용자에게 동시에 알림 전송
- * 
+ * 1. 알림 요청을 최대 500건 단위 배치로 분할
+ * 2. 배치를 동시 전송 한도(fcm.max-in-flight) 안에서 병렬로 전송
+ * 3. 요청 스레드를 막지 않고 토큰별 전송 결과를 비동기로 반환
+ * 4. 한 수신자의 여러 디바이스로는 멀티캐스트 한 번으로 전송
+ * 5. 배치 지연 시간과 성공/실패 건수를 Micrometer 메트릭으로 기록
+ *
  * 사용 예시:
  * List<NotificationRequestDto> notifications = new ArrayList<>();
- * notifications.add(new NotificationRequestDto("토큰", "제목", "내용"));
- * fcmService.sendBatchNotifications(notifications);
+ * notifications.add(new NotificationRequestDto("토큰", "제목", "내용", null));
+ * fcmService.send(notifications).thenAccept(results -> ...);
  */
 @Service
 public class FcmService {
     private static final Logger logger = LoggerFactory.getLogger(FcmService.class);
 
+    /**
+     * FCM sendEach API 가 한 번에 허용하는 최대 메시지 수
+     */
+    private static final int FCM_MAX_BATCH_SIZE = 500;
+
+    private final FcmGateway fcmGateway;
+    private final Executor dispatchExecutor;
+    private final Semaphore inFlight;
+    private final int batchSize;
+    private final long sendTimeoutMillis;
+
+    private final Timer batchLatency;
+    private final DistributionSummary batchSizes;
+    private final Counter successCounter;
+    private final Counter failureCounter;
+
+    public FcmService(FcmGateway fcmGateway,
+                      @Qualifier("fcmDispatchExecutor") Executor dispatchExecutor,
+                      MeterRegistry meterRegistry,
+                      @Value("${fcm.batch-size:500}") int batchSize,
+                      @Value("${fcm.max-in-flight:4}") int maxInFlight,
+                      @Value("${fcm.send-timeout-ms:30000}") long sendTimeoutMillis) {
+        this.fcmGateway = fcmGateway;
+        this.dispatchExecutor = dispatchExecutor;
+        this.batchSize = Math.max(1, Math.min(batchSize, FCM_MAX_BATCH_SIZE));
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight));
+        this.sendTimeoutMillis = sendTimeoutMillis;
+
+        this.batchLatency = Timer.builder("fcm.batch.latency")
+                .description("FCM 배치 전송 지연 시간")
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("fcm.batch.size")
+                .description("FCM 배치당 메시지 수")
+                .register(meterRegistry);
+        this.successCounter = Counter.builder("fcm.messages")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("fcm.messages")
+                .tag("result", "failure")
+                .register(meterRegistry);
+    }
+
     /**
      * 다수의 사용자에게 FCM 푸시 알림을 전송하는 메소드
-     * 
+     *
      * @param notificationRequests 알림 전송 요청 목록
-     * @throws InterruptedException 알림 전송 중 인터럽트 발생 시
-     * @throws ExecutionException 알림 전송 실행 중 오류 발생 시
-     * 
+     * @return 요청 순서와 동일한 순서의 토큰별 전송 결과
+     *
      * 처리 과정:
-     * 1. 각 알림 요청에 대해 메시지 객체 생성
-     * 2. FCM 서버로 메시지 전송
-     * 3. 전송 결과 로깅
-     * 
+     * 1. 요청 목록을 배치 크기 단위로 분할
+     * 2. 전송 스레드에서 동시 전송 허가를 얻은 뒤 배치를 비동기 전송
+     * 3. 배치 전송이 끝나거나 제한 시간(fcm.send-timeout-ms)이 지나면 허가를 반납하고 메트릭 기록
+     * 4. 모든 배치 결과를 원래 순서대로 합쳐 반환
+     *
      * 주의사항:
      * - 토큰이 유효하지 않은 경우 해당 메시지만 실패하고 나머지는 계속 진행됩니다.
-     * - 대량 전송 시 FCM 서버의 처리 용량을 고려해야 합니다.
+     * - 반환되는 Future 는 예외로 완료되지 않으며, 실패는 결과의 errorCode 로 확인합니다.
+     */
+    public CompletableFuture<List<NotificationResultDto>> send(List<NotificationRequestDto> notificationRequests) {
+        if (notificationRequests == null || notificationRequests.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        List<CompletableFuture<List<NotificationResultDto>>> batches = new ArrayList<>();
+        for (int from = 0; from < notificationRequests.size(); from += batchSize) {
+            List<NotificationRequestDto> batch = List.copyOf(notificationRequests.subList(
+                    from, Math.min(from + batchSize, notificationRequests.size())));
+            List<String> tokens = batch.stream().map(NotificationRequestDto::getToken).toList();
+            batches.add(dispatch(tokens, () -> fcmGateway.sendEach(batch)));
+        }
+        return join(batches, notificationRequests.size());
+    }
+
+    /**
+     * 같은 알림을 한 수신자의 여러 디바이스에 멀티캐스트로 전송하는 메소드
+     * 토큰이 배치 크기를 넘으면 여러 번의 멀티캐스트로 나누어 전송합니다.
+     *
+     * @param title 알림 제목
+     * @param body 알림 본문
+     * @param tokens 전송 대상 토큰 목록
+     * @return 토큰 순서와 동일한 순서의 토큰별 전송 결과
      */
-    public void send(List<NotificationRequestDto> notificationRequests) throws InterruptedException, ExecutionException {
-        for (NotificationRequestDto request : notificationRequests) {
-            try {
-                Message message = createMessage(request);
-                String response = sendMessage(message);
-                logResponse(response, request.getToken());
-            } catch (Exception e) {
-                logger.error("Failed to send notification to token: {}, error: {}", 
-                    request.getToken(), e.getMessage());
-            }
+    public CompletableFuture<List<NotificationResultDto>> sendMulticast(String title, String body, List<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
         }
+
+        List<CompletableFuture<List<NotificationResultDto>>> batches = new ArrayList<>();
+        for (int from = 0; from < tokens.size(); from += batchSize) {
+            List<String> batch = List.copyOf(tokens.subList(from, Math.min(from + batchSize, tokens.size())));
+            batches.add(dispatch(batch, () -> fcmGateway.sendMulticast(title, body, batch)));
+        }
+        return join(batches, tokens.size());
     }
 
     /**
-     * FCM 메시지 객체를 생성하는 private 메소드
-     * 
-     * @param request 알림 요청 정보
-     * @return 생성된 FCM 메시지 객체
+     * 배치별 결과를 원래 순서대로 합칩니다.
      */
-    private Message createMessage(NotificationRequestDto request) {
-        return Message.builder()
-                .setToken(request.getToken())
-                .setWebpushConfig(WebpushConfig.builder()
-                        .setNotification(WebpushNotification.builder()
-                                .setTitle(request.getTitle())
-                                .setBody(request.getBody())
-                                .build())
-                        .build())
-                .build();
+    private CompletableFuture<List<NotificationResultDto>> join(
+            List<CompletableFuture<List<NotificationResultDto>>> batches, int size) {
+        return CompletableFuture.allOf(batches.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    List<NotificationResultDto> results = new ArrayList<>(size);
+                    batches.forEach(batch -> results.addAll(batch.join()));
+                    return results;
+                });
     }
 
     /**
-     * FCM 서버로 메시지를 전송하는 private 메소드
-     * 
-     * @param message 전송할 메시지
-     * @return 전송 응답
+     * 동시 전송 한도 안에서 한 배치를 전송합니다.
+     * 허가 대기는 전용 전송 스레드에서 이루어지므로 호출 스레드는 막히지 않습니다.
+     * 게이트웨이가 제한 시간 안에 응답하지 않으면 배치를 UNAVAILABLE(재시도 대상)로 실패 처리하고 허가를 반납합니다.
+     *
+     * @param tokens 배치에 포함된 토큰 목록 (전송 실패 시 결과 생성용)
+     * @param sender 배치를 실제로 전송하는 게이트웨이 호출
+     * @return 배치의 토큰별 전송 결과
      */
-    private String sendMessage(Message message) throws InterruptedException, ExecutionException {
-        return FirebaseMessaging.getInstance().sendAsync(message).get();
+    private CompletableFuture<List<NotificationResultDto>> dispatch(
+            List<String> tokens, Supplier<CompletableFuture<List<NotificationResultDto>>> sender) {
+        return CompletableFuture.supplyAsync(() -> {
+                    inFlight.acquireUninterruptibly();
+                    return System.nanoTime();
+                }, dispatchExecutor)
+                .thenCompose(startedAt -> sendBatch(sender)
+                        .orTimeout(sendTimeoutMillis, TimeUnit.MILLISECONDS)
+                        .handle((results, e) -> {
+                            inFlight.release();
+                            batchLatency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                            if (e != null) {
+                                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                                String errorCode = cause instanceof TimeoutException ? "UNAVAILABLE" : "INTERNAL";
+                                logger.error("FCM 배치 전송 실패 - 건수: {}, 오류 코드: {}, 오류: {}",
+                                        tokens.size(), errorCode, cause.toString());
+                                results = tokens.stream()
+                                        .map(token -> NotificationResultDto.failure(token, errorCode))
+                                        .toList();
+                            }
+                            logResults(results);
+                            return results;
+                        }));
+    }
+
+    private CompletableFuture<List<NotificationResultDto>> sendBatch(
+            Supplier<CompletableFuture<List<NotificationResultDto>>> sender) {
+        try {
+            return sender.get();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     /**
-     * 전송 결과를 로깅하는 private 메소드
-     * 
-     * @param response FCM 서버 응답
-     * @param token 대상 토큰
+     * 배치 전송 결과를 메트릭과 로그로 남기는 private 메소드
+     *
+     * @param results 배치의 토큰별 전송 결과
      */
-    private void logResponse(String response, String token) {
-        logger.info("Notification sent successfully to token: {}, response: {}", token, response);
+    private void logResults(List<NotificationResultDto> results) {
+        long success = results.stream().filter(NotificationResultDto::isSuccess).count();
+        long failure = results.size() - success;
+        batchSizes.record(results.size());
+        successCounter.increment(success);
+        failureCounter.increment(failure);
+        logger.info("FCM 배치 전송 완료 - 건수: {}, 성공: {}, 실패: {}", results.size(), success, failure);
+        results.stream()
+                .filter(result -> !result.isSuccess())
+                .forEach(result -> logger.warn("Failed to send notification to token: {}, error: {}",
+                        result.getToken(), result.getErrorCode()));
     }
 }
-
@@ -0,0 +1,116 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.NotificationRequestDto;
+import com.example.carebridge.dto.NotificationResultDto;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.SendResponse;
+import com.google.firebase.messaging.WebpushConfig;
+import com.google.firebase.messaging.WebpushNotification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Firebase Admin SDK 의 sendEach / sendEachForMulticast API 를 사용하는 FCM 게이트웨이
+ * 한 배치의 메시지를 한 번의 비동기 호출로 전송하고 토큰별 결과로 변환합니다.
+ */
+@Slf4j
+@Component
+public class FirebaseFcmGateway implements FcmGateway {
+
+    @Override
+    public CompletableFuture<List<NotificationResultDto>> sendEach(List<NotificationRequestDto> batch) {
+        List<Message> messages = batch.stream().map(this::createMessage).toList();
+        List<String> tokens = batch.stream().map(NotificationRequestDto::getToken).toList();
+        return toResults(FirebaseMessaging.getInstance().sendEachAsync(messages), tokens);
+    }
+
+    @Override
+    public CompletableFuture<List<NotificationResultDto>> sendMulticast(String title, String body, List<String> tokens) {
+        MulticastMessage message = MulticastMessage.builder()
+                .addAllTokens(tokens)
+                .setWebpushConfig(createWebpushConfig(title, body))
+                .build();
+        return toResults(FirebaseMessaging.getInstance().sendEachForMulticastAsync(message), tokens);
+    }
+
+    /**
+     * FCM 배치 응답을 토큰별 전송 결과로 변환합니다.
+     * 호출 자체가 실패한 경우 모든 토큰을 같은 오류 코드로 실패 처리합니다.
+     */
+    private CompletableFuture<List<NotificationResultDto>> toResults(ApiFuture<BatchResponse> future, List<String> tokens) {
+        CompletableFuture<List<NotificationResultDto>> result = new CompletableFuture<>();
+        ApiFutures.addCallback(future, new ApiFutureCallback<BatchResponse>() {
+            @Override
+            public void onSuccess(BatchResponse response) {
+                List<SendResponse> responses = response.getResponses();
+                List<NotificationResultDto> results = new ArrayList<>(responses.size());
+                for (int i = 0; i < responses.size(); i++) {
+                    results.add(toResult(tokens.get(i), responses.get(i)));
+                }
+                result.complete(results);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                String errorCode = errorCodeOf(t);
+                log.error("FCM 배치 전송 실패 - 건수: {}, 오류 코드: {}, 오류: {}", tokens.size(), errorCode, t.getMessage());
+                result.complete(tokens.stream()
+                        .map(token -> NotificationResultDto.failure(token, errorCode))
+                        .toList());
+            }
+        }, MoreExecutors.directExecutor());
+        return result;
+    }
+
+    /**
+     * FCM 메시지 객체를 생성합니다.
+     *
+     * @param request 알림 요청 정보
+     * @return 생성된 FCM 메시지 객체
+     */
+    private Message createMessage(NotificationRequestDto request) {
+        return Message.builder()
+                .setToken(request.getToken())
+                .setWebpushConfig(createWebpushConfig(request.getTitle(), request.getBody()))
+                .build();
+    }
+
+    private WebpushConfig createWebpushConfig(String title, String body) {
+        return WebpushConfig.builder()
+                .setNotification(WebpushNotification.builder()
+                        .setTitle(title)
+                        .setBody(body)
+                        .build())
+                .build();
+    }
+
+    private NotificationResultDto toResult(String token, SendResponse response) {
+        if (response.isSuccessful()) {
+            return NotificationResultDto.builder()
+                    .token(token)
+                    .success(true)
+                    .messageId(response.getMessageId())
+                    .build();
+        }
+        return NotificationResultDto.failure(token, errorCodeOf(response.getException()));
+    }
+
+    private String errorCodeOf(Throwable t) {
+        if (t instanceof FirebaseMessagingException e && e.getMessagingErrorCode() != null) {
+            return e.getMessagingErrorCode().name();
+        }
+        return "INTERNAL";
+    }
+}
@@ -21,13 +21,15 @@ import java.util.stream.Collectors;
 public class GuardianService {
     private final GuardianRepository guardianRepository;
     private final GuardianMapper guardianMapper;
+    private final ProfileCache profileCache;
 
     /**
-     * GuardianRepository 와 GuardianMapper 를 주입받는 생성자
+     * GuardianRepository, GuardianMapper 와 프로필 캐시를 주입받는 생성자
      */
-    public GuardianService(GuardianRepository guardianRepository, GuardianMapper guardianMapper) {
+    public GuardianService(GuardianRepository guardianRepository, GuardianMapper guardianMapper, ProfileCache profileCache) {
         this.guardianRepository = guardianRepository;
         this.guardianMapper = guardianMapper;
+        this.profileCache = profileCache;
     }
 
     /**
@@ -44,7 +46,7 @@ public class GuardianService {
         }
 
         try {
-            Guardian guardian = guardianRepository.findByPhoneNumber(phone_number)
+            Guardian guardian = profileCache.findGuardianByPhone(phone_number)
                 .orElseThrow(() -> {
                     log.error("보호자를 찾을 수 없습니다 - 전화번호: {}", phone_number);
                     return new IllegalArgumentException("해당 보호자를 찾을 수 없습니다.");
@@ -110,6 +112,7 @@ public class GuardianService {
             guardian.setName(name);
             guardian.setPhoneNumber(phoneNumber);
             guardianRepository.save(guardian);
+            profileCache.evictGuardianByPhone(phoneNumber);
             log.info("보호자 추가 성공 - 환자 ID: {}, 보호자 이름: {}", patientId, name);
         } catch (Exception e) {
             log.error("보호자 추가 중 오류 발생: {}", e.getMessage(), e);
@@ -138,6 +141,7 @@ public class GuardianService {
                 });
 
             guardianRepository.deleteByPhoneNumber(phone_number);
+            profileCache.evictGuardianByPhone(phone_number);
             log.info("보호자 삭제 성공 - 전화번호: {}", phone_number);
         } catch (Exception e) {
             log.error("보호자 삭제 중 오류 발생: {}", e.getMessage(), e);
@@ -0,0 +1,55 @@
+package com.example.carebridge.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메모리 TTL 맵 기반 OTP 저장소
+ * 인증번호 발송/검증이 DB 쓰기 없이 메모리에서 처리됩니다.
+ * 인스턴스 간에 공유되지 않으므로 여러 인스턴스로 운영할 때는 otp.store=database 를 사용합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+
+    private final ConcurrentHashMap<String, StoredOtp> codes = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(String phoneNumber, String codeHash, LocalDateTime expiresAt) {
+        codes.put(phoneNumber, new StoredOtp(codeHash, expiresAt, 0));
+    }
+
+    @Override
+    public Result verify(String phoneNumber, String codeHash, int maxAttempts) {
+        LocalDateTime now = LocalDateTime.now();
+        Result[] result = {Result.EXPIRED};
+        codes.computeIfPresent(phoneNumber, (key, stored) -> {
+            if (!stored.expiresAt().isAfter(now)) {
+                return null;
+            }
+            if (stored.attempts() >= maxAttempts) {
+                result[0] = Result.TOO_MANY_ATTEMPTS;
+                return stored;
+            }
+            result[0] = MessageDigest.isEqual(stored.codeHash().getBytes(StandardCharsets.UTF_8),
+                    codeHash.getBytes(StandardCharsets.UTF_8)) ? Result.VERIFIED : Result.MISMATCH;
+            return new StoredOtp(stored.codeHash(), stored.expiresAt(), stored.attempts() + 1);
+        });
+        return result[0];
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        int before = codes.size();
+        codes.values().removeIf(stored -> !stored.expiresAt().isAfter(now));
+        return Math.max(0, before - codes.size());
+    }
+
+    private record StoredOtp(String codeHash, LocalDateTime expiresAt, int attempts) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.carebridge.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 로컬 개발 및 테스트용 메모리 Refresh Token 저장소
+ * 서버를 재시작하면 모든 토큰이 사라지고 인스턴스 간에 공유되지 않으므로 운영에서는 사용하지 않습니다.
+ *
+ * 사용 예시 (application.properties):
+ * auth.refresh-token.store=memory
+ */
+@Component
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final ConcurrentHashMap<String, StoredToken> tokens = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(String subject, String tokenHash, LocalDateTime expiresAt) {
+        tokens.put(subject, new StoredToken(tokenHash, expiresAt));
+    }
+
+    @Override
+    public boolean rotate(String subject, String currentHash, String newHash, LocalDateTime expiresAt) {
+        AtomicBoolean rotated = new AtomicBoolean();
+        LocalDateTime now = LocalDateTime.now();
+        tokens.computeIfPresent(subject, (key, stored) -> {
+            if (!stored.tokenHash().equals(currentHash) || !stored.expiresAt().isAfter(now)) {
+                return stored;
+            }
+            rotated.set(true);
+            return new StoredToken(newHash, expiresAt);
+        });
+        return rotated.get();
+    }
+
+    @Override
+    public void revoke(String subject) {
+        tokens.remove(subject);
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        int before = tokens.size();
+        tokens.values().removeIf(stored -> !stored.expiresAt().isAfter(now));
+        return Math.max(0, before - tokens.size());
+    }
+
+    private record StoredToken(String tokenHash, LocalDateTime expiresAt) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.entity.OtpCode;
+import com.example.carebridge.repository.OtpCodeRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * DB(Otp_Code 테이블) 기반 OTP 저장소
+ * 여러 인스턴스가 같은 테이블을 보므로 발송과 검증이 다른 인스턴스에서 처리되어도 됩니다.
+ * User_Account 와 분리된 작은 테이블이라 인증번호 발송이 사용자 테이블과 인덱스에 쓰기를 만들지 않습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "database")
+public class JpaOtpStore implements OtpStore {
+
+    private final OtpCodeRepository otpCodeRepository;
+
+    public JpaOtpStore(OtpCodeRepository otpCodeRepository) {
+        this.otpCodeRepository = otpCodeRepository;
+    }
+
+    @Override
+    @Transactional
+    public void save(String phoneNumber, String codeHash, LocalDateTime expiresAt) {
+        OtpCode otpCode = otpCodeRepository.findById(phoneNumber)
+                .orElseGet(() -> new OtpCode(phoneNumber, codeHash, expiresAt));
+        otpCode.setCodeHash(codeHash);
+        otpCode.setExpiresAt(expiresAt);
+        otpCode.setAttempts(0);
+        otpCodeRepository.save(otpCode);
+    }
+
+    /**
+     * 일치 여부 비교와 시도 횟수 증가를 조건부 UPDATE 한 번으로 처리하고,
+     * 일치하지 않았을 때만 불일치 시도를 기록한 뒤 만료/시도 초과를 구분합니다.
+     */
+    @Override
+    @Transactional
+    public Result verify(String phoneNumber, String codeHash, int maxAttempts) {
+        LocalDateTime now = LocalDateTime.now();
+        if (otpCodeRepository.incrementAttemptsIfMatches(phoneNumber, codeHash, maxAttempts, now) == 1) {
+            return Result.VERIFIED;
+        }
+        if (otpCodeRepository.incrementAttempts(phoneNumber, maxAttempts, now) == 1) {
+            return Result.MISMATCH;
+        }
+        return otpCodeRepository.findById(phoneNumber)
+                .filter(otpCode -> otpCode.getExpiresAt().isAfter(now))
+                .map(otpCode -> Result.TOO_MANY_ATTEMPTS)
+                .orElse(Result.EXPIRED);
+    }
+
+    @Override
+    @Transactional
+    public int deleteExpired(LocalDateTime now) {
+        return otpCodeRepository.deleteExpired(now);
+    }
+}
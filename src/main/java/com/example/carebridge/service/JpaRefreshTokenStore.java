@@ -0,0 +1,53 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.entity.RefreshToken;
+import com.example.carebridge.repository.RefreshTokenRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * DB(Refresh_Token 테이블) 기반 Refresh Token 저장소
+ * 모든 인스턴스가 같은 테이블을 보므로 서버 재시작이나 수평 확장 시에도 세션이 유지됩니다.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "database", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    public JpaRefreshTokenStore(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @Override
+    @Transactional
+    public void save(String subject, String tokenHash, LocalDateTime expiresAt) {
+        RefreshToken token = refreshTokenRepository.findById(subject)
+                .orElseGet(() -> new RefreshToken(subject, tokenHash, expiresAt, LocalDateTime.now()));
+        token.setTokenHash(tokenHash);
+        token.setExpiresAt(expiresAt);
+        token.setIssuedAt(LocalDateTime.now());
+        refreshTokenRepository.save(token);
+    }
+
+    @Override
+    @Transactional
+    public boolean rotate(String subject, String currentHash, String newHash, LocalDateTime expiresAt) {
+        return refreshTokenRepository.rotate(subject, currentHash, newHash, expiresAt, LocalDateTime.now()) == 1;
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String subject) {
+        refreshTokenRepository.deleteBySubject(subject);
+    }
+
+    @Override
+    @Transactional
+    public int deleteExpired(LocalDateTime now) {
+        return refreshTokenRepository.deleteExpired(now);
+    }
+}
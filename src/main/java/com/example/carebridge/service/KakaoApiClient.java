@@ -0,0 +1,253 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.KakaoDto;
+import com.example.carebridge.util.JwtUtil;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 카카오 OAuth / 사용자 API 클라이언트
+ * 모든 카카오 호출이 하나의 HTTP 클라이언트(연결 재사용)를 공유하고, 연결/응답 시간 제한을 둡니다.
+ *
+ * 동작 방식:
+ * - JDK HttpClient 하나를 RestClient 로 감싸 사용하므로 같은 호스트로의 연결이 재사용됩니다.
+ * - 응답은 문자열로 받지 않고 Jackson 스트리밍 파서로 필요한 필드만 읽습니다.
+ * - 액세스 토큰별 사용자 정보는 kakao.user-info-cache.ttl-seconds 동안 캐시합니다.
+ *   (토큰 원문 대신 해시를 키로 사용, 연결 끊기/로그아웃 시 제거, max-size 를 넘으면 오래 안 쓴 항목부터 제거)
+ * - 호출 지연 시간은 kakao.api.latency{endpoint}, 캐시 적중률은 kakao.user-info.cache{result} 로 확인합니다.
+ */
+@Slf4j
+@Component
+public class KakaoApiClient {
+
+    private static final Set<String> TOKEN_FIELDS = Set.of("access_token");
+    private static final Set<String> USER_INFO_FIELDS = Set.of("id", "kakao_account.email", "kakao_account.profile.nickname");
+    private static final Set<String> ID_FIELDS = Set.of("id");
+
+    private final RestClient authClient;
+    private final RestClient apiClient;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<String, KakaoDto> userInfoCache;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public KakaoApiClient(MeterRegistry meterRegistry,
+                          @Value("${kakao.auth-uri:https://kauth.kakao.com}") String authUri,
+                          @Value("${kakao.api-uri:https://kapi.kakao.com}") String apiUri,
+                          @Value("${kakao.http.connect-timeout-ms:2000}") long connectTimeoutMillis,
+                          @Value("${kakao.http.read-timeout-ms:3000}") long readTimeoutMillis,
+                          @Value("${kakao.user-info-cache.ttl-seconds:60}") long userInfoTtlSeconds,
+                          @Value("${kakao.user-info-cache.max-size:1000}") int userInfoCacheMaxSize) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMillis));
+
+        this.authClient = RestClient.builder().requestFactory(requestFactory).baseUrl(authUri).build();
+        this.apiClient = RestClient.builder().requestFactory(requestFactory).baseUrl(apiUri).build();
+        this.meterRegistry = meterRegistry;
+        this.userInfoCache = Caffeine.newBuilder()
+                .maximumSize(userInfoCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(userInfoTtlSeconds))
+                .build();
+
+        this.cacheHits = Counter.builder("kakao.user-info.cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("kakao.user-info.cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("kakao.user-info.cache.size", userInfoCache, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 인가 코드로 액세스 토큰을 발급받습니다.
+     *
+     * @param code 인가 코드
+     * @param clientId REST API 키
+     * @param clientSecret 클라이언트 시크릿
+     * @param redirectUri 인가 코드를 받은 리다이렉트 URI
+     * @return 액세스 토큰 (응답에 없으면 null)
+     */
+    public String requestAccessToken(String code, String clientId, String clientSecret, String redirectUri) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("grant_type", "authorization_code");
+        params.add("client_id", clientId);
+        params.add("client_secret", clientSecret);
+        params.add("code", code);
+        params.add("redirect_uri", redirectUri);
+
+        Map<String, String> fields = call("token", authClient.post()
+                .uri("/oauth/token")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(params), TOKEN_FIELDS);
+        return fields.get("access_token");
+    }
+
+    /**
+     * 액세스 토큰으로 사용자 정보를 조회합니다. 같은 토큰은 캐시 유효 시간 동안 카카오를 다시 호출하지 않습니다.
+     *
+     * @param accessToken 카카오 액세스 토큰
+     * @return 카카오 사용자 정보
+     */
+    public KakaoDto getUserInfo(String accessToken) {
+        String tokenHash = JwtUtil.hashToken(accessToken);
+        KakaoDto cached = userInfoCache.getIfPresent(tokenHash);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+
+        cacheMisses.increment();
+        Map<String, String> fields = call("user-info", apiClient.post()
+                .uri("/v2/user/me")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED), USER_INFO_FIELDS);
+        if (fields.get("id") == null) {
+            throw new IllegalStateException("카카오 사용자 정보에 id 가 없습니다.");
+        }
+        KakaoDto userInfo = KakaoDto.builder()
+                .id(Long.parseLong(fields.get("id")))
+                .email(String.valueOf(fields.get("kakao_account.email")))
+                .nickname(String.valueOf(fields.get("kakao_account.profile.nickname")))
+                .build();
+        userInfoCache.put(tokenHash, userInfo);
+        return userInfo;
+    }
+
+    /**
+     * 앱과 사용자 계정의 연결을 끊습니다.
+     *
+     * @param accessToken 카카오 액세스 토큰
+     */
+    public void unlink(String accessToken) {
+        evict(accessToken);
+        call("unlink", apiClient.post()
+                .uri("/v1/user/unlink")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED), ID_FIELDS);
+    }
+
+    /**
+     * 카카오 계정을 로그아웃하여 액세스 토큰을 만료시킵니다.
+     *
+     * @param accessToken 카카오 액세스 토큰
+     * @return 로그아웃한 사용자의 카카오 회원 번호 (응답에 없으면 null)
+     */
+    public Long logout(String accessToken) {
+        evict(accessToken);
+        Map<String, String> fields = call("logout", apiClient.post()
+                .uri("/v1/user/logout")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED), ID_FIELDS);
+        return fields.get("id") == null ? null : Long.valueOf(fields.get("id"));
+    }
+
+    /**
+     * 액세스 토큰의 사용자 정보 캐시를 제거합니다.
+     *
+     * @param accessToken 카카오 액세스 토큰
+     */
+    public void evict(String accessToken) {
+        if (accessToken != null) {
+            userInfoCache.invalidate(JwtUtil.hashToken(accessToken));
+        }
+    }
+
+    /**
+     * 요청을 보내고 응답 본문에서 필요한 필드만 스트리밍으로 읽습니다.
+     *
+     * @throws IllegalStateException 카카오가 오류 상태(4xx/5xx)로 응답한 경우
+     */
+    private Map<String, String> call(String endpoint, RestClient.RequestBodySpec request, Set<String> fields) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return request.exchange((clientRequest, response) -> {
+                if (response.getStatusCode().isError()) {
+                    throw new IllegalStateException("카카오 API 호출 실패 - " + endpoint + ", 상태: " + response.getStatusCode().value());
+                }
+                return readFields(response.getBody(), fields);
+            });
+        } finally {
+            sample.stop(meterRegistry.timer("kakao.api.latency", "endpoint", endpoint));
+        }
+    }
+
+    /**
+     * JSON 본문을 한 번 훑으면서 점(.)으로 연결한 경로가 fields 에 있는 스칼라 값만 모읍니다.
+     * 트리(JsonNode)를 만들지 않으므로 응답의 나머지 필드는 메모리에 올리지 않습니다.
+     *
+     * @param body JSON 응답 본문
+     * @param fields 읽을 필드 경로 (예: kakao_account.profile.nickname)
+     * @return 경로별 문자열 값 (없는 경로는 포함하지 않음)
+     */
+    Map<String, String> readFields(InputStream body, Set<String> fields) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            // 현재 객체까지의 필드 이름 (최상위 객체는 빈 문자열)
+            Deque<String> path = new ArrayDeque<>();
+            String fieldName = null;
+            JsonToken token;
+            // 연결을 재사용할 수 있도록 필요한 필드를 모두 찾아도 본문 끝까지 읽음
+            while ((token = parser.nextToken()) != null) {
+                switch (token) {
+                    case FIELD_NAME -> fieldName = parser.currentName();
+                    case START_OBJECT -> path.addLast(fieldName == null ? "" : fieldName);
+                    case END_OBJECT -> path.pollLast();
+                    case START_ARRAY -> parser.skipChildren();
+                    default -> {
+                        if (fieldName != null && token != JsonToken.VALUE_NULL) {
+                            String key = pathOf(path, fieldName);
+                            if (fields.contains(key)) {
+                                values.put(key, parser.getText());
+                            }
+                        }
+                    }
+                }
+                if (token != JsonToken.FIELD_NAME) {
+                    fieldName = null;
+                }
+            }
+        }
+        return values;
+    }
+
+    private static String pathOf(Deque<String> path, String fieldName) {
+        StringBuilder key = new StringBuilder();
+        for (String name : path) {
+            if (!name.isEmpty()) {
+                key.append(name).append('.');
+            }
+        }
+        return key.append(fieldName).toString();
+    }
+}
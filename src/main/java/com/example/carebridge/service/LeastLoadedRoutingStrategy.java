@@ -0,0 +1,32 @@
+package com.example.carebridge.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 미완료 요청이 가장 적은 의료진을 고르는 배정 전략
+ * 부하가 같은 의료진이 여럿이면 차례대로 돌아가며 배정하여 한 명에게 몰리지 않도록 합니다.
+ */
+@Component
+public class LeastLoadedRoutingStrategy implements StaffRoutingStrategy {
+
+    private final AtomicLong tieBreaker = new AtomicLong();
+
+    @Override
+    public String name() {
+        return "least-loaded";
+    }
+
+    @Override
+    public Candidate select(List<Candidate> candidates) {
+        int min = Integer.MAX_VALUE;
+        for (Candidate candidate : candidates) {
+            min = Math.min(min, candidate.openRequests());
+        }
+        final int least = min;
+        List<Candidate> tied = candidates.stream().filter(c -> c.openRequests() == least).toList();
+        return tied.get((int) Math.floorMod(tieBreaker.getAndIncrement(), (long) tied.size()));
+    }
+}
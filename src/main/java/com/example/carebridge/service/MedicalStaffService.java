@@ -26,31 +26,6 @@ public class MedicalStaffService {
         this.medicalStaffRepository = medicalStaffRepository;
     }
 
-    /**
-     * 특정 분과의 모든 의료진을 조회합니다.
-     *
-     * @param department 의료진 소속 분과
-     * @return 해당 분과의 의료진 객체
-     * @throws IllegalArgumentException 부서가 null 이거나 빈 문자열인 경우, 또는 해당 부서의 의료진을 찾을 수 없는 경우
-     */
-    @Transactional(readOnly = true)
-    public MedicalStaff findAllByDepartment(String department) {
-        // 부서명 유효성 검사
-        if (department == null || department.trim().isEmpty()) {
-            log.error("부서명이 null 이거나 빈 문자열입니다.");
-            throw new IllegalArgumentException("부서명은 필수 입력값입니다.");
-        }
-
-        // 의료진 조회
-        return medicalStaffRepository.findByDepartment(department)
-                .stream()
-                .findFirst()
-                .orElseThrow(() -> {
-                    log.error("부서 {}에 해당하는 의료진을 찾을 수 없습니다.", department);
-                    return new IllegalArgumentException("해당 부서의 의료진을 찾을 수 없습니다: " + department);
-                });
-    }
-
     @Transactional(readOnly = true)
     public List<MedicalStaff> findAllByHospitalId(Integer hospitalId) {
         if (hospitalId == null) {
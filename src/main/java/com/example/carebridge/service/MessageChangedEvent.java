@@ -0,0 +1,50 @@
+package com.example.carebridge.service;
+
+import lombok.Getter;
+
+/**
+ * 채팅 메시지의 저장/읽음 처리를 알리는 애플리케이션 이벤트
+ * MessageService 가 발행하며, 병동 대시보드처럼 메시지 수를 집계하는 쪽에서 사용합니다.
+ */
+@Getter
+public class MessageChangedEvent {
+
+    /**
+     * 변경 유형
+     */
+    public enum Type {
+        SAVED,
+        READ
+    }
+
+    private final Type type;
+    private final Integer messageId;
+    private final Integer medicalStaffId;
+    private final Integer patientId;
+
+    /**
+     * 환자가 보낸 메시지인지 여부
+     */
+    private final boolean fromPatient;
+
+    /**
+     * 변경 직전 읽지 않은 상태였는지 여부 (저장인 경우 false)
+     */
+    private final boolean unreadBefore;
+
+    /**
+     * 변경 직후 읽지 않은 상태인지 여부
+     */
+    private final boolean unreadAfter;
+
+    public MessageChangedEvent(Type type, Integer messageId, Integer medicalStaffId, Integer patientId,
+                               boolean fromPatient, boolean unreadBefore, boolean unreadAfter) {
+        this.type = type;
+        this.messageId = messageId;
+        this.medicalStaffId = medicalStaffId;
+        this.patientId = patientId;
+        this.fromPatient = fromPatient;
+        this.unreadBefore = unreadBefore;
+        this.unreadAfter = unreadAfter;
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.entity.Message;
+import com.example.carebridge.repository.MessageRepository;
+import com.example.carebridge.util.UserDestinations;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 메시지 재전송 서비스
+ * 채팅방별 메시지 순번을 발급하고, 재연결한 클라이언트에게 놓친 구간만 다시 전송합니다.
+ *
+ * 동작 방식:
+ * 1. 메시지 저장 직전 채팅방별 단조 증가 순번(roomSeq)을 발급
+ * 2. 저장된 메시지를 활성 채팅방별 링버퍼(최근 N건)에 보관
+ * 3. 클라이언트가 /user/queue/chat/room/{roomId} 구독 시 "resume-from-seq" 헤더를 보내면
+ *    해당 순번 이후의 메시지를 링버퍼에서, 버퍼 범위를 벗어나면 DB 에서 조회하여 해당 구독에만 전송
+ *
+ * 주의사항:
+ * - 재전송과 실시간 메시지가 겹칠 수 있으므로 클라이언트는 roomSeq 로 중복을 제거해야 합니다.
+ * - 한 번에 chat.replay.max-size 건까지만 보냅니다. 놓친 메시지가 더 있으면 마지막 프레임에 "replay-truncated: true"
+ *   헤더를 붙이므로, 클라이언트는 마지막으로 받은 순번으로 다시 구독(또는 REST 조회)하여 나머지를 받아야 합니다.
+ * - 순번 카운터는 인스턴스 메모리에 있으므로 단일 인스턴스 운영을 전제로 합니다.
+ */
+@Slf4j
+@Service
+public class MessageReplayService {
+
+    /**
+     * 재연결 시 마지막으로 수신한 순번을 전달하는 STOMP SUBSCRIBE 헤더 이름
+     */
+    public static final String RESUME_HEADER = "resume-from-seq";
+
+    /**
+     * 재전송이 max-size 에서 잘렸음을 알리는 STOMP MESSAGE 헤더 이름 (재전송의 마지막 프레임에만 붙음)
+     */
+    public static final String TRUNCATED_HEADER = "replay-truncated";
+
+    private static final String ROOM_DESTINATION_PREFIX = UserDestinations.USER_PREFIX + UserDestinations.CHAT_ROOM;
+
+    private final MessageRepository messageRepository;
+    private final MessageChannel clientOutboundChannel;
+    private final MessageConverter messageConverter;
+    private final int bufferSize;
+    private final int maxReplaySize;
+    private final long idleEvictMillis;
+
+    private final ConcurrentHashMap<String, AtomicLong> sequences = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, RoomBuffer> buffers = new ConcurrentHashMap<>();
+
+    public MessageReplayService(MessageRepository messageRepository,
+                                @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+                                @Qualifier("brokerMessageConverter") MessageConverter messageConverter,
+                                @Value("${chat.replay.buffer-size:200}") int bufferSize,
+                                @Value("${chat.replay.max-size:1000}") int maxReplaySize,
+                                @Value("${chat.replay.idle-evict-minutes:60}") long idleEvictMinutes) {
+        this.messageRepository = messageRepository;
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.messageConverter = messageConverter;
+        this.bufferSize = bufferSize;
+        this.maxReplaySize = maxReplaySize;
+        this.idleEvictMillis = idleEvictMinutes * 60 * 1000;
+    }
+
+    /**
+     * 채팅방의 다음 메시지 순번을 발급합니다.
+     * 최초 호출 시에만 DB 에서 마지막 순번을 조회하고, 이후에는 메모리 카운터를 사용합니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     * @return 새로 발급된 순번
+     */
+    public long nextSequence(String chatRoomId) {
+        return sequences.computeIfAbsent(chatRoomId,
+                        id -> new AtomicLong(messageRepository.findMaxRoomSeqByChatRoomId(id).orElse(0L)))
+                .incrementAndGet();
+    }
+
+    /**
+     * 저장이 완료된 메시지를 채팅방 링버퍼에 기록합니다.
+     *
+     * @param message 저장된 메시지
+     */
+    public void record(Message message) {
+        if (message.getRoomSeq() == null || message.getChatRoomId() == null) {
+            return;
+        }
+        buffers.computeIfAbsent(message.getChatRoomId(), id -> new RoomBuffer(bufferSize)).add(message);
+    }
+
+    /**
+     * 특정 순번 이후의 메시지를 순번 순으로 반환합니다.
+     * 놓친 구간이 링버퍼 안에 있으면 메모리에서, 그렇지 않으면 DB 에서 조회합니다.
+     * DB 는 max-size 보다 한 건 더 조회하여 잘렸는지 판단합니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     * @param afterSeq 클라이언트가 마지막으로 수신한 순번
+     * @return 놓친 메시지 목록 (최대 chat.replay.max-size 건)과 뒤에 메시지가 더 있는지 여부
+     */
+    public ReplayResult replay(String chatRoomId, long afterSeq) {
+        RoomBuffer buffer = buffers.get(chatRoomId);
+        if (buffer != null) {
+            List<Message> buffered = buffer.after(afterSeq);
+            if (buffered != null) {
+                log.debug("링버퍼에서 메시지 재전송 - 방 ID: {}, 기준 순번: {}, 건수: {}", chatRoomId, afterSeq, buffered.size());
+                return limit(buffered);
+            }
+        }
+        List<Message> stored = messageRepository.findByChatRoomIdAfterSeq(
+                chatRoomId, afterSeq, PageRequest.of(0, maxReplaySize + 1));
+        log.debug("DB 에서 메시지 재전송 - 방 ID: {}, 기준 순번: {}, 건수: {}", chatRoomId, afterSeq, stored.size());
+        return limit(stored);
+    }
+
+    /**
+     * 채팅방 구독 시 resume-from-seq 헤더가 있으면 놓친 메시지를 해당 구독에만 전송합니다.
+     *
+     * @param event STOMP SUBSCRIBE 이벤트
+     */
+    @EventListener
+    public void handleSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        String resumeFrom = accessor.getFirstNativeHeader(RESUME_HEADER);
+        if (destination == null || resumeFrom == null || !destination.startsWith(ROOM_DESTINATION_PREFIX)) {
+            return;
+        }
+
+        long afterSeq;
+        try {
+            afterSeq = Long.parseLong(resumeFrom.trim());
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 재전송 기준 순번입니다 - 세션 ID: {}, 값: {}", accessor.getSessionId(), resumeFrom);
+            return;
+        }
+
+        String chatRoomId = destination.substring(ROOM_DESTINATION_PREFIX.length());
+        try {
+            ReplayResult result = replay(chatRoomId, afterSeq);
+            List<Message> missed = result.messages();
+            for (int i = 0; i < missed.size(); i++) {
+                boolean truncatedHere = result.truncated() && i == missed.size() - 1;
+                sendToSubscription(accessor.getSessionId(), accessor.getSubscriptionId(), destination,
+                        missed.get(i), truncatedHere);
+            }
+            if (result.truncated()) {
+                log.warn("재연결 메시지 재전송이 최대 건수에서 잘림 - 방 ID: {}, 기준 순번: {}, 전송: {}건",
+                        chatRoomId, afterSeq, missed.size());
+            } else {
+                log.info("재연결 메시지 재전송 완료 - 방 ID: {}, 기준 순번: {}, 건수: {}", chatRoomId, afterSeq, missed.size());
+            }
+        } catch (Exception e) {
+            log.error("재연결 메시지 재전송 실패 - 방 ID: {}, 오류: {}", chatRoomId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 일정 시간 동안 메시지가 없었던 채팅방의 링버퍼를 제거합니다.
+     * 순번 카운터는 유지하여 순번이 되돌아가지 않도록 합니다.
+     */
+    @Scheduled(fixedDelayString = "${chat.replay.evict-interval-ms:600000}")
+    public void evictIdleBuffers() {
+        long threshold = System.currentTimeMillis() - idleEvictMillis;
+        buffers.entrySet().removeIf(entry -> entry.getValue().lastUpdated() < threshold);
+    }
+
+    /**
+     * 브로커를 거치지 않고 특정 세션의 특정 구독으로만 메시지를 전송합니다.
+     */
+    private void sendToSubscription(String sessionId, String subscriptionId, String destination, Message payload,
+                                    boolean truncated) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setSubscriptionId(subscriptionId);
+        headers.setDestination(destination);
+        if (truncated) {
+            headers.setNativeHeader(TRUNCATED_HEADER, "true");
+        }
+        headers.setLeaveMutable(true);
+
+        org.springframework.messaging.Message<?> converted =
+                messageConverter.toMessage(payload, headers.getMessageHeaders());
+        if (converted != null) {
+            clientOutboundChannel.send(converted);
+        }
+    }
+
+    private ReplayResult limit(List<Message> messages) {
+        if (messages.size() <= maxReplaySize) {
+            return new ReplayResult(messages, false);
+        }
+        return new ReplayResult(List.copyOf(messages.subList(0, maxReplaySize)), true);
+    }
+
+    /**
+     * 재전송 결과
+     *
+     * @param messages 순번 오름차순 메시지 (최대 chat.replay.max-size 건)
+     * @param truncated 뒤에 놓친 메시지가 더 있으면 true (마지막 메시지의 순번부터 다시 요청)
+     */
+    public record ReplayResult(List<Message> messages, boolean truncated) {
+    }
+
+    /**
+     * 채팅방별 최근 메시지를 순번 순으로 보관하는 고정 크기 버퍼
+     */
+    private static class RoomBuffer {
+        private final int capacity;
+        private final Deque<Message> messages;
+        private volatile long lastUpdated = System.currentTimeMillis();
+
+        RoomBuffer(int capacity) {
+            this.capacity = capacity;
+            this.messages = new ArrayDeque<>(capacity);
+        }
+
+        synchronized void add(Message message) {
+            long seq = message.getRoomSeq();
+            if (messages.isEmpty() || messages.peekLast().getRoomSeq() < seq) {
+                messages.addLast(message);
+            } else {
+                // 동시에 저장된 메시지가 순번 역순으로 도착한 경우 뒤에서부터 자리를 찾아 삽입
+                Deque<Message> newer = new ArrayDeque<>();
+                while (!messages.isEmpty() && messages.peekLast().getRoomSeq() > seq) {
+                    newer.addFirst(messages.pollLast());
+                }
+                messages.addLast(message);
+                messages.addAll(newer);
+            }
+            while (messages.size() > capacity) {
+                messages.pollFirst();
+            }
+            lastUpdated = System.currentTimeMillis();
+        }
+
+        /**
+         * 기준 순번 이후의 메시지를 반환합니다.
+         * 놓친 구간의 시작이 버퍼보다 오래된 경우 null 을 반환하여 DB 조회로 넘깁니다.
+         */
+        synchronized List<Message> after(long afterSeq) {
+            if (messages.isEmpty() || messages.peekFirst().getRoomSeq() > afterSeq + 1) {
+                return null;
+            }
+            List<Message> result = new ArrayList<>();
+            for (Message message : messages) {
+                if (message.getRoomSeq() > afterSeq) {
+                    result.add(message);
+                }
+            }
+            return result;
+        }
+
+        long lastUpdated() {
+            return lastUpdated;
+        }
+    }
+}
@@ -4,15 +4,14 @@ import com.example.carebridge.dto.ChatCompletionDto;
 import com.example.carebridge.dto.ChatMessageDto;
 import com.example.carebridge.dto.ChatRequestMsgDto;
 import com.example.carebridge.dto.MessageSummaryDto;
+import com.example.carebridge.entity.DeviceToken;
 import com.example.carebridge.entity.Message;
-import com.example.carebridge.repository.ChatRoomRepository;
-import com.example.carebridge.repository.HospitalRepository;
 import com.example.carebridge.repository.MessageRepository;
-import com.example.carebridge.repository.PatientRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
@@ -25,19 +24,21 @@ import java.util.stream.Collectors;
 public class MessageService {
     private static final Logger logger = LoggerFactory.getLogger(MessageService.class);
     private final MessageRepository messageRepository;
-    private final ChatRoomRepository chatRoomRepository;
-    private final PatientRepository patientRepository;
+    private final ChatRoomDirectory chatRoomDirectory;
     private final ChatGPTService chatGPTService;
     private final HospitalInformationService hospitalInformationService;
-    private final HospitalRepository hospitalRepository;
+    private final MessageReplayService messageReplayService;
+    private final NotificationCoalescer notificationCoalescer;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public MessageService(MessageRepository messageRepository, ChatRoomRepository chatRoomRepository, PatientRepository patientRepository, ChatGPTService chatGPTService, HospitalInformationService hospitalInformationService, HospitalRepository hospitalRepository) {
+    public MessageService(MessageRepository messageRepository, ChatRoomDirectory chatRoomDirectory, ChatGPTService chatGPTService, HospitalInformationService hospitalInformationService, MessageReplayService messageReplayService, NotificationCoalescer notificationCoalescer, ApplicationEventPublisher eventPublisher) {
         this.messageRepository = messageRepository;
-        this.chatRoomRepository = chatRoomRepository;
-        this.patientRepository = patientRepository;
+        this.chatRoomDirectory = chatRoomDirectory;
         this.chatGPTService = chatGPTService;
         this.hospitalInformationService = hospitalInformationService;
-        this.hospitalRepository = hospitalRepository;
+        this.messageReplayService = messageReplayService;
+        this.notificationCoalescer = notificationCoalescer;
+        this.eventPublisher = eventPublisher;
     }
 
     @Autowired
@@ -59,11 +60,11 @@ public class MessageService {
         if (chatMessageDto.getIsPatient()) {
             message.setIsPatient(true);
             patientId = chatMessageDto.getSenderId();
-            medicalStaffId = chatRoomRepository.findByChatRoomId(roomId)
+            medicalStaffId = chatRoomDirectory.findRoom(roomId)
                 .orElseThrow(() -> {
                     logger.error("채팅방을 찾을 수 없습니다 - 방 ID: {}", roomId);
                     return new IllegalArgumentException("해당 채팅방이 존재하지 않습니다.");
-                }).getMedicalStaffId();
+                }).medicalStaffId();
 
             ChatCompletionDto chatCompletionDto = new ChatCompletionDto(
                     "gpt-4o-mini-2024-07-18",
@@ -83,11 +84,11 @@ public class MessageService {
         } else {
             message.setIsPatient(false);
             medicalStaffId = chatMessageDto.getSenderId();
-            patientId = chatRoomRepository.findByChatRoomId(roomId)
+            patientId = chatRoomDirectory.findRoom(roomId)
                 .orElseThrow(() -> {
                     logger.error("채팅방을 찾을 수 없습니다 - 방 ID: {}", roomId);
                     return new IllegalArgumentException("해당 채팅방이 존재하지 않습니다.");
-                }).getPatientId();
+                }).patientId();
             category = "의료진 메세지";
         }
         message.setPatientId(patientId);
@@ -100,7 +101,10 @@ public class MessageService {
         message.setHospitalId(chatMessageDto.getHospitalId());
         message.setCategory(category);
         message.setType(Message.MessageType.MESSAGE);
+        message.setRoomSeq(messageReplayService.nextSequence(roomId));
         messageRepository.save(message);
+        messageReplayService.record(message);
+        publishSaved(message);
 
         return message;
     }
@@ -109,14 +113,13 @@ public class MessageService {
         Message message = new Message();
         Integer patientId = chatMessageDto.getSenderId();
         String roomId = chatMessageDto.getChatRoomId();
-        Integer medicalStaffId = chatRoomRepository.findByChatRoomId(roomId)
+        Integer medicalStaffId = chatRoomDirectory.findRoom(roomId)
             .orElseThrow(() -> {
                 logger.error("채팅방을 찾을 수 없습니다 - 방 ID: {}", roomId);
                 return new IllegalArgumentException("해당 채팅방이 존재하지 않습니다.");
-            }).getMedicalStaffId();
-        String hospitalName = hospitalRepository.findByHospitalId(chatMessageDto.getHospitalId())
-                .orElseThrow(() -> new IllegalArgumentException("해당 병원을 찾을 수 없습니다."))
-                .getName();
+            }).medicalStaffId();
+        String hospitalName = chatRoomDirectory.findHospitalName(chatMessageDto.getHospitalId())
+                .orElseThrow(() -> new IllegalArgumentException("해당 병원을 찾을 수 없습니다."));
 
         String mostSimilarInfo = Optional.ofNullable(hospitalInformationService.findMostSimilarHospitalInformation(
                 chatMessageDto.getMessageContent(), chatMessageDto.getHospitalId()))
@@ -147,11 +150,33 @@ public class MessageService {
         message.setCategory("정보성 질문 답변자동생성");
         message.setType(Message.MessageType.MESSAGE);
         message.setIsPatient(false);
+        message.setRoomSeq(messageReplayService.nextSequence(roomId));
         messageRepository.save(message);
+        messageReplayService.record(message);
+        publishSaved(message);
 
         return message;
     }
 
+    /**
+     * 저장된 메시지에 대한 푸시 알림을 수신자에게 보냅니다.
+     * 같은 채팅방에서 연달아 온 메시지는 병합 창 안에서 하나의 알림으로 합쳐집니다.
+     *
+     * @param message 저장된 메시지
+     */
+    public void notifyRecipient(Message message) {
+        Optional<ChatRoomDirectory.PatientSummary> patient = chatRoomDirectory.findPatient(message.getPatientId());
+        if (Boolean.TRUE.equals(message.getIsPatient())) {
+            String patientName = patient.map(ChatRoomDirectory.PatientSummary::name).orElse("환자");
+            notificationCoalescer.submit(DeviceToken.OwnerType.STAFF, message.getMedicalStaffId(),
+                    message.getChatRoomId(), patientName, message.getMessageContent());
+            return;
+        }
+        patient.map(ChatRoomDirectory.PatientSummary::userId)
+                .ifPresent(userId -> notificationCoalescer.submit(DeviceToken.OwnerType.USER, userId,
+                        message.getChatRoomId(), "담당 의료진", message.getMessageContent()));
+    }
+
     /**
      * 메시지의 읽음 상태를 업데이트합니다.
      *
@@ -160,8 +185,21 @@ public class MessageService {
     public void updateReadStatus(Integer messageId) {
         Message message = messageRepository.findByMessageId(messageId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 메시지를 찾을 수 없습니다."));
+        boolean unreadBefore = !Boolean.TRUE.equals(message.getReadStatus());
         message.setReadStatus(true);
         messageRepository.save(message);
+        eventPublisher.publishEvent(new MessageChangedEvent(MessageChangedEvent.Type.READ, message.getMessageId(),
+                message.getMedicalStaffId(), message.getPatientId(), Boolean.TRUE.equals(message.getIsPatient()),
+                unreadBefore, false));
+    }
+
+    /**
+     * 메시지 저장 이벤트를 발행합니다.
+     */
+    private void publishSaved(Message message) {
+        eventPublisher.publishEvent(new MessageChangedEvent(MessageChangedEvent.Type.SAVED, message.getMessageId(),
+                message.getMedicalStaffId(), message.getPatientId(), Boolean.TRUE.equals(message.getIsPatient()),
+                false, !Boolean.TRUE.equals(message.getReadStatus())));
     }
 
     /**
@@ -207,6 +245,18 @@ public class MessageService {
         }
     }
 
+    /**
+     * 채팅방에서 특정 순번 이후의 메시지 목록을 반환합니다.
+     * 재연결한 클라이언트가 전체 이력 대신 놓친 구간만 조회할 때 사용합니다.
+     *
+     * @param chatRoomId 채팅방 ID
+     * @param afterSeq 마지막으로 수신한 메시지 순번
+     * @return 순번 오름차순으로 정렬된 메시지 목록과 잘렸는지 여부
+     */
+    public MessageReplayService.ReplayResult getMessagesAfterSeq(String chatRoomId, long afterSeq) {
+        return messageReplayService.replay(chatRoomId, afterSeq);
+    }
+
     public Message getMessageById(Integer messageId) {
         try {
             return messageRepository.findByMessageId(messageId)
@@ -284,9 +334,9 @@ public class MessageService {
             Message recentMessage = patientMessages.get(0);
 
             MessageSummaryDto summary = new MessageSummaryDto(
-                    patientRepository.findByPatientId(recentMessage.getPatientId())
+                    chatRoomDirectory.findPatient(recentMessage.getPatientId())
                             .orElseThrow(() -> new IllegalArgumentException("해당 환자를 찾을 수 없습니다."))
-                            .getName(),
+                            .name(),
                     recentMessage.getChatRoomId(),
                     recentMessage.getMessageContent(),
                     Timestamp.valueOf(recentMessage.getTimestamp()).toLocalDateTime(),
@@ -0,0 +1,201 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.entity.DeviceToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅 푸시 알림 병합 서비스
+ * 같은 수신자에게 같은 채팅방의 알림이 짧은 시간 안에 연달아 발생하면 하나의 알림으로 합쳐 전송합니다.
+ *
+ * 동작 방식:
+ * 1. (수신자, 채팅방) 별로 첫 알림이 들어오면 병합 창(notification.coalesce.window-ms)을 엽니다.
+ * 2. 창이 열려 있는 동안 들어온 알림은 개수만 늘리고 전송하지 않습니다.
+ * 3. 창이 닫히면 1건이면 원래 내용으로, 여러 건이면 발신자와 마지막 메시지 미리보기를 담은
+ *    "{발신자}님이 보낸 새 메시지 N개: ..." 알림 한 건을 전송 큐에 넣습니다.
+ *
+ * 주의사항:
+ * - 콜벨 요청처럼 즉시 전달되어야 하는 알림은 notifyImmediately 로 병합 없이 전송합니다.
+ * - 창은 첫 알림 기준으로 고정되므로 알림 지연은 최대 창 길이로 제한됩니다.
+ * - 창 종료는 @Scheduled 작업과 같은 스케줄러(SchedulingConfig, scheduling.pool-size 스레드)에서 실행됩니다.
+ */
+@Slf4j
+@Service
+public class NotificationCoalescer {
+
+    private final NotificationQueueService notificationQueueService;
+    private final TaskScheduler taskScheduler;
+    private final Duration window;
+    private final int previewLength;
+
+    private final ConcurrentHashMap<String, PendingNotification> pending = new ConcurrentHashMap<>();
+
+    private final Counter receivedCounter;
+    private final Counter sentCounter;
+    private final Counter bypassCounter;
+
+    public NotificationCoalescer(NotificationQueueService notificationQueueService,
+                                 @Qualifier("taskScheduler") TaskScheduler taskScheduler,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${notification.coalesce.window-ms:5000}") long windowMillis,
+                                 @Value("${notification.coalesce.preview-length:80}") int previewLength) {
+        this.notificationQueueService = notificationQueueService;
+        this.taskScheduler = taskScheduler;
+        this.window = Duration.ofMillis(windowMillis);
+        this.previewLength = previewLength;
+
+        this.receivedCounter = Counter.builder("notification.coalesce.received")
+                .description("병합 대상으로 접수된 채팅 알림 수")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("notification.coalesce.sent")
+                .description("병합 후 실제로 전송 큐에 넣은 알림 수")
+                .register(meterRegistry);
+        this.bypassCounter = Counter.builder("notification.coalesce.bypassed")
+                .description("병합 없이 즉시 전송한 알림 수")
+                .register(meterRegistry);
+        Gauge.builder("notification.coalesce.open-windows", pending, ConcurrentHashMap::size)
+                .register(meterRegistry);
+        Gauge.builder("notification.coalesce.merge-ratio", this, NotificationCoalescer::mergeRatio)
+                .description("접수된 알림 중 병합되어 전송되지 않은 비율")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 채팅 메시지 알림을 병합 창에 추가합니다.
+     *
+     * @param recipientType 수신자 유형
+     * @param recipientId 수신자 ID
+     * @param chatRoomId 채팅방 ID
+     * @param title 알림 제목 (발신자 표시)
+     * @param content 메시지 내용
+     */
+    public void submit(DeviceToken.OwnerType recipientType, Integer recipientId, String chatRoomId,
+                       String title, String content) {
+        receivedCounter.increment();
+        String key = recipientType.name() + ":" + recipientId + ":" + chatRoomId;
+        pending.compute(key, (k, current) -> {
+            if (current != null) {
+                current.count++;
+                current.lastContent = content;
+                return current;
+            }
+            taskScheduler.schedule(() -> flush(k), Instant.now().plus(window));
+            return new PendingNotification(recipientType, recipientId, title, content);
+        });
+    }
+
+    /**
+     * 병합 창을 거치지 않고 알림을 즉시 전송 큐에 넣습니다.
+     * 콜벨 요청 등 지연되면 안 되는 알림에 사용합니다.
+     *
+     * @param recipientType 수신자 유형
+     * @param recipientId 수신자 ID
+     * @param title 알림 제목
+     * @param body 알림 본문
+     */
+    public void notifyImmediately(DeviceToken.OwnerType recipientType, Integer recipientId, String title, String body) {
+        bypassCounter.increment();
+        enqueue(recipientType, recipientId, title, body);
+    }
+
+    /**
+     * 새 콜벨 요청이 커밋되면 담당 의료진의 디바이스로 병합 없이 바로 알림을 보냅니다.
+     *
+     * @param event 요청 변경 이벤트
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestChanged(RequestChangedEvent event) {
+        if (event.getType() == RequestChangedEvent.Type.CREATED) {
+            notifyImmediately(DeviceToken.OwnerType.STAFF, event.getMedicalStaffId(),
+                    "새 콜벨 요청", event.getRequest().getRequestContent());
+        }
+    }
+
+    /**
+     * 접수된 알림 중 병합되어 따로 전송되지 않은 비율을 반환합니다.
+     *
+     * @return 0 이상 1 이하의 병합 비율
+     */
+    public double mergeRatio() {
+        double received = receivedCounter.count();
+        return received == 0 ? 0 : (received - sentCounter.count()) / received;
+    }
+
+    /**
+     * 종료 시 열려 있는 병합 창을 모두 닫아 알림이 유실되지 않도록 합니다.
+     */
+    @PreDestroy
+    public void flushAll() {
+        new ArrayList<>(pending.keySet()).forEach(this::flush);
+    }
+
+    private void flush(String key) {
+        PendingNotification notification = pending.remove(key);
+        if (notification == null) {
+            return;
+        }
+        sentCounter.increment();
+        String body = notification.count == 1
+                ? preview(notification.firstContent)
+                : mergedBody(notification);
+        enqueue(notification.recipientType, notification.recipientId, notification.title, body);
+    }
+
+    private void enqueue(DeviceToken.OwnerType recipientType, Integer recipientId, String title, String body) {
+        try {
+            notificationQueueService.enqueueIfReachable(recipientType, recipientId, title, body);
+        } catch (Exception e) {
+            log.error("알림 큐 등록 실패 - 수신자: {}:{}, 오류: {}", recipientType, recipientId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 여러 메시지를 합친 알림 본문을 만듭니다.
+     * 누가 보냈는지 알 수 있도록 발신자(알림 제목)와 마지막 메시지 미리보기를 포함합니다.
+     */
+    private String mergedBody(PendingNotification notification) {
+        return notification.title + "님이 보낸 새 메시지 " + notification.count + "개: "
+                + preview(notification.lastContent);
+    }
+
+    private String preview(String content) {
+        if (content == null || content.length() <= previewLength) {
+            return content;
+        }
+        return content.substring(0, previewLength) + "…";
+    }
+
+    /**
+     * 병합 창이 열려 있는 알림
+     * count, lastContent 는 ConcurrentHashMap.compute 안에서만 변경됩니다.
+     */
+    private static class PendingNotification {
+        private final DeviceToken.OwnerType recipientType;
+        private final Integer recipientId;
+        private final String title;
+        private final String firstContent;
+        private String lastContent;
+        private int count = 1;
+
+        PendingNotification(DeviceToken.OwnerType recipientType, Integer recipientId, String title, String firstContent) {
+            this.recipientType = recipientType;
+            this.recipientId = recipientId;
+            this.title = title;
+            this.firstContent = firstContent;
+            this.lastContent = firstContent;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.NotificationResultDto;
+import com.example.carebridge.entity.PushNotification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 푸시 알림 전송 큐를 주기적으로 비우는 작업자
+ * 알림 한 건당 수신자의 모든 디바이스(토큰 지정 알림이면 그 토큰 하나)로 멀티캐스트 한 번을 보냅니다.
+ * 트랜잭션 안에서 알림을 점유하고, 트랜잭션 밖에서 FCM 으로 전송한 뒤
+ * 결과를 별도 트랜잭션으로 반영하여 네트워크 대기 중에 DB 잠금을 잡고 있지 않도록 합니다.
+ *
+ * 이전에 점유한 알림의 결과가 모두 반영될 때까지는 새로 점유하지 않습니다.
+ * FCM 응답이 느려져도 전송 대기 중인 알림이 한 번의 점유량(fcm.queue.claim-size)을 넘지 않고,
+ * 같은 인스턴스가 아직 전송 중인 알림을 점유 만료 후 다시 점유해 중복 전송하지 않습니다.
+ */
+@Slf4j
+@Component
+public class NotificationDispatchWorker {
+
+    private final NotificationQueueService notificationQueueService;
+    private final NotificationService notificationService;
+    private final FcmService fcmService;
+    private final int claimSize;
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
+    public NotificationDispatchWorker(NotificationQueueService notificationQueueService,
+                                      NotificationService notificationService,
+                                      FcmService fcmService,
+                                      @Value("${fcm.queue.claim-size:500}") int claimSize) {
+        this.notificationQueueService = notificationQueueService;
+        this.notificationService = notificationService;
+        this.fcmService = fcmService;
+        this.claimSize = claimSize;
+    }
+
+    /**
+     * 전송 시각이 도래한 알림을 점유하여 비동기로 전송합니다.
+     * 전송 결과는 FCM 응답이 도착한 스레드에서 반영되며, 이전 점유분이 반영 중이면 이번 주기는 건너뜁니다.
+     */
+    @Scheduled(fixedDelayString = "${fcm.queue.poll-interval-ms:1000}")
+    public void dispatch() {
+        if (!dispatching.compareAndSet(false, true)) {
+            log.debug("이전에 점유한 알림을 전송 중이므로 이번 주기를 건너뜁니다.");
+            return;
+        }
+        boolean started = false;
+        try {
+            started = claimAndSend();
+        } finally {
+            if (!started) {
+                dispatching.set(false);
+            }
+        }
+    }
+
+    /**
+     * 알림을 점유하여 전송을 시작합니다.
+     *
+     * @return 전송을 시작했으면 true (결과 반영이 끝나면 dispatching 을 해제)
+     */
+    private boolean claimAndSend() {
+        List<PushNotification> claimed;
+        try {
+            claimed = notificationQueueService.claimDue(claimSize);
+        } catch (Exception e) {
+            log.error("알림 점유 실패: {}", e.getMessage(), e);
+            return false;
+        }
+        if (claimed.isEmpty()) {
+            return false;
+        }
+
+        Map<Long, CompletableFuture<List<NotificationResultDto>>> futures = new LinkedHashMap<>();
+        for (PushNotification notification : claimed) {
+            List<String> tokens = notification.getToken() != null
+                    ? List.of(notification.getToken())
+                    : notificationService.getTokens(notification.getRecipientType(), notification.getRecipientId());
+            futures.put(notification.getId(),
+                    fcmService.sendMulticast(notification.getTitle(), notification.getBody(), tokens));
+        }
+
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                .thenAccept(ignored -> {
+                    Map<Long, List<NotificationResultDto>> results = new HashMap<>();
+                    futures.forEach((id, future) -> results.put(id, future.join()));
+                    notificationQueueService.complete(claimed, results);
+                })
+                .exceptionally(e -> {
+                    // 결과 반영에 실패한 알림은 점유 만료 후 다시 전송됩니다.
+                    log.error("알림 전송 결과 반영 실패 - 건수: {}, 오류: {}", claimed.size(), e.getMessage(), e);
+                    return null;
+                })
+                .whenComplete((ignored, e) -> dispatching.set(false));
+        return true;
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.NotificationQueueStatsDto;
+import com.example.carebridge.dto.NotificationRequestDto;
+import com.example.carebridge.dto.NotificationResultDto;
+import com.example.carebridge.entity.DeviceToken;
+import com.example.carebridge.entity.PushNotification;
+import com.example.carebridge.repository.PushNotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 푸시 알림 전송 큐 서비스
+ * 알림을 DB 에 먼저 기록한 뒤 전송하여, 실패한 알림을 재시도하고 만료된 토큰을 정리합니다.
+ *
+ * 동작 방식:
+ * 1. enqueue 로 수신자(사용자/의료진) 단위의 PENDING 알림을, enqueueTokens 로 토큰 지정 알림을 저장
+ * 2. NotificationDispatchWorker 가 claimDue 로 전송 시각이 된 알림을 SENDING 으로 점유하고
+ *    수신자의 모든 디바이스로 멀티캐스트 전송
+ * 3. 디바이스별 전송 결과를 complete 로 반영
+ *    - 만료/잘못된 토큰(UNREGISTERED, INVALID_ARGUMENT): 해당 디바이스 토큰 삭제
+ *    - 한 디바이스라도 성공: SENT
+ *    - 일시적 오류(UNAVAILABLE, INTERNAL, QUOTA_EXCEEDED)만 남은 경우: 지수 백오프 + 지터 후 PENDING 으로 재예약
+ *    - 그 외 오류, 디바이스 없음 또는 최대 시도 횟수 초과: DEAD
+ *
+ * 주의사항:
+ * - 전송 도중 서버가 종료되면 점유 만료(fcm.queue.lease-seconds) 후 다시 전송됩니다.
+ *   따라서 드물게 같은 알림이 두 번 전송될 수 있으며, 점유 만료로도 최대 시도 횟수를 넘기면 DEAD 가 됩니다.
+ */
+@Slf4j
+@Service
+public class NotificationQueueService {
+
+    private static final Set<String> RETRYABLE_ERRORS = Set.of("UNAVAILABLE", "INTERNAL", "QUOTA_EXCEEDED");
+    private static final Set<String> INVALID_TOKEN_ERRORS = Set.of("UNREGISTERED", "INVALID_ARGUMENT");
+    private static final String LEASE_EXPIRED = "LEASE_EXPIRED";
+
+    private final PushNotificationRepository pushNotificationRepository;
+    private final NotificationService notificationService;
+    private final int maxAttempts;
+    private final Duration leaseDuration;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+    private final Duration retention;
+
+    private final Counter retryCounter;
+    private final Counter deadCounter;
+    private final Counter prunedTokenCounter;
+
+    public NotificationQueueService(PushNotificationRepository pushNotificationRepository,
+                                    NotificationService notificationService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${fcm.queue.max-attempts:6}") int maxAttempts,
+                                    @Value("${fcm.queue.lease-seconds:60}") long leaseSeconds,
+                                    @Value("${fcm.queue.backoff-base-ms:2000}") long backoffBaseMillis,
+                                    @Value("${fcm.queue.backoff-max-ms:600000}") long backoffMaxMillis,
+                                    @Value("${fcm.queue.retention-days:7}") long retentionDays) {
+        this.pushNotificationRepository = pushNotificationRepository;
+        this.notificationService = notificationService;
+        this.maxAttempts = maxAttempts;
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        this.backoffBase = Duration.ofMillis(backoffBaseMillis);
+        this.backoffMax = Duration.ofMillis(backoffMaxMillis);
+        this.retention = Duration.ofDays(retentionDays);
+
+        this.retryCounter = Counter.builder("fcm.queue.retries").register(meterRegistry);
+        this.deadCounter = Counter.builder("fcm.queue.dead").register(meterRegistry);
+        this.prunedTokenCounter = Counter.builder("fcm.queue.tokens.pruned").register(meterRegistry);
+        for (PushNotification.Status status : List.of(PushNotification.Status.PENDING, PushNotification.Status.SENDING)) {
+            Gauge.builder("fcm.queue.depth", pushNotificationRepository, repository -> repository.countByStatus(status))
+                    .tag("status", status.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 알림을 전송 큐에 추가합니다.
+     *
+     * @param recipientType 수신자 유형
+     * @param recipientId 수신자 ID
+     * @param title 알림 제목
+     * @param body 알림 본문
+     * @return 저장된 알림
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public PushNotification enqueue(DeviceToken.OwnerType recipientType, Integer recipientId, String title, String body) {
+        return pushNotificationRepository.save(PushNotification.builder()
+                .recipientType(recipientType)
+                .recipientId(recipientId)
+                .title(title)
+                .body(body)
+                .build());
+    }
+
+    /**
+     * 디바이스 토큰을 직접 지정한 알림들을 전송 큐에 추가합니다.
+     * 알림 전송 API 에서 사용하며, 재시도/토큰 정리는 수신자 단위 알림과 같습니다.
+     *
+     * @param requests 알림 전송 요청 목록
+     * @return 저장된 알림 ID 목록 (요청 순서)
+     * @throws IllegalArgumentException 토큰, 제목 또는 본문이 비어 있는 경우
+     */
+    @Transactional
+    public List<Long> enqueueTokens(List<NotificationRequestDto> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("알림 요청이 비어 있습니다.");
+        }
+        for (NotificationRequestDto request : requests) {
+            if (!StringUtils.hasText(request.getToken()) || !StringUtils.hasText(request.getTitle())
+                    || !StringUtils.hasText(request.getBody())) {
+                throw new IllegalArgumentException("토큰, 제목, 본문은 필수입니다.");
+            }
+        }
+        List<PushNotification> notifications = requests.stream()
+                .map(request -> PushNotification.builder()
+                        .token(request.getToken())
+                        .title(request.getTitle())
+                        .body(request.getBody())
+                        .build())
+                .toList();
+        return pushNotificationRepository.saveAll(notifications).stream().map(PushNotification::getId).toList();
+    }
+
+    /**
+     * 수신자에게 등록된 디바이스가 있을 때만 알림을 전송 큐에 추가합니다.
+     *
+     * @param recipientType 수신자 유형
+     * @param recipientId 수신자 ID
+     * @param title 알림 제목
+     * @param body 알림 본문
+     * @return 큐에 추가되었는지 여부
+     *
+     * 주의사항:
+     * - 커밋 이후 이벤트 리스너에서도 호출되므로 항상 별도 트랜잭션으로 저장합니다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean enqueueIfReachable(DeviceToken.OwnerType recipientType, Integer recipientId, String title, String body) {
+        if (notificationService.getTokens(recipientType, recipientId).isEmpty()) {
+            log.debug("등록된 디바이스가 없어 알림을 건너뜁니다 - 수신자: {}:{}", recipientType, recipientId);
+            return false;
+        }
+        enqueue(recipientType, recipientId, title, body);
+        return true;
+    }
+
+    /**
+     * 전송 시각이 도래한 알림을 점유하여 SENDING 상태로 변경합니다.
+     * 시도 횟수는 점유할 때 증가하므로, 점유 만료 시각이 지난 SENDING 알림은 최대 시도 횟수에 도달했으면 DEAD 로,
+     * 아니면 PENDING 으로 먼저 되돌립니다.
+     *
+     * @param limit 한 번에 점유할 최대 알림 수
+     * @return 점유한 알림 목록
+     */
+    @Transactional
+    public List<PushNotification> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        int abandoned = pushNotificationRepository.abandonExpiredLeases(
+                PushNotification.Status.SENDING, PushNotification.Status.DEAD, maxAttempts, LEASE_EXPIRED, now);
+        if (abandoned > 0) {
+            deadCounter.increment(abandoned);
+            log.warn("최대 시도 횟수까지 점유가 만료된 알림을 포기합니다 - 건수: {}", abandoned);
+        }
+        int released = pushNotificationRepository.releaseExpiredLeases(
+                PushNotification.Status.SENDING, PushNotification.Status.PENDING, now);
+        if (released > 0) {
+            log.warn("점유 만료된 알림을 다시 대기 상태로 되돌렸습니다 - 건수: {}", released);
+        }
+
+        List<PushNotification> due = pushNotificationRepository.findDueForUpdate(
+                PushNotification.Status.PENDING, now, PageRequest.of(0, limit));
+        LocalDateTime leaseUntil = now.plus(leaseDuration);
+        for (PushNotification notification : due) {
+            notification.setStatus(PushNotification.Status.SENDING);
+            notification.setAttempts(notification.getAttempts() + 1);
+            notification.setNextAttemptAt(leaseUntil);
+        }
+        return due;
+    }
+
+    /**
+     * 전송 결과를 알림 상태에 반영합니다.
+     *
+     * @param claimed claimDue 로 점유했던 알림 목록
+     * @param results 알림 ID → 디바이스별 전송 결과 (디바이스가 없었으면 빈 목록)
+     */
+    @Transactional
+    public void complete(List<PushNotification> claimed, Map<Long, List<NotificationResultDto>> results) {
+        Map<Long, PushNotification> current = pushNotificationRepository
+                .findAllById(claimed.stream().map(PushNotification::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(PushNotification::getId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+
+        for (PushNotification claimedNotification : claimed) {
+            PushNotification notification = current.get(claimedNotification.getId());
+            if (notification == null || notification.getStatus() != PushNotification.Status.SENDING) {
+                continue;
+            }
+            apply(notification, results.getOrDefault(notification.getId(), List.of()), now);
+        }
+    }
+
+    /**
+     * 현재 큐 상태를 조회합니다.
+     *
+     * @return 상태별 알림 수와 누적 재시도/토큰 정리 횟수
+     */
+    @Transactional(readOnly = true)
+    public NotificationQueueStatsDto getStats() {
+        return NotificationQueueStatsDto.builder()
+                .pending(pushNotificationRepository.countByStatus(PushNotification.Status.PENDING))
+                .sending(pushNotificationRepository.countByStatus(PushNotification.Status.SENDING))
+                .dead(pushNotificationRepository.countByStatus(PushNotification.Status.DEAD))
+                .retried((long) retryCounter.count())
+                .prunedTokens((long) prunedTokenCounter.count())
+                .build();
+    }
+
+    /**
+     * 보관 기간이 지난 완료/포기 알림을 삭제합니다.
+     */
+    @Scheduled(cron = "${fcm.queue.purge-cron:0 30 4 * * *}")
+    @Transactional
+    public void purgeCompleted() {
+        int deleted = pushNotificationRepository.deleteCompletedBefore(
+                List.of(PushNotification.Status.SENT, PushNotification.Status.DEAD),
+                LocalDateTime.now().minus(retention));
+        log.info("보관 기간이 지난 알림 삭제 완료 - 건수: {}", deleted);
+    }
+
+    private void apply(PushNotification notification, List<NotificationResultDto> results, LocalDateTime now) {
+        boolean delivered = false;
+        String retryableError = null;
+        String permanentError = null;
+        for (NotificationResultDto result : results) {
+            if (result.isSuccess()) {
+                delivered = true;
+            } else if (INVALID_TOKEN_ERRORS.contains(result.getErrorCode())) {
+                permanentError = result.getErrorCode();
+                if (notificationService.pruneToken(result.getToken())) {
+                    prunedTokenCounter.increment();
+                    log.info("만료된 FCM 토큰을 삭제했습니다 - 수신자: {}:{}, 오류 코드: {}",
+                            notification.getRecipientType(), notification.getRecipientId(), result.getErrorCode());
+                }
+            } else if (RETRYABLE_ERRORS.contains(result.getErrorCode())) {
+                retryableError = result.getErrorCode();
+            } else {
+                permanentError = result.getErrorCode();
+            }
+        }
+
+        if (delivered) {
+            // 일부 디바이스만 일시적 오류였더라도 수신자에게는 전달되었으므로 재전송하지 않습니다.
+            notification.setStatus(PushNotification.Status.SENT);
+            notification.setLastError(retryableError != null ? retryableError : permanentError);
+            notification.setCompletedAt(now);
+            return;
+        }
+
+        if (retryableError != null && notification.getAttempts() < maxAttempts) {
+            Duration delay = backoff(notification.getAttempts());
+            notification.setStatus(PushNotification.Status.PENDING);
+            notification.setNextAttemptAt(now.plus(delay));
+            notification.setLastError(retryableError);
+            retryCounter.increment();
+            log.debug("알림 재시도 예약 - ID: {}, 시도: {}, 지연: {}ms, 오류 코드: {}",
+                    notification.getId(), notification.getAttempts(), delay.toMillis(), retryableError);
+            return;
+        }
+
+        String errorCode = results.isEmpty() ? "NO_DEVICE"
+                : retryableError != null ? retryableError : permanentError;
+        notification.setLastError(errorCode);
+        markDead(notification, now);
+        log.warn("알림 전송을 포기합니다 - ID: {}, 시도: {}, 오류 코드: {}",
+                notification.getId(), notification.getAttempts(), errorCode);
+    }
+
+    private void markDead(PushNotification notification, LocalDateTime now) {
+        notification.setStatus(PushNotification.Status.DEAD);
+        notification.setCompletedAt(now);
+        deadCounter.increment();
+    }
+
+    /**
+     * 시도 횟수에 따른 재시도 지연 시간을 계산합니다.
+     * 지수 백오프 상한의 절반 이상에서 무작위로 고르는 방식(equal jitter)으로
+     * 여러 알림이 같은 시각에 몰려 재시도되는 것을 막습니다.
+     *
+     * @param attempts 지금까지 시도한 횟수 (1 이상)
+     * @return 다음 시도까지의 지연 시간
+     */
+    private Duration backoff(int attempts) {
+        long ceiling = backoffMax.toMillis();
+        long exponential = backoffBase.toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(ceiling, exponential);
+        long half = capped / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+}
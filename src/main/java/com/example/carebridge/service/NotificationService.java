@@ -1,22 +1,42 @@
 package com.example.carebridge.service;
 
+import com.example.carebridge.entity.DeviceToken;
 import com.example.carebridge.entity.UserAccount;
+import com.example.carebridge.repository.DeviceTokenRepository;
+import com.example.carebridge.repository.MedicalStaffRepository;
 import com.example.carebridge.repository.UserAccountRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 알림 서비스
- * 사용자의 FCM 토큰을 관리하고 알림 기능을 제공하는 서비스 클래스입니다.
- * 
+ * 사용자와 의료진의 디바이스별 FCM 토큰을 관리하는 서비스 클래스입니다.
+ *
  * 주요 기능:
- * 1. FCM 토큰 등록
- * 2. FCM 토큰 삭제
- * 
+ * 1. 디바이스 FCM 토큰 등록 (한 소유자가 여러 디바이스를 가질 수 있음)
+ * 2. 디바이스 FCM 토큰 삭제
+ * 3. 소유자별 토큰 목록 조회 (메모리 캐시)
+ * 4. 일정 기간 갱신되지 않은 디바이스 만료 처리
+ *
  * 사용 예시:
  * Long userId = 사용자ID;
  * String fcmToken = "Firebase에서_발급받은_토큰";
  * notificationService.register(userId, fcmToken);
  */
+@Slf4j
 @Service
 public class NotificationService {
 
@@ -25,54 +45,266 @@ public class NotificationService {
      */
     private final UserAccountRepository userAccountRepository;
 
+    /**
+     * 의료진 정보에 접근하기 위한 레포지토리
+     */
+    private final MedicalStaffRepository medicalStaffRepository;
+
+    /**
+     * 디바이스 토큰에 접근하기 위한 레포지토리
+     */
+    private final DeviceTokenRepository deviceTokenRepository;
+
+    /**
+     * 디바이스 만료 기준 기간 (일)
+     */
+    private final long deviceTtlDays;
+
+    /**
+     * 소유자("USER:1", "STAFF:3") → 토큰 목록 캐시
+     * 토큰 등록/삭제/만료 시 해당 소유자 항목만 무효화합니다.
+     */
+    private final ConcurrentHashMap<String, List<String>> tokenCache = new ConcurrentHashMap<>();
+
     /**
      * 생성자를 통한 의존성 주입
-     * 
+     *
      * @param userAccountRepository 사용자 계정 레포지토리
+     * @param medicalStaffRepository 의료진 레포지토리
+     * @param deviceTokenRepository 디바이스 토큰 레포지토리
+     * @param meterRegistry 메트릭 레지스트리
+     * @param deviceTtlDays 디바이스 만료 기준 기간 (일)
      */
-    public NotificationService(UserAccountRepository userAccountRepository) {
+    public NotificationService(UserAccountRepository userAccountRepository,
+                               MedicalStaffRepository medicalStaffRepository,
+                               DeviceTokenRepository deviceTokenRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${fcm.device.ttl-days:30}") long deviceTtlDays) {
         this.userAccountRepository = userAccountRepository;
+        this.medicalStaffRepository = medicalStaffRepository;
+        this.deviceTokenRepository = deviceTokenRepository;
+        this.deviceTtlDays = deviceTtlDays;
+        Gauge.builder("fcm.device.cache.owners", tokenCache, ConcurrentHashMap::size)
+                .register(meterRegistry);
     }
 
     /**
      * 사용자의 FCM 토큰을 등록하는 메소드
-     * 
+     *
      * @param userId 토큰을 등록할 사용자의 ID
      * @param token Firebase에서 발급받은 FCM 토큰
      * @throws RuntimeException 사용자를 찾을 수 없는 경우 발생
-     * 
-     * 처리 과정:
-     * 1. 사용자 ID로 계정 정보 조회
-     * 2. FCM 토큰 업데이트
-     * 3. 변경된 정보 저장
      */
     public void register(final Integer userId, final String token) {
-         UserAccount userAccount = userAccountRepository.findById(userId)
-             .orElseThrow(() -> new RuntimeException("User not found"));
-         userAccount.setFcmToken(token);
-         userAccountRepository.save(userAccount);
+        registerDevice(DeviceToken.OwnerType.USER, userId, token, DeviceToken.Platform.WEB);
     }
 
     /**
-     * 사용자의 FCM 토큰을 삭제하는 메소드
-     * 로그아웃 또는 알림 서비스 해제 시 호출됩니다.
-     * 
+     * 디바이스의 FCM 토큰을 등록하거나 갱신하는 메소드
+     *
+     * @param ownerType 토큰 소유자 유형
+     * @param ownerId 토큰 소유자 ID
+     * @param token Firebase에서 발급받은 FCM 토큰
+     * @param platform 디바이스 플랫폼
+     * @throws IllegalArgumentException 토큰이 비어 있는 경우 발생
+     * @throws RuntimeException 소유자를 찾을 수 없는 경우 발생
+     *
+     * 처리 과정:
+     * 1. 소유자 존재 여부 확인
+     * 2. 같은 토큰이 이미 있으면 소유자와 마지막 갱신 시각을 갱신, 없으면 새로 저장
+     * 3. 변경된 소유자의 토큰 캐시 무효화
+     *
+     * 주의사항:
+     * - 다른 소유자에게 등록되어 있던 토큰은 새 소유자로 옮겨집니다. (같은 디바이스에서 계정 전환)
+     */
+    @Transactional
+    public void registerDevice(final DeviceToken.OwnerType ownerType, final Integer ownerId,
+                               final String token, final DeviceToken.Platform platform) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("FCM 토큰이 비어 있습니다.");
+        }
+        validateOwner(ownerType, ownerId);
+
+        DeviceToken.Platform resolvedPlatform = platform != null ? platform : DeviceToken.Platform.WEB;
+        DeviceToken device = deviceTokenRepository.findByToken(token).orElse(null);
+        if (device == null) {
+            deviceTokenRepository.save(DeviceToken.builder()
+                    .ownerType(ownerType)
+                    .ownerId(ownerId)
+                    .token(token)
+                    .platform(resolvedPlatform)
+                    .build());
+        } else {
+            evict(device.getOwnerType(), device.getOwnerId());
+            device.setOwnerType(ownerType);
+            device.setOwnerId(ownerId);
+            device.setPlatform(resolvedPlatform);
+            device.setLastSeenAt(LocalDateTime.now());
+        }
+        evict(ownerType, ownerId);
+    }
+
+    /**
+     * 사용자의 모든 디바이스 FCM 토큰을 삭제하는 메소드
+     *
      * @param userId 토큰을 삭제할 사용자의 ID
      * @throws RuntimeException 사용자를 찾을 수 없는 경우 발생
-     * 
-     * 처리 과정:
-     * 1. 사용자 ID로 계정 정보 조회
-     * 2. FCM 토큰을 null로 설정하여 제거
-     * 3. 변경된 정보 저장
-     * 
+     *
      * 주의사항:
      * - 토큰 삭제 후에는 해당 사용자에게 푸시 알림을 보낼 수 없습니다.
      * - 알림 서비스 재사용 시 새로운 토큰을 등록해야 합니다.
      */
+    @Transactional
     public void deleteToken(final Integer userId) {
-        UserAccount userAccount = userAccountRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        userAccount.setFcmToken(null);
-        userAccountRepository.save(userAccount);
+        validateOwner(DeviceToken.OwnerType.USER, userId);
+        deviceTokenRepository.deleteAll(deviceTokenRepository.findByOwner(DeviceToken.OwnerType.USER, userId));
+        evict(DeviceToken.OwnerType.USER, userId);
+    }
+
+    /**
+     * 사용자의 특정 디바이스 토큰만 삭제하는 메소드
+     * 로그아웃한 디바이스만 알림 수신을 중단할 때 사용합니다.
+     *
+     * @param userId 토큰을 삭제할 사용자의 ID
+     * @param token 삭제할 토큰
+     * @return 토큰이 실제로 삭제되었는지 여부
+     */
+    @Transactional
+    public boolean deleteToken(final Integer userId, final String token) {
+        return deleteDevice(DeviceToken.OwnerType.USER, userId, token);
+    }
+
+    /**
+     * 소유자의 특정 디바이스 토큰만 삭제하는 메소드
+     *
+     * @param ownerType 토큰 소유자 유형
+     * @param ownerId 토큰 소유자 ID
+     * @param token 삭제할 토큰
+     * @return 토큰이 실제로 삭제되었는지 여부
+     *
+     * 주의사항:
+     * - 토큰이 다른 소유자로 옮겨졌다면 삭제하지 않습니다.
+     */
+    @Transactional
+    public boolean deleteDevice(final DeviceToken.OwnerType ownerType, final Integer ownerId, final String token) {
+        DeviceToken device = token == null ? null : deviceTokenRepository.findByToken(token).orElse(null);
+        if (device == null || device.getOwnerType() != ownerType || !device.getOwnerId().equals(ownerId)) {
+            return false;
+        }
+        deviceTokenRepository.delete(device);
+        evict(ownerType, ownerId);
+        return true;
+    }
+
+    /**
+     * FCM 이 만료(UNREGISTERED) 또는 잘못된(INVALID_ARGUMENT) 토큰으로 응답한 디바이스를 삭제합니다.
+     *
+     * @param token FCM 이 거부한 토큰
+     * @return 토큰이 실제로 삭제되었는지 여부
+     */
+    @Transactional
+    public boolean pruneToken(final String token) {
+        DeviceToken device = deviceTokenRepository.findByToken(token).orElse(null);
+        if (device == null) {
+            return false;
+        }
+        deviceTokenRepository.delete(device);
+        evict(device.getOwnerType(), device.getOwnerId());
+        return true;
+    }
+
+    /**
+     * 소유자의 모든 디바이스 토큰을 조회합니다.
+     * 캐시에 없으면 DB 에서 읽어 캐시에 저장합니다.
+     *
+     * @param ownerType 토큰 소유자 유형
+     * @param ownerId 토큰 소유자 ID
+     * @return 토큰 목록 (디바이스가 없으면 빈 목록)
+     */
+    public List<String> getTokens(final DeviceToken.OwnerType ownerType, final Integer ownerId) {
+        return tokenCache.computeIfAbsent(cacheKey(ownerType, ownerId),
+                key -> deviceTokenRepository.findByOwner(ownerType, ownerId).stream()
+                        .map(DeviceToken::getToken)
+                        .toList());
+    }
+
+    /**
+     * 마지막 갱신 후 fcm.device.ttl-days 일이 지난 디바이스를 삭제합니다.
+     * 오래된 토큰이 전송 배치에 섞여 불필요한 실패를 만드는 것을 막습니다.
+     */
+    @Scheduled(cron = "${fcm.device.expire-cron:0 0 4 * * *}")
+    @Transactional
+    public void expireStaleDevices() {
+        List<DeviceToken> stale = deviceTokenRepository.findByLastSeenAtBefore(
+                LocalDateTime.now().minusDays(deviceTtlDays));
+        if (stale.isEmpty()) {
+            return;
+        }
+        deviceTokenRepository.deleteAll(stale);
+        stale.forEach(device -> evict(device.getOwnerType(), device.getOwnerId()));
+        log.info("만료된 디바이스 토큰 삭제 완료 - 건수: {}", stale.size());
+    }
+
+    /**
+     * 기존 UserAccount.fcmToken 컬럼에 저장된 토큰을 디바이스 토큰 테이블로 옮깁니다.
+     * 옮긴 뒤에는 컬럼 값을 비워 다시 옮기지 않도록 합니다.
+     * 이전이 끝나면 남은 행이 없으므로 fcm_token 인덱스를 두지 않고 기본 키 범위로 나누어 읽습니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void migrateLegacyTokens() {
+        int migrated = 0;
+        Integer afterId = 0;
+        List<UserAccount> legacy;
+        while (!(legacy = userAccountRepository.findTop500ByIdGreaterThanAndFcmTokenIsNotNullOrderByIdAsc(afterId)).isEmpty()) {
+            for (UserAccount userAccount : legacy) {
+                String token = userAccount.getFcmToken();
+                if (deviceTokenRepository.findByToken(token).isEmpty()) {
+                    deviceTokenRepository.save(DeviceToken.builder()
+                            .ownerType(DeviceToken.OwnerType.USER)
+                            .ownerId(userAccount.getId())
+                            .token(token)
+                            .platform(DeviceToken.Platform.WEB)
+                            .build());
+                }
+                userAccount.setFcmToken(null);
+                afterId = userAccount.getId();
+            }
+            migrated += legacy.size();
+        }
+        if (migrated > 0) {
+            tokenCache.clear();
+            log.info("기존 FCM 토큰을 디바이스 토큰으로 이전했습니다 - 건수: {}", migrated);
+        }
+    }
+
+    private void validateOwner(final DeviceToken.OwnerType ownerType, final Integer ownerId) {
+        boolean exists = ownerId != null && (ownerType == DeviceToken.OwnerType.USER
+                ? userAccountRepository.existsById(ownerId)
+                : medicalStaffRepository.existsById(ownerId));
+        if (!exists) {
+            throw new RuntimeException(ownerType == DeviceToken.OwnerType.USER ? "User not found" : "Medical staff not found");
+        }
+    }
+
+    /**
+     * 소유자의 토큰 캐시를 무효화합니다.
+     * 트랜잭션 안에서는 커밋 전 값이 다시 캐시되지 않도록 커밋 후에도 한 번 더 무효화합니다.
+     */
+    private void evict(final DeviceToken.OwnerType ownerType, final Integer ownerId) {
+        String key = cacheKey(ownerType, ownerId);
+        tokenCache.remove(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tokenCache.remove(key);
+                }
+            });
+        }
+    }
+
+    private String cacheKey(final DeviceToken.OwnerType ownerType, final Integer ownerId) {
+        return ownerType.name() + ":" + ownerId;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.exception.RateLimitExceededException;
+import com.example.carebridge.util.TokenBucketLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 인증번호 발송 속도 제한
+ * 같은 전화번호와 같은 클라이언트 IP 에서의 발송 요청을 각각 토큰 버킷으로 제한하여
+ * 재시도를 반복하는 클라이언트가 SMS 잔액과 발송 스레드를 소모하지 않도록 합니다.
+ *
+ * - 전화번호: otp.rate-limit.phone.capacity 회까지 연속 허용, 이후 refill-ms 마다 1회
+ * - IP: otp.rate-limit.ip.capacity 회까지 연속 허용, 이후 refill-ms 마다 1회
+ * - 거절 건수는 otp.rate-limit.rejected{key} 메트릭으로 확인합니다.
+ */
+@Slf4j
+@Service
+public class OtpRateLimiter {
+
+    private final TokenBucketLimiter phoneLimiter;
+    private final TokenBucketLimiter ipLimiter;
+    private final Counter phoneRejected;
+    private final Counter ipRejected;
+
+    public OtpRateLimiter(MeterRegistry meterRegistry,
+                          @Value("${otp.rate-limit.phone.capacity:3}") long phoneCapacity,
+                          @Value("${otp.rate-limit.phone.refill-ms:60000}") long phoneRefillMillis,
+                          @Value("${otp.rate-limit.ip.capacity:20}") long ipCapacity,
+                          @Value("${otp.rate-limit.ip.refill-ms:6000}") long ipRefillMillis,
+                          @Value("${otp.rate-limit.max-keys:100000}") int maxKeys) {
+        this.phoneLimiter = new TokenBucketLimiter(phoneCapacity, phoneRefillMillis, maxKeys);
+        this.ipLimiter = new TokenBucketLimiter(ipCapacity, ipRefillMillis, maxKeys);
+
+        this.phoneRejected = rejectedCounter(meterRegistry, "phone");
+        this.ipRejected = rejectedCounter(meterRegistry, "ip");
+        Gauge.builder("otp.rate-limit.keys", phoneLimiter, TokenBucketLimiter::size)
+                .tag("key", "phone")
+                .register(meterRegistry);
+        Gauge.builder("otp.rate-limit.keys", ipLimiter, TokenBucketLimiter::size)
+                .tag("key", "ip")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 발송 요청 한 건을 허용할지 확인합니다. IP 를 먼저 확인하여 IP 한도를 넘은 요청은 전화번호 한도를 쓰지 않습니다.
+     *
+     * @param phoneNumber 발송 대상 전화번호
+     * @param clientIp 요청한 클라이언트 IP (알 수 없으면 null)
+     * @throws RateLimitExceededException 한도를 넘은 경우
+     */
+    public void check(String phoneNumber, String clientIp) {
+        if (clientIp != null) {
+            long waitMillis = ipLimiter.tryAcquire(clientIp);
+            if (waitMillis > 0) {
+                ipRejected.increment();
+                log.warn("인증번호 발송 제한 - IP: {}", clientIp);
+                throw new RateLimitExceededException("요청이 너무 많습니다. 잠시 후 다시 시도해주세요.", toSeconds(waitMillis));
+            }
+        }
+        long waitMillis = phoneLimiter.tryAcquire(phoneNumber);
+        if (waitMillis > 0) {
+            phoneRejected.increment();
+            log.warn("인증번호 발송 제한 - 전화번호: {}", phoneNumber);
+            throw new RateLimitExceededException("인증번호를 너무 자주 요청했습니다. 잠시 후 다시 시도해주세요.", toSeconds(waitMillis));
+        }
+    }
+
+    /**
+     * 다시 가득 찬 버킷을 주기적으로 정리하여 키 맵이 계속 커지지 않도록 합니다.
+     */
+    @Scheduled(fixedDelayString = "${otp.rate-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        int evicted = phoneLimiter.evictIdle() + ipLimiter.evictIdle();
+        if (evicted > 0) {
+            log.debug("인증번호 발송 제한 버킷 정리 - 삭제: {}개", evicted);
+        }
+    }
+
+    private static long toSeconds(long millis) {
+        return Math.max(1, (millis + 999) / 1000);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String key) {
+        return Counter.builder("otp.rate-limit.rejected")
+                .description("속도 제한으로 거절된 인증번호 발송 요청 수")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.carebridge.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * OTP(SMS 인증번호) 저장소 인터페이스
+ * 전화번호별로 가장 최근에 보낸 인증번호의 해시, 만료 시각, 검증 시도 횟수를 보관합니다.
+ * 인증번호 원문은 넘기지 않으며, 해시는 UserAccountService 가 만듭니다.
+ *
+ * 구현체:
+ * - InMemoryOtpStore: 메모리 TTL 맵 (기본값, otp.store=memory)
+ * - JpaOtpStore: 여러 인스턴스가 공유하는 DB(Otp_Code 테이블) 저장소 (otp.store=database)
+ */
+public interface OtpStore {
+
+    /**
+     * 검증 결과
+     */
+    enum Result {
+        VERIFIED,
+        MISMATCH,
+        EXPIRED,
+        TOO_MANY_ATTEMPTS
+    }
+
+    /**
+     * 새 인증번호를 저장합니다. 이전 인증번호와 시도 횟수는 초기화됩니다.
+     *
+     * @param phoneNumber 전화번호
+     * @param codeHash 인증번호 해시
+     * @param expiresAt 만료 시각
+     */
+    void save(String phoneNumber, String codeHash, LocalDateTime expiresAt);
+
+    /**
+     * 인증번호를 검증합니다.
+     * 시도 횟수를 먼저 원자적으로 올린 뒤 비교하므로, 동시에 여러 번 시도해도 maxAttempts 번을 넘겨 비교하지 않습니다.
+     *
+     * @param phoneNumber 전화번호
+     * @param codeHash 입력한 인증번호의 해시
+     * @param maxAttempts 최대 시도 횟수
+     * @return 검증 결과
+     */
+    Result verify(String phoneNumber, String codeHash, int maxAttempts);
+
+    /**
+     * 만료된 인증번호를 삭제합니다.
+     *
+     * @param now 기준 시각
+     * @return 삭제한 인증번호 수
+     */
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,37 @@
+package com.example.carebridge.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 만료된 SMS 인증번호 정리 작업
+ * 검증하지 않고 만료된 인증번호가 저장소에 남지 않도록 주기적으로 삭제합니다.
+ */
+@Slf4j
+@Service
+public class OtpSweeper {
+
+    private final OtpStore otpStore;
+
+    public OtpSweeper(OtpStore otpStore) {
+        this.otpStore = otpStore;
+    }
+
+    /**
+     * otp.sweep-interval-ms 마다 만료된 인증번호를 삭제합니다.
+     */
+    @Scheduled(fixedDelayString = "${otp.sweep-interval-ms:60000}")
+    public void sweep() {
+        try {
+            int deleted = otpStore.deleteExpired(LocalDateTime.now());
+            if (deleted > 0) {
+                log.debug("만료된 인증번호 정리 완료 - 삭제: {}건", deleted);
+            }
+        } catch (Exception e) {
+            log.error("만료된 인증번호 정리 실패: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.carebridge.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * 비밀번호 해시 계산/검증 서비스
+ * 모든 BCrypt 계산을 passwordHashExecutor 에서 실행하고 결과를 CompletableFuture 로 돌려줍니다.
+ *
+ * 주요 기능:
+ * 1. 저장된 값이 BCrypt 해시면 해시로 검증하고, 이전 버전의 평문이면 평문으로 비교
+ * 2. 검증에 성공했는데 평문이거나 설정보다 낮은 강도의 해시면 새 해시를 함께 계산 (로그인 시 전환)
+ * 3. 대기 시간(auth.password.queue-time), 계산 시간(auth.password.hash-time), 거절 수를 메트릭으로 기록
+ *
+ * 주의사항:
+ * - 대기열이 가득 차면 반환되는 Future 가 RejectedExecutionException 으로 실패합니다.
+ */
+@Slf4j
+@Service
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+
+    /**
+     * 비밀번호 검증 결과
+     *
+     * @param matches 비밀번호 일치 여부
+     * @param upgradedHash 다시 저장해야 할 새 해시 (전환이 필요 없으면 null)
+     */
+    public record Verification(boolean matches, String upgradedHash) {
+    }
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer queueTime;
+    private final Timer hashTime;
+    private final Counter rejected;
+
+    public PasswordHasher(BCryptPasswordEncoder encoder,
+                          @Qualifier("passwordHashExecutor") ThreadPoolExecutor executor,
+                          MeterRegistry meterRegistry) {
+        this.encoder = encoder;
+        this.executor = executor;
+
+        this.queueTime = Timer.builder("auth.password.queue-time")
+                .description("비밀번호 해시 작업이 실행되기까지 기다린 시간")
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+        this.hashTime = Timer.builder("auth.password.hash-time")
+                .description("비밀번호 해시 계산/검증 시간")
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.rejected")
+                .description("대기열이 가득 차 거절된 비밀번호 해시 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.size", executor, pool -> pool.getQueue().size())
+                .description("실행을 기다리는 비밀번호 해시 작업 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 입력한 비밀번호를 저장된 값과 비교합니다.
+     *
+     * @param rawPassword 입력한 비밀번호
+     * @param storedPassword 저장된 BCrypt 해시 (또는 이전 버전의 평문)
+     * @return 검증 결과
+     */
+    public CompletableFuture<Verification> verify(String rawPassword, String storedPassword) {
+        return submit(() -> {
+            if (rawPassword == null || storedPassword == null) {
+                return new Verification(false, null);
+            }
+            if (!isHashed(storedPassword)) {
+                boolean matches = MessageDigest.isEqual(
+                        rawPassword.getBytes(StandardCharsets.UTF_8), storedPassword.getBytes(StandardCharsets.UTF_8));
+                return new Verification(matches, matches ? encoder.encode(rawPassword) : null);
+            }
+            boolean matches = encoder.matches(rawPassword, storedPassword);
+            return new Verification(matches,
+                    matches && encoder.upgradeEncoding(storedPassword) ? encoder.encode(rawPassword) : null);
+        });
+    }
+
+    /**
+     * 비밀번호의 BCrypt 해시를 계산합니다.
+     *
+     * @param rawPassword 비밀번호
+     * @return BCrypt 해시
+     */
+    public CompletableFuture<String> hash(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * 저장된 값이 BCrypt 해시인지 확인합니다. (아니면 이전 버전의 평문 비밀번호)
+     */
+    public static boolean isHashed(String storedPassword) {
+        return storedPassword != null && BCRYPT_PATTERN.matcher(storedPassword).matches();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                queueTime.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    hashTime.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("비밀번호 해시 대기열 포화 - 대기: {}건", executor.getQueue().size());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
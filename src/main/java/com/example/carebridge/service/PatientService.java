@@ -25,6 +25,8 @@ public class PatientService {
     private final MedicalStaffRepository medicalStaffRepository;
     private final UserAccountRepository userAccountRepository;
     private final PatientMapper patientMapper;
+    private final ProfileCache profileCache;
+    private final ChatRoomDirectory chatRoomDirectory;
 
     /**
      * 필요한 레포지토리들을 주입받는 생성자입니다.
@@ -33,15 +35,21 @@ public class PatientService {
      * @param medicalStaffRepository 의료진 정보 레포지토리
      * @param userAccountRepository 사용자 계정 레포지토리
      * @param patientMapper Patient 엔티티와 DTO 간의 변환을 처리하는 매퍼
+     * @param profileCache 전화번호/이메일 프로필 조회 캐시
+     * @param chatRoomDirectory 알림 수신자(환자 이름/사용자 ID) 조회 캐시
      */
     public PatientService(PatientRepository patientRepository, 
                          MedicalStaffRepository medicalStaffRepository, 
                          UserAccountRepository userAccountRepository,
-                         PatientMapper patientMapper) {
+                         PatientMapper patientMapper,
+                         ProfileCache profileCache,
+                         ChatRoomDirectory chatRoomDirectory) {
         this.patientRepository = patientRepository;
         this.medicalStaffRepository = medicalStaffRepository;
         this.userAccountRepository = userAccountRepository;
         this.patientMapper = patientMapper;
+        this.profileCache = profileCache;
+        this.chatRoomDirectory = chatRoomDirectory;
     }
 
     /**
@@ -95,18 +103,30 @@ public class PatientService {
                 });
     }
 
-    @Transactional
+    /**
+     * 전화번호로 환자 정보를 조회합니다. (프로필 캐시 사용)
+     *
+     * @param phone 전화번호
+     * @return 환자 정보 (캐시와 분리된 복사본)
+     * @throws IllegalArgumentException 해당 전화번호의 환자를 찾을 수 없는 경우
+     */
     public Patient getPatientByPhone(String phone) {
-        return patientRepository.findByPhoneNumber(phone)
+        return profileCache.findPatientByPhone(phone)
                 .orElseThrow(() -> {
                     log.error("환자를 찾을 수 없습니다. Phone Number: {}", phone);
                     return new IllegalArgumentException("해당 전화번호의 환자를 찾을 수 없습니다: " + phone);
                 });
     }
 
-    @Transactional
+    /**
+     * 이메일로 환자 정보를 조회합니다. (프로필 캐시 사용)
+     *
+     * @param email 이메일
+     * @return 환자 정보 (캐시와 분리된 복사본)
+     * @throws IllegalArgumentException 해당 이메일의 환자를 찾을 수 없는 경우
+     */
     public Patient getPatientByEmail(String email) {
-        return patientRepository.findByEmail(email)
+        return profileCache.findPatientByEmail(email)
                 .orElseThrow(() -> {
                     log.error("환자를 찾을 수 없습니다. Email: {}", email);
                     return new IllegalArgumentException("해당 Email을 가진 환자를 찾을 수 없습니다: " + email);
@@ -184,6 +204,8 @@ public class PatientService {
         Patient patient = getPatientById(patientId);
         patient.setPhoneNumber(phoneNumber);
         patientRepository.save(patient);
+        profileCache.evictPatient(patientId);
+        chatRoomDirectory.evictPatient(patientId);
         log.info("환자 ID {}의 전화번호 업데이트 완료: {}", patientId, phoneNumber);
     }
 }
\ No newline at end of file
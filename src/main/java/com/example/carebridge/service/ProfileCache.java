@@ -0,0 +1,309 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.entity.Guardian;
+import com.example.carebridge.entity.Patient;
+import com.example.carebridge.entity.UserAccount;
+import com.example.carebridge.repository.GuardianRepository;
+import com.example.carebridge.repository.PatientRepository;
+import com.example.carebridge.repository.UserAccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 사용자 계정·환자·보호자 프로필 캐시
+ * 화면마다 반복되는 전화번호/이메일 기준 프로필 조회를 Caffeine 로컬 캐시에서 처리합니다.
+ *
+ * 동작 방식:
+ * - 영역(region)마다 ID 를 키로 하는 본 캐시와, 전화번호/이메일 → ID 보조 인덱스를 둡니다.
+ * - 보조 인덱스로 찾은 항목은 본 캐시의 전화번호/이메일이 같을 때만 사용하므로, 인덱스가 늦게 지워져도 다른 사람의 프로필을 돌려주지 않습니다.
+ * - 처음 조회할 때 DB 에서 읽어 보관하고(read-through), 없는 프로필은 보관하지 않습니다.
+ * - 캐시에는 엔티티의 복사본을 보관하고, 조회할 때마다 새 복사본을 돌려주므로 호출자가 수정해도 캐시에 영향이 없습니다.
+ * - 항목은 profile.cache.ttl-seconds 후 만료되고, 영역마다 profile.cache.max-size 개까지 보관합니다.
+ *
+ * 주의사항:
+ * - 사용자 계정, 환자, 보호자 정보를 변경/삭제하는 코드는 evict 메서드를 호출해야 합니다.
+ *   트랜잭션 안에서 호출하면 바로 한 번, 커밋 후 한 번 더 지웁니다.
+ * - 적중률은 profile.cache.lookups{region, result} 와 profile.cache.hit.ratio{region} 메트릭으로 확인합니다.
+ */
+@Slf4j
+@Service
+public class ProfileCache {
+
+    private static final String PHONE = "phone";
+    private static final String EMAIL = "email";
+
+    private final UserAccountRepository userAccountRepository;
+    private final PatientRepository patientRepository;
+    private final GuardianRepository guardianRepository;
+
+    private final Region<Integer, UserAccount> userAccounts;
+    private final Region<Integer, Patient> patients;
+    private final Region<String, Guardian> guardians;
+
+    public ProfileCache(UserAccountRepository userAccountRepository,
+                        PatientRepository patientRepository,
+                        GuardianRepository guardianRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${profile.cache.max-size:10000}") long maxSize,
+                        @Value("${profile.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userAccountRepository = userAccountRepository;
+        this.patientRepository = patientRepository;
+        this.guardianRepository = guardianRepository;
+
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.userAccounts = new Region<>("user-account", maxSize, ttl, meterRegistry,
+                UserAccount::getId, UserAccount::new,
+                Map.of(PHONE, UserAccount::getPhoneNumber, EMAIL, UserAccount::getEmail));
+        this.patients = new Region<>("patient", maxSize, ttl, meterRegistry,
+                Patient::getPatientId, Patient::new,
+                Map.of(PHONE, Patient::getPhoneNumber, EMAIL, Patient::getEmail));
+        this.guardians = new Region<>("guardian", maxSize, ttl, meterRegistry,
+                Guardian::getGuardianId, Guardian::new,
+                Map.of(PHONE, Guardian::getPhoneNumber));
+    }
+
+    /**
+     * 전화번호로 사용자 계정을 조회합니다.
+     *
+     * @param phoneNumber 전화번호
+     * @return 사용자 계정의 복사본 (없으면 empty)
+     */
+    public Optional<UserAccount> findUserAccountByPhone(String phoneNumber) {
+        return userAccounts.find(PHONE, phoneNumber, () -> userAccountRepository.findByPhoneNumber(phoneNumber));
+    }
+
+    /**
+     * 이메일로 사용자 계정을 조회합니다.
+     *
+     * @param email 이메일
+     * @return 사용자 계정의 복사본 (없으면 empty)
+     */
+    public Optional<UserAccount> findUserAccountByEmail(String email) {
+        return userAccounts.find(EMAIL, email, () -> userAccountRepository.findByEmail(email));
+    }
+
+    /**
+     * 전화번호로 환자를 조회합니다.
+     *
+     * @param phoneNumber 전화번호
+     * @return 환자의 복사본 (없으면 empty)
+     */
+    public Optional<Patient> findPatientByPhone(String phoneNumber) {
+        return patients.find(PHONE, phoneNumber, () -> patientRepository.findByPhoneNumber(phoneNumber));
+    }
+
+    /**
+     * 이메일로 환자를 조회합니다.
+     *
+     * @param email 이메일
+     * @return 환자의 복사본 (없으면 empty)
+     */
+    public Optional<Patient> findPatientByEmail(String email) {
+        return patients.find(EMAIL, email, () -> patientRepository.findByEmail(email));
+    }
+
+    /**
+     * 전화번호로 보호자를 조회합니다.
+     *
+     * @param phoneNumber 보호자 전화번호
+     * @return 보호자의 복사본 (없으면 empty)
+     */
+    public Optional<Guardian> findGuardianByPhone(String phoneNumber) {
+        return guardians.find(PHONE, phoneNumber, () -> guardianRepository.findByPhoneNumber(phoneNumber));
+    }
+
+    /**
+     * 사용자 계정 캐시를 무효화합니다. (ID 와 그 계정의 전화번호/이메일 인덱스)
+     *
+     * @param userId 사용자 계정 ID
+     */
+    public void evictUserAccount(Integer userId) {
+        afterCommit(() -> userAccounts.evict(userId));
+    }
+
+    /**
+     * 전화번호에 연결된 사용자 계정 캐시를 무효화합니다.
+     *
+     * @param phoneNumber 전화번호
+     */
+    public void evictUserAccountByPhone(String phoneNumber) {
+        afterCommit(() -> userAccounts.evictByKey(PHONE, phoneNumber));
+    }
+
+    /**
+     * 환자 캐시를 무효화합니다. (ID 와 그 환자의 전화번호/이메일 인덱스)
+     *
+     * @param patientId 환자 ID
+     */
+    public void evictPatient(Integer patientId) {
+        afterCommit(() -> patients.evict(patientId));
+    }
+
+    /**
+     * 전화번호/이메일에 연결된 환자 캐시를 무효화합니다.
+     * 사용자 계정의 전화번호/이메일이 바뀌면 같은 연락처로 보관된 환자 항목도 함께 지우기 위해 사용합니다.
+     *
+     * @param phoneNumber 전화번호 (null 이면 무시)
+     * @param email 이메일 (null 이면 무시)
+     */
+    public void evictPatientByContact(String phoneNumber, String email) {
+        afterCommit(() -> {
+            patients.evictByKey(PHONE, phoneNumber);
+            patients.evictByKey(EMAIL, email);
+        });
+    }
+
+    /**
+     * 전화번호에 연결된 보호자 캐시를 무효화합니다.
+     *
+     * @param phoneNumber 보호자 전화번호
+     */
+    public void evictGuardianByPhone(String phoneNumber) {
+        afterCommit(() -> guardians.evictByKey(PHONE, phoneNumber));
+    }
+
+    /**
+     * 바로 실행하고, 트랜잭션 안이면 커밋 후에 한 번 더 실행합니다.
+     * (커밋 전에 다른 스레드가 이전 값을 다시 읽어 넣은 경우까지 지우기 위함)
+     */
+    private void afterCommit(Runnable action) {
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * 캐시 영역 하나 (ID → 프로필 본 캐시 + 보조 인덱스)
+     *
+     * @param <K> 프로필 ID 타입
+     * @param <V> 프로필 엔티티 타입
+     */
+    private static final class Region<K, V> {
+        private final Cache<K, V> byId;
+        private final Map<String, Cache<String, K>> indexes = new LinkedHashMap<>();
+        private final Map<String, Function<V, String>> keyExtractors;
+        private final Function<V, K> idOf;
+        private final Supplier<V> factory;
+        private final Counter hits;
+        private final Counter misses;
+
+        Region(String name, long maxSize, Duration ttl, MeterRegistry meterRegistry,
+               Function<V, K> idOf, Supplier<V> factory, Map<String, Function<V, String>> keyExtractors) {
+            this.byId = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+            for (String index : keyExtractors.keySet()) {
+                indexes.put(index, Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).<String, K>build());
+            }
+            this.keyExtractors = keyExtractors;
+            this.idOf = idOf;
+            this.factory = factory;
+
+            this.hits = lookupCounter(meterRegistry, name, "hit");
+            this.misses = lookupCounter(meterRegistry, name, "miss");
+            Gauge.builder("profile.cache.hit.ratio", this, Region::hitRatio)
+                    .description("프로필 캐시 적중률")
+                    .tag("region", name)
+                    .register(meterRegistry);
+            Gauge.builder("profile.cache.size", byId, Cache::estimatedSize)
+                    .tag("region", name)
+                    .register(meterRegistry);
+        }
+
+        Optional<V> find(String index, String key, Supplier<Optional<V>> loader) {
+            if (key == null) {
+                return Optional.empty();
+            }
+            K id = indexes.get(index).getIfPresent(key);
+            if (id != null) {
+                V cached = byId.getIfPresent(id);
+                if (cached != null && key.equals(keyExtractors.get(index).apply(cached))) {
+                    hits.increment();
+                    return Optional.of(copy(cached));
+                }
+            }
+            misses.increment();
+            Optional<V> loaded = loader.get();
+            loaded.ifPresent(this::put);
+            return loaded.map(this::copy);
+        }
+
+        void evict(K id) {
+            if (id == null) {
+                return;
+            }
+            V cached = byId.getIfPresent(id);
+            byId.invalidate(id);
+            if (cached != null) {
+                keyExtractors.forEach((index, extractor) -> {
+                    String key = extractor.apply(cached);
+                    if (key != null) {
+                        indexes.get(index).asMap().remove(key, id);
+                    }
+                });
+            }
+        }
+
+        void evictByKey(String index, String key) {
+            if (key == null) {
+                return;
+            }
+            K id = indexes.get(index).getIfPresent(key);
+            indexes.get(index).invalidate(key);
+            evict(id);
+        }
+
+        private void put(V value) {
+            K id = idOf.apply(value);
+            if (id == null) {
+                return;
+            }
+            byId.put(id, copy(value));
+            keyExtractors.forEach((index, extractor) -> {
+                String key = extractor.apply(value);
+                if (key != null) {
+                    indexes.get(index).put(key, id);
+                }
+            });
+        }
+
+        private V copy(V source) {
+            V target = factory.get();
+            BeanUtils.copyProperties(source, target);
+            return target;
+        }
+
+        private double hitRatio() {
+            double total = hits.count() + misses.count();
+            return total == 0 ? 0 : hits.count() / total;
+        }
+
+        private static Counter lookupCounter(MeterRegistry meterRegistry, String region, String result) {
+            return Counter.builder("profile.cache.lookups")
+                    .description("프로필 캐시 조회 수")
+                    .tag("region", region)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
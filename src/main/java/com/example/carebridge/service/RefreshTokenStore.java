@@ -0,0 +1,50 @@
+package com.example.carebridge.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh Token 저장소 인터페이스
+ * JwtUtil 이 발급한 Refresh Token 의 해시를 사용자(JWT subject)별로 하나씩 보관합니다.
+ * 토큰 원문은 넘기지 않으며, 해시는 JwtUtil.hashToken 으로 만듭니다.
+ *
+ * 구현체:
+ * - JpaRefreshTokenStore: DB(Refresh_Token 테이블)에 저장, 재시작/다중 인스턴스에서도 유지 (기본값)
+ * - InMemoryRefreshTokenStore: 로컬 개발 및 테스트용 메모리 저장소 (auth.refresh-token.store=memory)
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * 새로 발급한 토큰을 저장합니다. 기존 토큰은 교체됩니다.
+     *
+     * @param subject 토큰 소유자
+     * @param tokenHash 토큰 해시
+     * @param expiresAt 만료 시각
+     */
+    void save(String subject, String tokenHash, LocalDateTime expiresAt);
+
+    /**
+     * 저장된 토큰이 제시된 토큰과 같고 만료되지 않았을 때만 새 토큰으로 원자적으로 교체합니다.
+     *
+     * @param subject 토큰 소유자
+     * @param currentHash 제시된 토큰의 해시
+     * @param newHash 새 토큰의 해시
+     * @param expiresAt 새 토큰의 만료 시각
+     * @return 교체했으면 true, 토큰이 없거나 다르거나 만료되었으면 false
+     */
+    boolean rotate(String subject, String currentHash, String newHash, LocalDateTime expiresAt);
+
+    /**
+     * 소유자의 토큰을 폐기합니다. (로그아웃, 토큰 탈취 시)
+     *
+     * @param subject 토큰 소유자
+     */
+    void revoke(String subject);
+
+    /**
+     * 만료된 토큰을 삭제합니다.
+     *
+     * @param now 기준 시각
+     * @return 삭제한 토큰 수
+     */
+    int deleteExpired(LocalDateTime now);
+}
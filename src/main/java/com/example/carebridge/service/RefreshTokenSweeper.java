@@ -0,0 +1,37 @@
+package com.example.carebridge.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 만료된 Refresh Token 정리 작업
+ * 로그아웃하지 않고 만료된 토큰이 저장소에 계속 쌓이지 않도록 주기적으로 삭제합니다.
+ */
+@Slf4j
+@Service
+public class RefreshTokenSweeper {
+
+    private final RefreshTokenStore refreshTokenStore;
+
+    public RefreshTokenSweeper(RefreshTokenStore refreshTokenStore) {
+        this.refreshTokenStore = refreshTokenStore;
+    }
+
+    /**
+     * auth.refresh-token.sweep-cron 마다 만료된 토큰을 삭제합니다.
+     */
+    @Scheduled(cron = "${auth.refresh-token.sweep-cron:0 */10 * * * *}")
+    public void sweep() {
+        try {
+            int deleted = refreshTokenStore.deleteExpired(LocalDateTime.now());
+            if (deleted > 0) {
+                log.info("만료된 Refresh Token 정리 완료 - 삭제: {}건", deleted);
+            }
+        } catch (Exception e) {
+            log.error("만료된 Refresh Token 정리 실패: {}", e.getMessage(), e);
+        }
+    }
+}
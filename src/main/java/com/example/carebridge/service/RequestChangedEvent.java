@@ -0,0 +1,82 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.RequestDto;
+import com.example.carebridge.entity.Request;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 콜벨 요청의 생성/변경/삭제를 알리는 애플리케이션 이벤트
+ * CallBellService 가 트랜잭션 안에서 발행하고, 수신 측은 커밋 이후에 처리합니다.
+ */
+@Getter
+public class RequestChangedEvent {
+
+    /**
+     * 변경 유형
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+
+    /**
+     * 변경 직후의 요청 정보 (삭제인 경우 삭제 직전 정보)
+     */
+    private final RequestDto request;
+
+    /**
+     * 변경 직후의 요청 상태
+     */
+    private final Request.RequestStatus status;
+
+    /**
+     * 변경 직전의 요청 상태 (생성인 경우 null)
+     */
+    private final Request.RequestStatus previousStatus;
+
+    /**
+     * 요청 시각 (대기 시간 계산 및 정렬용)
+     */
+    private final LocalDateTime requestTime;
+
+    /**
+     * 변경 직후의 수락 시각 (수락 전이면 null)
+     */
+    private final LocalDateTime acceptTime;
+
+    /**
+     * 변경 직전의 수락 시각 (생성인 경우 또는 수락 전이었으면 null)
+     */
+    private final LocalDateTime previousAcceptTime;
+
+    /**
+     * 이벤트 발생 시각
+     */
+    private final LocalDateTime occurredAt;
+
+    public RequestChangedEvent(Type type, RequestDto request, Request.RequestStatus status,
+                               Request.RequestStatus previousStatus, LocalDateTime requestTime,
+                               LocalDateTime acceptTime, LocalDateTime previousAcceptTime) {
+        this.type = type;
+        this.request = request;
+        this.status = status;
+        this.previousStatus = previousStatus;
+        this.requestTime = requestTime;
+        this.acceptTime = acceptTime;
+        this.previousAcceptTime = previousAcceptTime;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public Integer getRequestId() {
+        return request.getRequestId();
+    }
+
+    public Integer getMedicalStaffId() {
+        return request.getMedicalStaffId();
+    }
+}
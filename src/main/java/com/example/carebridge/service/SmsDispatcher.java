@@ -0,0 +1,150 @@
+package com.example.carebridge.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.nurigo.sdk.message.model.Message;
+import net.nurigo.sdk.message.request.SingleMessageSendingRequest;
+import net.nurigo.sdk.message.service.DefaultMessageService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.InterruptedIOException;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SMS 비동기 발송 서비스
+ * 발송 요청을 smsDispatchExecutor 에 맡기고 요청 ID 를 바로 반환합니다.
+ *
+ * 주의사항:
+ * - 대기열이 가득 차면 RejectedExecutionException 을 던지며, 컨트롤러는 503 으로 응답합니다.
+ * - 발송 업체가 sms.send-timeout-ms 안에 응답하지 않으면 SmsConfig 가 설정한 HTTP 호출 타임아웃으로 호출이 취소되고,
+ *   발송 스레드는 시간 초과로 기록한 뒤 다음 발송을 처리합니다.
+ * - 발송 결과는 요청 ID 와 함께 로그와 sms.send{result} 메트릭으로 남습니다.
+ */
+@Slf4j
+@Service
+public class SmsDispatcher {
+
+    private final DefaultMessageService smsMessageService;
+    private final ThreadPoolExecutor executor;
+    private final String sender;
+
+    private final Timer latency;
+    private final Counter success;
+    private final Counter failure;
+    private final Counter timeout;
+    private final Counter rejected;
+
+    public SmsDispatcher(DefaultMessageService smsMessageService,
+                         @Qualifier("smsDispatchExecutor") ThreadPoolExecutor executor,
+                         MeterRegistry meterRegistry,
+                         @Value("${sms.sender:01032330241}") String sender) {
+        this.smsMessageService = smsMessageService;
+        this.executor = executor;
+        this.sender = sender;
+
+        this.latency = Timer.builder("sms.send.latency")
+                .description("SMS 발송 API 응답 시간")
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+        this.success = resultCounter(meterRegistry, "success");
+        this.failure = resultCounter(meterRegistry, "failure");
+        this.timeout = resultCounter(meterRegistry, "timeout");
+        this.rejected = resultCounter(meterRegistry, "rejected");
+        Gauge.builder("sms.dispatch.queue.size", executor, pool -> pool.getQueue().size())
+                .description("발송을 기다리는 SMS 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * SMS 한 건의 발송을 예약합니다.
+     *
+     * @param to 수신 전화번호
+     * @param text 메시지 내용
+     * @return 발송 요청 ID
+     * @throws RejectedExecutionException 발송 대기열이 가득 찬 경우
+     */
+    public String send(String to, String text) {
+        return send(to, text, () -> { });
+    }
+
+    /**
+     * SMS 한 건의 발송을 예약하고, 발송 직전에 발송 스레드에서 beforeSend 를 실행합니다.
+     * 대기열에 들어간 뒤에만 beforeSend 가 실행되므로, 대기열이 가득 차 거절된 요청은 아무것도 바꾸지 않습니다.
+     * beforeSend 가 실패하면 SMS 는 보내지 않고 실패로 기록합니다.
+     *
+     * @param to 수신 전화번호
+     * @param text 메시지 내용
+     * @param beforeSend 발송 직전에 실행할 작업 (예: 인증번호 저장)
+     * @return 발송 요청 ID
+     * @throws RejectedExecutionException 발송 대기열이 가득 찬 경우
+     */
+    public String send(String to, String text, Runnable beforeSend) {
+        String requestId = UUID.randomUUID().toString();
+        Message message = new Message();
+        message.setFrom(sender);
+        message.setTo(to);
+        message.setText(text);
+
+        try {
+            executor.execute(() -> sendNow(requestId, message, beforeSend));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("SMS 발송 대기열 포화 - 요청 ID: {}, 대기: {}건", requestId, executor.getQueue().size());
+            throw e;
+        }
+        return requestId;
+    }
+
+    private void sendNow(String requestId, Message message, Runnable beforeSend) {
+        try {
+            beforeSend.run();
+        } catch (Exception e) {
+            failure.increment();
+            log.error("SMS 발송 준비 실패 - 요청 ID: {}, 오류: {}", requestId, e.getMessage(), e);
+            return;
+        }
+        long startedAt = System.nanoTime();
+        try {
+            smsMessageService.sendOne(new SingleMessageSendingRequest(message));
+            success.increment();
+            log.info("SMS 발송 완료 - 요청 ID: {}", requestId);
+        } catch (Exception e) {
+            if (isTimeout(e)) {
+                timeout.increment();
+                log.warn("SMS 발송 시간 초과 - 요청 ID: {}, 오류: {}", requestId, e.getMessage());
+                return;
+            }
+            failure.increment();
+            log.error("SMS 발송 실패 - 요청 ID: {}, 오류: {}", requestId, e.getMessage(), e);
+        } finally {
+            latency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * OkHttp 의 연결/읽기/전체 호출 타임아웃은 모두 InterruptedIOException(SocketTimeoutException 포함)으로 끝납니다.
+     */
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedIOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Counter resultCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("sms.send")
+                .description("SMS 발송 결과별 건수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
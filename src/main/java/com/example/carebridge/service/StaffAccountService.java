@@ -1,28 +1,57 @@
 package com.example.carebridge.service;
 
 import com.example.carebridge.dto.StaffAccountDto;
+import com.example.carebridge.dto.StaffPasswordResetDto;
 import com.example.carebridge.entity.StaffAccount;
 import com.example.carebridge.repository.StaffAccountRepository;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@Slf4j
 @Service
 @Getter
 @Setter
 public class StaffAccountService {
 
     private StaffAccountRepository staffAccountRepository;
+    private PasswordHasher passwordHasher;
+    private Executor dbExecutor;
 
-    public StaffAccountService(StaffAccountRepository staffAccountRepository) {
+    public StaffAccountService(StaffAccountRepository staffAccountRepository, PasswordHasher passwordHasher,
+                               @Qualifier("staffAccountDbExecutor") Executor dbExecutor) {
         this.staffAccountRepository = staffAccountRepository;
+        this.passwordHasher = passwordHasher;
+        this.dbExecutor = dbExecutor;
     }
 
-    public Boolean verifyStaffAccount(StaffAccountDto staffAccountDto) {
+    /**
+     * 의료진 아이디/비밀번호를 검증합니다.
+     * 해시 검증은 passwordHasher 의 전용 스레드 풀에서 실행되므로 호출 스레드를 막지 않습니다.
+     * 평문이나 낮은 강도의 해시로 저장된 계정은 로그인에 성공하면 새 해시로 다시 저장합니다.
+     * 해시 전환 UPDATE 같은 DB 작업은 해시 풀이 아닌 DB 작업 풀(staffAccountDbExecutor)에서 실행하여
+     * 해시 계산 스레드를 DB 대기로 잡아 두지 않습니다.
+     *
+     * @param staffAccountDto 로그인 아이디와 비밀번호
+     * @return 검증 결과 (해시 또는 DB 작업 대기열이 가득 차면 RejectedExecutionException 으로 실패)
+     * @throws IllegalArgumentException 아이디에 해당하는 계정이 없는 경우
+     */
+    public CompletableFuture<Boolean> verifyStaffAccount(StaffAccountDto staffAccountDto) {
         StaffAccount staffAccount1 = staffAccountRepository.getStaffAccountByUserId(staffAccountDto.getUserId())
                 .orElseThrow(() -> new IllegalArgumentException("해당 아이디의 사용자를 찾을 수 없습니다."));
-        return staffAccountDto.getUserId().equals(staffAccount1.getUserId()) &&
-                staffAccountDto.getPassword().equals(staffAccount1.getPassword());
+        String storedPassword = staffAccount1.getPassword();
+        return passwordHasher.verify(staffAccountDto.getPassword(), storedPassword)
+                .thenApplyAsync(verification -> {
+                    if (verification.matches() && verification.upgradedHash() != null) {
+                        upgradePassword(staffAccount1.getUserId(), storedPassword, verification.upgradedHash());
+                    }
+                    return verification.matches();
+                }, dbExecutor);
     }
 
     public StaffAccountDto convertStaffAccountToStaffAccountDto(StaffAccount staffAccount) {
@@ -32,21 +61,33 @@ public class StaffAccountService {
         return staffAccountDto;
     }
 
-    public String findPassword(String id){
-        StaffAccount staffAccount  = staffAccountRepository.getStaffAccountByUserId(id)
-                .orElseThrow(() -> new IllegalArgumentException("해당 아이디의 사용자를 찾을 수 없습니다."));
-        return staffAccount.getPassword();
-    }
-
-    public void resetPassword(StaffAccountDto staffAccountDto, String newPassword) {
-        StaffAccount staffAccount = staffAccountRepository.getStaffAccountByUserId(staffAccountDto.getUserId())
+    /**
+     * 기존 비밀번호를 확인한 뒤 새 비밀번호의 해시로 교체합니다.
+     * 로그인과 같이 해시 검증/계산은 전용 스레드 풀에서, 저장은 DB 작업 풀에서 실행하므로 호출 스레드를 막지 않습니다.
+     *
+     * @param resetDto 로그인 아이디, 기존 비밀번호, 새 비밀번호
+     * @return 재설정 완료 (기존 비밀번호 불일치는 IllegalArgumentException,
+     *         대기열이 가득 차면 RejectedExecutionException 으로 실패)
+     * @throws IllegalArgumentException 계정이 없거나 새 비밀번호가 비었거나 기존 비밀번호와 같은 경우
+     */
+    public CompletableFuture<Void> resetPassword(StaffPasswordResetDto resetDto) {
+        String newPassword = resetDto.getNewPassword();
+        if (newPassword == null || newPassword.isBlank())
+            throw new IllegalArgumentException("새로운 비밀번호를 입력해주세요.");
+        StaffAccount staffAccount = staffAccountRepository.getStaffAccountByUserId(resetDto.getUserId())
                 .orElseThrow(() -> new IllegalArgumentException("해당 아이디의 사용자를 찾을 수 없습니다."));
-        if(!staffAccountDto.getPassword().equals(staffAccount.getPassword()))
-            throw new IllegalArgumentException("기존 비밀번호와 일치하지 않습니다.");
-        if(newPassword.equals(staffAccount.getPassword()))
+        if(newPassword.equals(resetDto.getPassword()))
             throw new IllegalArgumentException("새로운 비밀번호가 기존의 비밀번호와 일치합니다.");
-        staffAccount.setPassword(newPassword);
-        staffAccountRepository.save(staffAccount);
+        return passwordHasher.verify(resetDto.getPassword(), staffAccount.getPassword())
+                .thenCompose(verification -> {
+                    if (!verification.matches())
+                        throw new IllegalArgumentException("기존 비밀번호와 일치하지 않습니다.");
+                    return passwordHasher.hash(newPassword);
+                })
+                .thenAcceptAsync(hash -> {
+                    staffAccount.setPassword(hash);
+                    staffAccountRepository.save(staffAccount);
+                }, dbExecutor);
     }
 
     public StaffAccount findStaffAccountByUserId(String userId) {
@@ -54,4 +95,15 @@ public class StaffAccountService {
                 .getStaffAccountByUserId(userId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 아이디의 사용자를 찾을 수 없습니다."));
     }
+
+    // 로그인에 성공한 계정의 비밀번호를 새 해시로 교체 (실패해도 로그인은 계속 진행)
+    private void upgradePassword(String userId, String storedPassword, String upgradedHash) {
+        try {
+            if (staffAccountRepository.replacePassword(userId, storedPassword, upgradedHash) > 0) {
+                log.info("의료진 비밀번호 해시 전환 완료 - 아이디: {}", userId);
+            }
+        } catch (Exception e) {
+            log.error("의료진 비밀번호 해시 전환 실패 - 아이디: {}, 오류: {}", userId, e.getMessage(), e);
+        }
+    }
 }
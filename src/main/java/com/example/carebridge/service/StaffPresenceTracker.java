@@ -0,0 +1,124 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.util.UserDestinations;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 의료진 접속 상태 추적 서비스
+ * 의료진 전용 STOMP 경로(/user/queue/chat/staff/{id}, /user/queue/call-bell/board/{id}) 구독 여부로
+ * 현재 근무 화면을 열어 둔 의료진을 판단합니다.
+ *
+ * 주의사항:
+ * - 한 의료진이 여러 세션/구독을 가질 수 있으므로 구독 수를 세어 0이 되면 부재로 봅니다.
+ * - 인스턴스 메모리 기준이므로 단일 인스턴스 운영을 전제로 합니다.
+ */
+@Slf4j
+@Service
+public class StaffPresenceTracker {
+
+    private static final String[] STAFF_DESTINATION_PREFIXES = {
+            UserDestinations.USER_PREFIX + UserDestinations.STAFF_CHAT,
+            UserDestinations.USER_PREFIX + UserDestinations.CALL_BELL_BOARD};
+
+    /**
+     * 세션 ID → (구독 ID → 의료진 ID)
+     */
+    private final ConcurrentHashMap<String, Map<String, Integer>> subscriptions = new ConcurrentHashMap<>();
+
+    /**
+     * 의료진 ID → 활성 구독 수
+     */
+    private final ConcurrentHashMap<Integer, AtomicInteger> activeCounts = new ConcurrentHashMap<>();
+
+    /**
+     * 의료진 전용 경로 구독 시 접속 상태를 기록합니다.
+     *
+     * @param event STOMP SUBSCRIBE 이벤트
+     */
+    @EventListener
+    public void handleSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Integer staffId = staffIdOf(accessor.getDestination());
+        if (staffId == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Integer previous = subscriptions
+                .computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), staffId);
+        if (previous == null) {
+            activeCounts.computeIfAbsent(staffId, id -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    /**
+     * 구독 해제 시 접속 상태를 갱신합니다.
+     *
+     * @param event STOMP UNSUBSCRIBE 이벤트
+     */
+    @EventListener
+    public void handleUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, Integer> sessionSubscriptions = subscriptions.get(accessor.getSessionId());
+        if (sessionSubscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Integer staffId = sessionSubscriptions.remove(accessor.getSubscriptionId());
+        if (staffId != null) {
+            decrement(staffId);
+        }
+    }
+
+    /**
+     * 세션 종료 시 해당 세션의 모든 구독을 정리합니다.
+     *
+     * @param event STOMP 세션 종료 이벤트
+     */
+    @EventListener
+    public void handleDisconnect(SessionDisconnectEvent event) {
+        Map<String, Integer> sessionSubscriptions = subscriptions.remove(event.getSessionId());
+        if (sessionSubscriptions != null) {
+            sessionSubscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    /**
+     * 의료진이 현재 접속 중인지 확인합니다.
+     *
+     * @param medicalStaffId 의료진 ID
+     * @return 의료진 전용 경로를 하나 이상 구독 중이면 true
+     */
+    public boolean isPresent(Integer medicalStaffId) {
+        AtomicInteger count = activeCounts.get(medicalStaffId);
+        return count != null && count.get() > 0;
+    }
+
+    private void decrement(Integer staffId) {
+        activeCounts.computeIfPresent(staffId, (id, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+
+    private Integer staffIdOf(String destination) {
+        if (destination == null) {
+            return null;
+        }
+        for (String prefix : STAFF_DESTINATION_PREFIXES) {
+            if (destination.startsWith(prefix)) {
+                try {
+                    return Integer.valueOf(destination.substring(prefix.length()));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
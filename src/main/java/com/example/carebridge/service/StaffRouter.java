@@ -0,0 +1,85 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.entity.MedicalStaff;
+import com.example.carebridge.repository.MedicalStaffRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 담당 의료진 배정 서비스
+ * 같은 병원·분과의 모든 의료진 중 설정된 전략(callbell.routing.strategy)으로 한 명을 고릅니다.
+ *
+ * 처리 과정:
+ * 1. 병원 ID와 분과로 후보 의료진 조회 (병원 정보가 없으면 분과만으로 조회)
+ * 2. 현재 접속 중인 의료진만 남김 (아무도 접속하지 않았다면 전체 후보 유지)
+ * 3. 콜벨 보드의 미완료 요청 수를 부하로 하여 전략에 위임
+ */
+@Slf4j
+@Service
+public class StaffRouter {
+
+    private final MedicalStaffRepository medicalStaffRepository;
+    private final CallBellBoard callBellBoard;
+    private final StaffPresenceTracker staffPresenceTracker;
+    private final StaffRoutingStrategy strategy;
+
+    public StaffRouter(MedicalStaffRepository medicalStaffRepository,
+                       CallBellBoard callBellBoard,
+                       StaffPresenceTracker staffPresenceTracker,
+                       List<StaffRoutingStrategy> strategies,
+                       @Value("${callbell.routing.strategy:least-loaded}") String strategyName) {
+        this.medicalStaffRepository = medicalStaffRepository;
+        this.callBellBoard = callBellBoard;
+        this.staffPresenceTracker = staffPresenceTracker;
+
+        Map<String, StaffRoutingStrategy> byName = strategies.stream()
+                .collect(Collectors.toMap(StaffRoutingStrategy::name, Function.identity()));
+        this.strategy = byName.get(strategyName);
+        if (this.strategy == null) {
+            throw new IllegalArgumentException("알 수 없는 배정 전략입니다: " + strategyName + " (사용 가능: " + byName.keySet() + ")");
+        }
+        log.info("의료진 배정 전략: {}", strategyName);
+    }
+
+    /**
+     * 병원·분과의 담당 의료진을 배정합니다.
+     *
+     * @param hospitalId 병원 ID (null 이면 분과만으로 후보 조회)
+     * @param department 의료진 소속 분과
+     * @return 배정된 의료진
+     * @throws IllegalArgumentException 분과가 비어 있거나 해당 분과의 의료진이 없는 경우
+     */
+    @Transactional(readOnly = true)
+    public MedicalStaff route(Integer hospitalId, String department) {
+        if (department == null || department.trim().isEmpty()) {
+            throw new IllegalArgumentException("부서명은 필수 입력값입니다.");
+        }
+        List<MedicalStaff> staff = hospitalId != null
+                ? medicalStaffRepository.findAllByHospitalIdAndDepartment(hospitalId, department)
+                : medicalStaffRepository.findByDepartment(department);
+        if (staff.isEmpty()) {
+            log.error("병원 {} 부서 {}에 해당하는 의료진을 찾을 수 없습니다.", hospitalId, department);
+            throw new IllegalArgumentException("해당 부서의 의료진을 찾을 수 없습니다: " + department);
+        }
+
+        List<MedicalStaff> present = staff.stream()
+                .filter(s -> staffPresenceTracker.isPresent(s.getMedicalStaffId()))
+                .toList();
+        List<StaffRoutingStrategy.Candidate> candidates = (present.isEmpty() ? staff : present).stream()
+                .map(s -> new StaffRoutingStrategy.Candidate(s, callBellBoard.openCount(s.getMedicalStaffId())))
+                .toList();
+
+        StaffRoutingStrategy.Candidate selected = strategy.select(candidates);
+        log.debug("의료진 배정 - 병원: {}, 부서: {}, 후보: {}명(접속 {}명), 선택: {} (미완료 {}건)",
+                hospitalId, department, staff.size(), present.size(),
+                selected.staff().getMedicalStaffId(), selected.openRequests());
+        return selected.staff();
+    }
+}
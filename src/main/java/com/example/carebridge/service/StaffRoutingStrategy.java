@@ -0,0 +1,40 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.entity.MedicalStaff;
+
+import java.util.List;
+
+/**
+ * 콜벨/채팅 담당 의료진 배정 전략 인터페이스
+ * StaffRouter 가 같은 병원·분과의 후보 의료진과 현재 부하를 넘겨주면 한 명을 고릅니다.
+ *
+ * 구현체:
+ * - LeastLoadedRoutingStrategy: 미완료 요청이 가장 적은 의료진 (callbell.routing.strategy=least-loaded, 기본값)
+ * - WeightedRoundRobinRoutingStrategy: 남은 처리 여력에 비례한 가중 라운드로빈 (callbell.routing.strategy=weighted-round-robin)
+ */
+public interface StaffRoutingStrategy {
+
+    /**
+     * 설정값(callbell.routing.strategy)에서 사용하는 전략 이름
+     *
+     * @return 전략 이름
+     */
+    String name();
+
+    /**
+     * 후보 중 한 명을 선택합니다.
+     *
+     * @param candidates 비어 있지 않은 후보 목록 (의료진 ID 순)
+     * @return 선택된 후보
+     */
+    Candidate select(List<Candidate> candidates);
+
+    /**
+     * 배정 후보 의료진과 현재 부하
+     *
+     * @param staff 의료진
+     * @param openRequests 현재 미완료 요청 수
+     */
+    record Candidate(MedicalStaff staff, int openRequests) {
+    }
+}
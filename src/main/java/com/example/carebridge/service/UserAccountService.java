@@ -4,126 +4,191 @@ import com.example.carebridge.dto.UserAccountDto;
 import com.example.carebridge.dto.VerifyAccountDto;
 import com.example.carebridge.entity.UserAccount;
 import com.example.carebridge.repository.UserAccountRepository;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
-import net.nurigo.sdk.message.model.Message;
-import net.nurigo.sdk.message.request.SingleMessageSendingRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
-import net.nurigo.sdk.message.service.DefaultMessageService;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
 import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.Random;
 
+@Slf4j
 @Service
 @Getter
 @Setter
 public class UserAccountService {
-    private final UserAccountRepository userAccountRepository;
-    private final DefaultMessageService smsMessageService;
+    // 이전 버전에서 인증번호 발송 시 만들던 임시 계정의 이름 (가입이 끝나지 않은 계정)
+    private static final String PLACEHOLDER_NAME = "UserName";
+    private static final String OTP_HASH_ALGORITHM = "HmacSHA256";
 
-    public UserAccountService(UserAccountRepository userAccountRepository, DefaultMessageService smsMessageService) {
+    private final UserAccountRepository userAccountRepository;
+    private final SmsDispatcher smsDispatcher;
+    private final OtpRateLimiter otpRateLimiter;
+    private final OtpStore otpStore;
+    private final ProfileCache profileCache;
+    private final long otpTtlSeconds;
+    private final int otpMaxAttempts;
+    private final SecureRandom random = new SecureRandom();
+    @Getter(AccessLevel.NONE)
+    private final SecretKeySpec otpHashKey;
+
+    public UserAccountService(UserAccountRepository userAccountRepository, SmsDispatcher smsDispatcher,
+                              OtpRateLimiter otpRateLimiter, OtpStore otpStore, ProfileCache profileCache,
+                              @Value("${otp.ttl-seconds:300}") long otpTtlSeconds,
+                              @Value("${otp.max-attempts:5}") int otpMaxAttempts,
+                              @Value("${otp.hash-secret:}") String otpHashSecret) {
         this.userAccountRepository = userAccountRepository;
-        this.smsMessageService = smsMessageService;
+        this.smsDispatcher = smsDispatcher;
+        this.otpRateLimiter = otpRateLimiter;
+        this.otpStore = otpStore;
+        this.profileCache = profileCache;
+        this.otpTtlSeconds = otpTtlSeconds;
+        this.otpMaxAttempts = otpMaxAttempts;
+        this.otpHashKey = new SecretKeySpec(otpHashSecret(otpHashSecret), OTP_HASH_ALGORITHM);
+    }
+
+    // 인증번호 해시 키 (Base64, 32바이트 이상). 설정하지 않으면 임의의 키를 만들며, 재시작/다른 인스턴스에서는 발송한 인증번호를 검증할 수 없음
+    private byte[] otpHashSecret(String configured) {
+        if (configured.isBlank()) {
+            byte[] secret = new byte[32];
+            random.nextBytes(secret);
+            log.warn("otp.hash-secret 이 설정되지 않아 임의의 키를 사용합니다. 인스턴스 간(otp.store=database)에는 인증번호를 검증할 수 없습니다.");
+            return secret;
+        }
+        byte[] secret = Base64.getDecoder().decode(configured.trim());
+        if (secret.length < 32) {
+            throw new IllegalArgumentException("otp.hash-secret 은 32바이트 이상이어야 합니다.");
+        }
+        return secret;
     }
 
     public UserAccountDto getUserAccount(String phone_number){
-        UserAccount userAccount = userAccountRepository.findByPhoneNumber(phone_number)
+        UserAccount userAccount = profileCache.findUserAccountByPhone(phone_number)
                 .orElseThrow(() -> new IllegalArgumentException("해당 전화번호의 사용자를 찾을 수 없습니다."));
         return convertUserAccountToUserAccountDto(userAccount);
     }
 
     public UserAccountDto getUserAccountByEmail(String email){
-        UserAccount userAccount = userAccountRepository.findByEmail(email)
+        UserAccount userAccount = profileCache.findUserAccountByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("해당 이메일을 가진 사용자를 찾을 수 없습니다."));
         return convertUserAccountToUserAccountDto(userAccount);
     }
 
     public void createUserAccount(UserAccountDto userAccountDto){
         Optional<UserAccount> userAccount = userAccountRepository.findByPhoneNumber(userAccountDto.getPhoneNumber());
-        if(userAccount.isPresent())
+        if(userAccount.isPresent() && !userAccount.get().getName().equals(PLACEHOLDER_NAME))
             throw new DuplicateKeyException("이미 등록된 전화번호입니다.");
-        UserAccount newUserAccount = new UserAccount();
+        // 이전 버전이 남긴 임시 계정이 있으면 그 계정에 가입 정보를 채움
+        UserAccount newUserAccount = userAccount.orElseGet(UserAccount::new);
         newUserAccount.update(userAccountDto);
         userAccountRepository.save(newUserAccount);
+        profileCache.evictUserAccountByPhone(userAccountDto.getPhoneNumber());
     }
 
     public UserAccountDto updateUserAccount(String phone_number, UserAccountDto userAccountDto){
         UserAccount userAccount = userAccountRepository.findByPhoneNumber(phone_number)
                 .orElseThrow(() -> new IllegalArgumentException("해당 전화번호의 사용자를 찾을 수 없습니다."));
+        Integer userId = userAccount.getId();
+        String previousPhone = userAccount.getPhoneNumber();
+        String previousEmail = userAccount.getEmail();
         userAccount.update(userAccountDto);
         userAccountRepository.save(userAccount);
+        profileCache.evictUserAccount(userId);
+        // 같은 전화번호/이메일로 보관된 환자 항목도 이전 연락처와 새 연락처 모두 지움
+        profileCache.evictPatientByContact(previousPhone, previousEmail);
+        profileCache.evictPatientByContact(userAccount.getPhoneNumber(), userAccount.getEmail());
         return convertUserAccountToUserAccountDto(userAccount);
     }
 
-    public void sendOtp(String phone_number, boolean isSignup){
+    /**
+     * 인증번호를 생성하여 OTP 저장소에 해시로 저장하고 SMS 로 발송합니다.
+     * 가입하지 않은 번호도 계정을 만들지 않으며, 계정은 회원가입(createUserAccount) 시에만 생성됩니다.
+     * 전화번호/IP 별 발송 한도를 먼저 확인하고, 실제 발송은 SmsDispatcher 가 비동기로 처리합니다.
+     * 인증번호는 발송 대기열에 들어간 뒤 발송 직전에 저장하므로, 503 으로 거절된 요청은 기존 인증번호를 덮어쓰지 않습니다.
+     *
+     * @param phone_number 발송 대상 전화번호
+     * @param isSignup 회원가입용이면 true, 로그인용이면 false
+     * @param clientIp 요청한 클라이언트 IP (알 수 없으면 null)
+     * @return 발송 요청 ID
+     * @throws com.example.carebridge.exception.RateLimitExceededException 발송 한도를 넘은 경우
+     * @throws java.util.concurrent.RejectedExecutionException 발송 대기열이 가득 찬 경우
+     */
+    public String sendOtp(String phone_number, boolean isSignup, String clientIp){
+        otpRateLimiter.check(phone_number, clientIp);
 
         Optional<UserAccount> optionalUserAccount = userAccountRepository.findByPhoneNumber(phone_number);
 
         if (isSignup){
             // 회원가입: 이미 등록된 전화번호인지 확인
-            if (optionalUserAccount.isPresent() && !optionalUserAccount.get().getName().equals("UserName"))
+            if (optionalUserAccount.isPresent() && !optionalUserAccount.get().getName().equals(PLACEHOLDER_NAME))
                 throw new IllegalArgumentException("이미 가입된 전화번호입니다.");
         }
         else {
             // 로그인: 등록된 전화번호인지 확인
             if (optionalUserAccount.isEmpty())
                 throw new NoSuchElementException("등록되지 않은 전화번호입니다.");
-            else if(optionalUserAccount.get().getName().equals("UserName"))
+            else if(optionalUserAccount.get().getName().equals(PLACEHOLDER_NAME))
                 throw new IllegalStateException("회원가입이 정상적으로 등록되지 않았습니다.");
         }
 
+        // 발송 대기열에 들어간 뒤(발송 직전)에 저장하므로, 대기열이 가득 차 거절되면 기존 인증번호가 그대로 유효합니다.
         String otp = generateRandomNumber(6);
-        LocalDateTime expiryTime = LocalDateTime.now().plusMinutes(5);
-
-        UserAccount userAccount = optionalUserAccount.orElseGet(() -> {
-            UserAccount newAccount = new UserAccount();
-            newAccount.setName("UserName");
-            newAccount.setPhoneNumber(phone_number);
-            newAccount.setBirthDate(LocalDateTime.now());
-            newAccount.setGender(UserAccount.Gender.Male);
-            newAccount.setEmail("email@email.com");
-            return newAccount;
-        });
-
-        userAccount.setOtp(otp);
-        userAccount.setOtpExpiry(expiryTime);
-        userAccountRepository.save(userAccount);
-
-        Message message = new Message();
-        message.setFrom("01032330241");
-        message.setTo(phone_number);
-        message.setText("[CareBridge] 인증번호는 \n[ " + otp + " ] 입니다");
-
-        this.smsMessageService.sendOne(new SingleMessageSendingRequest(message));
+        return smsDispatcher.send(phone_number, "[CareBridge] 인증번호는 \n[ " + otp + " ] 입니다",
+                () -> otpStore.save(phone_number, hashOtp(phone_number, otp), LocalDateTime.now().plusSeconds(otpTtlSeconds)));
     }
 
+    /**
+     * 입력한 인증번호를 OTP 저장소에서 검증합니다. (DB 조회 없음)
+     * 만료 전까지는 여러 번 검증할 수 있지만(인증 확인 후 로그인), 시도 횟수는 otp.max-attempts 로 제한됩니다.
+     */
     public boolean verifyOtp(VerifyAccountDto verifyAccountDto) {
-        UserAccount userAccount = userAccountRepository.findByPhoneNumber(verifyAccountDto.getPhone())
-                .orElseThrow(() -> new NoSuchElementException("해당 전화번호의 사용자를 찾을 수 없습니다."));
-
-        return userAccount.getOtp().equals(verifyAccountDto.getOtp()) &&
-                userAccount.getOtpExpiry().isAfter(LocalDateTime.now());
+        if (verifyAccountDto.getPhone() == null || verifyAccountDto.getOtp() == null)
+            throw new IllegalArgumentException("전화번호와 인증번호는 필수입니다.");
+
+        OtpStore.Result result = otpStore.verify(verifyAccountDto.getPhone(),
+                hashOtp(verifyAccountDto.getPhone(), verifyAccountDto.getOtp()), otpMaxAttempts);
+        if (result != OtpStore.Result.VERIFIED)
+            log.debug("인증번호 검증 실패 - 결과: {}", result);
+        return result == OtpStore.Result.VERIFIED;
     }
 
     public boolean isValidUserAccount(String phone_number){
-        UserAccount userAccount = userAccountRepository.findByPhoneNumber(phone_number)
+        UserAccount userAccount = profileCache.findUserAccountByPhone(phone_number)
                 .orElseThrow(() -> new NoSuchElementException("해당 전화번호의 사용자를 찾을 수 없습니다."));
-        return !userAccount.getName().equals("UserName") &&
+        return !userAccount.getName().equals(PLACEHOLDER_NAME) &&
                 !userAccount.getEmail().equals("email@email.com");
     }
 
     public String generateRandomNumber(int num) {
-        Random rand = new Random();
         StringBuilder numStr = new StringBuilder();
         for (int i = 0; i < num; i++) {
-            numStr.append(rand.nextInt(10));
+            numStr.append(random.nextInt(10));
         }
         return numStr.toString();
     }
 
+    // 인증번호 원문 대신 저장할 HMAC-SHA256 (6자리 번호는 키 없이 전수 대입으로 되돌릴 수 있으므로 otp.hash-secret 으로 서명)
+    private String hashOtp(String phoneNumber, String otp) {
+        try {
+            Mac mac = Mac.getInstance(OTP_HASH_ALGORITHM);
+            mac.init(otpHashKey);
+            return HexFormat.of().formatHex(mac.doFinal((phoneNumber + ":" + otp).getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 을 사용할 수 없습니다.", e);
+        }
+    }
+
     public UserAccountDto convertUserAccountToUserAccountDto(UserAccount userAccount){
         UserAccountDto userAccountDto = new UserAccountDto();
         userAccountDto.setUserId(userAccount.getId());
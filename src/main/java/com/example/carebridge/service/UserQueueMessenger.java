@@ -0,0 +1,143 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.util.AuthPrincipal;
+import com.example.carebridge.util.UserDestinations;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * STOMP 사용자 경로(/user/queue/...) 전송 서비스
+ * 모든 실시간 전송은 convertAndSendToUser 로 보내므로, 경로를 알아도 다른 사용자의 메시지는 받을 수 없습니다.
+ *
+ * 동작 방식:
+ * - 환자에게는 환자 ID 로 만든 사용자 이름(AuthPrincipal.patientFor)으로 바로 보냅니다.
+ * - 의료진 화면(의료진 ID, 병동 단위 경로)은 한 병원의 여러 계정이 함께 보므로, 해당 경로를 구독 중인 사용자에게만 보냅니다.
+ *   구독 권한은 StompSubscribeInterceptor 가 SUBSCRIBE 시점에 확인하므로 구독자 목록에는 권한이 있는 사용자만 남습니다.
+ * - 구독자 목록은 SUBSCRIBE/UNSUBSCRIBE/DISCONNECT 이벤트로 유지하며, 인스턴스 메모리 기준입니다. (단일 인스턴스 운영 전제)
+ */
+@Slf4j
+@Service
+public class UserQueueMessenger {
+
+    private static final String USER_QUEUE_PREFIX = UserDestinations.USER_PREFIX + "/queue/";
+
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    /**
+     * 경로(USER_PREFIX 제외) → (세션 ID → 사용자 이름)
+     */
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, String>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * 세션 ID → (구독 ID → 경로)
+     */
+    private final ConcurrentHashMap<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+
+    public UserQueueMessenger(SimpMessageSendingOperations messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    /**
+     * 환자에게 메시지를 보냅니다.
+     *
+     * @param patientId 환자 ID
+     * @param destination 사용자 경로 (UserDestinations, USER_PREFIX 제외)
+     * @param payload 전송할 값
+     */
+    public void sendToPatient(Integer patientId, String destination, Object payload) {
+        messagingTemplate.convertAndSendToUser(AuthPrincipal.patientFor(patientId), destination, payload);
+    }
+
+    /**
+     * 경로를 구독 중인 사용자에게만 메시지를 보냅니다.
+     *
+     * @param destination 사용자 경로 (UserDestinations, USER_PREFIX 제외)
+     * @param payload 전송할 값
+     */
+    public void sendToSubscribers(String destination, Object payload) {
+        Map<String, String> sessionUsers = subscribers.get(destination);
+        if (sessionUsers == null || sessionUsers.isEmpty()) {
+            return;
+        }
+        for (String user : new HashSet<>(sessionUsers.values())) {
+            messagingTemplate.convertAndSendToUser(user, destination, payload);
+        }
+    }
+
+    /**
+     * 인증된 세션의 사용자 경로 구독을 기록합니다.
+     *
+     * @param event STOMP SUBSCRIBE 이벤트 (StompSubscribeInterceptor 를 통과한 구독만 발생)
+     */
+    @EventListener
+    public void handleSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Principal user = event.getUser();
+        String destination = accessor.getDestination();
+        if (user == null || destination == null || !destination.startsWith(USER_QUEUE_PREFIX)
+                || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        String userDestination = destination.substring(UserDestinations.USER_PREFIX.length());
+        sessions.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), userDestination);
+        // 마지막 구독자가 빠지며 목록이 제거되는 것과 겹치지 않도록 compute 안에서 추가
+        subscribers.compute(userDestination, (key, sessionUsers) -> {
+            ConcurrentHashMap<String, String> users = sessionUsers != null ? sessionUsers : new ConcurrentHashMap<>();
+            users.put(accessor.getSessionId(), user.getName());
+            return users;
+        });
+    }
+
+    /**
+     * 구독 해제 시 구독자 목록에서 제거합니다.
+     *
+     * @param event STOMP UNSUBSCRIBE 이벤트
+     */
+    @EventListener
+    public void handleUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> sessionSubscriptions = sessions.get(accessor.getSessionId());
+        if (sessionSubscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        String destination = sessionSubscriptions.remove(accessor.getSubscriptionId());
+        // 같은 세션이 같은 경로를 여러 번 구독했다면 마지막 구독이 해제될 때만 제거
+        if (destination != null && !sessionSubscriptions.containsValue(destination)) {
+            removeSubscriber(destination, accessor.getSessionId());
+        }
+    }
+
+    /**
+     * 세션 종료 시 해당 세션의 모든 구독을 정리합니다.
+     *
+     * @param event STOMP 세션 종료 이벤트
+     */
+    @EventListener
+    public void handleDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> sessionSubscriptions = sessions.remove(event.getSessionId());
+        if (sessionSubscriptions != null) {
+            Set<String> destinations = new HashSet<>(sessionSubscriptions.values());
+            destinations.forEach(destination -> removeSubscriber(destination, event.getSessionId()));
+        }
+    }
+
+    private void removeSubscriber(String destination, String sessionId) {
+        subscribers.computeIfPresent(destination, (key, sessionUsers) -> {
+            sessionUsers.remove(sessionId);
+            return sessionUsers.isEmpty() ? null : sessionUsers;
+        });
+    }
+}
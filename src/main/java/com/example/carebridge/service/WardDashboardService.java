@@ -0,0 +1,325 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.WardDashboardDto;
+import com.example.carebridge.entity.ExaminationSchedule;
+import com.example.carebridge.entity.MedicalStaff;
+import com.example.carebridge.repository.ExaminationScheduleRepository;
+import com.example.carebridge.repository.MedicalStaffRepository;
+import com.example.carebridge.repository.MessageRepository;
+import com.example.carebridge.repository.RequestRepository;
+import com.example.carebridge.util.UserDestinations;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 병동(병원·분과) 단위 실시간 현황 서비스
+ * 책임 간호사 화면에 필요한 집계를 요청마다 계산하지 않고, 도메인 이벤트로 카운터만 증감하여 유지합니다.
+ *
+ * 집계 항목:
+ * - 미완료 콜벨 요청 수 (RequestChangedEvent)
+ * - 의료진이 읽지 않은 환자 메시지 수 (MessageChangedEvent)
+ * - 오늘 수락된 요청의 평균 대기 시간 (RequestChangedEvent 의 첫 수락)
+ * - 오늘 검사 일정이 있는 환자 수 (ExaminationScheduleChangedEvent)
+ *
+ * 동작 방식:
+ * - 요청/메시지/검사 일정은 담당 의료진의 병원·분과를 병동으로 봅니다.
+ * - 카운터는 LongAdder 라 여러 스레드가 동시에 증감해도 경합이 적습니다.
+ * - 변경된 병동만 표시해 두었다가 ward.dashboard.broadcast-interval-ms 마다 한 번씩
+ *   /user/queue/ward/{hospitalId}/{department} 구독자에게 현재 값을 전송합니다.
+ * - 서버 시작 시와 매일 자정(병원 시간대 hospital.time-zone 기준)에 DB 집계 쿼리로 값을 다시 채워
+ *   누적 오차를 바로잡습니다. 재집계 중에 들어온 변경은 기존 값과 새로 채우는 값에 함께 반영하므로
+ *   교체 시점에 사라지지 않습니다.
+ * - "오늘" 은 병원 시간대의 날짜입니다. 요청/수락 시간은 서버 시간대로 저장되므로 병원 시간대로 바꿔 비교하고,
+ *   검사 일정은 병원 시간대의 일정 시각이므로 그대로 비교합니다.
+ */
+@Slf4j
+@Service
+public class WardDashboardService {
+
+    private final RequestRepository requestRepository;
+    private final MessageRepository messageRepository;
+    private final ExaminationScheduleRepository scheduleRepository;
+    private final MedicalStaffRepository medicalStaffRepository;
+    private final UserQueueMessenger userQueueMessenger;
+
+    private final ZoneId hospitalZone;
+
+    private volatile ConcurrentHashMap<WardKey, WardCounters> wards = new ConcurrentHashMap<>();
+
+    /**
+     * 재집계 중에만 채워지는 새 카운터 (재집계 중 들어온 변경을 함께 반영하기 위해 둡니다)
+     */
+    private volatile ConcurrentHashMap<WardKey, WardCounters> rebuilding;
+    private final Set<WardKey> dirty = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<Integer, Optional<WardKey>> staffWards = new ConcurrentHashMap<>();
+
+    public WardDashboardService(RequestRepository requestRepository,
+                                MessageRepository messageRepository,
+                                ExaminationScheduleRepository scheduleRepository,
+                                MedicalStaffRepository medicalStaffRepository,
+                                UserQueueMessenger userQueueMessenger,
+                                @Value("${hospital.time-zone:Asia/Seoul}") String hospitalTimeZone) {
+        this.requestRepository = requestRepository;
+        this.messageRepository = messageRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.medicalStaffRepository = medicalStaffRepository;
+        this.userQueueMessenger = userQueueMessenger;
+        this.hospitalZone = ZoneId.of(hospitalTimeZone);
+    }
+
+    /**
+     * DB 집계 쿼리로 모든 병동의 값을 다시 채웁니다.
+     * 서버 시작 시와 매일 자정(평균 대기 시간, 오늘 검사 환자 수 초기화)에 실행됩니다.
+     * 집계하는 동안 들어온 변경은 새 카운터에도 반영되며, 집계가 끝나면 새 카운터로 교체합니다.
+     * 집계 이후에는 커밋 이벤트로만 증감하므로, 복제본 지연이 오차로 남지 않도록 readOnly 없이 원본에서 집계합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${ward.dashboard.rebuild-cron:0 0 0 * * *}", zone = "${hospital.time-zone:Asia/Seoul}")
+    @Transactional
+    public synchronized void rebuild() {
+        staffWards.clear();
+        ConcurrentHashMap<WardKey, WardCounters> rebuilt = new ConcurrentHashMap<>();
+        rebuilding = rebuilt;
+        try {
+            for (Object[] row : requestRepository.countByMedicalStaffIdAndStatusIn(CallBellBoard.OPEN_STATUSES)) {
+                wardOf((Integer) row[0]).ifPresent(ward ->
+                        rebuilt.computeIfAbsent(ward, k -> new WardCounters()).openRequests.add((Long) row[1]));
+            }
+            for (Object[] row : messageRepository.countUnreadPatientMessagesByMedicalStaffId()) {
+                wardOf((Integer) row[0]).ifPresent(ward ->
+                        rebuilt.computeIfAbsent(ward, k -> new WardCounters()).unreadMessages.add((Long) row[1]));
+            }
+            LocalDateTime today = today().atStartOfDay();
+            for (ExaminationSchedule schedule : scheduleRepository.findByScheduleDateRange(today, today.plusDays(1))) {
+                wardOf(schedule.getMedicalStaffId()).ifPresent(ward ->
+                        rebuilt.computeIfAbsent(ward, k -> new WardCounters()).addExam(schedule.getPatientId(), 1));
+            }
+            for (Object[] row : requestRepository.findAcceptTimesBetween(
+                    toServerTime(today), toServerTime(today.plusDays(1)))) {
+                wardOf((Integer) row[0]).ifPresent(ward -> rebuilt.computeIfAbsent(ward, k -> new WardCounters())
+                        .addWait((LocalDateTime) row[1], (LocalDateTime) row[2]));
+            }
+
+            wards = rebuilt;
+        } finally {
+            rebuilding = null;
+        }
+        dirty.addAll(rebuilt.keySet());
+        log.info("병동 대시보드 재집계 완료 - 병동: {}개", rebuilt.size());
+    }
+
+    /**
+     * 콜벨 요청 변경을 미완료 요청 수와 평균 대기 시간에 반영합니다.
+     *
+     * @param event 요청 변경 이벤트
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestChanged(RequestChangedEvent event) {
+        boolean wasOpen = event.getType() != RequestChangedEvent.Type.CREATED
+                && CallBellBoard.OPEN_STATUSES.contains(event.getPreviousStatus());
+        boolean isOpen = event.getType() != RequestChangedEvent.Type.DELETED
+                && CallBellBoard.OPEN_STATUSES.contains(event.getStatus());
+        boolean acceptedToday = event.getPreviousAcceptTime() == null && event.getAcceptTime() != null
+                && event.getRequestTime() != null
+                && hospitalDateOf(event.getAcceptTime()).equals(today());
+        if (wasOpen == isOpen && !acceptedToday) {
+            return;
+        }
+        wardOf(event.getMedicalStaffId()).ifPresent(ward -> apply(ward, counters -> {
+            if (wasOpen != isOpen) {
+                counters.openRequests.add(isOpen ? 1 : -1);
+            }
+            if (acceptedToday) {
+                counters.addWait(event.getRequestTime(), event.getAcceptTime());
+            }
+        }));
+    }
+
+    /**
+     * 환자 메시지의 저장/읽음을 읽지 않은 메시지 수에 반영합니다.
+     *
+     * @param event 메시지 변경 이벤트
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageChanged(MessageChangedEvent event) {
+        if (!event.isFromPatient() || event.isUnreadBefore() == event.isUnreadAfter()) {
+            return;
+        }
+        wardOf(event.getMedicalStaffId()).ifPresent(ward ->
+                apply(ward, counters -> counters.unreadMessages.add(event.isUnreadAfter() ? 1 : -1)));
+    }
+
+    /**
+     * 검사 일정 변경을 오늘 검사 환자 수에 반영합니다.
+     *
+     * @param event 검사 일정 변경 이벤트
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExaminationScheduleChanged(ExaminationScheduleChangedEvent event) {
+        applyExam(event.getBefore(), -1);
+        applyExam(event.getAfter(), 1);
+    }
+
+    /**
+     * 변경된 병동의 현재 값을 구독자에게 전송합니다.
+     * 이벤트마다 전송하지 않고 주기마다 병동당 한 번만 보내 전송량을 제한합니다.
+     */
+    @Scheduled(fixedDelayString = "${ward.dashboard.broadcast-interval-ms:2000}")
+    public void broadcast() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        for (WardKey ward : new ArrayList<>(dirty)) {
+            dirty.remove(ward);
+            try {
+                userQueueMessenger.sendToSubscribers(
+                        UserDestinations.ward(ward.hospitalId(), ward.department()), snapshot(ward));
+            } catch (Exception e) {
+                log.error("병동 현황 전송 실패 - 병동: {}, 오류: {}", ward, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 병동의 현재 현황을 조회합니다.
+     *
+     * @param hospitalId 병원 ID
+     * @param department 분과 이름
+     * @return 병동 현황 (집계된 값이 없으면 모두 0)
+     */
+    public WardDashboardDto getDashboard(Integer hospitalId, String department) {
+        return snapshot(new WardKey(hospitalId, department));
+    }
+
+    private void applyExam(ExaminationScheduleChangedEvent.Snapshot schedule, int delta) {
+        if (schedule == null || schedule.scheduleDate() == null
+                || !schedule.scheduleDate().toLocalDate().equals(today())) {
+            return;
+        }
+        wardOf(schedule.medicalStaffId()).ifPresent(ward ->
+                apply(ward, counters -> counters.addExam(schedule.patientId(), delta)));
+    }
+
+    private WardDashboardDto snapshot(WardKey ward) {
+        WardCounters counters = wards.getOrDefault(ward, new WardCounters());
+        long accepted = counters.acceptedCount.sum();
+        return WardDashboardDto.builder()
+                .hospitalId(ward.hospitalId())
+                .department(ward.department())
+                .openRequests(Math.max(0, counters.openRequests.sum()))
+                .unreadMessages(Math.max(0, counters.unreadMessages.sum()))
+                .averageWaitSeconds(accepted == 0 ? 0 : counters.waitMillisSum.sum() / accepted / 1000)
+                .acceptedToday(accepted)
+                .patientsWithExamToday(counters.examsByPatient.size())
+                .updatedAt(LocalDateTime.now().toString())
+                .build();
+    }
+
+    /**
+     * 병동 카운터에 변경을 반영합니다.
+     * 재집계 중이면 교체될 새 카운터에도 같은 변경을 반영합니다.
+     * (rebuilding 을 wards 보다 먼저 읽어야 교체 직후에 두 번 반영되거나 빠지지 않습니다)
+     */
+    private void apply(WardKey ward, Consumer<WardCounters> change) {
+        ConcurrentHashMap<WardKey, WardCounters> next = rebuilding;
+        ConcurrentHashMap<WardKey, WardCounters> current = wards;
+        change.accept(current.computeIfAbsent(ward, k -> new WardCounters()));
+        if (next != null && next != current) {
+            change.accept(next.computeIfAbsent(ward, k -> new WardCounters()));
+        }
+        dirty.add(ward);
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(hospitalZone);
+    }
+
+    /**
+     * 서버 시간대로 저장된 시각의 병원 시간대 날짜를 구합니다.
+     */
+    private LocalDate hospitalDateOf(LocalDateTime serverTime) {
+        return serverTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(hospitalZone).toLocalDate();
+    }
+
+    /**
+     * 병원 시간대 시각을 서버 시간대 시각으로 바꿉니다.
+     */
+    private LocalDateTime toServerTime(LocalDateTime hospitalTime) {
+        return hospitalTime.atZone(hospitalZone).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    /**
+     * 의료진의 병동은 바뀌는 일이 드물어 처음 한 번만 조회하여 보관합니다. (자정 재집계 시 초기화)
+     */
+    private Optional<WardKey> wardOf(Integer medicalStaffId) {
+        if (medicalStaffId == null) {
+            return Optional.empty();
+        }
+        return staffWards.computeIfAbsent(medicalStaffId, id -> medicalStaffRepository.findByMedicalStaffId(id)
+                .map(WardDashboardService::wardKeyOf));
+    }
+
+    private static WardKey wardKeyOf(MedicalStaff staff) {
+        return new WardKey(staff.getHospitalId(), staff.getDepartment());
+    }
+
+    /**
+     * 병동 식별자 (병원 ID + 분과)
+     */
+    private record WardKey(Integer hospitalId, String department) {
+    }
+
+    /**
+     * 병동 한 곳의 카운터
+     */
+    private static class WardCounters {
+        private final LongAdder openRequests = new LongAdder();
+        private final LongAdder unreadMessages = new LongAdder();
+        private final LongAdder waitMillisSum = new LongAdder();
+        private final LongAdder acceptedCount = new LongAdder();
+
+        /**
+         * 환자별 오늘 검사 건수 (같은 환자의 검사가 여러 건이어도 환자 수는 한 명으로 셉니다)
+         */
+        private final ConcurrentHashMap<Integer, Integer> examsByPatient = new ConcurrentHashMap<>();
+
+        void addWait(LocalDateTime requestTime, LocalDateTime acceptTime) {
+            if (requestTime == null || acceptTime == null) {
+                return;
+            }
+            long waitMillis = Duration.between(requestTime, acceptTime).toMillis();
+            if (waitMillis >= 0) {
+                waitMillisSum.add(waitMillis);
+                acceptedCount.increment();
+            }
+        }
+
+        void addExam(Integer patientId, int delta) {
+            if (patientId == null) {
+                return;
+            }
+            examsByPatient.compute(patientId, (id, count) -> {
+                int next = (count == null ? 0 : count) + delta;
+                return next <= 0 ? null : next;
+            });
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.carebridge.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 남은 처리 여력에 비례하여 배정하는 가중 라운드로빈 전략 (smooth weighted round-robin)
+ * 가중치 = max(1, 의료진당 목표 처리량 - 현재 미완료 요청 수) 이며,
+ * 매 선택마다 가중치만큼 점수를 더하고 가장 높은 의료진을 고른 뒤 전체 가중치만큼 뺍니다.
+ */
+@Component
+public class WeightedRoundRobinRoutingStrategy implements StaffRoutingStrategy {
+
+    private final int capacity;
+
+    /**
+     * 의료진 ID → 누적 점수
+     */
+    private final ConcurrentHashMap<Integer, Long> currentWeights = new ConcurrentHashMap<>();
+
+    public WeightedRoundRobinRoutingStrategy(@Value("${callbell.routing.staff-capacity:10}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public String name() {
+        return "weighted-round-robin";
+    }
+
+    @Override
+    public synchronized Candidate select(List<Candidate> candidates) {
+        long total = 0;
+        Candidate best = null;
+        long bestScore = Long.MIN_VALUE;
+        for (Candidate candidate : candidates) {
+            int weight = Math.max(1, capacity - candidate.openRequests());
+            total += weight;
+            long score = currentWeights.merge(candidate.staff().getMedicalStaffId(), (long) weight, Long::sum);
+            if (score > bestScore) {
+                bestScore = score;
+                best = candidate;
+            }
+        }
+        currentWeights.merge(best.staff().getMedicalStaffId(), -total, Long::sum);
+        return best;
+    }
+}
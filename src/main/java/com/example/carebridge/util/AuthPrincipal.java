@@ -0,0 +1,47 @@
+package com.example.carebridge.util;
+
+import java.security.Principal;
+
+/**
+ * JWT 로 인증된 사용자
+ * REST 요청(HttpServletRequest.getUserPrincipal)과 STOMP 세션(SimpMessageHeaderAccessor.getUser)에 같은 값이 연결됩니다.
+ *
+ * getName 은 convertAndSendToUser 의 사용자 이름으로 쓰이며, 계정마다 다릅니다.
+ * - 환자: "patient:{patientId}" (보내는 쪽이 환자 ID 로 만들 수 있도록 patientFor 로 생성)
+ * - 의료진: "staff:{로그인 ID}" (JWT subject, 의료진 화면 경로는 구독 중인 계정에게만 보냄 - UserQueueMessenger)
+ *
+ * @param role 사용자 유형
+ * @param subject JWT subject (환자는 전화번호, 의료진은 "staff:{로그인 ID}")
+ * @param patientId 환자 ID (의료진이면 null)
+ * @param hospitalId 의료진의 병원 ID (환자면 null)
+ */
+public record AuthPrincipal(Role role, String subject, Integer patientId, Integer hospitalId) implements Principal {
+
+    /**
+     * 인증된 사용자를 HttpServletRequest 에 보관할 때 사용하는 속성 이름
+     */
+    public static final String REQUEST_ATTRIBUTE = "carebridge.authPrincipal";
+
+    /**
+     * 사용자 유형
+     */
+    public enum Role {
+        PATIENT,
+        STAFF
+    }
+
+    @Override
+    public String getName() {
+        return role == Role.STAFF ? subject : patientFor(patientId);
+    }
+
+    /**
+     * 환자에게 convertAndSendToUser 로 보낼 때의 사용자 이름
+     *
+     * @param patientId 환자 ID
+     * @return 사용자 이름
+     */
+    public static String patientFor(Integer patientId) {
+        return "patient:" + patientId;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.carebridge.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 마감 시각 순으로 키를 꺼내는 타이머 큐
+ * 타이머마다 스레드나 예약 작업을 만들지 않고, 하나의 주기 작업이 pollDue 로 만료된 키만 꺼내 처리합니다.
+ *
+ * 구현:
+ * - 최소 힙(PriorityQueue)에 (마감 시각, 세대) 항목을 넣고, 키별 현재 세대를 맵에 둡니다.
+ * - 재예약/취소는 맵의 세대만 바꾸고 힙의 옛 항목은 꺼낼 때 버립니다(지연 삭제).
+ * - 예약 O(log n), 취소 O(1), 만료 확인은 힙 머리만 보므로 O(1) 입니다.
+ *
+ * 모든 메서드는 이 객체로 동기화되므로 여러 스레드에서 호출해도 안전합니다.
+ *
+ * @param <K> 타이머 키 (equals/hashCode 구현 필요)
+ */
+public class DeadlineQueue<K> {
+
+    private final PriorityQueue<Entry<K>> heap = new PriorityQueue<>();
+    private final Map<K, Long> generations = new HashMap<>();
+    private long nextGeneration;
+
+    /**
+     * 키의 마감 시각을 예약합니다. 이미 예약된 키는 새 시각으로 교체됩니다.
+     *
+     * @param key 타이머 키
+     * @param deadlineMillis 마감 시각 (epoch 밀리초)
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        long generation = nextGeneration++;
+        generations.put(key, generation);
+        heap.add(new Entry<>(key, deadlineMillis, generation));
+        compactIfNeeded();
+    }
+
+    /**
+     * 키의 예약을 취소합니다.
+     *
+     * @param key 타이머 키
+     * @return 예약되어 있었으면 true
+     */
+    public synchronized boolean cancel(K key) {
+        boolean removed = generations.remove(key) != null;
+        compactIfNeeded();
+        return removed;
+    }
+
+    /**
+     * 키가 예약되어 있는지 확인합니다.
+     *
+     * @param key 타이머 키
+     * @return 예약되어 있으면 true
+     */
+    public synchronized boolean contains(K key) {
+        return generations.containsKey(key);
+    }
+
+    /**
+     * 마감 시각이 지난 키를 마감 시각 순으로 꺼냅니다. 꺼낸 키의 예약은 해제됩니다.
+     *
+     * @param nowMillis 현재 시각 (epoch 밀리초)
+     * @param limit 한 번에 꺼낼 최대 개수
+     * @return 만료된 키 목록
+     */
+    public synchronized List<K> pollDue(long nowMillis, int limit) {
+        List<K> due = new ArrayList<>();
+        while (due.size() < limit && !heap.isEmpty() && heap.peek().deadlineMillis <= nowMillis) {
+            Entry<K> entry = heap.poll();
+            Long current = generations.get(entry.key);
+            if (current != null && current == entry.generation) {
+                generations.remove(entry.key);
+                due.add(entry.key);
+            }
+        }
+        return due;
+    }
+
+    /**
+     * 예약된 키 수를 반환합니다.
+     *
+     * @return 예약된 키 수
+     */
+    public synchronized int size() {
+        return generations.size();
+    }
+
+    /**
+     * 취소/재예약으로 버려진 항목이 살아있는 항목보다 많이 쌓이면 힙을 다시 만들어 메모리를 회수합니다.
+     */
+    private void compactIfNeeded() {
+        if (heap.size() > 64 && heap.size() > generations.size() * 2) {
+            heap.removeIf(entry -> {
+                Long current = generations.get(entry.key);
+                return current == null || current != entry.generation;
+            });
+        }
+    }
+
+    private record Entry<K>(K key, long deadlineMillis, long generation) implements Comparable<Entry<K>> {
+        @Override
+        public int compareTo(Entry<K> other) {
+            int byDeadline = Long.compare(deadlineMillis, other.deadlineMillis);
+            return byDeadline != 0 ? byDeadline : Long.compare(generation, other.generation);
+        }
+    }
+}
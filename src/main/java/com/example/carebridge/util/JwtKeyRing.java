@@ -0,0 +1,103 @@
+package com.example.carebridge.util;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JWT 서명 키 모음
+ * 설정한 키로 서명하므로 서버를 재시작하거나 여러 인스턴스를 띄워도 이전에 발급한 토큰이 유효합니다.
+ *
+ * 설정 (application.properties):
+ * - jwt.signing.keys: "kid:Base64 비밀키" 를 쉼표로 구분한 목록 (비밀키는 32바이트 이상)
+ * - jwt.signing.active-kid: 새 토큰 서명에 사용할 kid (비우면 목록의 첫 번째 키)
+ *
+ * 키 교체 방법:
+ * 1. 새 키를 목록에 추가하고 active-kid 를 새 kid 로 바꿉니다. (검증은 목록의 모든 키로 합니다)
+ * 2. Refresh Token 유효 기간(7일)이 지난 뒤 이전 키를 목록에서 제거합니다.
+ *
+ * 키를 설정하지 않으면 로컬 개발용으로 임의의 키를 만들며, 이 경우 재시작하면 모든 토큰이 무효가 됩니다.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    private final Map<String, Key> keys = new LinkedHashMap<>();
+    private final String activeKid;
+
+    public JwtKeyRing(@Value("${jwt.signing.keys:}") String configuredKeys,
+                      @Value("${jwt.signing.active-kid:}") String activeKid) {
+        for (String entry : configuredKeys.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if (separator <= 0 || separator == entry.length() - 1) {
+                throw new IllegalArgumentException("jwt.signing.keys 항목은 kid:Base64비밀키 형식이어야 합니다.");
+            }
+            String kid = entry.substring(0, separator).trim();
+            byte[] secret = Decoders.BASE64.decode(entry.substring(separator + 1).trim());
+            if (secret.length < 32) {
+                throw new IllegalArgumentException("JWT 서명 키는 32바이트 이상이어야 합니다 - kid: " + kid);
+            }
+            keys.put(kid, Keys.hmacShaKeyFor(secret));
+        }
+
+        if (keys.isEmpty()) {
+            String kid = "local-" + UUID.randomUUID();
+            keys.put(kid, Keys.secretKeyFor(SignatureAlgorithm.HS256));
+            this.activeKid = kid;
+            log.warn("jwt.signing.keys 가 설정되지 않아 임의의 서명 키를 사용합니다. 재시작하면 발급한 토큰이 모두 무효가 됩니다.");
+            return;
+        }
+        this.activeKid = activeKid.isBlank() ? keys.keySet().iterator().next() : activeKid;
+        if (!keys.containsKey(this.activeKid)) {
+            throw new IllegalArgumentException("jwt.signing.active-kid 에 해당하는 키가 없습니다 - kid: " + this.activeKid);
+        }
+        log.info("JWT 서명 키 로드 완료 - 키: {}개, 서명 kid: {}", keys.size(), this.activeKid);
+    }
+
+    /**
+     * 새 토큰 서명에 사용할 kid 를 반환합니다.
+     *
+     * @return 서명 kid
+     */
+    public String activeKid() {
+        return activeKid;
+    }
+
+    /**
+     * 새 토큰 서명에 사용할 키를 반환합니다.
+     *
+     * @return 서명 키
+     */
+    public Key signingKey() {
+        return keys.get(activeKid);
+    }
+
+    /**
+     * 토큰 헤더의 kid 로 검증 키를 찾습니다. kid 가 없는 토큰은 서명 키로 검증합니다.
+     *
+     * @param kid 토큰 헤더의 kid (없으면 null)
+     * @return 검증 키
+     * @throws IllegalArgumentException 알 수 없는 kid 인 경우
+     */
+    public Key verificationKey(String kid) {
+        if (kid == null) {
+            return signingKey();
+        }
+        Key key = keys.get(kid);
+        if (key == null) {
+            throw new IllegalArgumentException("알 수 없는 JWT 서명 키입니다 - kid: " + kid);
+        }
+        return key;
+    }
+}
@@ -1,75 +1,260 @@
 package com.example.carebridge.util;
 
+import com.example.carebridge.service.RefreshTokenStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Date;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
-    private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
     private final long ACCESS_EXPIRATION_TIME = 1000 * 60 * 30; // 30분
     private final long REFRESH_EXPIRATION_TIME = 1000 * 60 * 60 * 24 * 7; // 7일
-    private final ConcurrentHashMap<String, String> refreshTokenStore = new ConcurrentHashMap<>(); // Refresh Token 저장
 
-    // Access & Refresh Token 생성
-    public TokenPair generateTokens(String phoneNumber) {
-        String accessToken = Jwts.builder()
-                .setSubject(phoneNumber)
-                .setExpiration(new Date(System.currentTimeMillis() + ACCESS_EXPIRATION_TIME))
-                .signWith(key)
-                .compact();
+    // 토큰 claims 이름 (role: 사용자 유형, pid: 환자 ID, hid: 병원 ID, typ: 토큰 종류)
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_PATIENT_ID = "pid";
+    private static final String CLAIM_HOSPITAL_ID = "hid";
+    private static final String CLAIM_TYPE = "typ";
+    private static final String TYPE_REFRESH = "refresh";
+    private static final String STAFF_SUBJECT_PREFIX = "staff:";
 
-        String refreshToken = Jwts.builder()
-                .setSubject(phoneNumber)
-                .setExpiration(new Date(System.currentTimeMillis() + REFRESH_EXPIRATION_TIME))
-                .signWith(key)
-                .compact();
+    private final JwtKeyRing keyRing;
+    private final RefreshTokenStore refreshTokenStore; // Refresh Token 해시 저장 (DB 공유 저장소)
+
+    // 한 번 만들어 재사용하는 파서 (JwtParser 는 불변이라 여러 스레드에서 공유 가능)
+    private final JwtParser parser;
 
-        // Refresh Token 저장 (DB 또는 Redis 사용 가능)
-        refreshTokenStore.put(phoneNumber, refreshToken);
+    // 검증을 통과한 토큰의 claims 캐시 (토큰 해시 -> claims, 토큰 만료 시각에 항목도 만료, 크기 상한을 넘으면 오래 안 쓴 항목부터 제거)
+    private final Cache<String, VerifiedClaims> verifiedClaims;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
 
-        return new TokenPair(accessToken, refreshToken);
+    public JwtUtil(JwtKeyRing keyRing,
+                   RefreshTokenStore refreshTokenStore,
+                   MeterRegistry meterRegistry,
+                   @Value("${jwt.claims-cache.max-size:10000}") int claimsCacheMaxSize) {
+        this.keyRing = keyRing;
+        this.refreshTokenStore = refreshTokenStore;
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedClaims>() {
+                    @Override
+                    public long expireAfterCreate(String tokenHash, VerifiedClaims verified, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(
+                                Math.max(0, verified.expiresAtMillis() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenHash, VerifiedClaims verified,
+                                                  long currentTime, long currentDuration) {
+                        return expireAfterCreate(tokenHash, verified, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenHash, VerifiedClaims verified,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keyRing.verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+
+        this.cacheHits = Counter.builder("jwt.claims.cache")
+                .description("검증된 JWT claims 캐시 조회 수")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("jwt.claims.cache")
+                .description("검증된 JWT claims 캐시 조회 수")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("jwt.claims.cache.size", verifiedClaims, Cache::estimatedSize)
+                .register(meterRegistry);
     }
 
-    // Access Token 검증
-    public boolean isTokenValid(String accessToken) {
+    // 환자용 Access & Refresh Token 생성 (환자 ID 를 담아 STOMP 사용자 이름 patient:{patientId} 로 사용)
+    public TokenPair generatePatientTokens(String phoneNumber, Integer patientId) {
+        return generateTokens(phoneNumber, Map.of(
+                CLAIM_ROLE, AuthPrincipal.Role.PATIENT.name(),
+                CLAIM_PATIENT_ID, patientId));
+    }
+
+    // 의료진용 토큰 생성 (병원 ID 를 담아 구독 권한 확인에 사용, STOMP 사용자 이름은 subject staff:{로그인 ID})
+    public TokenPair generateStaffTokens(String staffUserId, Integer hospitalId) {
+        return generateTokens(STAFF_SUBJECT_PREFIX + staffUserId, Map.of(
+                CLAIM_ROLE, AuthPrincipal.Role.STAFF.name(),
+                CLAIM_HOSPITAL_ID, hospitalId));
+    }
+
+    /**
+     * Access Token 을 검증하고 인증된 사용자를 반환합니다.
+     * Refresh Token 이나 사용자 유형이 없는 토큰은 인증에 사용할 수 없습니다.
+     *
+     * @param accessToken Access Token ("Bearer " 접두사 제외)
+     * @return 인증된 사용자 (유효하지 않으면 empty)
+     */
+    public Optional<AuthPrincipal> authenticate(String accessToken) {
+        return verify(accessToken)
+                .filter(claims -> !TYPE_REFRESH.equals(claims.get(CLAIM_TYPE, String.class)))
+                .filter(claims -> claims.get(CLAIM_ROLE, String.class) != null)
+                .map(claims -> new AuthPrincipal(
+                        AuthPrincipal.Role.valueOf(claims.get(CLAIM_ROLE, String.class)),
+                        claims.getSubject(),
+                        claims.get(CLAIM_PATIENT_ID, Integer.class),
+                        claims.get(CLAIM_HOSPITAL_ID, Integer.class)));
+    }
+
+    // 인증된 사용자의 Refresh Token 무효화 (환자/의료진 로그아웃)
+    public void invalidateRefreshToken(AuthPrincipal principal) {
+        refreshTokenStore.revoke(principal.subject());
+    }
+
+    private TokenPair generateTokens(String subject, Map<String, Object> claims) {
+        IssuedTokens issued = issue(subject, claims);
+        refreshTokenStore.save(subject, hashToken(issued.tokens().refreshToken), issued.refreshExpiresAt());
+        return issued.tokens();
+    }
+
+    /**
+     * 토큰의 서명과 만료를 검증하고 claims 를 반환합니다.
+     * 같은 토큰은 만료 전까지 캐시된 결과를 돌려주므로, 요청마다 한 번 호출하여 claims 를 함께 사용합니다.
+     * 반환된 claims 는 캐시와 공유되므로 수정하지 않습니다.
+     *
+     * @param token JWT
+     * @return 검증된 claims (서명 불일치, 만료, 형식 오류면 empty)
+     */
+    public Optional<Claims> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String tokenHash = hashToken(token);
+        VerifiedClaims cached = verifiedClaims.getIfPresent(tokenHash);
+        if (cached != null) {
+            cacheHits.increment();
+            return Optional.of(cached.claims());
+        }
+
+        cacheMisses.increment();
+        Claims claims;
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(accessToken);
-            return true;
+            claims = parser.parseClaimsJws(token).getBody();
         } catch (Exception e) {
-            return false;
+            return Optional.empty();
         }
+        if (claims.getExpiration() != null) {
+            verifiedClaims.put(tokenHash, new VerifiedClaims(claims, claims.getExpiration().getTime()));
+        }
+        return Optional.of(claims);
+    }
+
+    // Access Token 검증 (Refresh Token 은 authenticate 에서 걸러지므로 유효하지 않음)
+    public boolean isTokenValid(String accessToken) {
+        return authenticate(accessToken).isPresent();
     }
 
     // Access Token에서 전화번호 가져오기
     public String getPhoneNumber(String accessToken) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(accessToken).getBody().getSubject();
+        return authenticate(accessToken)
+                .map(AuthPrincipal::subject)
+                .orElseThrow(() -> new JwtException("Invalid Token"));
     }
 
     // Refresh Token을 사용하여 Access Token 재발급
     public TokenPair refreshAccessToken(String refreshToken) {
         try {
-            String phoneNumber = getPhoneNumber(refreshToken);
+            Claims claims = verify(refreshToken)
+                    .filter(verified -> TYPE_REFRESH.equals(verified.get(CLAIM_TYPE, String.class)))
+                    .orElseThrow(() -> new JwtException("Invalid Token"));
+            String subject = claims.getSubject();
 
-            // 저장된 Refresh Token과 비교
-            if (!refreshToken.equals(refreshTokenStore.get(phoneNumber))) {
-                throw new RuntimeException("Invalid Refresh Token");
+            // 사용자 유형과 ID 는 Refresh Token 에 담긴 값을 그대로 이어받음
+            Map<String, Object> carried = new HashMap<>();
+            for (String name : List.of(CLAIM_ROLE, CLAIM_PATIENT_ID, CLAIM_HOSPITAL_ID)) {
+                if (claims.get(name) != null) {
+                    carried.put(name, claims.get(name));
+                }
             }
 
-            // 새로운 Access Token과 Refresh Token 발급
-            return generateTokens(phoneNumber);
+            // 저장된 Refresh Token과 비교하여 같을 때만 새 토큰으로 교체 (같은 토큰으로 동시에 요청해도 한 번만 성공)
+            IssuedTokens issued = issue(subject, carried);
+            if (!refreshTokenStore.rotate(subject, hashToken(refreshToken),
+                    hashToken(issued.tokens().refreshToken), issued.refreshExpiresAt())) {
+                throw new RuntimeException("Invalid Refresh Token");
+            }
+            return issued.tokens();
         } catch (Exception e) {
             throw new RuntimeException("Invalid Refresh Token");
         }
     }
 
-    // Refresh Token 무효화 (로그아웃, 토큰 탈취 시 사용)
-    public void invalidateRefreshToken(String phoneNumber) {
-        refreshTokenStore.remove(phoneNumber);
+    // 토큰 원문 대신 저장할 SHA-256 해시 (16진수)
+    public static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    // 현재 서명 키(kid 헤더 포함)로 토큰 쌍 발급
+    private IssuedTokens issue(String subject, Map<String, Object> claims) {
+        long now = System.currentTimeMillis();
+        Date refreshExpiration = new Date(now + REFRESH_EXPIRATION_TIME);
+
+        String accessToken = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.activeKid())
+                .addClaims(claims)
+                .setSubject(subject)
+                .setExpiration(new Date(now + ACCESS_EXPIRATION_TIME))
+                .signWith(keyRing.signingKey())
+                .compact();
+
+        String refreshToken = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.activeKid())
+                .addClaims(claims)
+                .claim(CLAIM_TYPE, TYPE_REFRESH)
+                .setSubject(subject)
+                .setId(UUID.randomUUID().toString()) // 같은 초에 재발급해도 이전 토큰과 구분되도록
+                .setExpiration(refreshExpiration)
+                .signWith(keyRing.signingKey())
+                .compact();
+
+        return new IssuedTokens(new TokenPair(accessToken, refreshToken),
+                LocalDateTime.ofInstant(refreshExpiration.toInstant(), ZoneId.systemDefault()));
+    }
+
+    private record IssuedTokens(TokenPair tokens, LocalDateTime refreshExpiresAt) {
+    }
+
+    private record VerifiedClaims(Claims claims, long expiresAtMillis) {
     }
 
     // 토큰을 저장하는 데이터 클래스
@@ -82,4 +267,4 @@ public class JwtUtil {
             this.refreshToken = refreshToken;
         }
     }
-}
\ No newline at end of file
+}
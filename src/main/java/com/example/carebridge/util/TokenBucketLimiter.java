@@ -0,0 +1,88 @@
+package com.example.carebridge.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 키(전화번호, IP 등)별 토큰 버킷 속도 제한기
+ * 버킷마다 최대 capacity 개의 토큰이 있고, refillInterval 마다 한 개씩 다시 채워집니다.
+ *
+ * 구현:
+ * - 버킷 상태를 "버킷이 다시 가득 차는 시각" 하나(AtomicLong)로 표현하고(GCRA),
+ *   토큰을 쓸 때는 그 시각을 refillInterval 만큼 CAS 로 늦춥니다. 잠금을 쓰지 않습니다.
+ * - 가득 찬 버킷은 처음 만든 버킷과 같으므로 evictIdle 로 지워도 동작이 바뀌지 않습니다.
+ * - 키 수가 maxKeys 를 넘으면 가득 찬 버킷을 먼저 지우고, 그래도 넘으면 새 키는 거절합니다.
+ *   (서로 다른 키를 대량으로 보내 메모리를 채우는 공격을 막기 위함)
+ */
+public class TokenBucketLimiter {
+
+    private final long capacity;
+    private final long refillIntervalNanos;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param capacity 버킷의 최대 토큰 수 (연속으로 허용하는 요청 수)
+     * @param refillIntervalMillis 토큰 한 개가 다시 채워지는 간격 (밀리초)
+     * @param maxKeys 동시에 보관하는 최대 키 수
+     */
+    public TokenBucketLimiter(long capacity, long refillIntervalMillis, int maxKeys) {
+        this.capacity = Math.max(1, capacity);
+        this.refillIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, refillIntervalMillis));
+        this.maxKeys = Math.max(1, maxKeys);
+    }
+
+    /**
+     * 키의 토큰 한 개를 사용합니다.
+     *
+     * @param key 제한 대상 키
+     * @return 허용되면 0, 거절되면 다음 토큰이 채워질 때까지 기다려야 하는 시간 (밀리초, 1 이상)
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                evictIdle();
+                if (buckets.size() >= maxKeys) {
+                    return TimeUnit.NANOSECONDS.toMillis(refillIntervalNanos) + 1;
+                }
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        long burst = capacity * refillIntervalNanos;
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + refillIntervalNanos;
+            long wait = next - now - burst;
+            if (wait > 0) {
+                return TimeUnit.NANOSECONDS.toMillis(wait) + 1;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 다시 가득 찬(오래 사용하지 않은) 버킷을 지웁니다.
+     * 지우는 순간 같은 키로 들어온 요청은 토큰 한 개를 더 받을 수 있지만, 한도를 크게 넘지는 않습니다.
+     *
+     * @return 지운 버킷 수
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        return Math.max(0, before - buckets.size());
+    }
+
+    /**
+     * @return 현재 보관 중인 키 수
+     */
+    public int size() {
+        return buckets.size();
+    }
+}
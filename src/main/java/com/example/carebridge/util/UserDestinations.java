@@ -0,0 +1,62 @@
+package com.example.carebridge.util;
+
+/**
+ * STOMP 사용자 경로 모음
+ * 서버는 convertAndSendToUser(사용자 이름, 아래 경로, ...) 로 보내고, 클라이언트는 USER_PREFIX 를 붙여 구독합니다.
+ * (예: 환자는 /user/queue/chat/room/{chatRoomId} 구독)
+ *
+ * 구독 권한은 StompSubscribeInterceptor 가 SUBSCRIBE 시점에 사용자(AuthPrincipal)와 비교하여 확인합니다.
+ * - 환자: 자신의 채팅방, 검사 일정 알림
+ * - 의료진: 같은 병원 의료진 ID 의 채팅/콜벨 보드/에스컬레이션, 같은 병원의 병동 현황
+ */
+public final class UserDestinations {
+
+    /**
+     * 클라이언트가 구독 경로 앞에 붙이는 사용자 경로 접두사
+     */
+    public static final String USER_PREFIX = "/user";
+
+    /**
+     * 환자 채팅방 메시지 (+ chatRoomId)
+     */
+    public static final String CHAT_ROOM = "/queue/chat/room/";
+
+    /**
+     * 환자 검사 일정 알림
+     */
+    public static final String SCHEDULE_REMINDER = "/queue/schedule/reminder";
+
+    /**
+     * 의료진 채팅 메시지 (+ medicalStaffId)
+     */
+    public static final String STAFF_CHAT = "/queue/chat/staff/";
+
+    /**
+     * 의료진 콜벨 보드 변경분 (+ medicalStaffId)
+     */
+    public static final String CALL_BELL_BOARD = "/queue/call-bell/board/";
+
+    /**
+     * 의료진 콜벨 에스컬레이션 알림 (+ medicalStaffId)
+     */
+    public static final String CALL_BELL_ESCALATION = "/queue/call-bell/escalation/";
+
+    /**
+     * 병동 현황 (+ hospitalId/department)
+     */
+    public static final String WARD = "/queue/ward/";
+
+    private UserDestinations() {
+    }
+
+    /**
+     * 병동 현황 경로를 만듭니다.
+     *
+     * @param hospitalId 병원 ID
+     * @param department 분과 이름
+     * @return 사용자 경로 (USER_PREFIX 제외)
+     */
+    public static String ward(Integer hospitalId, String department) {
+        return WARD + hospitalId + "/" + department;
+    }
+}
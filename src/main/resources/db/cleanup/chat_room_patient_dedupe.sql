@@ -0,0 +1,56 @@
+-- 환자당 채팅방 하나(Chat_Room.uk_chat_room_patient) 적용 전 중복 채팅방 정리 (MySQL 8)
+--
+-- spring.jpa.hibernate.ddl-auto=update 는 중복 행이 남아 있으면 유니크 인덱스를 만들지 못하고 경고만 남긴 채 시작합니다.
+-- 이 인덱스가 포함된 버전을 배포하기 전에 한 번 실행하고, 마지막 확인 쿼리가 0 건인지 확인합니다.
+-- 중복이 없으면 아무것도 바꾸지 않으므로 여러 번 실행해도 됩니다.
+--
+-- 남길 채팅방 (환자별로 아래 순서대로 하나):
+--   1. 환자 정보(Patient.chatroom_id)가 가리키는 방
+--   2. 마지막 메시지가 가장 최근인 방
+--   3. chatroom_id 가 가장 작은 방
+-- 나머지 방의 메시지는 남길 방으로 옮기고 room_seq 를 비웁니다.
+-- (남길 방의 순번과 겹치지 않도록 하기 위함이며, 재연결 재전송에서는 빠지지만 환자별 메시지 이력 조회에는 그대로 나옵니다)
+
+START TRANSACTION;
+
+CREATE TEMPORARY TABLE chat_room_dedupe AS
+SELECT chatroom_id, keep_id
+FROM (
+    SELECT c.chatroom_id,
+           FIRST_VALUE(c.chatroom_id) OVER (
+               PARTITION BY c.patient_id
+               ORDER BY (p.chatroom_id = c.chatroom_id) DESC, m.last_message DESC, c.chatroom_id
+           ) AS keep_id
+    FROM Chat_Room c
+    LEFT JOIN Patient p ON p.patient_id = c.patient_id
+    LEFT JOIN (SELECT chatroom_id, MAX(message_timestamp) AS last_message
+               FROM Message
+               GROUP BY chatroom_id) m ON m.chatroom_id = c.chatroom_id
+) ranked
+WHERE chatroom_id <> keep_id;
+
+UPDATE Message msg
+JOIN chat_room_dedupe d ON d.chatroom_id = msg.chatroom_id
+SET msg.chatroom_id = d.keep_id,
+    msg.room_seq = NULL;
+
+UPDATE Patient p
+JOIN chat_room_dedupe d ON d.chatroom_id = p.chatroom_id
+SET p.chatroom_id = d.keep_id;
+
+DELETE c
+FROM Chat_Room c
+JOIN chat_room_dedupe d ON d.chatroom_id = c.chatroom_id;
+
+COMMIT;
+
+DROP TEMPORARY TABLE chat_room_dedupe;
+
+-- 확인: 결과가 없어야 합니다.
+SELECT patient_id, COUNT(*) AS rooms
+FROM Chat_Room
+GROUP BY patient_id
+HAVING COUNT(*) > 1;
+
+-- 다음 시작 때 ddl-auto 가 인덱스를 만들지만, 바로 만들려면 아래를 실행합니다.
+-- CREATE UNIQUE INDEX uk_chat_room_patient ON Chat_Room (patient_id);
@@ -0,0 +1,194 @@
+package com.example.carebridge.config;
+
+import com.example.carebridge.repository.MacroRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 복제본 라우팅 검사
+ * 원본과 복제본을 서로 다른 H2 데이터베이스로 띄우고, JPA 트랜잭션이 어느 쪽에서 실행되는지 DATABASE() 로 확인합니다.
+ * 복제 지연은 복제본의 replica_lag 테이블 값으로 흉내 냅니다.
+ * 읽기 전용 트랜잭션이 2차 캐시/쿼리 캐시를 거치지 않고, @PrimaryRead 조회는 원본에서 캐시를 쓰는지는 Hibernate 통계로 확인합니다.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "datasource.replica.lag-query=SELECT seconds_behind_source FROM replica_lag",
+        "datasource.replica.max-lag-seconds=5",
+        "datasource.replica.lag-check-interval-ms=3600000",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReplicaDataSourceConfig.class, SecondLevelCacheConfig.class, ReplicaRoutingDataSourceTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaRoutingDataSourceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MacroRepository macroRepository;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds_behind_source INT)");
+        replica.update("DELETE FROM replica_lag");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaAndWritesToPrimary() {
+        setReplicaLag(0);
+        double before = connections("replica");
+
+        assertThat(databaseIn(true)).isEqualTo("routing-replica");
+        assertThat(databaseIn(false)).isEqualTo("routing-primary");
+        assertThat(databaseIn(true)).isEqualTo("routing-replica");
+        assertThat(connections("replica") - before).isEqualTo(2);
+        assertThat(primaryDataSource.getPoolName()).isEqualTo("primary");
+        assertThat(replicaDataSource.getPoolName()).isEqualTo("replica");
+        assertThat(replicaDataSource.getConnectionTimeout()).isLessThanOrEqualTo(1000);
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhileReplicaLagsOrStops() {
+        setReplicaLag(30);
+        assertThat(replicaLagMonitor.isAvailable()).isFalse();
+        assertThat(databaseIn(true)).isEqualTo("routing-primary");
+
+        setReplicaLag(null);
+        assertThat(databaseIn(true)).isEqualTo("routing-primary");
+
+        replica.update("DELETE FROM replica_lag");
+        replicaLagMonitor.check();
+        assertThat(replicaLagMonitor.isAvailable()).as("복제 상태 조회 결과 없음").isFalse();
+
+        setReplicaLag(2);
+        assertThat(replicaLagMonitor.isAvailable()).isTrue();
+        assertThat(databaseIn(true)).isEqualTo("routing-replica");
+        assertThat(meterRegistry.get("datasource.replica.lag.seconds").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void readOnlyTransactionsBypassQueryCache() {
+        // 테이블은 원본에만 있으므로 원본으로 대체되는 상태에서 readOnly 여부에 따른 캐시 동작만 확인합니다
+        setReplicaLag(30);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        transaction(true).executeWithoutResult(status -> cacheableMacroQuery());
+        assertThat(statistics.getQueryCachePutCount()).as("읽기 전용 트랜잭션의 쿼리 캐시 저장").isZero();
+
+        transaction(false).executeWithoutResult(status -> cacheableMacroQuery());
+        assertThat(statistics.getQueryCachePutCount()).as("쓰기 가능 트랜잭션의 쿼리 캐시 저장").isEqualTo(1);
+
+        transaction(true).executeWithoutResult(status -> cacheableMacroQuery());
+        assertThat(statistics.getQueryCacheHitCount()).as("읽기 전용 트랜잭션의 쿼리 캐시 조회").isZero();
+    }
+
+    @Test
+    void primaryReadUsesPrimaryAndQueryCacheInsideReadOnlyTransactions() {
+        // 복제본이 정상이어도 테이블은 원본에만 있으므로, 복제본으로 가면 조회가 실패합니다
+        setReplicaLag(0);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        macroRepository.findAllByMedicalStaffId(2);
+        assertThat(statistics.getQueryCachePutCount()).as("트랜잭션 밖 호출의 쿼리 캐시 저장").isEqualTo(1);
+
+        transaction(true).executeWithoutResult(status -> {
+            assertThat(entityManager.createNativeQuery("SELECT DATABASE()").getSingleResult())
+                    .as("바깥 읽기 전용 트랜잭션")
+                    .isEqualTo("routing-replica");
+            macroRepository.findAllByMedicalStaffId(2);
+            macroRepository.findAllByMedicalStaffId(3);
+        });
+        assertThat(statistics.getQueryCacheHitCount()).as("읽기 전용 트랜잭션 안의 쿼리 캐시 적중").isEqualTo(1);
+        assertThat(statistics.getQueryCachePutCount()).as("읽기 전용 트랜잭션 안에서 원본 조회 후 저장").isEqualTo(2);
+    }
+
+    private void cacheableMacroQuery() {
+        entityManager.createQuery("SELECT m FROM Macro m WHERE m.medicalStaffId = 1")
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList();
+    }
+
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction;
+    }
+
+    private void setReplicaLag(Integer seconds) {
+        replica.update("DELETE FROM replica_lag");
+        replica.update("INSERT INTO replica_lag (seconds_behind_source) VALUES (?)", seconds);
+        replicaLagMonitor.check();
+    }
+
+    private String databaseIn(boolean readOnly) {
+        return transaction(readOnly).execute(status ->
+                String.valueOf(entityManager.createNativeQuery("SELECT DATABASE()").getSingleResult()));
+    }
+
+    private double connections(String target) {
+        return meterRegistry.get("datasource.read-only.connections").tag("target", target).counter().count();
+    }
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.carebridge.config;
+
+import net.nurigo.sdk.message.service.DefaultMessageService;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SMS SDK HTTP 타임아웃 검사
+ * SDK 가 만든 기본 클라이언트 대신 설정한 타임아웃의 클라이언트로 요청하는지 확인합니다.
+ * (SDK 버전을 올려 내부 구조가 바뀌면 이 검사가 먼저 실패합니다)
+ */
+class SmsConfigTest {
+
+    @Test
+    void sdkClientUsesConfiguredTimeouts() throws Exception {
+        DefaultMessageService messageService =
+                new SmsConfig().smsMessageService("key", "secret", 2000, 3000, 5000);
+
+        OkHttpClient client = SmsConfig.httpClientOf(messageService);
+        assertThat(client.connectTimeoutMillis()).isEqualTo(2000);
+        assertThat(client.readTimeoutMillis()).isEqualTo(3000);
+        assertThat(client.writeTimeoutMillis()).isEqualTo(3000);
+        assertThat(client.callTimeoutMillis())
+                .as("전체 호출 제한 시간은 sms.send-timeout-ms")
+                .isEqualTo(5000);
+        assertThat(client.interceptors())
+                .as("SDK 의 인증 헤더 인터셉터 유지")
+                .isNotEmpty();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.carebridge.config;
+
+import com.example.carebridge.entity.ChatRoom;
+import com.example.carebridge.entity.MedicalStaff;
+import com.example.carebridge.repository.ChatRoomRepository;
+import com.example.carebridge.repository.MedicalStaffRepository;
+import com.example.carebridge.util.AuthPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * STOMP 구독 권한 검사
+ * 환자는 자신의 채팅방만, 의료진은 자신의 병원 경로만 구독할 수 있는지 확인합니다.
+ */
+class StompSubscribeInterceptorTest {
+
+    private static final AuthPrincipal PATIENT = new AuthPrincipal(AuthPrincipal.Role.PATIENT, "01012345678", 10, null);
+    private static final AuthPrincipal STAFF = new AuthPrincipal(AuthPrincipal.Role.STAFF, "staff:nurse1", null, 1);
+
+    private StompSubscribeInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        ChatRoom room = mock(ChatRoom.class);
+        when(room.getPatientId()).thenReturn(10);
+        ChatRoomRepository chatRoomRepository = mock(ChatRoomRepository.class);
+        when(chatRoomRepository.findByChatRoomId(anyString())).thenReturn(Optional.empty());
+        when(chatRoomRepository.findByChatRoomId("room-10")).thenReturn(Optional.of(room));
+
+        MedicalStaff staff = mock(MedicalStaff.class);
+        when(staff.getHospitalId()).thenReturn(1);
+        MedicalStaff otherHospitalStaff = mock(MedicalStaff.class);
+        when(otherHospitalStaff.getHospitalId()).thenReturn(2);
+        MedicalStaffRepository medicalStaffRepository = mock(MedicalStaffRepository.class);
+        when(medicalStaffRepository.findByMedicalStaffId(any())).thenReturn(Optional.empty());
+        when(medicalStaffRepository.findByMedicalStaffId(5)).thenReturn(Optional.of(staff));
+        when(medicalStaffRepository.findByMedicalStaffId(6)).thenReturn(Optional.of(otherHospitalStaff));
+
+        interceptor = new StompSubscribeInterceptor(chatRoomRepository, medicalStaffRepository);
+    }
+
+    @Test
+    void patientCanSubscribeOnlyToOwnRoom() {
+        assertThat(interceptor.isAllowed(PATIENT, "/user/queue/chat/room/room-10")).isTrue();
+        assertThat(interceptor.isAllowed(PATIENT, "/user/queue/schedule/reminder")).isTrue();
+        assertThat(interceptor.isAllowed(PATIENT, "/user/queue/chat/room/room-11"))
+                .as("다른 환자의 채팅방")
+                .isFalse();
+        assertThat(interceptor.isAllowed(PATIENT, "/user/queue/ward/1/내과"))
+                .as("환자의 의료진 경로 구독")
+                .isFalse();
+    }
+
+    @Test
+    void staffCanSubscribeOnlyWithinOwnHospital() {
+        assertThat(interceptor.isAllowed(STAFF, "/user/queue/call-bell/board/5")).isTrue();
+        assertThat(interceptor.isAllowed(STAFF, "/user/queue/ward/1/내과")).isTrue();
+        assertThat(interceptor.isAllowed(STAFF, "/user/queue/chat/staff/6"))
+                .as("다른 병원 의료진")
+                .isFalse();
+        assertThat(interceptor.isAllowed(STAFF, "/user/queue/ward/2/내과"))
+                .as("다른 병원 병동")
+                .isFalse();
+        assertThat(interceptor.isAllowed(STAFF, "/user/queue/chat/staff/abc")).isFalse();
+    }
+
+    @Test
+    void rejectsBrokerDestinationsAndAnonymousSessions() {
+        MessageChannel channel = mock(MessageChannel.class);
+
+        assertThatThrownBy(() -> interceptor.preSend(subscribe("/queue/chat/room/room-10", PATIENT), channel))
+                .as("브로커 경로 직접 구독")
+                .isInstanceOf(MessagingException.class);
+        assertThatThrownBy(() -> interceptor.preSend(subscribe("/user/queue/schedule/reminder", null), channel))
+                .as("인증되지 않은 세션")
+                .isInstanceOf(MessagingException.class);
+
+        Message<byte[]> allowed = subscribe("/user/queue/chat/room/room-10", PATIENT);
+        assertThat(interceptor.preSend(allowed, channel)).isSameAs(allowed);
+    }
+
+    private static Message<byte[]> subscribe(String destination, AuthPrincipal user) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        accessor.setSessionId("session-1");
+        accessor.setSubscriptionId("sub-1");
+        accessor.setUser(user);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.carebridge.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.Repository;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 리포지토리 쿼리 인덱스 검사
+ * com.example.carebridge.repository 의 모든 쿼리 메서드를 MySQL 호환 모드의 H2 에서 실행하고,
+ * Hibernate 가 만든 SQL 을 EXPLAIN 하여 WHERE 조건이 있는데도 테이블 전체를 읽는 쿼리,
+ * ORDER BY 를 인덱스 순서로 읽지 못하고 따로 정렬(MySQL filesort)해야 하는 쿼리가 있으면 실패합니다.
+ *
+ * 새 쿼리를 추가했는데 이 테스트가 실패하면 엔티티의 @Table(indexes = ...) 에
+ * 동등 조건 컬럼, 정렬 컬럼 순으로 이루어진 인덱스를 추가합니다.
+ * WHERE 와 LIMIT 이 모두 없는 전체 목록 조회(findAll 등)는 검사하지 않습니다.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:index-advisor;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.carebridge.repository.RepositoryIndexAdvisorTest$SqlCapture"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RepositoryIndexAdvisorTest {
+
+    private static final String REPOSITORY_PACKAGE = "com.example.carebridge.repository";
+
+    /**
+     * 인덱스로 처리할 수 없는 식으로 정렬하지만, 조건으로 걸러진 결과가 몇 건뿐이라 정렬 비용이 작은 쿼리
+     * (병원의 책임 간호사를 같은 분과 우선으로 정렬)
+     */
+    private static final Set<String> SMALL_RESULT_SORT = Set.of(
+            "MedicalStaffRepository.findChargeNurses"
+    );
+
+    private static final Pattern ORDER_ITEM = Pattern.compile("(\\w+)\\.(\\w+)( asc| desc)?");
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void everyRepositoryQueryUsesAnIndex() throws Exception {
+        List<String> problems = new ArrayList<>();
+        int explained = 0;
+
+        for (Class<?> repository : repositoryInterfaces()) {
+            Object bean = context.getBean(repository);
+            List<Method> methods = new ArrayList<>(List.of(repository.getDeclaredMethods()));
+            methods.sort(Comparator.comparing(Method::getName));
+
+            for (Method method : methods) {
+                if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                String name = repository.getSimpleName() + "." + method.getName();
+                SqlCapture.STATEMENTS.clear();
+                try {
+                    method.invoke(bean, sampleArguments(method));
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    problems.add(name + " - 실행 실패: " + cause.getMessage());
+                    continue;
+                }
+
+                for (String sql : new ArrayList<>(SqlCapture.STATEMENTS)) {
+                    String lower = sql.toLowerCase(Locale.ROOT);
+                    boolean filtered = lower.contains(" where ");
+                    boolean sorted = lower.contains(" order by ") && (filtered || lower.contains(" limit "));
+                    if (!filtered && !sorted) {
+                        continue;
+                    }
+                    String plan = explain(sql);
+                    explained++;
+                    if (filtered && plan.contains("tableScan")) {
+                        problems.add(name + " - 전체 테이블 스캔\n    SQL: " + sql + "\n    PLAN: " + plan);
+                    }
+                    String sortProblem = sorted && !SMALL_RESULT_SORT.contains(name) ? sortProblem(lower, plan) : null;
+                    if (sortProblem != null) {
+                        problems.add(name + " - 인덱스 없이 정렬: " + sortProblem + "\n    SQL: " + sql);
+                    }
+                }
+            }
+        }
+
+        assertThat(problems)
+                .as("EXPLAIN 한 쿼리 %d건 중 문제 %d건:%n%s", explained, problems.size(), String.join("\n", problems))
+                .isEmpty();
+        assertThat(explained).as("EXPLAIN 한 쿼리 수").isPositive();
+    }
+
+    /**
+     * 이 패키지에 선언된 리포지토리 인터페이스를 이름 순으로 반환합니다.
+     */
+    private Set<Class<?>> repositoryInterfaces() {
+        Set<Class<?>> result = new TreeSet<>(Comparator.comparing(Class::getName));
+        for (Object bean : context.getBeansOfType(Repository.class).values()) {
+            for (Class<?> candidate : bean.getClass().getInterfaces()) {
+                if (candidate.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                    result.add(candidate);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * ORDER BY 를 인덱스 순서로 읽을 수 있는지 MySQL(InnoDB) 기준으로 확인합니다.
+     * H2 는 동등 조건으로 고정된 앞 컬럼 뒤의 정렬을 인덱스로 처리하지 않으므로(index sorted 표시 없음),
+     * 정렬 테이블의 인덱스 중 동등 조건 컬럼을 건너뛴 나머지가 정렬 컬럼으로 시작하는 것이 있는지 직접 비교합니다.
+     * InnoDB 보조 인덱스는 끝에 기본 키를 포함하므로 인덱스 컬럼 뒤에 기본 키 컬럼을 붙여 비교합니다.
+     *
+     * @param sql 소문자로 바꾼 SQL
+     * @param plan EXPLAIN 결과
+     * @return 문제 설명 (인덱스 순서로 읽을 수 있으면 null)
+     */
+    private String sortProblem(String sql, String plan) throws Exception {
+        if (plan.contains("index sorted")) {
+            return null;
+        }
+        String orderBy = sql.substring(sql.lastIndexOf(" order by ") + " order by ".length())
+                .split(" limit | offset | fetch | for update")[0];
+        String alias = null;
+        List<String> columns = new ArrayList<>();
+        Set<String> directions = new HashSet<>();
+        for (String item : orderBy.split(",")) {
+            Matcher matcher = ORDER_ITEM.matcher(item.trim());
+            if (!matcher.matches() || (alias != null && !alias.equals(matcher.group(1)))) {
+                return "컬럼이 아닌 식이나 여러 테이블의 컬럼으로 정렬";
+            }
+            alias = matcher.group(1);
+            columns.add(matcher.group(2));
+            directions.add(String.valueOf(matcher.group(3)).trim());
+        }
+        if (directions.size() > 1) {
+            return "오름차순과 내림차순이 섞인 정렬";
+        }
+
+        Matcher table = Pattern.compile("(?:from|join) (\\w+) " + alias + "\\b").matcher(sql);
+        if (!table.find()) {
+            return "정렬 테이블을 찾지 못함";
+        }
+        Set<String> fixed = new HashSet<>();
+        Matcher equality = Pattern.compile("\\b" + alias + "\\.(\\w+)=(?:\\?|\\d+|'[^']*')").matcher(sql);
+        while (equality.find()) {
+            fixed.add(equality.group(1));
+        }
+        columns.removeAll(fixed);
+        if (columns.isEmpty()) {
+            return null;
+        }
+        for (List<String> index : indexesOf(table.group(1))) {
+            int start = 0;
+            while (start < index.size() && fixed.contains(index.get(start))) {
+                start++;
+            }
+            if (index.size() - start >= columns.size()
+                    && index.subList(start, start + columns.size()).equals(columns)) {
+                return null;
+            }
+        }
+        return "동등 조건 " + fixed + " 뒤에 정렬 컬럼 " + columns + " 이 오는 인덱스가 " + table.group(1) + " 에 없음";
+    }
+
+    /**
+     * 테이블의 인덱스별 컬럼 목록을 반환합니다. (보조 인덱스는 뒤에 기본 키 컬럼을 붙임)
+     */
+    private List<List<String>> indexesOf(String table) throws Exception {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String tableName = table.toLowerCase(Locale.ROOT);
+            List<String> primaryKey = new ArrayList<>();
+            try (ResultSet keys = metaData.getPrimaryKeys(null, null, tableName)) {
+                while (keys.next()) {
+                    primaryKey.add(keys.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                }
+            }
+            Map<String, List<String>> indexes = new LinkedHashMap<>();
+            try (ResultSet info = metaData.getIndexInfo(null, null, tableName, false, false)) {
+                while (info.next()) {
+                    if (info.getString("COLUMN_NAME") != null) {
+                        indexes.computeIfAbsent(info.getString("INDEX_NAME"), key -> new ArrayList<>())
+                                .add(info.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            List<List<String>> result = new ArrayList<>();
+            for (List<String> columns : indexes.values()) {
+                List<String> withKey = new ArrayList<>(columns);
+                primaryKey.stream().filter(column -> !withKey.contains(column)).forEach(withKey::add);
+                result.add(withKey);
+            }
+            return result;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private String explain(String sql) throws Exception {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1).replaceAll("\\s+", " "));
+                }
+                return plan.toString();
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static Object[] sampleArguments(Method method) {
+        Type[] types = method.getGenericParameterTypes();
+        Object[] arguments = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            arguments[i] = sampleValue(types[i]);
+        }
+        return arguments;
+    }
+
+    private static Object sampleValue(Type type) {
+        if (type instanceof ParameterizedType parameterized) {
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            if (Iterable.class.isAssignableFrom(raw)) {
+                return List.of(sampleValue(parameterized.getActualTypeArguments()[0]));
+            }
+            return sampleValue(raw);
+        }
+        Class<?> raw = (Class<?>) type;
+        if (raw == Integer.class || raw == int.class) {
+            return 1;
+        }
+        if (raw == Long.class || raw == long.class) {
+            return 1L;
+        }
+        if (raw == Boolean.class || raw == boolean.class) {
+            return true;
+        }
+        if (raw == String.class) {
+            return "advisor";
+        }
+        if (raw == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (raw.isEnum()) {
+            return raw.getEnumConstants()[0];
+        }
+        if (Pageable.class.isAssignableFrom(raw)) {
+            return PageRequest.of(0, 10);
+        }
+        throw new IllegalArgumentException("예제 값을 만들 수 없는 파라미터 타입입니다: " + raw.getName());
+    }
+
+    /**
+     * Hibernate 가 실행하는 SQL 을 모으는 StatementInspector
+     */
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.replaceAll("\\s+", " ").trim());
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.carebridge.repository;
+
+import com.example.carebridge.config.SecondLevelCacheConfig;
+import com.example.carebridge.entity.ChatRoom;
+import com.example.carebridge.entity.Hospital;
+import com.example.carebridge.entity.HospitalInformation;
+import com.example.carebridge.entity.Macro;
+import com.example.carebridge.entity.MedicalStaff;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 2차 캐시 효과 측정
+ * 환자 한 명이 앱에서 화면을 여러 번 오가는 동안(채팅방 → 병원 정보 → 담당 의료진 → 매크로) 실행되는 SQL 수를
+ * 2차 캐시를 쓰지 않을 때(CacheMode.IGNORE)와 쓸 때(CacheMode.NORMAL) 비교합니다.
+ *
+ * 화면 하나가 요청 하나(트랜잭션 하나)이므로 1차 캐시(영속성 컨텍스트)는 화면마다 비워진 상태에서 시작합니다.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:second-level-cache;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheSessionSimulationTest {
+
+    private static final int SCREENS = 20;
+    private static final String CHAT_ROOM_ID = "room-second-level-cache";
+    private static final int PATIENT_ID = 1;
+
+    @Autowired
+    private HospitalRepository hospitalRepository;
+
+    @Autowired
+    private HospitalInformationRepository hospitalInformationRepository;
+
+    @Autowired
+    private MedicalStaffRepository medicalStaffRepository;
+
+    @Autowired
+    private MacroRepository macroRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void patientSessionIssuesFewerStatementsWithSecondLevelCache() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> seed());
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        sessionFactory.getCache().evictAllRegions();
+
+        statistics.clear();
+        runSession(transaction, CacheMode.IGNORE);
+        long withoutCache = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        runSession(transaction, CacheMode.NORMAL);
+        long withCache = statistics.getPrepareStatementCount();
+        long hits = statistics.getSecondLevelCacheHitCount() + statistics.getQueryCacheHitCount();
+
+        String counts = String.format("환자 세션 %d개 화면 SQL 수 - 2차 캐시 미사용: %d건, 사용: %d건 (캐시 적중: %d건)",
+                SCREENS, withoutCache, withCache, hits);
+        assertThat(withCache).as(counts).isLessThan(withoutCache / 4);
+        assertThat(hits).as(counts).isPositive();
+    }
+
+    /**
+     * 화면마다 트랜잭션 하나로 환자 앱이 반복해서 읽는 참조 데이터를 조회합니다.
+     */
+    private void runSession(TransactionTemplate transaction, CacheMode cacheMode) {
+        for (int screen = 0; screen < SCREENS; screen++) {
+            transaction.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setCacheMode(cacheMode);
+
+                ChatRoom chatRoom = chatRoomRepository.findByPatientId(PATIENT_ID).orElseThrow();
+                chatRoomRepository.findByChatRoomId(chatRoom.getChatRoomId()).orElseThrow();
+                MedicalStaff staff = medicalStaffRepository.findByMedicalStaffId(chatRoom.getMedicalStaffId()).orElseThrow();
+                Hospital hospital = hospitalRepository.findByHospitalId(staff.getHospitalId()).orElseThrow();
+                assertThat(hospitalInformationRepository.findAllByHospitalId(hospital.getHospitalId())).hasSize(5);
+                assertThat(medicalStaffRepository.findByHospitalId(hospital.getHospitalId())).hasSize(3);
+                assertThat(macroRepository.findAllByMedicalStaffId(staff.getMedicalStaffId())).hasSize(4);
+            });
+        }
+    }
+
+    private void seed() {
+        Hospital hospital = hospitalRepository.save(Hospital.builder()
+                .name("케어브릿지 병원")
+                .location("서울")
+                .build());
+        for (int i = 0; i < 5; i++) {
+            hospitalInformationRepository.save(HospitalInformation.builder()
+                    .hospital(hospital)
+                    .category("안내")
+                    .title("정보 " + i)
+                    .information("내용 " + i)
+                    .build());
+        }
+        MedicalStaff staff = null;
+        for (int i = 0; i < 3; i++) {
+            MedicalStaff saved = medicalStaffRepository.save(MedicalStaff.builder()
+                    .department("내과")
+                    .hospitalId(hospital.getHospitalId())
+                    .build());
+            staff = staff == null ? saved : staff;
+        }
+        for (int i = 0; i < 4; i++) {
+            macroRepository.save(Macro.builder()
+                    .medicalStaffId(staff.getMedicalStaffId())
+                    .macroName("매크로 " + i)
+                    .text("안내 문구 " + i)
+                    .build());
+        }
+        chatRoomRepository.save(ChatRoom.builder()
+                .chatRoomId(CHAT_ROOM_ID)
+                .patientId(PATIENT_ID)
+                .medicalStaffId(staff.getMedicalStaffId())
+                .build());
+    }
+}
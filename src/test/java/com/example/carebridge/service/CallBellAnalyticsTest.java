@@ -0,0 +1,108 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.RequestDto;
+import com.example.carebridge.dto.ResponseTimeStatsDto;
+import com.example.carebridge.entity.MedicalStaff;
+import com.example.carebridge.entity.Request;
+import com.example.carebridge.repository.MedicalStaffRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 콜벨 응답 시간 분석 검사
+ * 요청 변경 이벤트로 기록한 대기/처리 시간의 백분위수와 Micrometer 타이머의 태그를 확인합니다.
+ */
+class CallBellAnalyticsTest {
+
+    private static final LocalDateTime REQUESTED_AT = LocalDateTime.of(2026, 10, 19, 9, 0);
+
+    private SimpleMeterRegistry meterRegistry;
+    private MedicalStaffRepository medicalStaffRepository;
+    private CallBellAnalytics analytics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        medicalStaffRepository = mock(MedicalStaffRepository.class);
+        when(medicalStaffRepository.findByMedicalStaffId(1)).thenReturn(Optional.of(staff("내과")));
+        when(medicalStaffRepository.findByMedicalStaffId(2)).thenReturn(Optional.of(staff("외과")));
+        analytics = new CallBellAnalytics(medicalStaffRepository, meterRegistry);
+    }
+
+    @Test
+    void recordsWaitPercentilesPerStaffDepartmentAndHour() {
+        for (int seconds = 1; seconds <= 100; seconds++) {
+            analytics.onRequestChanged(accepted(1, seconds));
+        }
+
+        ResponseTimeStatsDto byStaff = analytics.getStats(CallBellAnalytics.Dimension.STAFF, "1");
+        assertThat(byStaff.getWaitCount()).isEqualTo(100);
+        assertThat((double) byStaff.getWaitP50()).isCloseTo(50_000, within(1_000.0));
+        assertThat((double) byStaff.getWaitP90()).isCloseTo(90_000, within(1_000.0));
+        assertThat((double) byStaff.getWaitP99()).isCloseTo(99_000, within(1_000.0));
+        assertThat(analytics.getStats(CallBellAnalytics.Dimension.DEPARTMENT, "내과").getWaitCount()).isEqualTo(100);
+        assertThat(analytics.getStats(CallBellAnalytics.Dimension.HOUR, "9").getWaitCount()).isEqualTo(100);
+        assertThat(analytics.getStats(CallBellAnalytics.Dimension.STAFF, "2").getWaitCount()).isZero();
+    }
+
+    @Test
+    void timersAreTaggedByDepartmentAndBuiltOncePerDepartment() {
+        analytics.onRequestChanged(accepted(1, 30));
+        analytics.onRequestChanged(accepted(1, 60));
+        analytics.onRequestChanged(accepted(2, 90));
+
+        Timer internal = meterRegistry.get("callbell.response.wait").tag("department", "내과").timer();
+        Timer surgery = meterRegistry.get("callbell.response.wait").tag("department", "외과").timer();
+        assertThat(internal.count()).isEqualTo(2);
+        assertThat(internal.totalTime(TimeUnit.SECONDS)).isEqualTo(90.0);
+        assertThat(surgery.count()).isEqualTo(1);
+        assertThat(meterRegistry.find("callbell.response.wait").timers()).hasSize(2);
+        verify(medicalStaffRepository, times(1)).findByMedicalStaffId(1);
+    }
+
+    @Test
+    void completionRecordsResolutionOnlyOnce() {
+        RequestChangedEvent completed = new RequestChangedEvent(RequestChangedEvent.Type.UPDATED, request(1),
+                Request.RequestStatus.COMPLETED, Request.RequestStatus.IN_PROGRESS,
+                LocalDateTime.now().minusMinutes(10), null, null);
+        RequestChangedEvent repeated = new RequestChangedEvent(RequestChangedEvent.Type.UPDATED, request(1),
+                Request.RequestStatus.COMPLETED, Request.RequestStatus.COMPLETED,
+                LocalDateTime.now().minusMinutes(10), null, null);
+
+        analytics.onRequestChanged(completed);
+        analytics.onRequestChanged(repeated);
+
+        ResponseTimeStatsDto stats = analytics.getStats(CallBellAnalytics.Dimension.DEPARTMENT, "내과");
+        assertThat(stats.getResolutionCount()).isEqualTo(1);
+        assertThat((double) stats.getResolutionP50()).isCloseTo(600_000, within(10_000.0));
+        assertThat(meterRegistry.get("callbell.response.resolution").tag("department", "내과").timer().count())
+                .isEqualTo(1);
+    }
+
+    private static RequestChangedEvent accepted(int medicalStaffId, int waitSeconds) {
+        return new RequestChangedEvent(RequestChangedEvent.Type.UPDATED, request(medicalStaffId),
+                Request.RequestStatus.IN_PROGRESS, Request.RequestStatus.PENDING,
+                REQUESTED_AT, REQUESTED_AT.plusSeconds(waitSeconds), null);
+    }
+
+    private static RequestDto request(int medicalStaffId) {
+        return RequestDto.builder().requestId(1).medicalStaffId(medicalStaffId).build();
+    }
+
+    private static MedicalStaff staff(String department) {
+        return MedicalStaff.builder().department(department).hospitalId(1).build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.RequestDto;
+import com.example.carebridge.entity.DeviceToken;
+import com.example.carebridge.entity.Request;
+import com.example.carebridge.repository.MedicalStaffRepository;
+import com.example.carebridge.repository.RequestRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 콜벨 에스컬레이션 예약 검사
+ * 재시작 직후나 다시 PENDING 으로 돌아온 요청처럼 요청 시각 기준 마감이 이미 지난 경우
+ * 한 번에 여러 단계를 건너뛰지 않는지 확인합니다.
+ */
+class CallBellEscalationServiceTest {
+
+    private RequestRepository requestRepository;
+    private NotificationCoalescer notificationCoalescer;
+    private CallBellEscalationService escalationService;
+
+    @BeforeEach
+    void setUp() {
+        requestRepository = mock(RequestRepository.class);
+        notificationCoalescer = mock(NotificationCoalescer.class);
+        escalationService = new CallBellEscalationService(requestRepository, mock(MedicalStaffRepository.class),
+                mock(UserQueueMessenger.class), notificationCoalescer,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+                120, 300, 600, 500, 3600);
+    }
+
+    @Test
+    void rebuildDefersOverdueRequestsAndSkipsStaleOnes() {
+        Request overdue = pending(1, LocalDateTime.now().minusMinutes(11));
+        Request stale = pending(2, LocalDateTime.now().minusHours(2));
+        when(requestRepository.findByStatusIn(any())).thenReturn(List.of(overdue, stale));
+
+        escalationService.rebuild();
+        escalationService.sweep();
+
+        assertThat(escalationService.scheduledCount()).isEqualTo(1);
+        verify(requestRepository, never()).findByRequestId(anyInt());
+        assertThat(overdue.getEscalationLevel()).isZero();
+    }
+
+    @Test
+    void requestBackToPendingWaitsFullIntervalBeforeEscalating() {
+        Request request = pending(1, LocalDateTime.now().minusMinutes(20));
+        request.setEscalationLevel(1);
+        when(requestRepository.findByRequestId(1)).thenReturn(Optional.of(request));
+
+        escalationService.onRequestChanged(changed(RequestChangedEvent.Type.UPDATED, request,
+                Request.RequestStatus.IN_PROGRESS));
+        escalationService.sweep();
+
+        assertThat(escalationService.scheduledCount()).isEqualTo(1);
+        verify(requestRepository, never()).findByRequestId(anyInt());
+        assertThat(request.getEscalationLevel()).isEqualTo(1);
+    }
+
+    @Test
+    void overdueRequestEscalatesOneLevelPerSweep() {
+        // 재알림을 즉시 보내도록 첫 단계 기준 시간을 0 으로 두고, 이미 지난 다음 단계가 이어서 처리되지 않는지 확인합니다.
+        escalationService = new CallBellEscalationService(requestRepository, mock(MedicalStaffRepository.class),
+                mock(UserQueueMessenger.class), notificationCoalescer,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+                0, 300, 600, 500, 3600);
+        Request request = pending(1, LocalDateTime.now().minusMinutes(15));
+        when(requestRepository.findByRequestId(1)).thenReturn(Optional.of(request));
+
+        escalationService.onRequestChanged(changed(RequestChangedEvent.Type.CREATED, request, null));
+        escalationService.sweep();
+        escalationService.sweep();
+
+        assertThat(request.getEscalationLevel()).isEqualTo(1);
+        assertThat(escalationService.scheduledCount()).isEqualTo(1);
+        verify(notificationCoalescer, times(1))
+                .notifyImmediately(eq(DeviceToken.OwnerType.STAFF), eq(7), anyString(), anyString());
+    }
+
+    private static Request pending(int requestId, LocalDateTime requestTime) {
+        Request request = Request.builder()
+                .patientId(3)
+                .medicalStaffId(7)
+                .requestContent("물 요청")
+                .requestTime(requestTime)
+                .status(Request.RequestStatus.PENDING)
+                .build();
+        request.setRequestId(requestId);
+        return request;
+    }
+
+    private static RequestChangedEvent changed(RequestChangedEvent.Type type, Request request,
+                                               Request.RequestStatus previousStatus) {
+        RequestDto dto = RequestDto.builder()
+                .requestId(request.getRequestId())
+                .patientId(request.getPatientId())
+                .medicalStaffId(request.getMedicalStaffId())
+                .build();
+        return new RequestChangedEvent(type, dto, Request.RequestStatus.PENDING, previousStatus,
+                request.getRequestTime(), null, null);
+    }
+}
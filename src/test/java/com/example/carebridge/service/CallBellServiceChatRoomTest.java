@@ -0,0 +1,101 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.entity.ChatRoom;
+import com.example.carebridge.entity.MedicalStaff;
+import com.example.carebridge.entity.Patient;
+import com.example.carebridge.mapper.ChatRoomMapperImpl;
+import com.example.carebridge.mapper.RequestMapper;
+import com.example.carebridge.repository.ChatRoomRepository;
+import com.example.carebridge.repository.MedicalStaffRepository;
+import com.example.carebridge.repository.PatientRepository;
+import com.example.carebridge.repository.RequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 채팅방 생성 검사
+ * 배정 전략이 요청마다 다른 의료진을 고르는 상황(같은 분과 의료진 2명, weighted-round-robin)에서
+ * 같은 환자의 채팅방이 두 번 만들어지지 않는지, 동시에 저장되어 유니크 인덱스에 막힌 경우도 같게 처리되는지 확인합니다.
+ */
+class CallBellServiceChatRoomTest {
+
+    private static final int PATIENT_ID = 10;
+
+    private final List<ChatRoom> savedRooms = new ArrayList<>();
+    private ChatRoomRepository chatRoomRepository;
+    private CallBellService callBellService;
+
+    @BeforeEach
+    void setUp() {
+        chatRoomRepository = mock(ChatRoomRepository.class);
+        when(chatRoomRepository.findByPatientId(any())).thenAnswer(invocation -> savedRooms.stream()
+                .filter(room -> room.getPatientId().equals(invocation.getArgument(0)))
+                .findFirst());
+        when(chatRoomRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            ChatRoom room = invocation.getArgument(0);
+            if (savedRooms.stream().anyMatch(saved -> saved.getPatientId().equals(room.getPatientId()))) {
+                throw new DataIntegrityViolationException("Duplicate entry for key 'uk_chat_room_patient'");
+            }
+            savedRooms.add(room);
+            return room;
+        });
+
+        Patient patient = mock(Patient.class);
+        when(patient.getHospitalId()).thenReturn(1);
+        PatientRepository patientRepository = mock(PatientRepository.class);
+        when(patientRepository.findByPatientId(PATIENT_ID)).thenReturn(Optional.of(patient));
+
+        MedicalStaffRepository medicalStaffRepository = mock(MedicalStaffRepository.class);
+        when(medicalStaffRepository.findAllByHospitalIdAndDepartment(1, "내과"))
+                .thenReturn(List.of(staff(1), staff(2)));
+        StaffRouter staffRouter = new StaffRouter(medicalStaffRepository, mock(CallBellBoard.class),
+                mock(StaffPresenceTracker.class), List.of(new WeightedRoundRobinRoutingStrategy(10)),
+                "weighted-round-robin");
+
+        callBellService = new CallBellService(chatRoomRepository, mock(RequestRepository.class),
+                new ChatRoomMapperImpl(), mock(RequestMapper.class), staffRouter, patientRepository,
+                mock(ApplicationEventPublisher.class), mock(CallBellBoard.class), mock(ChatRoomDirectory.class));
+    }
+
+    @Test
+    void secondChatRoomForSamePatientIsRejectedEvenWhenRouterPicksAnotherStaff() {
+        callBellService.createChatRoom(PATIENT_ID, "내과");
+
+        assertThatThrownBy(() -> callBellService.createChatRoom(PATIENT_ID, "내과"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("이미 존재");
+        assertThat(savedRooms).hasSize(1);
+    }
+
+    @Test
+    void concurrentDuplicateInsertIsReportedAsExistingRoom() {
+        // 두 요청이 모두 "채팅방 없음" 을 확인한 뒤 다른 요청이 먼저 저장한 상황
+        when(chatRoomRepository.findByPatientId(PATIENT_ID))
+                .thenReturn(Optional.empty())
+                .thenAnswer(invocation -> savedRooms.stream().findFirst());
+        savedRooms.add(ChatRoom.builder().chatRoomId("1_" + PATIENT_ID).patientId(PATIENT_ID).medicalStaffId(1).build());
+
+        assertThatThrownBy(() -> callBellService.createChatRoom(PATIENT_ID, "내과"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("이미 존재");
+        assertThat(savedRooms).hasSize(1);
+    }
+
+    private static MedicalStaff staff(int id) {
+        MedicalStaff staff = MedicalStaff.builder().department("내과").hospitalId(1).build();
+        staff.setMedicalStaffId(id);
+        return staff;
+    }
+}
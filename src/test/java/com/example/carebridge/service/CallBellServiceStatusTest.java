@@ -0,0 +1,103 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.entity.Request;
+import com.example.carebridge.exception.RequestConflictException;
+import com.example.carebridge.mapper.ChatRoomMapperImpl;
+import com.example.carebridge.mapper.RequestMapper;
+import com.example.carebridge.repository.ChatRoomRepository;
+import com.example.carebridge.repository.PatientRepository;
+import com.example.carebridge.repository.RequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 요청 상태 compare-and-set 검사
+ * 기대 상태 필수, 같은 상태 재시도, 상태 전이 규칙, 동시 변경 충돌(409)을 확인합니다.
+ */
+class CallBellServiceStatusTest {
+
+    private static final int REQUEST_ID = 5;
+
+    private RequestRepository requestRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private Request request;
+    private CallBellService callBellService;
+
+    @BeforeEach
+    void setUp() {
+        request = Request.builder()
+                .patientId(3)
+                .medicalStaffId(7)
+                .requestContent("물 요청")
+                .requestTime(LocalDateTime.now())
+                .status(Request.RequestStatus.PENDING)
+                .build();
+        request.setRequestId(REQUEST_ID);
+        requestRepository = mock(RequestRepository.class);
+        when(requestRepository.findByRequestId(REQUEST_ID)).thenAnswer(invocation -> Optional.of(request));
+        when(requestRepository.compareAndSetStatus(any(), any(), any())).thenAnswer(invocation -> {
+            if (request.getStatus() != invocation.getArgument(1)) {
+                return 0;
+            }
+            request.setStatus(invocation.getArgument(2));
+            return 1;
+        });
+        eventPublisher = mock(ApplicationEventPublisher.class);
+
+        callBellService = new CallBellService(mock(ChatRoomRepository.class), requestRepository,
+                new ChatRoomMapperImpl(), mock(RequestMapper.class), mock(StaffRouter.class),
+                mock(PatientRepository.class), eventPublisher, mock(CallBellBoard.class), mock(ChatRoomDirectory.class));
+    }
+
+    @Test
+    void missingOrInvalidExpectedStatusIsRejected() {
+        assertThatThrownBy(() -> callBellService.updateRequestStatus(REQUEST_ID, "IN_PROGRESS", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> callBellService.updateRequestStatus(REQUEST_ID, "IN_PROGRESS", "WAITING"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("잘못된 상태값");
+        verify(requestRepository, never()).compareAndSetStatus(any(), any(), any());
+    }
+
+    @Test
+    void secondAcceptWithStaleExpectedStatusConflicts() {
+        callBellService.updateRequestStatus(REQUEST_ID, "IN_PROGRESS", "PENDING");
+
+        assertThatThrownBy(() -> callBellService.updateRequestStatus(REQUEST_ID, "COMPLETED", "PENDING"))
+                .isInstanceOf(RequestConflictException.class)
+                .hasMessageContaining(Request.RequestStatus.IN_PROGRESS.getDescription());
+        verify(eventPublisher).publishEvent(any(RequestChangedEvent.class));
+    }
+
+    @Test
+    void sameStateRetryIsIdempotentOnlyWhenAlreadyApplied() {
+        request.setStatus(Request.RequestStatus.IN_PROGRESS);
+        callBellService.updateRequestStatus(REQUEST_ID, "IN_PROGRESS", "IN_PROGRESS");
+        verify(requestRepository, never()).compareAndSetStatus(any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+
+        request.setStatus(Request.RequestStatus.COMPLETED);
+        assertThatThrownBy(() -> callBellService.updateRequestStatus(REQUEST_ID, "IN_PROGRESS", "IN_PROGRESS"))
+                .isInstanceOf(RequestConflictException.class);
+    }
+
+    @Test
+    void completedRequestCannotBeReopened() {
+        request.setStatus(Request.RequestStatus.COMPLETED);
+
+        assertThatThrownBy(() -> callBellService.updateRequestStatus(REQUEST_ID, "PENDING", "COMPLETED"))
+                .isInstanceOf(RequestConflictException.class);
+        verify(requestRepository, never()).compareAndSetStatus(any(), any(), any());
+    }
+}
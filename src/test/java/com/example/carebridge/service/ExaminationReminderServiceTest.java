@@ -0,0 +1,145 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.entity.ExaminationSchedule;
+import com.example.carebridge.repository.ExaminationScheduleRepository;
+import com.example.carebridge.util.UserDestinations;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 검사 일정 알림 전송 검사
+ * 예정 시각 1분 전 알림만 두고, 일정 예정 시각을 지금부터 1분 남짓 뒤로 잡아 알림이 곧바로 만료되게 합니다.
+ */
+class ExaminationReminderServiceTest {
+
+    private static final String ZONE = "Asia/Seoul";
+
+    private ExaminationScheduleRepository scheduleRepository;
+    private UserQueueMessenger userQueueMessenger;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private ExaminationReminderService service;
+
+    @BeforeEach
+    void setUp() {
+        scheduleRepository = mock(ExaminationScheduleRepository.class);
+        userQueueMessenger = mock(UserQueueMessenger.class);
+        ChatRoomDirectory chatRoomDirectory = mock(ChatRoomDirectory.class);
+        when(chatRoomDirectory.findPatient(anyInt())).thenReturn(Optional.empty());
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ExaminationReminderService(scheduleRepository, chatRoomDirectory, userQueueMessenger,
+                mock(NotificationCoalescer.class), transactionManager, meterRegistry, ZONE,
+                new int[]{1}, 24, 100, 2, 50);
+    }
+
+    @Test
+    void staleRemindersAreDroppedAndSweepReadsFromPrimary() throws InterruptedException {
+        LocalDateTime unchanged = dueSoon();
+        LocalDateTime moved = dueSoon();
+        schedule(1, unchanged);
+        schedule(2, moved);
+        schedule(3, dueSoon());
+        assertThat(service.scheduledCount()).isEqualTo(3);
+
+        // 일정 2 는 예정 시각이 바뀌었고 일정 3 은 삭제됨 (변경 이벤트가 아직 도착하지 않은 상태)
+        when(scheduleRepository.findAllById(any())).thenReturn(List.of(
+                entity(1, unchanged), entity(2, moved.plusHours(1))));
+        Thread.sleep(300);
+        service.sweep();
+
+        verify(userQueueMessenger).sendToPatient(eq(101), eq(UserDestinations.SCHEDULE_REMINDER), any());
+        verify(userQueueMessenger, times(1)).sendToPatient(any(), any(), any());
+        assertThat(meterRegistry.counter("examination.reminder.stale").count()).isEqualTo(2);
+        assertThat(service.scheduledCount()).isZero();
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().isReadOnly())
+                .as("알림 직전 재조회는 복제본이 아닌 원본에서 읽어야 함")
+                .isFalse();
+    }
+
+    @Test
+    void failedSendIsRetriedWithBackoffThenGivenUp() throws InterruptedException {
+        LocalDateTime scheduleDate = dueSoon();
+        schedule(1, scheduleDate);
+        when(scheduleRepository.findAllById(any())).thenReturn(List.of(entity(1, scheduleDate)));
+        doThrow(new IllegalStateException("broker down"))
+                .doThrow(new IllegalStateException("broker down"))
+                .doNothing()
+                .when(userQueueMessenger).sendToPatient(any(), any(), any());
+
+        Thread.sleep(300);
+        service.sweep();
+        assertThat(service.scheduledCount())
+                .as("첫 실패 후 다시 예약")
+                .isEqualTo(1);
+
+        Thread.sleep(150);
+        service.sweep();
+        assertThat(service.scheduledCount()).isEqualTo(1);
+
+        Thread.sleep(250);
+        service.sweep();
+        verify(userQueueMessenger, times(3)).sendToPatient(any(), any(), any());
+        assertThat(meterRegistry.counter("examination.reminder.retried").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("examination.reminder.sent").count()).isEqualTo(1);
+        assertThat(service.scheduledCount()).isZero();
+
+        // 재시도 횟수(2회)를 넘기면 포기
+        LocalDateTime another = dueSoon();
+        schedule(2, another);
+        when(scheduleRepository.findAllById(any())).thenReturn(List.of(entity(2, another)));
+        doThrow(new IllegalStateException("broker down")).when(userQueueMessenger).sendToPatient(any(), any(), any());
+        for (int i = 0; i < 3; i++) {
+            Thread.sleep(300);
+            service.sweep();
+        }
+        assertThat(meterRegistry.counter("examination.reminder.failed").count()).isEqualTo(1);
+        assertThat(service.scheduledCount()).isZero();
+    }
+
+    /**
+     * 1분 전 알림이 약 200ms 뒤에 울리는 예정 시각
+     */
+    private static LocalDateTime dueSoon() {
+        return LocalDateTime.now(ZoneId.of(ZONE)).plusMinutes(1).plusNanos(200_000_000L);
+    }
+
+    private void schedule(int scheduleId, LocalDateTime scheduleDate) {
+        service.onExaminationScheduleChanged(new ExaminationScheduleChangedEvent(
+                ExaminationScheduleChangedEvent.Type.CREATED, scheduleId, null,
+                new ExaminationScheduleChangedEvent.Snapshot(100 + scheduleId, 7, scheduleDate)));
+    }
+
+    private static ExaminationSchedule entity(int scheduleId, LocalDateTime scheduleDate) {
+        ExaminationSchedule schedule = new ExaminationSchedule();
+        schedule.setId(scheduleId);
+        schedule.setPatientId(100 + scheduleId);
+        schedule.setMedicalStaffId(7);
+        schedule.setScheduleDate(scheduleDate);
+        return schedule;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.NotificationRequestDto;
+import com.example.carebridge.dto.NotificationResultDto;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테스트용 가짜 FCM 게이트웨이
+ * 실제 FCM 서버 대신 지정한 지연 시간 후 전송 결과를 돌려줍니다.
+ *
+ * 토큰 규칙:
+ * - "unregistered" 로 시작: UNREGISTERED 오류
+ * - "invalid" 로 시작: INVALID_ARGUMENT 오류
+ * - "unavailable" 로 시작: UNAVAILABLE 오류 (재시도 대상)
+ * - "hang" 으로 시작: 응답하지 않음 (Future 가 완료되지 않음)
+ * - 그 외: 전송 성공
+ */
+class FakeFcmGateway implements FcmGateway {
+
+    private final long latencyMillis;
+    private final AtomicLong sentCount = new AtomicLong();
+
+    FakeFcmGateway(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public CompletableFuture<List<NotificationResultDto>> sendEach(List<NotificationRequestDto> batch) {
+        if (batch.stream().anyMatch(request -> request.getToken() != null && request.getToken().startsWith("hang"))) {
+            return new CompletableFuture<>();
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            sentCount.addAndGet(batch.size());
+            return batch.stream().map(request -> toResult(request.getToken())).toList();
+        }, CompletableFuture.delayedExecutor(latencyMillis, TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public CompletableFuture<List<NotificationResultDto>> sendMulticast(String title, String body, List<String> tokens) {
+        return CompletableFuture.supplyAsync(() -> {
+            sentCount.addAndGet(tokens.size());
+            return tokens.stream().map(this::toResult).toList();
+        }, CompletableFuture.delayedExecutor(latencyMillis, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * 지금까지 전송을 시도한 메시지 수를 반환합니다.
+     *
+     * @return 누적 전송 건수
+     */
+    long getSentCount() {
+        return sentCount.get();
+    }
+
+    private NotificationResultDto toResult(String token) {
+        if (token == null || token.startsWith("invalid")) {
+            return NotificationResultDto.failure(token, "INVALID_ARGUMENT");
+        }
+        if (token.startsWith("unregistered")) {
+            return NotificationResultDto.failure(token, "UNREGISTERED");
+        }
+        if (token.startsWith("unavailable")) {
+            return NotificationResultDto.failure(token, "UNAVAILABLE");
+        }
+        return NotificationResultDto.builder()
+                .token(token)
+                .success(true)
+                .messageId("fake/" + UUID.randomUUID())
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.NotificationRequestDto;
+import com.example.carebridge.dto.NotificationResultDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * FCM 배치 전송 처리량 측정
+ * 배치마다 일정한 지연 후 응답하는 가짜 게이트웨이(FakeFcmGateway)로 같은 양의 알림을 보내
+ * 동시 전송 배치 수(max-in-flight)에 따른 전체 소요 시간과 토큰별 결과를 확인합니다.
+ */
+class FcmServiceThroughputTest {
+
+    private static final long LATENCY_MILLIS = 50;
+    private static final int BATCH_SIZE = 500;
+    private static final int MESSAGES = 8_000;
+
+    private final ExecutorService dispatchExecutor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        dispatchExecutor.shutdownNow();
+    }
+
+    @Test
+    void parallelBatchesDeliverFasterThanSequentialBatches() {
+        long sequential = timeToSend(1);
+        long parallel = timeToSend(4);
+
+        assertThat(parallel)
+                .as("%d건 전송 소요 시간 - 동시 1배치: %dms, 동시 4배치: %dms", MESSAGES, sequential, parallel)
+                .isLessThan(sequential / 2);
+    }
+
+    @Test
+    void resultsKeepRequestOrderAndReportFailuresPerToken() {
+        FcmService fcmService = fcmService(new FakeFcmGateway(LATENCY_MILLIS), 4, 30_000);
+        List<NotificationRequestDto> requests = List.of(request("ok-1"), request("unregistered-1"), request("ok-2"));
+
+        List<NotificationResultDto> results = fcmService.send(requests).join();
+
+        assertThat(results).extracting(NotificationResultDto::getToken)
+                .containsExactly("ok-1", "unregistered-1", "ok-2");
+        assertThat(results).extracting(NotificationResultDto::isSuccess).containsExactly(true, false, true);
+        assertThat(results.get(1).getErrorCode()).isEqualTo("UNREGISTERED");
+    }
+
+    @Test
+    void unansweredBatchTimesOutAndReleasesInFlightPermit() {
+        FcmService fcmService = fcmService(new FakeFcmGateway(LATENCY_MILLIS), 1, 200);
+
+        List<NotificationResultDto> hung = fcmService.send(List.of(request("hang-1"))).orTimeout(5, TimeUnit.SECONDS).join();
+        List<NotificationResultDto> next = fcmService.send(List.of(request("ok-1"))).orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertThat(hung).singleElement().satisfies(result -> {
+            assertThat(result.isSuccess()).isFalse();
+            assertThat(result.getErrorCode()).isEqualTo("UNAVAILABLE");
+        });
+        assertThat(next).singleElement().satisfies(result -> assertThat(result.isSuccess()).isTrue());
+    }
+
+    /**
+     * 동시 전송 배치 수를 바꿔 가며 MESSAGES 건을 모두 전송하는 데 걸린 시간을 잽니다.
+     *
+     * @return 소요 시간(ms)
+     */
+    private long timeToSend(int maxInFlight) {
+        FakeFcmGateway gateway = new FakeFcmGateway(LATENCY_MILLIS);
+        FcmService fcmService = fcmService(gateway, maxInFlight, 30_000);
+        List<NotificationRequestDto> requests = new ArrayList<>(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            requests.add(request("token-" + i));
+        }
+
+        long startedAt = System.nanoTime();
+        List<NotificationResultDto> results = fcmService.send(requests).join();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        assertThat(results).hasSize(MESSAGES).allMatch(NotificationResultDto::isSuccess);
+        assertThat(gateway.getSentCount()).isEqualTo(MESSAGES);
+        return elapsedMillis;
+    }
+
+    private FcmService fcmService(FcmGateway gateway, int maxInFlight, long sendTimeoutMillis) {
+        return new FcmService(gateway, dispatchExecutor, new SimpleMeterRegistry(), BATCH_SIZE, maxInFlight, sendTimeoutMillis);
+    }
+
+    private static NotificationRequestDto request(String token) {
+        return NotificationRequestDto.builder().token(token).title("제목").body("내용").build();
+    }
+}
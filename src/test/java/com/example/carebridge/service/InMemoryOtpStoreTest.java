@@ -0,0 +1,56 @@
+package com.example.carebridge.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 메모리 OTP 저장소 검사
+ * 만료, 최대 시도 횟수, 재발송 시 초기화, 정리 작업(OtpSweeper)을 확인합니다.
+ */
+class InMemoryOtpStoreTest {
+
+    private static final String PHONE = "01012345678";
+
+    private final InMemoryOtpStore store = new InMemoryOtpStore();
+
+    @Test
+    void verifiesUntilMaxAttemptsAndResetsOnResend() {
+        store.save(PHONE, "hash-1", LocalDateTime.now().plusMinutes(5));
+
+        assertThat(store.verify(PHONE, "wrong", 3)).isEqualTo(OtpStore.Result.MISMATCH);
+        assertThat(store.verify(PHONE, "hash-1", 3)).isEqualTo(OtpStore.Result.VERIFIED);
+        assertThat(store.verify(PHONE, "wrong", 3)).isEqualTo(OtpStore.Result.MISMATCH);
+        assertThat(store.verify(PHONE, "hash-1", 3))
+                .as("시도 횟수를 모두 쓴 뒤에는 맞는 인증번호도 거부")
+                .isEqualTo(OtpStore.Result.TOO_MANY_ATTEMPTS);
+
+        store.save(PHONE, "hash-2", LocalDateTime.now().plusMinutes(5));
+        assertThat(store.verify(PHONE, "hash-1", 3))
+                .as("재발송 후 이전 인증번호")
+                .isEqualTo(OtpStore.Result.MISMATCH);
+        assertThat(store.verify(PHONE, "hash-2", 3)).isEqualTo(OtpStore.Result.VERIFIED);
+    }
+
+    @Test
+    void expiredCodesAreRejectedAndSwept() {
+        store.save(PHONE, "hash-1", LocalDateTime.now().minusSeconds(1));
+        store.save("01000000000", "hash-2", LocalDateTime.now().plusMinutes(5));
+
+        assertThat(store.verify(PHONE, "hash-1", 3)).isEqualTo(OtpStore.Result.EXPIRED);
+        assertThat(store.verify("01099999999", "hash-1", 3))
+                .as("발송하지 않은 번호")
+                .isEqualTo(OtpStore.Result.EXPIRED);
+
+        store.save(PHONE, "hash-1", LocalDateTime.now().minusSeconds(1));
+        new OtpSweeper(store).sweep();
+        assertThat(store.deleteExpired(LocalDateTime.now()))
+                .as("정리 작업 이후 남은 만료 인증번호")
+                .isZero();
+        assertThat(store.verify("01000000000", "hash-2", 3))
+                .as("만료되지 않은 인증번호는 정리 작업 후에도 유지")
+                .isEqualTo(OtpStore.Result.VERIFIED);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.repository.OtpCodeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * DB OTP 저장소 검사
+ * 조건부 UPDATE 로 처리하는 검증이 만료, 최대 시도 횟수, 재발송을 메모리 저장소와 같게 다루는지와
+ * 정리 작업(OtpSweeper)이 만료된 행만 지우는지 확인합니다.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:otp-store;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "otp.store=database"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaOtpStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaOtpStoreTest {
+
+    private static final String PHONE = "01012345678";
+
+    @Autowired
+    private JpaOtpStore store;
+
+    @Autowired
+    private OtpCodeRepository otpCodeRepository;
+
+    @Test
+    void verifiesUntilMaxAttemptsAndResetsOnResend() {
+        store.save(PHONE, "hash-1", LocalDateTime.now().plusMinutes(5));
+
+        assertThat(store.verify(PHONE, "wrong", 3)).isEqualTo(OtpStore.Result.MISMATCH);
+        assertThat(store.verify(PHONE, "hash-1", 3)).isEqualTo(OtpStore.Result.VERIFIED);
+        assertThat(store.verify(PHONE, "wrong", 3)).isEqualTo(OtpStore.Result.MISMATCH);
+        assertThat(store.verify(PHONE, "hash-1", 3))
+                .as("시도 횟수를 모두 쓴 뒤에는 맞는 인증번호도 거부")
+                .isEqualTo(OtpStore.Result.TOO_MANY_ATTEMPTS);
+        assertThat(otpCodeRepository.findById(PHONE).orElseThrow().getAttempts())
+                .as("거부된 시도는 횟수에 더하지 않음")
+                .isEqualTo(3);
+
+        store.save(PHONE, "hash-2", LocalDateTime.now().plusMinutes(5));
+        assertThat(store.verify(PHONE, "hash-1", 3))
+                .as("재발송 후 이전 인증번호")
+                .isEqualTo(OtpStore.Result.MISMATCH);
+        assertThat(store.verify(PHONE, "hash-2", 3)).isEqualTo(OtpStore.Result.VERIFIED);
+    }
+
+    @Test
+    void expiredCodesAreRejectedAndSwept() {
+        store.save("01011112222", "hash-1", LocalDateTime.now().minusSeconds(1));
+        store.save("01033334444", "hash-2", LocalDateTime.now().plusMinutes(5));
+
+        assertThat(store.verify("01011112222", "hash-1", 3)).isEqualTo(OtpStore.Result.EXPIRED);
+        assertThat(store.verify("01099999999", "hash-1", 3))
+                .as("발송하지 않은 번호")
+                .isEqualTo(OtpStore.Result.EXPIRED);
+
+        new OtpSweeper(store).sweep();
+        assertThat(otpCodeRepository.existsById("01011112222")).isFalse();
+        assertThat(store.verify("01033334444", "hash-2", 3))
+                .as("만료되지 않은 인증번호는 정리 작업 후에도 유지")
+                .isEqualTo(OtpStore.Result.VERIFIED);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.KakaoDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 카카오 API 클라이언트 통합 테스트
+ * 로컬 스텁 서버(KakaoStubServer)에 실제 HTTP 로 호출하여 응답 파싱, 사용자 정보 캐시, 오류/시간 초과 처리를 확인합니다.
+ */
+class KakaoApiClientTest {
+
+    private KakaoStubServer stub;
+    private KakaoApiClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new KakaoStubServer();
+        client = new KakaoApiClient(new SimpleMeterRegistry(), stub.baseUrl(), stub.baseUrl(), 1000, 500, 60, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void exchangesAuthorizationCodeForAccessToken() {
+        assertThat(client.requestAccessToken("code", "client-id", "secret", "http://localhost/callback"))
+                .isEqualTo(KakaoStubServer.ACCESS_TOKEN);
+    }
+
+    @Test
+    void readsNestedUserInfoFieldsAndCachesThemPerToken() {
+        KakaoDto first = client.getUserInfo(KakaoStubServer.ACCESS_TOKEN);
+        KakaoDto second = client.getUserInfo(KakaoStubServer.ACCESS_TOKEN);
+
+        assertThat(first.getId()).isEqualTo(KakaoStubServer.USER_ID);
+        assertThat(first.getEmail()).isEqualTo("hong@example.com");
+        assertThat(first.getNickname()).isEqualTo("홍길동");
+        assertThat(second).isEqualTo(first);
+        assertThat(stub.calls("/v2/user/me")).isEqualTo(1);
+    }
+
+    @Test
+    void logoutEvictsCachedUserInfo() {
+        client.getUserInfo(KakaoStubServer.ACCESS_TOKEN);
+
+        assertThat(client.logout(KakaoStubServer.ACCESS_TOKEN)).isEqualTo(KakaoStubServer.USER_ID);
+        client.getUserInfo(KakaoStubServer.ACCESS_TOKEN);
+
+        assertThat(stub.calls("/v2/user/me")).isEqualTo(2);
+    }
+
+    @Test
+    void errorStatusIsReportedAsException() {
+        assertThatThrownBy(() -> client.requestAccessToken("expired", "client-id", "secret", "http://localhost/callback"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("401");
+    }
+
+    @Test
+    void slowResponseFailsAfterReadTimeout() {
+        stub.setDelayMillis(2000);
+
+        long startedAt = System.nanoTime();
+        assertThatThrownBy(() -> client.getUserInfo("slow")).isInstanceOf(RuntimeException.class);
+        assertThat((System.nanoTime() - startedAt) / 1_000_000).isLessThan(1500);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.carebridge.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 통합 테스트용 카카오 API 스텁 서버
+ * 127.0.0.1 의 임의 포트에서 카카오 인증/사용자 API 와 같은 경로로 고정된 응답을 돌려주고, 경로별 호출 수를 셉니다.
+ * kakao.auth-uri / kakao.api-uri 를 {@link #baseUrl()} 로 지정하여 사용합니다.
+ *
+ * 경로:
+ * - POST /oauth/token    : access_token 발급 (code=expired 면 401)
+ * - POST /v2/user/me     : 사용자 정보 (Authorization: Bearer slow 면 delayMillis 만큼 늦게 응답)
+ * - POST /v1/user/unlink : 연결 끊기
+ * - POST /v1/user/logout : 로그아웃
+ */
+class KakaoStubServer implements AutoCloseable {
+
+    static final long USER_ID = 1234567890L;
+    static final String ACCESS_TOKEN = "stub-access-token";
+
+    private final HttpServer server;
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private volatile long delayMillis = 500;
+
+    KakaoStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/oauth/token", exchange -> {
+            String form = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            if (form.contains("code=expired")) {
+                respond(exchange, 401, "{\"error\":\"invalid_grant\",\"error_code\":\"KOE320\"}");
+                return;
+            }
+            respond(exchange, 200, "{\"token_type\":\"bearer\",\"access_token\":\"" + ACCESS_TOKEN + "\","
+                    + "\"expires_in\":21599,\"refresh_token\":\"stub-refresh-token\",\"refresh_token_expires_in\":5183999,"
+                    + "\"scope\":\"account_email profile_nickname\"}");
+        });
+        server.createContext("/v2/user/me", exchange -> {
+            if ("Bearer slow".equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                sleep(delayMillis);
+            }
+            respond(exchange, 200, "{\"id\":" + USER_ID + ",\"connected_at\":\"2024-01-01T00:00:00Z\","
+                    + "\"properties\":{\"nickname\":\"properties-nickname\"},"
+                    + "\"kakao_account\":{\"profile_nickname_needs_agreement\":false,"
+                    + "\"profile\":{\"nickname\":\"홍길동\",\"is_default_nickname\":false},"
+                    + "\"email_needs_agreement\":false,\"emails\":[{\"email\":\"other@example.com\"}],"
+                    + "\"email\":\"hong@example.com\"}}");
+        });
+        server.createContext("/v1/user/unlink", exchange -> respond(exchange, 200, "{\"id\":" + USER_ID + "}"));
+        server.createContext("/v1/user/logout", exchange -> respond(exchange, 200, "{\"id\":" + USER_ID + "}"));
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    int calls(String path) {
+        AtomicInteger count = calls.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    void setDelayMillis(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        calls.computeIfAbsent(exchange.getRequestURI().getPath(), k -> new AtomicInteger()).incrementAndGet();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
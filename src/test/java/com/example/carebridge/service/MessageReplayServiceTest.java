@@ -0,0 +1,100 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.entity.Message;
+import com.example.carebridge.repository.MessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MessageConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 재연결 메시지 재전송 검사
+ * 링버퍼(3건)와 최대 재전송 건수(5건)를 작게 두고, 링버퍼/DB 중 어디서 읽는지와 잘림 여부를 확인합니다.
+ */
+class MessageReplayServiceTest {
+
+    private static final String ROOM = "room-1";
+
+    private MessageRepository messageRepository;
+    private MessageReplayService replayService;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository = mock(MessageRepository.class);
+        replayService = new MessageReplayService(messageRepository, mock(MessageChannel.class),
+                mock(MessageConverter.class), 3, 5, 0);
+        for (long seq = 1; seq <= 10; seq++) {
+            replayService.record(message(seq));
+        }
+    }
+
+    @Test
+    void recentGapIsServedFromRingBuffer() {
+        MessageReplayService.ReplayResult result = replayService.replay(ROOM, 7);
+
+        assertThat(result.messages()).extracting(Message::getRoomSeq).containsExactly(8L, 9L, 10L);
+        assertThat(result.truncated()).isFalse();
+        verify(messageRepository, never()).findByChatRoomIdAfterSeq(anyString(), anyLong(), any());
+    }
+
+    @Test
+    void olderGapFallsBackToDatabaseAndReportsTruncation() {
+        when(messageRepository.findByChatRoomIdAfterSeq(ROOM, 2L, PageRequest.of(0, 6)))
+                .thenReturn(messages(3, 8));
+        when(messageRepository.findByChatRoomIdAfterSeq(ROOM, 7L, PageRequest.of(0, 6)))
+                .thenReturn(messages(8, 10));
+
+        MessageReplayService.ReplayResult first = replayService.replay(ROOM, 2);
+        assertThat(first.messages()).extracting(Message::getRoomSeq).containsExactly(3L, 4L, 5L, 6L, 7L);
+        assertThat(first.truncated())
+                .as("최대 건수보다 한 건 더 조회되면 잘림")
+                .isTrue();
+
+        // 클라이언트가 마지막으로 받은 순번으로 다시 요청 (이번에는 링버퍼에서)
+        MessageReplayService.ReplayResult next = replayService.replay(ROOM, 7);
+        assertThat(next.messages()).extracting(Message::getRoomSeq).containsExactly(8L, 9L, 10L);
+        assertThat(next.truncated()).isFalse();
+    }
+
+    @Test
+    void idleBufferEvictionFallsBackToDatabase() throws InterruptedException {
+        when(messageRepository.findByChatRoomIdAfterSeq(ROOM, 7L, PageRequest.of(0, 6)))
+                .thenReturn(messages(8, 10));
+
+        // 유휴 기준 0분: 마지막 기록 이후 시간이 조금이라도 지나면 제거 대상
+        Thread.sleep(5);
+        replayService.evictIdleBuffers();
+        MessageReplayService.ReplayResult result = replayService.replay(ROOM, 7);
+
+        assertThat(result.messages()).extracting(Message::getRoomSeq).containsExactly(8L, 9L, 10L);
+        verify(messageRepository).findByChatRoomIdAfterSeq(ROOM, 7L, PageRequest.of(0, 6));
+    }
+
+    private static List<Message> messages(long fromSeq, long toSeq) {
+        List<Message> messages = new ArrayList<>();
+        for (long seq = fromSeq; seq <= toSeq; seq++) {
+            messages.add(message(seq));
+        }
+        return messages;
+    }
+
+    private static Message message(long seq) {
+        Message message = new Message();
+        message.setChatRoomId(ROOM);
+        message.setRoomSeq(seq);
+        return message;
+    }
+}
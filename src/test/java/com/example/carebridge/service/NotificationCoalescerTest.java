@@ -0,0 +1,57 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.entity.DeviceToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 채팅 푸시 알림 병합 검사
+ * 병합 창을 타이머 대신 flushAll 로 닫아, 수신자·채팅방별로 합쳐진 알림 내용을 확인합니다.
+ */
+class NotificationCoalescerTest {
+
+    private NotificationQueueService queue;
+    private NotificationCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        queue = mock(NotificationQueueService.class);
+        coalescer = new NotificationCoalescer(queue, mock(TaskScheduler.class), new SimpleMeterRegistry(), 5000, 20);
+    }
+
+    @Test
+    void mergedNotificationNamesSenderAndPreviewsLastMessage() {
+        coalescer.submit(DeviceToken.OwnerType.STAFF, 7, "room-1", "홍길동", "첫 메시지");
+        coalescer.submit(DeviceToken.OwnerType.STAFF, 7, "room-1", "홍길동", "두 번째");
+        coalescer.submit(DeviceToken.OwnerType.STAFF, 7, "room-1", "홍길동", "마지막 메시지입니다");
+
+        coalescer.flushAll();
+
+        verify(queue).enqueueIfReachable(DeviceToken.OwnerType.STAFF, 7, "홍길동",
+                "홍길동님이 보낸 새 메시지 3개: 마지막 메시지입니다");
+        assertThat(coalescer.mergeRatio()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    void singleMessageKeepsOriginalContentAndRoomsStaySeparate() {
+        coalescer.submit(DeviceToken.OwnerType.USER, 3, "room-1", "담당 의료진", "검사 결과가 나왔습니다");
+        coalescer.submit(DeviceToken.OwnerType.USER, 3, "room-2", "담당 의료진", "다른 방 메시지");
+
+        coalescer.flushAll();
+
+        verify(queue).enqueueIfReachable(DeviceToken.OwnerType.USER, 3, "담당 의료진", "검사 결과가 나왔습니다");
+        verify(queue).enqueueIfReachable(DeviceToken.OwnerType.USER, 3, "담당 의료진", "다른 방 메시지");
+        verify(queue, never()).enqueueIfReachable(any(), eq(3), anyString(), startsWith("담당 의료진님이"));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.UserAccountDto;
+import com.example.carebridge.entity.Patient;
+import com.example.carebridge.entity.UserAccount;
+import com.example.carebridge.repository.GuardianRepository;
+import com.example.carebridge.repository.PatientRepository;
+import com.example.carebridge.repository.UserAccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 프로필 캐시 검사
+ * 반환된 복사본이 캐시와 분리되어 있는지, 커밋 후 무효화와 연락처 변경 시 환자 항목 무효화를 확인합니다.
+ */
+class ProfileCacheTest {
+
+    private static final String PHONE = "01011112222";
+    private static final String NEW_PHONE = "01033334444";
+
+    private UserAccountRepository userAccountRepository;
+    private PatientRepository patientRepository;
+    private ProfileCache profileCache;
+
+    @BeforeEach
+    void setUp() {
+        userAccountRepository = mock(UserAccountRepository.class);
+        patientRepository = mock(PatientRepository.class);
+        profileCache = new ProfileCache(userAccountRepository, patientRepository, mock(GuardianRepository.class),
+                new SimpleMeterRegistry(), 100, 300);
+        when(userAccountRepository.findByPhoneNumber(PHONE)).thenAnswer(invocation -> Optional.of(account(PHONE)));
+        when(patientRepository.findByPhoneNumber(PHONE)).thenAnswer(invocation -> Optional.of(patient(PHONE)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void returnedCopiesAreDetachedFromTheCache() {
+        UserAccount first = profileCache.findUserAccountByPhone(PHONE).orElseThrow();
+        first.setName("변경된 이름");
+
+        UserAccount second = profileCache.findUserAccountByPhone(PHONE).orElseThrow();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo("환자");
+        verify(userAccountRepository, times(1)).findByPhoneNumber(PHONE);
+    }
+
+    @Test
+    void evictionIsRepeatedAfterCommit() {
+        profileCache.findUserAccountByPhone(PHONE);
+        TransactionSynchronizationManager.initSynchronization();
+
+        profileCache.evictUserAccount(1);
+        // 커밋 전에 다른 요청이 이전 값을 다시 읽어 캐시에 넣은 경우
+        profileCache.findUserAccountByPhone(PHONE);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        profileCache.findUserAccountByPhone(PHONE);
+        verify(userAccountRepository, times(3)).findByPhoneNumber(PHONE);
+    }
+
+    @Test
+    void phoneChangeEvictsPatientCachedUnderOldPhone() {
+        UserAccount stored = account(PHONE);
+        when(userAccountRepository.findByPhoneNumber(PHONE)).thenReturn(Optional.of(stored));
+        UserAccountService userAccountService = new UserAccountService(userAccountRepository, mock(SmsDispatcher.class),
+                mock(OtpRateLimiter.class), mock(OtpStore.class), profileCache, 300, 5, "");
+        profileCache.findPatientByPhone(PHONE);
+
+        UserAccountDto update = new UserAccountDto();
+        update.setName("환자");
+        update.setPhoneNumber(NEW_PHONE);
+        update.setEmail("patient@example.com");
+        userAccountService.updateUserAccount(PHONE, update);
+        profileCache.findPatientByPhone(PHONE);
+
+        verify(patientRepository, times(2)).findByPhoneNumber(PHONE);
+    }
+
+    private static UserAccount account(String phone) {
+        UserAccount account = new UserAccount();
+        account.setId(1);
+        account.setName("환자");
+        account.setPhoneNumber(phone);
+        account.setEmail("patient@example.com");
+        return account;
+    }
+
+    private static Patient patient(String phone) {
+        Patient patient = new Patient();
+        patient.setPatientId(10);
+        patient.setName("환자");
+        patient.setPhoneNumber(phone);
+        patient.setEmail("patient@example.com");
+        return patient;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.carebridge.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.nurigo.sdk.message.service.DefaultMessageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * SMS 발송 대기열 검사
+ * 대기열이 가득 차 거절된 발송은 발송 전 작업(인증번호 저장)을 실행하지 않는지,
+ * 발송 업체 응답 시간 초과는 실패가 아닌 시간 초과로 기록되는지 확인합니다.
+ */
+class SmsDispatcherTest {
+
+    private final ThreadPoolExecutor executor =
+            new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void rejectedSendDoesNotRunBeforeSend() throws Exception {
+        DefaultMessageService messageService = mock(DefaultMessageService.class);
+        SmsDispatcher dispatcher = new SmsDispatcher(messageService, executor, new SimpleMeterRegistry(),
+                "01000000000");
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger saved = new AtomicInteger();
+
+        dispatcher.send("01011112222", "첫 번째", () -> {
+            awaitQuietly(release);
+            saved.incrementAndGet();
+        });
+        dispatcher.send("01011112222", "두 번째", saved::incrementAndGet);
+        assertThatThrownBy(() -> dispatcher.send("01011112222", "세 번째", saved::incrementAndGet))
+                .isInstanceOf(RejectedExecutionException.class);
+
+        release.countDown();
+        verify(messageService, timeout(5000).times(2)).sendOne(any());
+        assertThat(saved.get()).isEqualTo(2);
+    }
+
+    @Test
+    void providerTimeoutIsCountedAsTimeout() {
+        DefaultMessageService messageService = mock(DefaultMessageService.class);
+        when(messageService.sendOne(any())).thenAnswer(invocation -> {
+            throw new SocketTimeoutException("timeout");
+        });
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SmsDispatcher dispatcher = new SmsDispatcher(messageService, executor, meterRegistry, "01000000000");
+
+        dispatcher.send("01011112222", "인증번호");
+
+        verify(messageService, timeout(5000)).sendOne(any());
+        await(() -> meterRegistry.counter("sms.send", "result", "timeout").count() == 1);
+        assertThat(meterRegistry.counter("sms.send", "result", "failure").count()).isZero();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
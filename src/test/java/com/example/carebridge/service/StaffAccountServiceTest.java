@@ -0,0 +1,126 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.StaffAccountDto;
+import com.example.carebridge.entity.StaffAccount;
+import com.example.carebridge.repository.StaffAccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 의료진 비밀번호 해시 검사
+ * 해시/검증, 로그인 시 해시 전환(해시 풀 밖에서 저장), 대기열 포화 시 거절을 확인합니다.
+ */
+class StaffAccountServiceTest {
+
+    private static final int STRENGTH = 5;
+
+    private ThreadPoolExecutor executor;
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHasher passwordHasher;
+    private StaffAccountRepository staffAccountRepository;
+    private StaffAccountService staffAccountService;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                runnable -> new Thread(runnable, "password-hash-test"));
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(STRENGTH), executor, meterRegistry);
+        staffAccountRepository = mock(StaffAccountRepository.class);
+        staffAccountService = new StaffAccountService(staffAccountRepository, passwordHasher,
+                runnable -> new Thread(runnable, "staff-account-db-test").start());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void hashVerifiesOnlyTheSamePassword() {
+        String hash = passwordHasher.hash("nurse-1234").join();
+
+        assertThat(PasswordHasher.isHashed(hash)).isTrue();
+        assertThat(passwordHasher.verify("nurse-1234", hash).join())
+                .isEqualTo(new PasswordHasher.Verification(true, null));
+        assertThat(passwordHasher.verify("nurse-0000", hash).join().matches()).isFalse();
+        assertThat(passwordHasher.verify("nurse-1234", new BCryptPasswordEncoder(STRENGTH - 1).encode("nurse-1234"))
+                .join().upgradedHash()).as("낮은 강도의 해시는 전환 대상").isNotNull();
+    }
+
+    @Test
+    void plaintextPasswordIsUpgradedOffTheHashPoolOnLogin() {
+        when(staffAccountRepository.getStaffAccountByUserId("nurse")).thenReturn(Optional.of(account("nurse-1234")));
+        AtomicReference<String> upgradedHash = new AtomicReference<>();
+        AtomicReference<String> upgradeThread = new AtomicReference<>();
+        when(staffAccountRepository.replacePassword(eq("nurse"), eq("nurse-1234"), anyString())).thenAnswer(invocation -> {
+            upgradedHash.set(invocation.getArgument(2));
+            upgradeThread.set(Thread.currentThread().getName());
+            return 1;
+        });
+
+        assertThat(staffAccountService.verifyStaffAccount(login("nurse-1234")).join()).isTrue();
+
+        assertThat(PasswordHasher.isHashed(upgradedHash.get())).isTrue();
+        assertThat(passwordHasher.verify("nurse-1234", upgradedHash.get()).join().matches()).isTrue();
+        assertThat(upgradeThread.get()).isEqualTo("staff-account-db-test");
+    }
+
+    @Test
+    void fullQueueRejectsVerification() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> awaitQuietly(release));
+        executor.execute(() -> { });
+        when(staffAccountRepository.getStaffAccountByUserId("nurse")).thenReturn(Optional.of(account("nurse-1234")));
+
+        CompletableFuture<Boolean> login = staffAccountService.verifyStaffAccount(login("nurse-1234"));
+        release.countDown();
+
+        assertThatThrownBy(login::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+    }
+
+    private static StaffAccount account(String password) {
+        StaffAccount account = new StaffAccount();
+        account.setUserId("nurse");
+        account.setPassword(password);
+        return account;
+    }
+
+    private static StaffAccountDto login(String password) {
+        StaffAccountDto dto = new StaffAccountDto();
+        dto.setUserId("nurse");
+        dto.setPassword(password);
+        return dto;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.entity.MedicalStaff;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 의료진 배정 전략 시뮬레이션
+ * 한 분과의 의료진 5명에게 콜벨 요청이 무작위로 도착하고 처리되는 상황을 흉내 내어
+ * 전략별로 가장 바쁜 의료진의 최대 미완료 요청 수를 비교합니다.
+ */
+class StaffRoutingSimulationTest {
+
+    private static final int STAFF = 5;
+    private static final int TICKS = 5_000;
+    private static final double ARRIVAL_PROBABILITY = 0.8;
+    private static final double COMPLETION_PROBABILITY = 0.2;
+
+    @Test
+    void loadAwareStrategiesSpreadRequestsAcrossDepartment() {
+        int firstStaff = simulate(candidates -> candidates.get(0));
+        int leastLoaded = simulate(new LeastLoadedRoutingStrategy()::select);
+        int weighted = simulate(new WeightedRoundRobinRoutingStrategy(10)::select);
+
+        String peaks = String.format("최대 미완료 요청 수 - 첫 번째 의료진 고정: %d, least-loaded: %d, weighted-round-robin: %d",
+                firstStaff, leastLoaded, weighted);
+        assertThat(leastLoaded).as(peaks).isLessThan(firstStaff);
+        assertThat(weighted).as(peaks).isLessThan(firstStaff);
+        assertThat(leastLoaded).as(peaks).isLessThanOrEqualTo(weighted);
+    }
+
+    /**
+     * 배정 전략으로 시뮬레이션을 실행합니다.
+     *
+     * @return 시뮬레이션 동안 한 의료진이 동시에 가진 최대 미완료 요청 수
+     */
+    private int simulate(Function<List<StaffRoutingStrategy.Candidate>, StaffRoutingStrategy.Candidate> strategy) {
+        Random random = new Random(42);
+        List<MedicalStaff> staff = new ArrayList<>();
+        for (int i = 0; i < STAFF; i++) {
+            MedicalStaff medicalStaff = MedicalStaff.builder().department("내과").hospitalId(1).build();
+            medicalStaff.setMedicalStaffId(i + 1);
+            staff.add(medicalStaff);
+        }
+        int[] open = new int[STAFF];
+        int peak = 0;
+
+        for (int tick = 0; tick < TICKS; tick++) {
+            if (random.nextDouble() < ARRIVAL_PROBABILITY) {
+                List<StaffRoutingStrategy.Candidate> candidates = new ArrayList<>();
+                for (int i = 0; i < STAFF; i++) {
+                    candidates.add(new StaffRoutingStrategy.Candidate(staff.get(i), open[i]));
+                }
+                int selected = strategy.apply(candidates).staff().getMedicalStaffId() - 1;
+                open[selected]++;
+                peak = Math.max(peak, open[selected]);
+            }
+            for (int i = 0; i < STAFF; i++) {
+                if (open[i] > 0 && random.nextDouble() < COMPLETION_PROBABILITY) {
+                    open[i]--;
+                }
+            }
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.carebridge.service;
+
+import com.example.carebridge.dto.RequestDto;
+import com.example.carebridge.dto.WardDashboardDto;
+import com.example.carebridge.entity.MedicalStaff;
+import com.example.carebridge.entity.Request;
+import com.example.carebridge.repository.ExaminationScheduleRepository;
+import com.example.carebridge.repository.MedicalStaffRepository;
+import com.example.carebridge.repository.MessageRepository;
+import com.example.carebridge.repository.RequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 병동 대시보드 집계 검사
+ * 이벤트 증감, 재집계 중 들어온 변경 보존, 재시작 후 평균 대기 시간 복원을 확인합니다.
+ */
+class WardDashboardServiceTest {
+
+    private static final int STAFF_ID = 7;
+
+    private RequestRepository requestRepository;
+    private WardDashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        requestRepository = mock(RequestRepository.class);
+        MedicalStaffRepository medicalStaffRepository = mock(MedicalStaffRepository.class);
+        when(medicalStaffRepository.findByMedicalStaffId(STAFF_ID))
+                .thenReturn(Optional.of(MedicalStaff.builder().hospitalId(1).department("내과").build()));
+        dashboardService = new WardDashboardService(requestRepository, mock(MessageRepository.class),
+                mock(ExaminationScheduleRepository.class), medicalStaffRepository,
+                mock(UserQueueMessenger.class), "Asia/Seoul");
+    }
+
+    @Test
+    void requestEventsAdjustOpenCountAndAverageWait() {
+        LocalDateTime requestTime = LocalDateTime.now().minusSeconds(90);
+
+        dashboardService.onRequestChanged(changed(RequestChangedEvent.Type.CREATED,
+                Request.RequestStatus.PENDING, null, requestTime, null, null));
+        dashboardService.onRequestChanged(changed(RequestChangedEvent.Type.UPDATED,
+                Request.RequestStatus.IN_PROGRESS, Request.RequestStatus.PENDING,
+                requestTime, requestTime.plusSeconds(90), null));
+        assertThat(dashboard().getOpenRequests()).isEqualTo(1);
+
+        dashboardService.onRequestChanged(changed(RequestChangedEvent.Type.UPDATED,
+                Request.RequestStatus.COMPLETED, Request.RequestStatus.IN_PROGRESS,
+                requestTime, requestTime.plusSeconds(90), requestTime.plusSeconds(90)));
+
+        WardDashboardDto dashboard = dashboard();
+        assertThat(dashboard.getOpenRequests()).isZero();
+        assertThat(dashboard.getAcceptedToday()).isEqualTo(1);
+        assertThat(dashboard.getAverageWaitSeconds()).isEqualTo(90);
+    }
+
+    @Test
+    void eventDuringRebuildIsKeptAfterSwap() {
+        when(requestRepository.countByMedicalStaffIdAndStatusIn(any())).thenAnswer(invocation -> {
+            // 집계 쿼리가 도는 동안 커밋된 새 요청 (집계 결과에는 포함되지 않음)
+            dashboardService.onRequestChanged(changed(RequestChangedEvent.Type.CREATED,
+                    Request.RequestStatus.PENDING, null, LocalDateTime.now(), null, null));
+            return List.<Object[]>of(new Object[] {STAFF_ID, 2L});
+        });
+
+        dashboardService.rebuild();
+
+        assertThat(dashboard().getOpenRequests()).isEqualTo(3);
+    }
+
+    @Test
+    void rebuildRestoresTodaysAverageWait() {
+        LocalDateTime now = LocalDateTime.now();
+        when(requestRepository.findAcceptTimesBetween(any(), any())).thenReturn(List.of(
+                new Object[] {STAFF_ID, now.minusSeconds(60), now},
+                new Object[] {STAFF_ID, now.minusSeconds(120), now}));
+
+        dashboardService.rebuild();
+
+        WardDashboardDto dashboard = dashboard();
+        assertThat(dashboard.getAcceptedToday()).isEqualTo(2);
+        assertThat(dashboard.getAverageWaitSeconds()).isEqualTo(90);
+    }
+
+    private WardDashboardDto dashboard() {
+        return dashboardService.getDashboard(1, "내과");
+    }
+
+    private static RequestChangedEvent changed(RequestChangedEvent.Type type, Request.RequestStatus status,
+                                               Request.RequestStatus previousStatus, LocalDateTime requestTime,
+                                               LocalDateTime acceptTime, LocalDateTime previousAcceptTime) {
+        RequestDto dto = RequestDto.builder().requestId(1).medicalStaffId(STAFF_ID).build();
+        return new RequestChangedEvent(type, dto, status, previousStatus, requestTime, acceptTime, previousAcceptTime);
+    }
+}